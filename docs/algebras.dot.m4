@@ -213,6 +213,16 @@ VectorSpace[
 VectorSpace -> {AbelianRing}
 
 
+# interface org.meeuw.math.abstractalgebra.IntegralDomain
+IntegralDomain[
+		margin=2	label=<
+<table border='0'  cellborder='1' cellspacing='0' cellpadding='1'>
+<tr><td  colspan='5' title='IntegralDomain' href='MATH_URL/org/meeuw/math/abstractalgebra/IntegralDomain.java'><font color='#0000a0'>IntegralDomain</font></td><td  title='javadoc' href='JAVADOC_MATH_URL/org/meeuw/math/abstractalgebra/IntegralDomain.html'>📖</td></tr><tr><td title='group binary operator' href=''> * </td><td title='binary operators of addition' href=''>+-<br />⇆</td><td title='binary operators of multiplication' href=''>⋅<br />⇆</td><td title='other binary operators' href=''> ≈   ≉  xⁿ</td><td title='Unary operators' href=''>+ - inverse sqr</td><td title='special elements' href=''>0 u 1</td></tr></table>
+>
+]
+IntegralDomain -> {AbelianRing}
+
+
 # interface org.meeuw.math.abstractalgebra.CompleteField
 CompleteField[
 		margin=2	label=<
@@ -16,6 +16,7 @@
 import org.meeuw.configuration.ConfigurationAspect;
 import org.meeuw.math.abstractalgebra.integers.Factoriable.Configuration;
 import org.meeuw.math.abstractalgebra.permutations.text.PermutationConfiguration;
+import org.meeuw.math.abstractalgebra.polynomial.PolynomialConfiguration;
 import org.meeuw.math.abstractalgebra.permutations.text.PermutationFormatProvider;
 import org.meeuw.math.text.spi.AlgebraicElementFormatProvider;
 
@@ -63,7 +64,7 @@ module org.meeuw.math.algebras {
 
     provides AlgebraicElementFormatProvider with PermutationFormatProvider;
 
-    provides ConfigurationAspect with PermutationConfiguration, Configuration;
+    provides ConfigurationAspect with PermutationConfiguration, Configuration, PolynomialConfiguration;
 
 }
 
@@ -0,0 +1,329 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.complex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.meeuw.math.abstractalgebra.bigdecimals.BigDecimalElement;
+import org.meeuw.math.abstractalgebra.bigdecimals.BigDecimalField;
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+
+/**
+ * The <a href="https://en.wikipedia.org/wiki/Discrete_Fourier_transform">discrete Fourier transform</a> of sequences of complex numbers, and convolution.
+ * <p>
+ * The calculations are done on primitive doubles, in arrays with the real and imaginary parts interleaved ({@code re₀, im₀, re₁, im₁, ...}). For lengths that are powers of two the iterative <a href="https://en.wikipedia.org/wiki/Cooley%E2%80%93Tukey_FFT_algorithm">Cooley-Tukey</a> algorithm is used, other lengths are reduced to that with <a href="https://en.wikipedia.org/wiki/Chirp_Z-transform#Bluestein's_algorithm">Bluestein's algorithm</a>. So all transforms are {@code O(n log n)}.
+ * <p>
+ * The forward transform is {@code X}<sub>{@code k}</sub>{@code  = Σ x}<sub>{@code j}</sub>{@code  e}<sup>{@code -2πijk/n}</sup>, the inverse transform has a positive exponent and is divided by {@code n}.
+ * <p>
+ * There are adapters for arrays of {@link ComplexNumber}s, and a (slow, direct) implementation for {@link BigComplexNumber}s, to verify results with higher precision.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see org.meeuw.math.abstractalgebra.polynomial.Polynomial
+ */
+public final class FourierTransform {
+
+    /**
+     * For every power of two the cosines and sines of {@code 2πk/n}, interleaved, for {@code k < n/2}
+     */
+    private static final Map<Integer, double[]> TWIDDLES = new ConcurrentHashMap<>();
+
+    private FourierTransform() {}
+
+    /**
+     * @param interleaved the real and imaginary parts of a sequence of complex numbers
+     * @return a new array with the forward transform
+     */
+    public static double[] forward(double[] interleaved) {
+        final double[] result = interleaved.clone();
+        transform(result, false);
+        return result;
+    }
+
+    /**
+     * @param interleaved the real and imaginary parts of a sequence of complex numbers
+     * @return a new array with the inverse transform
+     */
+    public static double[] inverse(double[] interleaved) {
+        final double[] result = interleaved.clone();
+        transform(result, true);
+        return result;
+    }
+
+    /**
+     * Transforms in place
+     * @param data the real and imaginary parts of a sequence of complex numbers, of any length
+     * @param inverse whether to do the inverse transform
+     */
+    public static void transform(double[] data, boolean inverse) {
+        if ((data.length & 1) == 1) {
+            throw new IllegalArgumentException("Interleaved complex data must have even length (" + data.length + ")");
+        }
+        final int n = data.length >> 1;
+        if (n <= 1) {
+            return;
+        }
+        if ((n & (n - 1)) == 0) {
+            radix2(data, inverse);
+        } else {
+            bluestein(data, inverse);
+        }
+        if (inverse) {
+            scale(data, 1d / n);
+        }
+    }
+
+    /**
+     * The (linear) convolution of two sequences: {@code c}<sub>{@code k}</sub>{@code  = Σ a}<sub>{@code j}</sub>{@code b}<sub>{@code k - j}</sub>.
+     * @return a new array with {@code a.length + b.length - 2} doubles (interleaved), or an empty one if one of the sequences is empty
+     */
+    public static double[] convolve(double[] a, double[] b) {
+        final int na = a.length >> 1;
+        final int nb = b.length >> 1;
+        if (na == 0 || nb == 0) {
+            return new double[0];
+        }
+        final int resultLength = na + nb - 1;
+        final int size = Integer.highestOneBit(resultLength - 1 | 1) << (resultLength == 1 ? 0 : 1);
+        final double[] fa = new double[2 * size];
+        final double[] fb = new double[2 * size];
+        System.arraycopy(a, 0, fa, 0, 2 * na);
+        System.arraycopy(b, 0, fb, 0, 2 * nb);
+        radix2(fa, false);
+        radix2(fb, false);
+        multiply(fa, fb, fa);
+        radix2(fa, true);
+        scale(fa, 1d / size);
+        final double[] result = new double[2 * resultLength];
+        System.arraycopy(fa, 0, result, 0, result.length);
+        return result;
+    }
+
+    public static ComplexNumber[] forward(ComplexNumber... values) {
+        return adapt(values, false);
+    }
+
+    public static ComplexNumber[] inverse(ComplexNumber... values) {
+        return adapt(values, true);
+    }
+
+    /**
+     * @see #convolve(double[], double[])
+     */
+    public static ComplexNumber[] convolve(ComplexNumber[] a, ComplexNumber[] b) {
+        final double[] result = convolve(toInterleaved(a), toInterleaved(b));
+        final double uncertainty = uncertaintyBound(a, 1) * sumOfAbsolutes(b) + uncertaintyBound(b, 1) * sumOfAbsolutes(a);
+        return toComplexNumbers(result, uncertainty + roundingError(result.length >> 1, sumOfAbsolutes(a) * sumOfAbsolutes(b)));
+    }
+
+    /**
+     * @return the real and imaginary parts of the given complex numbers, interleaved. Uncertainties are dropped.
+     */
+    public static double[] toInterleaved(ComplexNumber... values) {
+        final double[] result = new double[2 * values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[2 * i] = values[i].getReal().doubleValue();
+            result[2 * i + 1] = values[i].getImaginary().doubleValue();
+        }
+        return result;
+    }
+
+    public static ComplexNumber[] toComplexNumbers(double[] interleaved) {
+        final ComplexNumber[] result = new ComplexNumber[interleaved.length >> 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ComplexNumber.of(interleaved[2 * i], interleaved[2 * i + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * The discrete Fourier transform calculated directly from its definition, which is {@code O(n²)}, with the precision of the current {@link org.meeuw.math.numbers.MathContextConfiguration}. This is meant to verify the results of the fast algorithms.
+     */
+    public static BigComplexNumber[] transform(BigComplexNumber[] values, boolean inverse) {
+        final int n = values.length;
+        final BigComplexNumber[] roots = new BigComplexNumber[n];
+        final BigDecimalElement twoPi = BigDecimalField.INSTANCE.pi().times(2);
+        for (int k = 0; k < n; k++) {
+            final BigDecimalElement angle = twoPi.times(inverse ? k : -k).dividedBy(n);
+            roots[k] = BigComplexNumber.of(angle.cos(), angle.sin());
+        }
+        final BigComplexNumber[] result = new BigComplexNumber[n];
+        for (int k = 0; k < n; k++) {
+            BigComplexNumber sum = BigComplexNumbers.INSTANCE.zero();
+            for (int j = 0; j < n; j++) {
+                sum = sum.plus(values[j].times(roots[(int) ((long) j * k % n)]));
+            }
+            result[k] = inverse ? sum.dividedBy(n) : sum;
+        }
+        return result;
+    }
+
+    private static ComplexNumber[] adapt(ComplexNumber[] values, boolean inverse) {
+        final double[] data = toInterleaved(values);
+        transform(data, inverse);
+        final int n = values.length;
+        // every result is a sum of all values, rotated
+        final double scale = inverse ? 1d / n : 1d;
+        final double uncertainty = uncertaintyBound(values, scale) + roundingError(n, sumOfAbsolutes(values) * scale);
+        return toComplexNumbers(data, uncertainty);
+    }
+
+    private static ComplexNumber[] toComplexNumbers(double[] interleaved, double uncertainty) {
+        final ComplexNumber[] result = new ComplexNumber[interleaved.length >> 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ComplexNumber.of(
+                DoubleElement.of(interleaved[2 * i], uncertainty),
+                DoubleElement.of(interleaved[2 * i + 1], uncertainty)
+            );
+        }
+        return result;
+    }
+
+    private static double uncertaintyBound(ComplexNumber[] values, double scale) {
+        double sum = 0;
+        for (ComplexNumber v : values) {
+            sum += v.getReal().doubleUncertainty() + v.getImaginary().doubleUncertainty();
+        }
+        return sum * scale;
+    }
+
+    private static double sumOfAbsolutes(ComplexNumber[] values) {
+        double sum = 0;
+        for (ComplexNumber v : values) {
+            sum += Math.abs(v.getReal().doubleValue()) + Math.abs(v.getImaginary().doubleValue());
+        }
+        return sum;
+    }
+
+    /**
+     * A bound for the rounding errors of a fast transform, which grow with {@code log n}
+     */
+    private static double roundingError(int n, double magnitude) {
+        final int log = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        return 4 * (log + 1) * Math.ulp(magnitude);
+    }
+
+    /**
+     * In place iterative Cooley-Tukey transform
+     */
+    private static void radix2(double[] data, boolean inverse) {
+        final int n = data.length >> 1;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                swap(data, 2 * i, 2 * j);
+                swap(data, 2 * i + 1, 2 * j + 1);
+            }
+        }
+        final double[] twiddles = twiddles(n);
+        final double sign = inverse ? 1 : -1;
+        for (int length = 2; length <= n; length <<= 1) {
+            final int half = length >> 1;
+            final int step = n / length;
+            for (int i = 0; i < n; i += length) {
+                for (int k = 0; k < half; k++) {
+                    final double wr = twiddles[2 * k * step];
+                    final double wi = sign * twiddles[2 * k * step + 1];
+                    final int u = 2 * (i + k);
+                    final int v = 2 * (i + k + half);
+                    final double vr = data[v] * wr - data[v + 1] * wi;
+                    final double vi = data[v] * wi + data[v + 1] * wr;
+                    data[v] = data[u] - vr;
+                    data[v + 1] = data[u + 1] - vi;
+                    data[u] += vr;
+                    data[u + 1] += vi;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the transform as a convolution with a 'chirp' {@code e}<sup>{@code ∓πik²/n}</sup>, which can be done with power of two transforms.
+     */
+    private static void bluestein(double[] data, boolean inverse) {
+        final int n = data.length >> 1;
+        final int size = Integer.highestOneBit(2 * n - 1) << 1;
+        final double sign = inverse ? 1 : -1;
+        final double[] chirp = new double[2 * n];
+        for (int k = 0; k < n; k++) {
+            // k² modulo 2n, to keep the angle small
+            final double angle = Math.PI * ((long) k * k % (2L * n)) / n;
+            chirp[2 * k] = Math.cos(angle);
+            chirp[2 * k + 1] = sign * Math.sin(angle);
+        }
+        final double[] a = new double[2 * size];
+        final double[] b = new double[2 * size];
+        for (int k = 0; k < n; k++) {
+            a[2 * k] = data[2 * k] * chirp[2 * k] - data[2 * k + 1] * chirp[2 * k + 1];
+            a[2 * k + 1] = data[2 * k] * chirp[2 * k + 1] + data[2 * k + 1] * chirp[2 * k];
+        }
+        b[0] = chirp[0];
+        b[1] = -chirp[1];
+        for (int k = 1; k < n; k++) {
+            b[2 * k] = b[2 * (size - k)] = chirp[2 * k];
+            b[2 * k + 1] = b[2 * (size - k) + 1] = -chirp[2 * k + 1];
+        }
+        radix2(a, false);
+        radix2(b, false);
+        multiply(a, b, a);
+        radix2(a, true);
+        final double scale = 1d / size;
+        for (int k = 0; k < n; k++) {
+            final double re = a[2 * k] * scale;
+            final double im = a[2 * k + 1] * scale;
+            data[2 * k] = re * chirp[2 * k] - im * chirp[2 * k + 1];
+            data[2 * k + 1] = re * chirp[2 * k + 1] + im * chirp[2 * k];
+        }
+    }
+
+    private static double[] twiddles(int n) {
+        return TWIDDLES.computeIfAbsent(n, size -> {
+            final double[] result = new double[size];
+            for (int k = 0; k < size / 2; k++) {
+                final double angle = 2 * Math.PI * k / size;
+                result[2 * k] = Math.cos(angle);
+                result[2 * k + 1] = Math.sin(angle);
+            }
+            return result;
+        });
+    }
+
+    private static void multiply(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < a.length; i += 2) {
+            final double re = a[i] * b[i] - a[i + 1] * b[i + 1];
+            final double im = a[i] * b[i + 1] + a[i + 1] * b[i];
+            result[i] = re;
+            result[i + 1] = im;
+        }
+    }
+
+    private static void scale(double[] data, double factor) {
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= factor;
+        }
+    }
+
+    private static void swap(double[] data, int i, int j) {
+        final double t = data[i];
+        data[i] = data[j];
+        data[j] = t;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.dim3;
+
+import java.util.function.UnaryOperator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.meeuw.math.abstractalgebra.MultiplicativeGroupElement;
+import org.meeuw.math.abstractalgebra.quaternions.Quaternion;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.exceptions.InvalidElementCreationException;
+
+/**
+ * A rotation in three dimensions, represented by a <a href="https://en.wikipedia.org/wiki/Quaternions_and_spatial_rotation">unit quaternion</a> {@code w + xi + yj + zk} of {@code double}s.
+ * <p>
+ * Compared to {@link Rotation} this needs only 4 numbers, composition is one Hamilton product, and rotations can be {@link #slerp(QuaternionRotation, double) interpolated}. To rotate many points there is {@link #rotate(double[])}, which works on packed coordinates, in place.
+ * <p>
+ * The quaternions {@code q} and {@code -q} represent the same rotation, and are considered {@link #equals(Object) equal}.
+ * Like {@link Matrix3} this is backed by plain {@code double}s, so rounding errors are not tracked. Therefore {@link #equals(Object)} is exact, but results of calculations are better compared with {@link #eq(QuaternionRotation)}, which allows for a small tolerance.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see QuaternionRotationGroup
+ */
+public class QuaternionRotation implements
+    MultiplicativeGroupElement<QuaternionRotation>,
+    UnaryOperator<Vector3> {
+
+    /**
+     * The tolerance used in {@link #eq(QuaternionRotation)} for the components of the quaternions
+     */
+    static final double EPSILON = 1e-12;
+
+    public static final QuaternionRotation ONE = new QuaternionRotation(1, 0, 0, 0);
+
+    final double w;
+    final double x;
+    final double y;
+    final double z;
+
+    private QuaternionRotation(double w, double x, double y, double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * @return the rotation represented by the given quaternion, after normalizing it
+     * @throws InvalidElementCreationException if the quaternion is zero
+     */
+    public static QuaternionRotation of(double w, double x, double y, double z) {
+        final double norm = Math.sqrt(w * w + x * x + y * y + z * z);
+        if (norm == 0 || !Double.isFinite(norm)) {
+            throw new InvalidElementCreationException("Cannot normalize (" + w + ", " + x + ", " + y + ", " + z + ")");
+        }
+        return new QuaternionRotation(w / norm, x / norm, y / norm, z / norm);
+    }
+
+    public static QuaternionRotation of(Quaternion<RealNumber, RealNumber> quaternion) {
+        return of(
+            quaternion.getA().doubleValue(),
+            quaternion.getB().doubleValue(),
+            quaternion.getC().doubleValue(),
+            quaternion.getD().doubleValue()
+        );
+    }
+
+    /**
+     * A rotation over {@code angle} radians around {@code axis}, counterclockwise when looking against the direction of the axis
+     */
+    public static QuaternionRotation axisAngle(Vector3 axis, double angle) {
+        final double length = Math.sqrt(axis.x * axis.x + axis.y * axis.y + axis.z * axis.z);
+        if (length == 0) {
+            throw new InvalidElementCreationException("Axis of rotation cannot be zero");
+        }
+        final double sin = Math.sin(angle / 2) / length;
+        return new QuaternionRotation(Math.cos(angle / 2), axis.x * sin, axis.y * sin, axis.z * sin);
+    }
+
+    /**
+     * @see Rotation#Rx(double)
+     */
+    public static QuaternionRotation Rx(double phi) {
+        return new QuaternionRotation(Math.cos(phi / 2), Math.sin(phi / 2), 0, 0);
+    }
+
+    /**
+     * @see Rotation#Ry(double)
+     */
+    public static QuaternionRotation Ry(double phi) {
+        return new QuaternionRotation(Math.cos(phi / 2), 0, Math.sin(phi / 2), 0);
+    }
+
+    /**
+     * @see Rotation#Rz(double)
+     */
+    public static QuaternionRotation Rz(double phi) {
+        return new QuaternionRotation(Math.cos(phi / 2), 0, 0, Math.sin(phi / 2));
+    }
+
+    /**
+     * Converts a rotation matrix, using <a href="https://en.wikipedia.org/wiki/Rotation_matrix#Quaternion">Shepperd's method</a>, which takes the square root of the largest of the four possible diagonal combinations, so it is stable for all rotations.
+     * <p>
+     * The matrix is supposed to be orthogonal, with determinant one. This is not checked.
+     */
+    public static QuaternionRotation of(Matrix3 matrix) {
+        final double[][] m = matrix.values;
+        return of(
+            m[0][0], m[0][1], m[0][2],
+            m[1][0], m[1][1], m[1][2],
+            m[2][0], m[2][1], m[2][2]
+        );
+    }
+
+    public static QuaternionRotation of(Rotation rotation) {
+        final RealNumber[][] m = rotation.rot.values;
+        return of(
+            m[0][0].doubleValue(), m[0][1].doubleValue(), m[0][2].doubleValue(),
+            m[1][0].doubleValue(), m[1][1].doubleValue(), m[1][2].doubleValue(),
+            m[2][0].doubleValue(), m[2][1].doubleValue(), m[2][2].doubleValue()
+        );
+    }
+
+    private static QuaternionRotation of(
+        double m00, double m01, double m02,
+        double m10, double m11, double m12,
+        double m20, double m21, double m22) {
+        final double trace = m00 + m11 + m22;
+        if (trace >= m00 && trace >= m11 && trace >= m22) {
+            final double s = 2 * Math.sqrt(1 + trace);
+            return of(s / 4, (m21 - m12) / s, (m02 - m20) / s, (m10 - m01) / s);
+        } else if (m00 >= m11 && m00 >= m22) {
+            final double s = 2 * Math.sqrt(1 + m00 - m11 - m22);
+            return of((m21 - m12) / s, s / 4, (m01 + m10) / s, (m02 + m20) / s);
+        } else if (m11 >= m22) {
+            final double s = 2 * Math.sqrt(1 + m11 - m00 - m22);
+            return of((m02 - m20) / s, (m01 + m10) / s, s / 4, (m12 + m21) / s);
+        } else {
+            final double s = 2 * Math.sqrt(1 + m22 - m00 - m11);
+            return of((m10 - m01) / s, (m02 + m20) / s, (m12 + m21) / s, s / 4);
+        }
+    }
+
+    @Override
+    public @NonNull QuaternionRotationGroup getStructure() {
+        return QuaternionRotationGroup.INSTANCE;
+    }
+
+    /**
+     * Composition. Like for {@link Rotation#times(Rotation)}, {@code p.times(q)} first applies {@code q}, and then {@code p}.
+     */
+    @Override
+    public QuaternionRotation times(QuaternionRotation multiplier) {
+        return new QuaternionRotation(
+            w * multiplier.w - x * multiplier.x - y * multiplier.y - z * multiplier.z,
+            w * multiplier.x + x * multiplier.w + y * multiplier.z - z * multiplier.y,
+            w * multiplier.y - x * multiplier.z + y * multiplier.w + z * multiplier.x,
+            w * multiplier.z + x * multiplier.y - y * multiplier.x + z * multiplier.w
+        ).normalized();
+    }
+
+    /**
+     * The inverse rotation, which for a unit quaternion is its conjugate.
+     */
+    @Override
+    public QuaternionRotation reciprocal() {
+        return new QuaternionRotation(w, -x, -y, -z);
+    }
+
+    /**
+     * <a href="https://en.wikipedia.org/wiki/Slerp">Spherical linear interpolation</a> between this rotation ({@code t = 0}) and {@code to} ({@code t = 1}), along the shortest path.
+     */
+    public QuaternionRotation slerp(QuaternionRotation to, double t) {
+        double dot = w * to.w + x * to.x + y * to.y + z * to.z;
+        // q and -q are the same rotation, take the one nearest
+        final double sign = dot < 0 ? -1 : 1;
+        dot = Math.abs(dot);
+        final double s0;
+        final double s1;
+        if (dot > 1 - 1e-6) {
+            // nearly the same, the sines would be about zero, so interpolate linearly
+            s0 = 1 - t;
+            s1 = t;
+        } else {
+            final double theta = Math.acos(dot);
+            final double sin = Math.sin(theta);
+            s0 = Math.sin((1 - t) * theta) / sin;
+            s1 = Math.sin(t * theta) / sin;
+        }
+        return of(
+            s0 * w + sign * s1 * to.w,
+            s0 * x + sign * s1 * to.x,
+            s0 * y + sign * s1 * to.y,
+            s0 * z + sign * s1 * to.z
+        );
+    }
+
+    /**
+     * @return the angle of this rotation, between {@code 0} and {@code π}
+     */
+    public double angle() {
+        return 2 * Math.atan2(Math.sqrt(x * x + y * y + z * z), Math.abs(w));
+    }
+
+    @Override
+    public Vector3 apply(Vector3 v) {
+        final double[] xyz = {v.x, v.y, v.z};
+        rotate(xyz);
+        return Vector3.of(xyz[0], xyz[1], xyz[2]);
+    }
+
+    /**
+     * Rotates points in place.
+     * @param xyz packed coordinates {@code x₀, y₀, z₀, x₁, y₁, z₁, ...}
+     */
+    public void rotate(double[] xyz) {
+        if (xyz.length % 3 != 0) {
+            throw new IllegalArgumentException("The number of coordinates must be a multiple of 3 (" + xyz.length + ")");
+        }
+        rotate(xyz, 0, xyz.length / 3);
+    }
+
+    /**
+     * Rotates {@code count} points in place, starting at point {@code offset}.
+     * <p>
+     * This first converts to the equivalent matrix, which then costs 9 multiplications per point, where rotating with the quaternion itself would take about 15.
+     */
+    public void rotate(double[] xyz, int offset, int count) {
+        final double[] m = matrixValues();
+        final int end = 3 * (offset + count);
+        for (int i = 3 * offset; i < end; i += 3) {
+            final double px = xyz[i];
+            final double py = xyz[i + 1];
+            final double pz = xyz[i + 2];
+            xyz[i] = m[0] * px + m[1] * py + m[2] * pz;
+            xyz[i + 1] = m[3] * px + m[4] * py + m[5] * pz;
+            xyz[i + 2] = m[6] * px + m[7] * py + m[8] * pz;
+        }
+    }
+
+    public Matrix3 asMatrix3() {
+        final double[] m = matrixValues();
+        return Matrix3.of(
+            m[0], m[1], m[2],
+            m[3], m[4], m[5],
+            m[6], m[7], m[8]
+        );
+    }
+
+    public Rotation asRotation() {
+        final double[] m = matrixValues();
+        return new Rotation(new RealNumber[][] {
+            {RealNumber.of(m[0]), RealNumber.of(m[1]), RealNumber.of(m[2])},
+            {RealNumber.of(m[3]), RealNumber.of(m[4]), RealNumber.of(m[5])},
+            {RealNumber.of(m[6]), RealNumber.of(m[7]), RealNumber.of(m[8])}
+        });
+    }
+
+    public Quaternion<RealNumber, RealNumber> asQuaternion() {
+        return new Quaternion<>(RealNumber.of(w), RealNumber.of(x), RealNumber.of(y), RealNumber.of(z));
+    }
+
+    private double[] matrixValues() {
+        final double xx = x * x, yy = y * y, zz = z * z;
+        final double xy = x * y, xz = x * z, yz = y * z;
+        final double wx = w * x, wy = w * y, wz = w * z;
+        return new double[] {
+            1 - 2 * (yy + zz), 2 * (xy - wz), 2 * (xz + wy),
+            2 * (xy + wz), 1 - 2 * (xx + zz), 2 * (yz - wx),
+            2 * (xz - wy), 2 * (yz + wx), 1 - 2 * (xx + yy)
+        };
+    }
+
+    /**
+     * Products of unit quaternions slowly drift away from unit length, so renormalize.
+     */
+    private QuaternionRotation normalized() {
+        final double norm = Math.sqrt(w * w + x * x + y * y + z * z);
+        return new QuaternionRotation(w / norm, x / norm, y / norm, z / norm);
+    }
+
+    /**
+     * The sign with which the components are 'canonical': the first non-zero component positive. Then {@code q} and {@code -q} have the same canonical components.
+     */
+    private double canonicalSign() {
+        if (w != 0) {
+            return Math.signum(w);
+        }
+        if (x != 0) {
+            return Math.signum(x);
+        }
+        if (y != 0) {
+            return Math.signum(y);
+        }
+        return Math.signum(z);
+    }
+
+    /**
+     * Whether this rotation is the same as the given one, up to {@link #EPSILON} in every component of the quaternion.
+     */
+    @Override
+    public boolean eq(QuaternionRotation that) {
+        final double sign = w * that.w + x * that.x + y * that.y + z * that.z < 0 ? -1 : 1;
+        return Math.abs(w - sign * that.w) <= EPSILON &&
+            Math.abs(x - sign * that.x) <= EPSILON &&
+            Math.abs(y - sign * that.y) <= EPSILON &&
+            Math.abs(z - sign * that.z) <= EPSILON;
+    }
+
+    /**
+     * Exact equality of the canonical components. So {@code q} equals {@code -q}.
+     * @see #eq(QuaternionRotation)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        QuaternionRotation that = (QuaternionRotation) o;
+        final double sign = canonicalSign();
+        final double thatSign = that.canonicalSign();
+        // adding 0.0 makes -0.0 equal to 0.0
+        return sign * w + 0.0 == thatSign * that.w + 0.0 &&
+            sign * x + 0.0 == thatSign * that.x + 0.0 &&
+            sign * y + 0.0 == thatSign * that.y + 0.0 &&
+            sign * z + 0.0 == thatSign * that.z + 0.0;
+    }
+
+    @Override
+    public int hashCode() {
+        final double sign = canonicalSign();
+        int result = Double.hashCode(sign * w + 0.0);
+        result = 31 * result + Double.hashCode(sign * x + 0.0);
+        result = 31 * result + Double.hashCode(sign * y + 0.0);
+        result = 31 * result + Double.hashCode(sign * z + 0.0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + w + ", " + x + ", " + y + ", " + z + ")";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.dim3;
+
+import java.util.Random;
+
+import org.meeuw.math.Equivalence;
+import org.meeuw.math.Singleton;
+import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.abstractalgebra.reals.RealField;
+
+/**
+ * SO(3), like {@link RotationGroup}, but with elements backed by unit quaternions.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+@Singleton
+public class QuaternionRotationGroup extends AbstractAlgebraicStructure<QuaternionRotation> implements MultiplicativeGroup<QuaternionRotation> {
+
+    public static final QuaternionRotationGroup INSTANCE = new QuaternionRotationGroup();
+
+    private QuaternionRotationGroup() {
+        super(QuaternionRotation.class);
+    }
+
+    @Override
+    public QuaternionRotation one() {
+        return QuaternionRotation.ONE;
+    }
+
+    /**
+     * Uniformly distributed rotations, by normalizing a random four-dimensional gaussian vector
+     */
+    @Override
+    public QuaternionRotation nextRandom(Random r) {
+        return QuaternionRotation.of(r.nextGaussian(), r.nextGaussian(), r.nextGaussian(), r.nextGaussian());
+    }
+
+    /**
+     * Allows for small rounding errors, see {@link QuaternionRotation#eq(QuaternionRotation)}.
+     */
+    @Override
+    public Equivalence<QuaternionRotation> getEquivalence() {
+        return QuaternionRotation::eq;
+    }
+
+    @Override
+    public Cardinality getCardinality() {
+        return RealField.INSTANCE.getCardinality().pow(3);
+    }
+
+    @Override
+    public String toString() {
+        return "SO(3)";
+    }
+}
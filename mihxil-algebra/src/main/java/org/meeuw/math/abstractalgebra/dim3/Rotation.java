@@ -42,7 +42,7 @@ public class Rotation implements
 
     final FieldMatrix3<RealNumber, RealNumber> rot;
 
-    private Rotation(@Square(3) RealNumber[][] values) {
+    Rotation(@Square(3) RealNumber[][] values) {
         rot = FieldMatrix3.of(
             values[0][0], values[0][1], values[0][2],
             values[1][0], values[1][1], values[1][2],
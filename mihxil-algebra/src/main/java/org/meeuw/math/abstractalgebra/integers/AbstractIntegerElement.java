@@ -15,8 +15,6 @@
  */
 package org.meeuw.math.abstractalgebra.integers;
 
-import lombok.Getter;
-
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Optional;
@@ -55,8 +53,19 @@ public abstract class AbstractIntegerElement<
 
 
 
-    @Getter
-    protected final BigInteger value;
+    /**
+     * If the value fits in a {@code long}, it is stored here, and calculations are done with {@code long}s as long as they don't overflow.
+     */
+    protected final long longValue;
+    /**
+     * Whether the value fits in a {@code long}. Then it is {@link #longValue}.
+     */
+    protected final boolean isLong;
+
+    /**
+     * The backing {@link BigInteger}. If the value fits in a long, this is only created if needed.
+     */
+    private BigInteger value;
 
     /**
      * The constructor, which initializes the backing {@link BigInteger}.
@@ -68,6 +77,30 @@ public abstract class AbstractIntegerElement<
     protected AbstractIntegerElement(S structure, BigInteger value) {
         super(structure);
         this.value = value;
+        this.isLong = value.bitLength() < Long.SIZE;
+        this.longValue = isLong ? value.longValue() : 0;
+    }
+
+    /**
+     * As {@link #AbstractIntegerElement(AbstractIntegers, BigInteger)}, but for values that fit in a long. No {@link BigInteger} is created then.
+     */
+    protected AbstractIntegerElement(S structure, long value) {
+        super(structure);
+        this.longValue = value;
+        this.isLong = true;
+    }
+
+    /**
+     * @return the value of this element as a {@link BigInteger}
+     */
+    public BigInteger getValue() {
+        BigInteger result = value;
+        if (result == null) {
+            // BigInteger is immutable, so a race here is harmless
+            result = BigInteger.valueOf(longValue);
+            value = result;
+        }
+        return result;
     }
 
     /**
@@ -77,12 +110,81 @@ public abstract class AbstractIntegerElement<
         return structure.of(value);
     }
 
+    /**
+     * This is a protected shorthand for creating new elements.
+     */
+    protected final E with(long value) {
+        return structure.of(value);
+    }
+
+    /**
+     * @return this + summand, calculated with {@code long}s if possible.
+     */
+    protected final E sum(E summand) {
+        if (isLong && summand.isLong) {
+            final long result = longValue + summand.longValue;
+            // overflow iff both operands have a different sign than the result
+            if (((longValue ^ result) & (summand.longValue ^ result)) >= 0) {
+                return with(result);
+            }
+        }
+        return with(getValue().add(summand.getValue()));
+    }
+
+    /**
+     * @return this - subtrahend, calculated with {@code long}s if possible.
+     */
+    protected final E difference(E subtrahend) {
+        if (isLong && subtrahend.isLong) {
+            final long result = longValue - subtrahend.longValue;
+            if (((longValue ^ subtrahend.longValue) & (longValue ^ result)) >= 0) {
+                return with(result);
+            }
+        }
+        return with(getValue().subtract(subtrahend.getValue()));
+    }
+
+    /**
+     * @return this * multiplier, calculated with {@code long}s if possible.
+     */
+    protected final E product(E multiplier) {
+        if (isLong && multiplier.isLong) {
+            final long high = Math.multiplyHigh(longValue, multiplier.longValue);
+            final long low = longValue * multiplier.longValue;
+            // no overflow iff the high part is only the sign extension of the low part
+            if (high == (low >> 63)) {
+                return with(low);
+            }
+        }
+        return with(getValue().multiply(multiplier.getValue()));
+    }
+
+    /**
+     * @return -this, calculated with {@code long}s if possible.
+     */
+    protected final E negated() {
+        if (isLong && longValue != Long.MIN_VALUE) {
+            return with(-longValue);
+        }
+        return with(getValue().negate());
+    }
+
+    /**
+     * @return |this|, calculated with {@code long}s if possible.
+     */
+    protected final E absolute() {
+        if (isLong && longValue != Long.MIN_VALUE) {
+            return longValue < 0 ? with(-longValue) : (E) this;
+        }
+        return with(getValue().abs());
+    }
+
 
     public E pow(@Positive int exponent){
         try {
-            return structure.newElement(value.pow(exponent));
+            return structure.newElement(getValue().pow(exponent));
         } catch (ArithmeticException ae) {
-            throw new IllegalPowerException(ae, BasicAlgebraicIntOperator.POWER.stringify(value.toString(), Integer.toString(exponent)));
+            throw new IllegalPowerException(ae, BasicAlgebraicIntOperator.POWER.stringify(toString(), Integer.toString(exponent)));
         }
     }
 
@@ -93,10 +195,13 @@ public abstract class AbstractIntegerElement<
      */
     @NonAlgebraic(reason = NonAlgebraic.Reason.NON_ALL_ELEMENTS)
     public E dividedByEuclidean(E divisor) throws DivisionByZeroException {
-        if (divisor.value.equals(BigInteger.ZERO)) {
+        if (divisor.isZero()) {
             throw new DivisionByZeroException(this, divisor);
         }
-        return with(value.divide(divisor.value));
+        if (isLong && divisor.isLong && !(longValue == Long.MIN_VALUE && divisor.longValue == -1)) {
+            return with(longValue / divisor.longValue);
+        }
+        return with(getValue().divide(divisor.getValue()));
     }
 
     /**
@@ -106,25 +211,28 @@ public abstract class AbstractIntegerElement<
      */
     @NonAlgebraic(reason = NonAlgebraic.Reason.NON_ALL_ELEMENTS)
     public E mod(E divisor) throws DivisionByZeroException {
-        if (divisor.value.equals(BigInteger.ZERO)) {
+        if (divisor.isZero()) {
             throw new DivisionByZeroException(this, divisor);
         }
-        return with(value.remainder(divisor.value));
+        if (isLong && divisor.isLong) {
+            return with(longValue % divisor.longValue);
+        }
+        return with(getValue().remainder(divisor.getValue()));
     }
 
     public RationalNumber dividedBy(E divisor) {
-        if (divisor.value.equals(BigInteger.ZERO)) {
+        if (divisor.isZero()) {
             throw new DivisionByZeroException(this, divisor);
         }
-        return RationalNumber.of(value, divisor.value);
+        return RationalNumber.of(getValue(), divisor.getValue());
     }
 
     public E pow(E exponent) throws OverflowException {
-        return structure.newElement(IntegerUtils.pow(value, exponent.value));
+        return structure.newElement(IntegerUtils.pow(getValue(), exponent.getValue()));
     }
 
     public E tetration(int height) {
-        return structure.newElement(_tetration(value, height));
+        return structure.newElement(_tetration(getValue(), height));
     }
 
     static protected BigInteger _tetration(BigInteger v, int height) {
@@ -139,70 +247,73 @@ public abstract class AbstractIntegerElement<
 
     @Override
     public long longValue() {
-        return value.longValue();
+        return isLong ? longValue : value.longValue();
     }
 
     @Override
     public double doubleValue() {
-        return value.doubleValue();
+        return isLong ? (double) longValue : value.doubleValue();
     }
 
     @Override
     public BigDecimal bigDecimalValue() {
-        return new BigDecimal(value.toString());
+        return isLong ? BigDecimal.valueOf(longValue) : new BigDecimal(value);
     }
 
     @Override
     public BigInteger bigIntegerValue() {
-        return value;
+        return getValue();
     }
 
     @Override
     public int signum() {
-        return value.signum();
+        return isLong ? Long.signum(longValue) : value.signum();
     }
 
     @Override
     public int compareTo(@NonNull E f) {
-        return value.compareTo(f.value);
+        if (isLong && f.isLong) {
+            return Long.compare(longValue, f.longValue);
+        }
+        return getValue().compareTo(f.getValue());
     }
 
     @Override
     public boolean isZero() {
-        return value.equals(BigInteger.ZERO);
+        return isLong && longValue == 0;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return isLong ? Long.hashCode(longValue) : value.hashCode();
     }
 
     public RationalNumber toRational() {
-        return RationalNumber.of(value);
+        return RationalNumber.of(getValue());
     }
 
     protected BigInteger bigIntegerFactorial()  {
         Long maxArgument = ConfigurationService.getConfigurationAspect(Factoriable.Configuration.class).getMaxArgument();
-        if (maxArgument != null && value.intValue() > maxArgument) {
-            throw new InvalidFactorial("Factorial too big (" + value.intValue() + ">" + maxArgument + ")", value.toString());
+        if (maxArgument != null && longValue() > maxArgument) {
+            throw new InvalidFactorial("Factorial too big (" + longValue() + ">" + maxArgument + ")", toString());
         }
-        return IntegerUtils.bigIntegerFactorial(value);
+        return IntegerUtils.bigIntegerFactorial(getValue());
     }
 
     protected BigInteger bigIntegerSubfactorial()  {
         Long maxArgument = ConfigurationService.getConfigurationAspect(Factoriable.Configuration.class).getMaxSubArgument();
-        if (maxArgument != null && value.intValue() > maxArgument) {
-            throw new InvalidFactorial("Factorial too big (" + value.intValue() + ">" + maxArgument + ")", value.toString());
+        if (maxArgument != null && longValue() > maxArgument) {
+            throw new InvalidFactorial("Factorial too big (" + longValue() + ">" + maxArgument + ")", toString());
         }
-        return IntegerUtils.bigIntegerSubfactorial(value);
+        return IntegerUtils.bigIntegerSubfactorial(getValue());
     }
 
      protected BigInteger bigIntegerDoubleFactorial()  {
         Long maxArgument = ConfigurationService.getConfigurationAspect(Factoriable.Configuration.class).getMaxDoubleArgument();
-        if (maxArgument != null && value.intValue() > maxArgument) {
-            throw new InvalidFactorial("Factorial too big (" + value.intValue() + ">" + maxArgument + ")", value.toString());
+        if (maxArgument != null && longValue() > maxArgument) {
+            throw new InvalidFactorial("Factorial too big (" + longValue() + ">" + maxArgument + ")", toString());
         }
-        return IntegerUtils.bigIntegerDoubleFactorial(value);
+        return IntegerUtils.bigIntegerDoubleFactorial(getValue());
     }
 
 
@@ -214,20 +325,23 @@ public abstract class AbstractIntegerElement<
         if (o == null || getClass() != o.getClass()) return false;
 
         E that = (E) o;
-
-        return value.equals(that.value);
+        if (isLong || that.isLong) {
+            // values that fit in a long, are always represented by a long
+            return isLong && that.isLong && longValue == that.longValue;
+        }
+        return value.equals(that.getValue());
     }
 
     @Override
     public String toString() {
-        return String.valueOf(value);
+        return isLong ? Long.toString(longValue) : value.toString();
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <F extends AlgebraicElement<F>> Optional<F> castDirectly(Class<F> clazz) {
         if (clazz.isAssignableFrom(IntegerElement.class)) {
-            return Optional.of((F) new IntegerElement(getValue()));
+            return Optional.of((F) (isLong ? new IntegerElement(longValue) : new IntegerElement(value)));
         }
         if (clazz.isAssignableFrom(RationalNumber.class)) {
             return Optional.of((F) RationalNumber.of(getValue(), BigInteger.ONE));
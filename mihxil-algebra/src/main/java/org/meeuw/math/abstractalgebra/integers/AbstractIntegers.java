@@ -95,6 +95,13 @@ public abstract class AbstractIntegers<
     */
     abstract E of(BigInteger value);
 
+    /**
+     * The internal way to create a new element for a value that fits in a long. Implementations can override this to avoid creating a {@link BigInteger}.
+     */
+    E of(long value) {
+        return of(BigInteger.valueOf(value));
+    }
+
     /*
      * @throws InvalidElementCreationException if the given backing value does not fit in the structure. E.g. the structure is {@link PositiveIntegers}, and the value is negative.
      */
@@ -49,25 +49,29 @@ public class EvenInteger
         super(EvenIntegers.INSTANCE, value);
     }
 
+    EvenInteger(long value) {
+        super(EvenIntegers.INSTANCE, value);
+    }
+
 
     public OddInteger plus(OddInteger summand) {
-        return new OddInteger(value.add(summand.getValue()));
+        return new OddInteger(getValue().add(summand.getValue()));
     }
 
     @Override
     public EvenInteger negation() {
-        return new EvenInteger(value.negate());
+        return negated();
     }
 
     @Override
     public EvenInteger minus(EvenInteger subtrahend) {
-        return of(value.subtract(subtrahend.value));
+        return difference(subtrahend);
     }
 
 
     @Override
     public EvenInteger times(EvenInteger multiplier) {
-        return of(value.multiply(multiplier.value));
+        return product(multiplier);
     }
 
     @Override
@@ -80,16 +84,16 @@ public class EvenInteger
 
     @Override
     public EvenInteger sqr() {
-        return of(value.multiply(value));
+        return product(this);
     }
 
     @Override
     public EvenInteger abs() {
-        return of(value.abs());
+        return absolute();
     }
 
     @Override
     public EvenInteger plus(EvenInteger summand) {
-        return of(value.add(summand.value));
+        return sum(summand);
     }
 }
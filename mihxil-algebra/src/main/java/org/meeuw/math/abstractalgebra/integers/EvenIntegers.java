@@ -67,6 +67,11 @@ public class EvenIntegers extends AbstractIntegers<EvenInteger, EvenInteger, Eve
         return new EvenInteger(value);
     }
 
+    @Override
+    EvenInteger of(long value) {
+        return new EvenInteger(value);
+    }
+
     @Override
     public EvenInteger newElement(BigInteger value) throws InvalidElementCreationException {
         if (value.remainder(TWO).equals(ONE)) {
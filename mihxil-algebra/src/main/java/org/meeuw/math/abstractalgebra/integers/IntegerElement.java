@@ -47,7 +47,7 @@ public class IntegerElement
     }
 
     public IntegerElement(long value) {
-        this(BigInteger.valueOf(value));
+        super(Integers.INSTANCE, value);
     }
 
     public IntegerElement(BigInteger value) {
@@ -56,27 +56,27 @@ public class IntegerElement
 
     @Override
     public IntegerElement plus(IntegerElement summand) {
-        return with(value.add(summand.value));
+        return sum(summand);
     }
 
     @Override
     public IntegerElement minus(IntegerElement summand) {
-        return plus(summand.negation());
+        return difference(summand);
     }
 
     @Override
     public IntegerElement repeatedPlus(int multiplier) {
-        return with(value.multiply(BigInteger.valueOf(multiplier)));
+        return product(new IntegerElement(multiplier));
     }
 
     @Override
     public IntegerElement times(IntegerElement multiplier) {
-        return with(value.multiply(multiplier.value));
+        return product(multiplier);
     }
 
     @Override
     public IntegerElement pow(@NonNegative int exponent) throws IllegalPowerException  {
-        return with(IntegerUtils.positivePow(value, exponent));
+        return with(IntegerUtils.positivePow(getValue(), exponent));
     }
 
     @Override
@@ -96,19 +96,19 @@ public class IntegerElement
 
     @Override
     public IntegerElement sqr() {
-        return with(value.multiply(value));
+        return product(this);
     }
 
 
 
     @Override
     public IntegerElement negation() {
-        return with(value.negate());
+        return negated();
     }
 
     @Override
     public IntegerElement abs() {
-        return with(value.abs());
+        return absolute();
     }
 
     @Override
@@ -23,6 +23,8 @@ import org.meeuw.math.Example;
 import org.meeuw.math.Singleton;
 import org.meeuw.math.abstractalgebra.*;
 import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumbers;
+import org.meeuw.math.exceptions.DivisionByZeroException;
+import org.meeuw.math.exceptions.InvalidAlgebraicResult;
 import org.meeuw.math.operators.*;
 
 import static org.meeuw.math.CollectionUtils.navigableSet;
@@ -37,7 +39,7 @@ import static org.meeuw.math.operators.BasicAlgebraicBinaryOperator.*;
  */
 @Singleton
 public class Integers extends AbstractIntegers<IntegerElement, IntegerElement, Integers>
-    implements AbelianRing<IntegerElement>,
+    implements IntegralDomain<IntegerElement>,
     MultiplicativeMonoid<IntegerElement>,
     MultiplicativeAbelianSemiGroup<IntegerElement>,
     Group<IntegerElement> {
@@ -113,13 +115,36 @@ public class Integers extends AbstractIntegers<IntegerElement, IntegerElement, I
         return new IntegerElement(value);
     }
 
+    @Override
+    IntegerElement of(long value) {
+        return new IntegerElement(value);
+    }
+
     @Override
     public IntegerElement newElement(BigInteger value) {
         return of(value);
     }
 
     public IntegerElement newElement(long value) {
-        return of(BigInteger.valueOf(value));
+        return of(value);
+    }
+
+    @Override
+    public IntegerElement exactDivision(IntegerElement dividend, IntegerElement divisor) {
+        if (divisor.isZero()) {
+            throw new DivisionByZeroException(dividend, divisor);
+        }
+        if (dividend.isLong && divisor.isLong && !(dividend.longValue == Long.MIN_VALUE && divisor.longValue == -1)) {
+            if (dividend.longValue % divisor.longValue != 0) {
+                throw new InvalidAlgebraicResult(divisor + " does not divide " + dividend);
+            }
+            return of(dividend.longValue / divisor.longValue);
+        }
+        final BigInteger[] quotientAndRemainder = dividend.getValue().divideAndRemainder(divisor.getValue());
+        if (quotientAndRemainder[1].signum() != 0) {
+            throw new InvalidAlgebraicResult(divisor + " does not divide " + dividend);
+        }
+        return of(quotientAndRemainder[0]);
     }
 
     @Override
@@ -139,7 +164,7 @@ public class Integers extends AbstractIntegers<IntegerElement, IntegerElement, I
 
     @Override
     public IntegerElement nextRandom(Random random) {
-        return of(BigInteger.valueOf(RandomConfiguration.nextLong(random)));
+        return of(RandomConfiguration.nextLong(random));
     }
 
     @Override
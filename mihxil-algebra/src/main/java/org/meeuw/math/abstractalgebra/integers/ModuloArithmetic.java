@@ -0,0 +1,263 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.integers;
+
+import lombok.Getter;
+
+import java.math.BigInteger;
+
+import org.meeuw.math.MontgomeryArithmetic;
+import org.meeuw.math.exceptions.InvalidStructureCreationException;
+
+import static org.meeuw.math.IntegerUtils.unsignedMultiplyHigh;
+
+/**
+ * Arithmetic modulo a (positive) {@code long}, on plain {@code long}s. This is used by {@link ModuloStructure} to implement its elements, but can also be used directly (e.g. by the {@code long[]} methods), to avoid creating objects for every intermediate result.
+ * <p>
+ * All methods accept and return values in the range {@code [0, divisor)}, unless stated otherwise. Products never overflow. Depending on the divisor one of these implementations is used:
+ * <ul>
+ *   <li>For divisors smaller than 2<sup>32</sup> the product fits in 64 (unsigned) bits, and is reduced by <a href="https://en.wikipedia.org/wiki/Barrett_reduction">Barrett reduction</a>, which needs a multiplication instead of a division.</li>
+ *   <li>Larger odd divisors use <a href="https://en.wikipedia.org/wiki/Montgomery_modular_multiplication">Montgomery multiplication</a> on the 128 bits products</li>
+ *   <li>Larger even divisors fall back to {@link BigInteger}</li>
+ * </ul>
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public abstract class ModuloArithmetic {
+
+    @Getter
+    protected final long divisor;
+
+    ModuloArithmetic(long divisor) {
+        this.divisor = divisor;
+    }
+
+    /**
+     * @param divisor the (positive) divisor
+     * @return an instance suitable for the given divisor
+     */
+    public static ModuloArithmetic of(long divisor) {
+        if (divisor <= 0) {
+            throw new InvalidStructureCreationException("Divisor of modulo structure must be > 0");
+        }
+        if (divisor < (1L << 32)) {
+            return new Barrett(divisor);
+        } else if ((divisor & 1) == 1) {
+            return new Montgomery(divisor);
+        } else {
+            return new Big(divisor);
+        }
+    }
+
+    /**
+     * @param value any long
+     * @return the value modulo the divisor, in the range {@code [0, divisor)}
+     */
+    public long reduce(long value) {
+        if (value >= 0 && value < divisor) {
+            return value;
+        }
+        return Math.floorMod(value, divisor);
+    }
+
+    public long plus(long a, long b) {
+        // a + b - divisor cannot overflow, since both are smaller than the divisor
+        final long sum = a - (divisor - b);
+        return sum < 0 ? sum + divisor : sum;
+    }
+
+    public long minus(long a, long b) {
+        final long difference = a - b;
+        return difference < 0 ? difference + divisor : difference;
+    }
+
+    public long negation(long a) {
+        return a == 0 ? 0 : divisor - a;
+    }
+
+    public abstract long times(long a, long b);
+
+    /**
+     * @param base     the value to raise to a power
+     * @param exponent a non-negative exponent
+     * @return {@code base}<sup>{@code exponent}</sup> modulo the divisor
+     */
+    public long pow(long base, long exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative (" + exponent + ")");
+        }
+        long result = reduce(1);
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = times(result, base);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                base = times(base, base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds two arrays element wise.
+     * @param result the array to store the sums in. May be one of the arguments.
+     */
+    public void plus(long[] a, long[] b, long[] result) {
+        checkLengths(a, b, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = plus(a[i], b[i]);
+        }
+    }
+
+    /**
+     * Multiplies two arrays element wise.
+     * @param result the array to store the products in. May be one of the arguments.
+     */
+    public void times(long[] a, long[] b, long[] result) {
+        checkLengths(a, b, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = times(a[i], b[i]);
+        }
+    }
+
+    /**
+     * Raises all elements of an array to the same power
+     * @param result the array to store the powers in. May be {@code bases}.
+     */
+    public void pow(long[] bases, long exponent, long[] result) {
+        checkLengths(bases, bases, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pow(bases[i], exponent);
+        }
+    }
+
+    /**
+     * @return the sum of the element wise products of two arrays.
+     */
+    public long dot(long[] a, long[] b) {
+        checkLengths(a, b, a);
+        long result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result = plus(result, times(a[i], b[i]));
+        }
+        return result;
+    }
+
+    private static void checkLengths(long[] a, long[] b, long[] result) {
+        if (a.length != result.length || b.length != result.length) {
+            throw new IllegalArgumentException("Arrays must have the same length (" + a.length + ", " + b.length + ", " + result.length + ")");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " mod " + divisor;
+    }
+
+    /**
+     * For divisors smaller than 2<sup>32</sup>.
+     */
+    static final class Barrett extends ModuloArithmetic {
+        /**
+         * (2<sup>64</sup> - 1) / divisor, unsigned.
+         */
+        private final long factor;
+
+        Barrett(long divisor) {
+            super(divisor);
+            this.factor = Long.divideUnsigned(-1L, divisor);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            // fits in 64 unsigned bits
+            final long product = a * b;
+            final long quotient = unsignedMultiplyHigh(product, factor);
+            long remainder = product - quotient * divisor;
+            // the estimated quotient is at most 2 too small
+            while (Long.compareUnsigned(remainder, divisor) >= 0) {
+                remainder -= divisor;
+            }
+            return remainder;
+        }
+    }
+
+    /**
+     * For odd divisors. Values are converted to 'Montgomery form' {@code aR mod n} (with {@code R = 2}<sup>64</sup>) to multiply them, with {@link MontgomeryArithmetic}.
+     */
+    static final class Montgomery extends ModuloArithmetic {
+        private final MontgomeryArithmetic montgomery;
+
+        Montgomery(long divisor) {
+            super(divisor);
+            this.montgomery = new MontgomeryArithmetic(divisor);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            // (a * b / R) * R^2 / R = a * b
+            return montgomery.toMontgomery(montgomery.times(a, b));
+        }
+
+        @Override
+        public long pow(long base, long exponent) {
+            if (exponent < 0) {
+                throw new IllegalArgumentException("Exponent must not be negative (" + exponent + ")");
+            }
+            return montgomery.fromMontgomery(montgomery.pow(montgomery.toMontgomery(base), exponent));
+        }
+
+        @Override
+        public long dot(long[] a, long[] b) {
+            if (a.length != b.length) {
+                throw new IllegalArgumentException("Arrays must have the same length (" + a.length + ", " + b.length + ")");
+            }
+            // sum the products in Montgomery form, and convert only once
+            long result = 0;
+            for (int i = 0; i < a.length; i++) {
+                result = plus(result, montgomery.times(a[i], b[i]));
+            }
+            return montgomery.toMontgomery(result);
+        }
+    }
+
+    /**
+     * For large even divisors.
+     */
+    static final class Big extends ModuloArithmetic {
+        private final BigInteger bigDivisor;
+
+        Big(long divisor) {
+            super(divisor);
+            this.bigDivisor = BigInteger.valueOf(divisor);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bigDivisor).longValue();
+        }
+
+        @Override
+        public long pow(long base, long exponent) {
+            if (exponent < 0) {
+                throw new IllegalArgumentException("Exponent must not be negative (" + exponent + ")");
+            }
+            return BigInteger.valueOf(base).modPow(BigInteger.valueOf(exponent), bigDivisor).longValue();
+        }
+    }
+}
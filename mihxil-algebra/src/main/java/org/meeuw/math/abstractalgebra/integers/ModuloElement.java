@@ -24,8 +24,6 @@ import java.io.Serializable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.meeuw.math.abstractalgebra.AbelianRingElement;
 
-import static org.meeuw.math.IntegerUtils.modPow;
-
 /**
  * @author Michiel Meeuwissen
  * @since 0.4
@@ -42,8 +40,7 @@ public abstract class ModuloElement<E extends ModuloElement<E, S>, S extends Mod
     final S structure;
 
     ModuloElement(long value, S structure) {
-        this.value = ((value % structure.divisor) + structure.divisor) % structure.divisor;
-        assert this.value >= 0;
+        this.value = value >= 0 && value < structure.divisor ? value : Math.floorMod(value, structure.divisor);
         this.structure = structure;
     }
 
@@ -54,21 +51,21 @@ public abstract class ModuloElement<E extends ModuloElement<E, S>, S extends Mod
 
     @Override
     public E times(E multiplier) {
-        return structure.element(value * multiplier.value);
+        return structure.element(structure.arithmetic.times(value, multiplier.value));
     }
 
     @Override
     public E plus(E summand) {
-        return structure.element(value + summand.value);
+        return structure.element(structure.arithmetic.plus(value, summand.value));
     }
 
     @Override
     public E negation() {
-        return structure.element(-1 * value );
+        return structure.element(structure.arithmetic.negation(value));
     }
 
     public E pow(E exponent) {
-        return structure.element(modPow(value, exponent.value, structure.divisor));
+        return structure.element(structure.arithmetic.pow(value, exponent.value));
     }
 
     @Override
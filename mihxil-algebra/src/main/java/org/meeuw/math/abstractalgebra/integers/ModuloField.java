@@ -68,7 +68,12 @@ public class ModuloField extends ModuloStructure<ModuloFieldElement, ModuloField
 
     @Override
     public ModuloFieldElement element(long v) {
-        return new ModuloFieldElement(v, this);
+        return super.element(v);
+    }
+
+    @Override
+    ModuloFieldElement newElement(long value) {
+        return new ModuloFieldElement(value, this);
     }
 
 }
@@ -60,29 +60,29 @@ public class ModuloFieldElement
             t = t + getStructure().divisor;
         }
 
-        return new ModuloFieldElement(t, structure);
+        return structure.element(t);
     }
 
     @Override
     public ModuloFieldElement dividedBy(@NotZero long divisor) {
-        return dividedBy(new ModuloFieldElement((int) divisor % structure.divisor, structure));
+        return dividedBy(structure.element(divisor));
     }
     @Override
     public ModuloFieldElement dividedBy(@NotZero BigInteger divisor) {
-        return dividedBy(new ModuloFieldElement(
-            divisor.mod(BigInteger.valueOf(structure.divisor)).intValue(), structure
+        return dividedBy(structure.element(
+            divisor.mod(BigInteger.valueOf(structure.divisor)).longValue()
             )
         );
     }
 
     @Override
     public ModuloFieldElement times(long multiplier) {
-        return new ModuloFieldElement((int) (value * multiplier) % getStructure().divisor, structure);
+        return structure.element(structure.arithmetic.times(value, structure.arithmetic.reduce(multiplier)));
     }
 
     @Override
     public ModuloFieldElement times(BigInteger multiplier) {
-        return new ModuloFieldElement(BigInteger.valueOf(value).multiply( multiplier).mod(BigInteger.valueOf(getStructure().divisor)).intValue(), structure);
+        return structure.element(BigInteger.valueOf(value).multiply( multiplier).mod(BigInteger.valueOf(getStructure().divisor)).longValue());
     }
 
 }
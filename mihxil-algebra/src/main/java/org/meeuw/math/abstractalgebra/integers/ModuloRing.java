@@ -43,8 +43,8 @@ public class ModuloRing extends ModuloStructure<ModuloRingElement, ModuloRing> {
     }
 
     @Override
-    ModuloRingElement element(long v) {
-        return new ModuloRingElement(v, this);
+    ModuloRingElement newElement(long value) {
+        return new ModuloRingElement(value, this);
     }
 
 
@@ -17,6 +17,7 @@ package org.meeuw.math.abstractalgebra.integers;
 
 import lombok.Getter;
 
+import java.lang.reflect.Array;
 import java.util.NavigableSet;
 import java.util.Random;
 import java.util.stream.LongStream;
@@ -24,6 +25,7 @@ import java.util.stream.Stream;
 
 import static org.meeuw.configuration.ReflectionUtils.getDeclaredBinaryMethod;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.meeuw.math.Randomizable;
 import org.meeuw.math.Synonym;
 import org.meeuw.math.abstractalgebra.*;
@@ -59,9 +61,24 @@ public abstract class ModuloStructure<E extends ModuloElement<E, S>, S extends M
     @Getter
     final Cardinality cardinality;
 
+    /**
+     * The arithmetic modulo {@link #getDivisor()}. This can also be used directly, to calculate with {@code long}s and {@code long[]}s, without creating elements.
+     * @since 0.20
+     */
+    @Getter
+    final ModuloArithmetic arithmetic;
+
+    /**
+     * Structures with a divisor up to this value, keep all their elements, so {@link #element(long)} does not need to create new ones.
+     */
+    static final int MAX_INTERNED = 1024;
+
+    private final E @Nullable [] interned;
+
     final E one;
     final E zero;
 
+    @SuppressWarnings("unchecked")
     ModuloStructure(Class<E> eClass, long divisor) {
         super(eClass);
         if (divisor <= 0) {
@@ -69,6 +86,15 @@ public abstract class ModuloStructure<E extends ModuloElement<E, S>, S extends M
         }
         this.divisor = divisor;
         this.cardinality = Cardinality.of(divisor);
+        this.arithmetic = ModuloArithmetic.of(divisor);
+        if (divisor <= MAX_INTERNED) {
+            interned = (E[]) Array.newInstance(eClass, (int) divisor);
+            for (int i = 0; i < divisor; i++) {
+                interned[i] = newElement(i);
+            }
+        } else {
+            interned = null;
+        }
         one = element(1);
         zero = element(0);
     }
@@ -120,7 +146,22 @@ public abstract class ModuloStructure<E extends ModuloElement<E, S>, S extends M
     }
 
 
-    abstract E element(long v);
+    /**
+     * @param v any long, which will be taken modulo the divisor
+     * @return the element with the given value
+     */
+    E element(long v) {
+        final long value = arithmetic.reduce(v);
+        if (interned != null) {
+            return interned[(int) value];
+        }
+        return newElement(value);
+    }
+
+    /**
+     * @param value a value in the range {@code [0, divisor)}
+     */
+    abstract E newElement(long value);
 
     @Override
     public String toString() {
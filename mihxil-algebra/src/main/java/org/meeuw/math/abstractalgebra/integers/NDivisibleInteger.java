@@ -41,7 +41,7 @@ public class NDivisibleInteger
     }
 
     NDivisibleInteger(NDivisibleIntegers structure, long value) {
-        this(structure, BigInteger.valueOf(value));
+        super(structure, value);
     }
 
     NDivisibleInteger(NDivisibleIntegers structure, BigInteger value) {
@@ -50,22 +50,22 @@ public class NDivisibleInteger
 
     @Override
     public NDivisibleInteger plus(NDivisibleInteger summand) {
-        return with(value.add(summand.value));
+        return sum(summand);
     }
 
     @Override
     public NDivisibleInteger negation() {
-        return with(value.negate());
+        return negated();
     }
 
     @Override
     public NDivisibleInteger minus(NDivisibleInteger subtrahend) {
-        return with(value.subtract(subtrahend.value));
+        return difference(subtrahend);
     }
 
     @Override
     public NDivisibleInteger times(NDivisibleInteger multiplier) {
-        return with(value.multiply(multiplier.value));
+        return product(multiplier);
     }
 
     @Override
@@ -78,12 +78,12 @@ public class NDivisibleInteger
 
     @Override
     public NDivisibleInteger sqr() {
-        return with(value.multiply(value));
+        return product(this);
     }
 
     @Override
     public NDivisibleInteger abs() {
-        return with(value.abs());
+        return absolute();
     }
 
 }
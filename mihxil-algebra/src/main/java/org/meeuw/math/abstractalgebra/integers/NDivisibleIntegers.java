@@ -96,6 +96,11 @@ public class NDivisibleIntegers extends
         return new NDivisibleInteger(this, value);
     }
 
+    @Override
+    NDivisibleInteger of(long value) {
+        return new NDivisibleInteger(this, value);
+    }
+
     @Override
     public NDivisibleInteger newElement(BigInteger value) throws InvalidElementCreationException {
         if (! value.remainder(bigDivisor).equals(BigInteger.ZERO)) {
@@ -47,14 +47,18 @@ public class NaturalNumber extends
         super(NaturalNumbers.INSTANCE, value);
     }
 
+    protected NaturalNumber(@Min(0) long value) {
+        super(NaturalNumbers.INSTANCE, value);
+    }
+
     @Override
     public NaturalNumber plus(NaturalNumber summand) {
-        return with(value.add(summand.value));
+        return sum(summand);
     }
 
     @Override
     public NaturalNumber times(NaturalNumber summand) {
-        return with(value.multiply(summand.value));
+        return product(summand);
     }
 
     @Override
@@ -77,6 +77,11 @@ public class NaturalNumbers extends AbstractIntegers<NaturalNumber, NaturalNumbe
         return new NaturalNumber(value);
     }
 
+    @Override
+    NaturalNumber of(long value) {
+        return new NaturalNumber(value);
+    }
+
     @Override
     public NaturalNumber newElement(@Min(0) BigInteger value) throws InvalidElementCreationException {
         if (value.compareTo(BigInteger.ZERO) < 0) {
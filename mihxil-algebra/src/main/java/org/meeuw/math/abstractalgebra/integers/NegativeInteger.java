@@ -46,15 +46,19 @@ public class NegativeInteger
         super(NegativeIntegers.INSTANCE, value);
     }
 
+    protected NegativeInteger(@Max(-1) long value) {
+        super(NegativeIntegers.INSTANCE, value);
+    }
+
     @Override
     public NegativeInteger plus(NegativeInteger summand) {
-        return with(value.add(summand.value));
+        return sum(summand);
     }
 
     @Override
     @NonAlgebraic
     public PositiveInteger abs() {
-        return new PositiveInteger(value.abs());
+        return new PositiveInteger(getValue().abs());
     }
 
     @Override
@@ -61,6 +61,11 @@ public class NegativeIntegers
         return new NegativeInteger(value);
     }
 
+    @Override
+    NegativeInteger of(long value) {
+        return new NegativeInteger(value);
+    }
+
     @Override
     public NegativeInteger newElement(@Max(-1) BigInteger value) throws InvalidElementCreationException {
         if (value.compareTo(BigInteger.ZERO) >= 0) {
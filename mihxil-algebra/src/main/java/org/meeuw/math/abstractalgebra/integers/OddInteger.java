@@ -47,9 +47,13 @@ public class OddInteger
         super(OddIntegers.INSTANCE, value);
     }
 
+    OddInteger(long value) {
+        super(OddIntegers.INSTANCE, value);
+    }
+
     @Override
     public OddInteger times(OddInteger multiplier) {
-        return with(value.multiply(multiplier.value));
+        return product(multiplier);
     }
 
     @Override
@@ -59,23 +63,23 @@ public class OddInteger
 
     @Override
     public OddInteger sqr() {
-        return with(value.multiply(value));
+        return product(this);
     }
 
     /**
      * Negation can be done, but this addition can't be!
      */
     public OddInteger negation() {
-        return with(value.negate());
+        return negated();
     }
 
     public OddInteger plus(EvenInteger summand)  {
-        return with(value.add(summand.value));
+        return with(getValue().add(summand.getValue()));
     }
 
     @Override
     public OddInteger abs() {
-        return with(value.abs());
+        return absolute();
     }
 
     @Override
@@ -72,6 +72,11 @@ public class OddIntegers extends AbstractIntegers<OddInteger, OddInteger, OddInt
         return new OddInteger(value);
     }
 
+    @Override
+    OddInteger of(long value) {
+        return new OddInteger(value);
+    }
+
     @Override
     public OddInteger newElement(BigInteger value) throws InvalidElementCreationException {
         if (value.remainder(IntegerUtils.TWO).equals(BigInteger.ZERO)) {
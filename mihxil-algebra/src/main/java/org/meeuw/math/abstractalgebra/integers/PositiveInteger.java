@@ -50,14 +50,18 @@ public class PositiveInteger
         super(INSTANCE, value);
     }
 
+    protected PositiveInteger(@Positive long value) {
+        super(INSTANCE, value);
+    }
+
     @Override
     public PositiveInteger plus(PositiveInteger summand) {
-        return with(value.add(summand.value));
+        return sum(summand);
     }
 
     @Override
     public PositiveInteger times(PositiveInteger summand) {
-        return with(value.multiply(summand.value));
+        return product(summand);
     }
 
     @Override
@@ -68,6 +68,11 @@ public class PositiveIntegers extends AbstractIntegers<PositiveInteger, Positive
         return new PositiveInteger(value);
     }
 
+    @Override
+    PositiveInteger of(long value) {
+        return new PositiveInteger(value);
+    }
+
     @Override
     public PositiveInteger newElement(@Min(0) BigInteger value) throws InvalidElementCreationException {
         if (value.compareTo(BigInteger.ZERO) <= 0) {
@@ -55,7 +55,7 @@ public class Square
 
     @Override
     public Square times(Square multiplier) {
-        return of(value.multiply(multiplier.value));
+        return of(getValue().multiply(multiplier.getValue()));
     }
 
     @Override
@@ -65,22 +65,22 @@ public class Square
 
     @Override
     public Square sqr() {
-        return of(value.multiply(value));
+        return of(getValue().multiply(getValue()));
     }
 
     @Override
     public Square abs() {
-        return of(value.abs());
+        return of(getValue().abs());
     }
 
     @NonAlgebraic
     public PositiveInteger plus(Square summand)  {
-        return new PositiveInteger(value.add(summand.value));
+        return new PositiveInteger(getValue().add(summand.getValue()));
     }
 
     @NonAlgebraic
     public IntegerElement minus(Square summand)  {
-        return new IntegerElement(value.subtract(summand.value));
+        return new IntegerElement(getValue().subtract(summand.getValue()));
     }
 
 
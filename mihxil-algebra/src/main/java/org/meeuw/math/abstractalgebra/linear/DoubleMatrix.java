@@ -0,0 +1,667 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.linear;
+
+import java.util.Arrays;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.meeuw.math.DoubleUtils;
+import org.meeuw.math.WithDoubleOperations;
+import org.meeuw.math.abstractalgebra.MultiplicativeGroupElement;
+import org.meeuw.math.abstractalgebra.reals.*;
+import org.meeuw.math.exceptions.*;
+
+/**
+ * A square {@code n×n} matrix of {@code double}s, stored in one row-major {@code double[]}. This is much faster and smaller than an {@link InvertibleMatrix} of {@link RealNumber}s, which needs an object per element, and per intermediate result.
+ * <p>
+ * Optionally, a matrix has uncertainties. They are stored in a second {@code double[]}, and propagated (to first order) by {@link #times(DoubleMatrix)}, {@link #times(DoubleVector)} and {@link #reciprocal()}. If none of the factors has uncertainties, the result has none either (rounding errors are not considered then).
+ * <p>
+ * {@link #lu()} and {@link #qr()} give access to the decompositions, which can e.g. be used to solve linear equations.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see org.meeuw.math.abstractalgebra.dim3.Matrix3
+ */
+public class DoubleMatrix implements MultiplicativeGroupElement<DoubleMatrix>, WithDoubleOperations<DoubleMatrix> {
+
+    /**
+     * The size of the blocks in which {@link #times(DoubleMatrix)} is performed, so that the blocks of both factors fit in the cache.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    final int dimension;
+    final double[] values;
+    final double @Nullable [] uncertainties;
+
+    DoubleMatrix(int dimension, double[] values, double @Nullable [] uncertainties) {
+        this.dimension = dimension;
+        this.values = values;
+        this.uncertainties = uncertainties;
+    }
+
+    /**
+     * @param values the values of the matrix, row by row. The number of values must be a square.
+     * @throws InvalidElementCreationException if the matrix is not invertible
+     */
+    public static DoubleMatrix of(double... values) {
+        final int dimension = (int) Math.round(Math.sqrt(values.length));
+        if (dimension * dimension != values.length) {
+            throw new InvalidElementCreationException(values.length + " is not a square");
+        }
+        return invertible(new DoubleMatrix(dimension, values.clone(), null));
+    }
+
+    /**
+     * @throws InvalidElementCreationException if the matrix is not invertible
+     */
+    public static DoubleMatrix of(double[][] values) {
+        final double[] flat = new double[values.length * values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].length != values.length) {
+                throw new InvalidElementCreationException("Matrix is not square");
+            }
+            System.arraycopy(values[i], 0, flat, i * values.length, values.length);
+        }
+        return invertible(new DoubleMatrix(values.length, flat, null));
+    }
+
+    /**
+     * Converts a matrix of {@link RealNumber}s, including their uncertainties.
+     * @throws InvalidElementCreationException if the matrix is not invertible as a matrix of doubles
+     */
+    public static DoubleMatrix of(InvertibleMatrix<RealNumber> matrix) {
+        return invertible(of(matrix.matrix));
+    }
+
+    /**
+     * Like {@link #of(InvertibleMatrix)}, but without checking whether the result is invertible, which would need an extra {@link #lu() LU decomposition}. So this is only for matrices that are known to be invertible.
+     */
+    static DoubleMatrix of(RealNumber[][] matrix) {
+        final int n = matrix.length;
+        final double[] values = new double[n * n];
+        final double[] uncertainties = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                values[i * n + j] = matrix[i][j].doubleValue();
+                uncertainties[i * n + j] = matrix[i][j].doubleUncertainty();
+            }
+        }
+        return new DoubleMatrix(n, values, uncertainties);
+    }
+
+    /**
+     * A matrix is only an element of the {@link DoubleMatrixGroup} if it is invertible, so singular matrices are refused, like {@link InvertibleMatrix} does.
+     */
+    private static DoubleMatrix invertible(DoubleMatrix matrix) {
+        if (matrix.lu().isSingular()) {
+            throw new InvalidElementCreationException("The matrix " + matrix + " is not invertible");
+        }
+        return matrix;
+    }
+
+    public static DoubleMatrix identity(int dimension) {
+        final double[] values = new double[dimension * dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i * dimension + i] = 1;
+        }
+        return new DoubleMatrix(dimension, values, null);
+    }
+
+    /**
+     * @param uncertainties the uncertainties of the values, row by row
+     * @return a new matrix with the same values, and the given uncertainties
+     */
+    public DoubleMatrix withUncertainties(double... uncertainties) {
+        if (uncertainties.length != values.length) {
+            throw new InvalidElementCreationException("Expected " + values.length + " uncertainties");
+        }
+        return new DoubleMatrix(dimension, values, uncertainties.clone());
+    }
+
+    @Override
+    public @NonNull DoubleMatrixGroup getStructure() {
+        return DoubleMatrixGroup.of(dimension);
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public double get(int i, int j) {
+        return values[i * dimension + j];
+    }
+
+    public double getUncertainty(int i, int j) {
+        return uncertainties == null ? 0 : uncertainties[i * dimension + j];
+    }
+
+    public boolean hasUncertainties() {
+        return uncertainties != null;
+    }
+
+    @Override
+    public DoubleMatrix times(DoubleMatrix multiplier) {
+        checkDimension(multiplier.dimension);
+        final double[] result = multiply(dimension, values, multiplier.values);
+        if (uncertainties == null && multiplier.uncertainties == null) {
+            return new DoubleMatrix(dimension, result, null);
+        }
+        // u(AB) = |A| u(B) + u(A) |B|
+        final double[] resultUncertainties = new double[result.length];
+        if (multiplier.uncertainties != null) {
+            addInto(resultUncertainties, multiply(dimension, abs(values), multiplier.uncertainties));
+        }
+        if (uncertainties != null) {
+            addInto(resultUncertainties, multiply(dimension, uncertainties, abs(multiplier.values)));
+        }
+        addRounding(result, resultUncertainties);
+        return new DoubleMatrix(dimension, result, resultUncertainties);
+    }
+
+    public DoubleVector times(DoubleVector vector) {
+        checkDimension(vector.values.length);
+        final double[] result = new double[dimension];
+        final double @Nullable [] resultUncertainties = uncertainties == null && vector.uncertainties == null ? null : new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            double sum = 0;
+            double uncertainty = 0;
+            for (int k = 0; k < dimension; k++) {
+                final double a = values[i * dimension + k];
+                sum += a * vector.values[k];
+                if (resultUncertainties != null) {
+                    uncertainty += Math.abs(a) * vector.getUncertainty(k) + getUncertainty(i, k) * Math.abs(vector.values[k]);
+                }
+            }
+            result[i] = sum;
+            if (resultUncertainties != null) {
+                resultUncertainties[i] = uncertainty + DoubleUtils.uncertaintyForDouble(sum);
+            }
+        }
+        return new DoubleVector(result, resultUncertainties);
+    }
+
+    /**
+     * @throws InvalidElementCreationException if the multiplier is zero, since that would result in a singular matrix
+     */
+    @Override
+    public DoubleMatrix times(double multiplier) {
+        if (multiplier == 0) {
+            throw new InvalidElementCreationException("Multiplying by zero would result in a singular matrix");
+        }
+        final double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] * multiplier;
+        }
+        double @Nullable [] resultUncertainties = null;
+        if (uncertainties != null) {
+            resultUncertainties = new double[values.length];
+            for (int i = 0; i < result.length; i++) {
+                resultUncertainties[i] = uncertainties[i] * Math.abs(multiplier);
+            }
+        }
+        return new DoubleMatrix(dimension, result, resultUncertainties);
+    }
+
+    @Override
+    public DoubleMatrix dividedBy(double divisor) {
+        if (divisor == 0) {
+            throw new DivisionByZeroException(this, divisor);
+        }
+        return times(1d / divisor);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Calculated with the {@link #lu() LU decomposition}. The uncertainties are propagated as {@code |A⁻¹| u(A) |A⁻¹|}.
+     */
+    @Override
+    public DoubleMatrix reciprocal() throws ReciprocalException {
+        final double[] inverse = lu().inverse();
+        if (uncertainties == null) {
+            return new DoubleMatrix(dimension, inverse, null);
+        }
+        final double[] absInverse = abs(inverse);
+        final double[] resultUncertainties = multiply(dimension, multiply(dimension, absInverse, uncertainties), absInverse);
+        addRounding(inverse, resultUncertainties);
+        return new DoubleMatrix(dimension, inverse, resultUncertainties);
+    }
+
+    public double determinant() {
+        return lu().determinant();
+    }
+
+    public DoubleMatrix transpose() {
+        return new DoubleMatrix(dimension, transpose(dimension, values), uncertainties == null ? null : transpose(dimension, uncertainties));
+    }
+
+    /**
+     * @return the <a href="https://en.wikipedia.org/wiki/LU_decomposition">LU decomposition</a> with partial pivoting.
+     */
+    public LU lu() {
+        return new LU(dimension, values);
+    }
+
+    /**
+     * @return the <a href="https://en.wikipedia.org/wiki/QR_decomposition">QR decomposition</a>, calculated with Householder reflections.
+     */
+    public QR qr() {
+        return new QR(dimension, values);
+    }
+
+    /**
+     * Converts this matrix to an {@link InvertibleMatrix} of {@link RealNumber}s. The uncertainties of the elements are the uncertainties of this matrix, or, if there are none, the uncertainties caused by the double representation.
+     * @throws InvalidElementCreationException if the matrix is not invertible
+     */
+    public InvertibleMatrix<RealNumber> toInvertibleMatrix() {
+        return GeneralLinearGroup.of(dimension, RealField.INSTANCE).newElement(asRealNumbers());
+    }
+
+    RealNumber[][] asRealNumbers() {
+        final RealNumber[][] result = new RealNumber[dimension][dimension];
+        for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < dimension; j++) {
+                final double value = values[i * dimension + j];
+                result[i][j] = uncertainties == null ? DoubleElement.of(value) : DoubleElement.of(value, uncertainties[i * dimension + j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a copy of the values, as a two-dimensional array
+     */
+    public double[][] getValues() {
+        final double[][] result = new double[dimension][];
+        for (int i = 0; i < dimension; i++) {
+            result[i] = Arrays.copyOfRange(values, i * dimension, (i + 1) * dimension);
+        }
+        return result;
+    }
+
+    /**
+     * Whether all values of this matrix are within the given distance of the values of another one.
+     */
+    public boolean eq(DoubleMatrix other, double epsilon) {
+        if (other.dimension != dimension) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (Math.abs(values[i] - other.values[i]) > epsilon) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleMatrix that = (DoubleMatrix) o;
+        return dimension == that.dimension && Arrays.equals(values, that.values) && Arrays.equals(uncertainties, that.uncertainties);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + Arrays.hashCode(uncertainties);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < dimension; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('(');
+            for (int j = 0; j < dimension; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append(values[i * dimension + j]);
+            }
+            builder.append(')');
+        }
+        return builder.append(')').toString();
+    }
+
+    private void checkDimension(int otherDimension) {
+        if (otherDimension != dimension) {
+            throw new NotCombinableException("Dimensions don't match (" + dimension + " != " + otherDimension + ")");
+        }
+    }
+
+    /**
+     * Cache blocked {@code n×n} matrix multiplication. Per block the loops are in {@code i-k-j} order, so the inner loop runs over consecutive elements of both the result and the second factor.
+     */
+    static double[] multiply(int n, double[] a, double[] b) {
+        final double[] result = new double[n * n];
+        for (int ii = 0; ii < n; ii += BLOCK_SIZE) {
+            final int iMax = Math.min(ii + BLOCK_SIZE, n);
+            for (int kk = 0; kk < n; kk += BLOCK_SIZE) {
+                final int kMax = Math.min(kk + BLOCK_SIZE, n);
+                for (int jj = 0; jj < n; jj += BLOCK_SIZE) {
+                    final int jMax = Math.min(jj + BLOCK_SIZE, n);
+                    for (int i = ii; i < iMax; i++) {
+                        final int row = i * n;
+                        for (int k = kk; k < kMax; k++) {
+                            final double aik = a[row + k];
+                            if (aik == 0) {
+                                continue;
+                            }
+                            final int bRow = k * n;
+                            for (int j = jj; j < jMax; j++) {
+                                result[row + j] += aik * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double[] abs(double[] values) {
+        final double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Math.abs(values[i]);
+        }
+        return result;
+    }
+
+    private static void addInto(double[] target, double[] values) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += values[i];
+        }
+    }
+
+    private static void addRounding(double[] values, double[] uncertainties) {
+        for (int i = 0; i < values.length; i++) {
+            uncertainties[i] += DoubleUtils.uncertaintyForDouble(values[i]);
+        }
+    }
+
+    private static double[] transpose(int n, double[] values) {
+        final double[] result = new double[values.length];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[j * n + i] = values[i * n + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The LU decomposition {@code PA = LU} of a {@link DoubleMatrix}, with {@code L} lower triangular with ones on the diagonal, {@code U} upper triangular and {@code P} a permutation.
+     */
+    public static final class LU {
+        private final int n;
+        /**
+         * L (without its diagonal) and U, in one array
+         */
+        private final double[] lu;
+        private final int[] permutation;
+        private final boolean evenPermutation;
+
+        LU(int n, double[] values) {
+            this.n = n;
+            this.lu = values.clone();
+            this.permutation = new int[n];
+            for (int i = 0; i < n; i++) {
+                permutation[i] = i;
+            }
+            boolean even = true;
+            for (int k = 0; k < n; k++) {
+                int pivot = k;
+                double max = Math.abs(lu[k * n + k]);
+                for (int i = k + 1; i < n; i++) {
+                    final double v = Math.abs(lu[i * n + k]);
+                    if (v > max) {
+                        max = v;
+                        pivot = i;
+                    }
+                }
+                if (pivot != k) {
+                    for (int j = 0; j < n; j++) {
+                        final double t = lu[k * n + j];
+                        lu[k * n + j] = lu[pivot * n + j];
+                        lu[pivot * n + j] = t;
+                    }
+                    final int t = permutation[k];
+                    permutation[k] = permutation[pivot];
+                    permutation[pivot] = t;
+                    even = !even;
+                }
+                final double diagonal = lu[k * n + k];
+                if (diagonal == 0) {
+                    continue;
+                }
+                for (int i = k + 1; i < n; i++) {
+                    final double factor = lu[i * n + k] / diagonal;
+                    lu[i * n + k] = factor;
+                    if (factor != 0) {
+                        for (int j = k + 1; j < n; j++) {
+                            lu[i * n + j] -= factor * lu[k * n + j];
+                        }
+                    }
+                }
+            }
+            this.evenPermutation = even;
+        }
+
+        public double determinant() {
+            double result = evenPermutation ? 1 : -1;
+            for (int i = 0; i < n; i++) {
+                result *= lu[i * n + i];
+            }
+            return result;
+        }
+
+        public boolean isSingular() {
+            for (int i = 0; i < n; i++) {
+                if (lu[i * n + i] == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Solves {@code Ax = b}
+         * @throws NotInvertibleException if {@code A} is singular
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new NotCombinableException("Dimensions don't match (" + n + " != " + b.length + ")");
+            }
+            if (isSingular()) {
+                throw new NotInvertibleException("Matrix is singular");
+            }
+            final double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = b[permutation[i]];
+            }
+            solveInPlace(x, 0, 1);
+            return x;
+        }
+
+        /**
+         * @return the inverse of {@code A}, row by row
+         * @throws NotInvertibleException if {@code A} is singular
+         */
+        double[] inverse() {
+            if (isSingular()) {
+                throw new NotInvertibleException("Matrix is singular");
+            }
+            // solve for all columns of the identity at once, stored in the columns of the result
+            final double[] result = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                result[i * n + permutation[i]] = 1;
+            }
+            for (int column = 0; column < n; column++) {
+                solveInPlace(result, column, n);
+            }
+            return result;
+        }
+
+        /**
+         * Forward and back substitution on the vector {@code x[offset], x[offset + stride], ...}
+         */
+        private void solveInPlace(double[] x, int offset, int stride) {
+            for (int i = 0; i < n; i++) {
+                double sum = x[offset + i * stride];
+                for (int k = 0; k < i; k++) {
+                    sum -= lu[i * n + k] * x[offset + k * stride];
+                }
+                x[offset + i * stride] = sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[offset + i * stride];
+                for (int k = i + 1; k < n; k++) {
+                    sum -= lu[i * n + k] * x[offset + k * stride];
+                }
+                x[offset + i * stride] = sum / lu[i * n + i];
+            }
+        }
+
+        public DoubleMatrix getL() {
+            final double[] l = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(lu, i * n, l, i * n, i);
+                l[i * n + i] = 1;
+            }
+            return new DoubleMatrix(n, l, null);
+        }
+
+        public DoubleMatrix getU() {
+            final double[] u = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(lu, i * n + i, u, i * n + i, n - i);
+            }
+            return new DoubleMatrix(n, u, null);
+        }
+
+        /**
+         * @return the permutation {@code P}, as the original row index for every row of {@code PA}
+         */
+        public int[] getPermutation() {
+            return permutation.clone();
+        }
+    }
+
+    /**
+     * The QR decomposition {@code A = QR} of a {@link DoubleMatrix}, with {@code Q} orthogonal and {@code R} upper triangular.
+     */
+    public static final class QR {
+        private final int n;
+        private final double[] q;
+        private final double[] r;
+
+        QR(int n, double[] values) {
+            this.n = n;
+            this.r = values.clone();
+            // Q^T, built up by applying the same reflections to the identity. Rows of qt are therefore consecutive in memory
+            final double[] qt = identity(n).values;
+            final double[] v = new double[n];
+            for (int k = 0; k < n - 1; k++) {
+                double norm = 0;
+                for (int i = k; i < n; i++) {
+                    norm = Math.hypot(norm, r[i * n + k]);
+                }
+                if (norm == 0) {
+                    continue;
+                }
+                final double alpha = r[k * n + k] > 0 ? -norm : norm;
+                double vNorm2 = 0;
+                for (int i = k; i < n; i++) {
+                    v[i] = r[i * n + k];
+                    if (i == k) {
+                        v[i] -= alpha;
+                    }
+                    vNorm2 += v[i] * v[i];
+                }
+                if (vNorm2 == 0) {
+                    continue;
+                }
+                reflect(r, v, k, vNorm2);
+                reflect(qt, v, k, vNorm2);
+            }
+            this.q = transpose(n, qt);
+        }
+
+        /**
+         * Applies {@code I - 2vvᵀ/(vᵀv)} to the rows {@code k..n} of the matrix
+         */
+        private void reflect(double[] matrix, double[] v, int k, double vNorm2) {
+            for (int j = 0; j < n; j++) {
+                double dot = 0;
+                for (int i = k; i < n; i++) {
+                    dot += v[i] * matrix[i * n + j];
+                }
+                final double factor = 2 * dot / vNorm2;
+                if (factor != 0) {
+                    for (int i = k; i < n; i++) {
+                        matrix[i * n + j] -= factor * v[i];
+                    }
+                }
+            }
+        }
+
+        public DoubleMatrix getQ() {
+            return new DoubleMatrix(n, q.clone(), null);
+        }
+
+        public DoubleMatrix getR() {
+            final double[] result = r.clone();
+            // the values below the diagonal are rounding errors
+            for (int i = 1; i < n; i++) {
+                Arrays.fill(result, i * n, i * n + i, 0);
+            }
+            return new DoubleMatrix(n, result, null);
+        }
+
+        /**
+         * Solves {@code Ax = b}, as {@code Rx = Qᵀb}
+         * @throws NotInvertibleException if {@code A} is singular
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new NotCombinableException("Dimensions don't match (" + n + " != " + b.length + ")");
+            }
+            final double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += q[k * n + i] * b[k];
+                }
+                x[i] = sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int k = i + 1; k < n; k++) {
+                    sum -= r[i * n + k] * x[k];
+                }
+                if (r[i * n + i] == 0) {
+                    throw new NotInvertibleException("Matrix is singular");
+                }
+                x[i] = sum / r[i * n + i];
+            }
+            return x;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.linear;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.exceptions.InvalidStructureCreationException;
+import org.meeuw.math.text.TextUtils;
+
+/**
+ * The group of invertible {@code n×n} {@link DoubleMatrix double matrices}. This is the dense, primitive counterpart of {@link GeneralLinearGroup} over {@link org.meeuw.math.abstractalgebra.reals.RealField}.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see org.meeuw.math.abstractalgebra.dim3.Matrix3Group
+ */
+public class DoubleMatrixGroup extends AbstractAlgebraicStructure<DoubleMatrix>
+    implements MultiplicativeGroup<DoubleMatrix> {
+
+    private static final Map<Integer, DoubleMatrixGroup> INSTANCES = new ConcurrentHashMap<>();
+
+    @Getter
+    private final int dimension;
+
+    private final DoubleMatrix one;
+
+    public static DoubleMatrixGroup of(int dimension) {
+        return INSTANCES.computeIfAbsent(dimension, DoubleMatrixGroup::new);
+    }
+
+    private DoubleMatrixGroup(int dimension) {
+        super(DoubleMatrix.class);
+        if (dimension < 1) {
+            throw new InvalidStructureCreationException("Dimension must be positive (" + dimension + ")");
+        }
+        this.dimension = dimension;
+        this.one = DoubleMatrix.identity(dimension);
+    }
+
+    @Override
+    public DoubleMatrix one() {
+        return one;
+    }
+
+    @Override
+    public Cardinality getCardinality() {
+        return Cardinality.C;
+    }
+
+    @Override
+    public boolean multiplicationIsCommutative() {
+        return dimension < 2;
+    }
+
+    @Override
+    public DoubleMatrix nextRandom(Random random) {
+        while (true) {
+            final double[] values = new double[dimension * dimension];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextDouble();
+            }
+            final DoubleMatrix result = new DoubleMatrix(dimension, values, null);
+            if (!result.lu().isSingular()) {
+                return result;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GL" + TextUtils.subscript(dimension) + "(double)";
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.linear;
+
+import java.util.Arrays;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.meeuw.math.WithDoubleOperations;
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.abstractalgebra.vectorspace.NVector;
+import org.meeuw.math.exceptions.NotCombinableException;
+
+/**
+ * A vector of {@code double}s, to be used with {@link DoubleMatrix}. Like that, it optionally has uncertainties, stored in a second {@code double[]}.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see NVector
+ */
+public class DoubleVector implements WithDoubleOperations<DoubleVector> {
+
+    final double[] values;
+    final double @Nullable [] uncertainties;
+
+    DoubleVector(double[] values, double @Nullable [] uncertainties) {
+        this.values = values;
+        this.uncertainties = uncertainties;
+    }
+
+    public static DoubleVector of(double... values) {
+        return new DoubleVector(values.clone(), null);
+    }
+
+    /**
+     * Converts a vector of {@link RealNumber}s, including their uncertainties.
+     */
+    public static DoubleVector of(NVector<RealNumber> vector) {
+        final RealNumber[] elements = vector.asArray();
+        final double[] values = new double[elements.length];
+        final double[] uncertainties = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = elements[i].doubleValue();
+            uncertainties[i] = elements[i].doubleUncertainty();
+        }
+        return new DoubleVector(values, uncertainties);
+    }
+
+    public DoubleVector withUncertainties(double... uncertainties) {
+        if (uncertainties.length != values.length) {
+            throw new NotCombinableException("Expected " + values.length + " uncertainties");
+        }
+        return new DoubleVector(values, uncertainties.clone());
+    }
+
+    public int getDimension() {
+        return values.length;
+    }
+
+    public double get(int i) {
+        return values[i];
+    }
+
+    public double getUncertainty(int i) {
+        return uncertainties == null ? 0 : uncertainties[i];
+    }
+
+    public DoubleVector plus(DoubleVector summand) {
+        checkDimension(summand);
+        final double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] + summand.values[i];
+        }
+        return new DoubleVector(result, sumOfUncertainties(summand));
+    }
+
+    public DoubleVector minus(DoubleVector subtrahend) {
+        checkDimension(subtrahend);
+        final double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] - subtrahend.values[i];
+        }
+        return new DoubleVector(result, sumOfUncertainties(subtrahend));
+    }
+
+    @Override
+    public DoubleVector times(double multiplier) {
+        final double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] * multiplier;
+        }
+        double @Nullable [] resultUncertainties = null;
+        if (uncertainties != null) {
+            resultUncertainties = new double[values.length];
+            for (int i = 0; i < result.length; i++) {
+                resultUncertainties[i] = uncertainties[i] * Math.abs(multiplier);
+            }
+        }
+        return new DoubleVector(result, resultUncertainties);
+    }
+
+    /**
+     * The inner product (ignoring the uncertainties)
+     */
+    public double dot(DoubleVector other) {
+        checkDimension(other);
+        double result = 0;
+        for (int i = 0; i < values.length; i++) {
+            result += values[i] * other.values[i];
+        }
+        return result;
+    }
+
+    public double abs() {
+        return Math.sqrt(dot(this));
+    }
+
+    public double[] asArray() {
+        return values.clone();
+    }
+
+    public NVector<RealNumber> toNVector() {
+        final RealNumber[] result = new RealNumber[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = uncertainties == null ? DoubleElement.of(values[i]) : DoubleElement.of(values[i], uncertainties[i]);
+        }
+        return NVector.of(result);
+    }
+
+    /**
+     * Whether all values of this vector are within the given distance of the values of another one.
+     */
+    public boolean eq(DoubleVector other, double epsilon) {
+        if (other.values.length != values.length) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (Math.abs(values[i] - other.values[i]) > epsilon) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(values, ((DoubleVector) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.append(')').toString();
+    }
+
+    private double @Nullable [] sumOfUncertainties(DoubleVector other) {
+        if (uncertainties == null && other.uncertainties == null) {
+            return null;
+        }
+        final double[] result = new double[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getUncertainty(i) + other.getUncertainty(i);
+        }
+        return result;
+    }
+
+    private void checkDimension(DoubleVector other) {
+        if (other.values.length != values.length) {
+            throw new NotCombinableException("Dimensions don't match (" + values.length + " != " + other.values.length + ")");
+        }
+    }
+}
@@ -18,6 +18,8 @@ package org.meeuw.math.abstractalgebra.linear;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.meeuw.math.*;
 import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.abstractalgebra.reals.RealField;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
 import org.meeuw.math.abstractalgebra.vectorspace.NVector;
 import org.meeuw.math.exceptions.InvalidElementCreationException;
 import org.meeuw.math.validation.Square;
@@ -31,6 +33,11 @@ public class InvertibleMatrix<E extends FieldElement<E>>
     >
     implements WithScalarOperations<InvertibleMatrix<E>, E> {
 
+    /**
+     * From this dimension on, matrices of {@link RealNumber}s are multiplied and inverted via a {@link DoubleMatrix}.
+     */
+    static final int DOUBLE_MATRIX_THRESHOLD = 8;
+
     /**
      * General constructor, without checking.
      *
@@ -69,13 +76,47 @@ public class InvertibleMatrix<E extends FieldElement<E>>
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Big enough matrices of {@link RealNumber}s are multiplied as a {@link DoubleMatrix}.
+     */
+    @Override
+    public InvertibleMatrix<E> times(InvertibleMatrix<E> multiplier) {
+        if (isDoubleMatrix()) {
+            return of(DoubleMatrix.of(realNumbers(matrix)).times(DoubleMatrix.of(realNumbers(multiplier.matrix))));
+        }
+        return super.times(multiplier);
+    }
+
     public NVector<E> times(NVector<E> multiplier) {
         return NVector.of(structure.getElementStructure().product(matrix, multiplier.asArray()));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Calculated with {@link DivisionRing#reciprocal(DivisionRingElement[][]) Gauss-Jordan elimination}, or, for big enough matrices of {@link RealNumber}s, with the {@link DoubleMatrix#lu() LU-decomposition} of a {@link DoubleMatrix}.
+     */
     @Override
     public InvertibleMatrix<E> reciprocal() {
-        return adjugate().dividedBy(determinant());
+        if (isDoubleMatrix()) {
+            return of(DoubleMatrix.of(realNumbers(matrix)).reciprocal());
+        }
+        return of(structure.getElementStructure().reciprocal(matrix));
+    }
+
+    private boolean isDoubleMatrix() {
+        return matrix.length >= DOUBLE_MATRIX_THRESHOLD && structure.getElementStructure() instanceof RealField;
+    }
+
+    private static RealNumber[][] realNumbers(Object[][] matrix) {
+        return (RealNumber[][]) matrix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private InvertibleMatrix<E> of(DoubleMatrix doubleMatrix) {
+        return of((E[][]) doubleMatrix.asRealNumbers());
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.meeuw.math.abstractalgebra.padic;
 
+import jakarta.validation.constraints.Min;
 import lombok.EqualsAndHashCode;
 
 import java.math.BigInteger;
@@ -9,6 +10,7 @@ import org.meeuw.math.*;
 import org.meeuw.math.abstractalgebra.FieldElement;
 import org.meeuw.math.abstractalgebra.padic.impl.AdicDigits;
 import org.meeuw.math.abstractalgebra.padic.impl.AdicDigitUtils;
+import org.meeuw.math.abstractalgebra.padic.impl.PackedAdicDigits;
 import org.meeuw.math.exceptions.*;
 
 import static org.meeuw.math.abstractalgebra.padic.impl.AdicDigits.NOT_REPETITIVE;
@@ -128,6 +130,16 @@ public class PAdicInteger implements FieldElement<PAdicInteger> {
         return x;
     }
 
+    /**
+     * The reciprocal up to the given number of digits, calculated directly with Hensel lifting on {@link PackedAdicDigits}. Contrary to {@link #reciprocal()} this does not try to find the repetend, so the result is finite, and only equals the reciprocal modulo {@code p}<sup>{@code precision}</sup>.
+     * @param precision the number of digits to calculate
+     */
+    public PAdicInteger reciprocal(@Min(1) int precision) throws ReciprocalException {
+        return new PAdicInteger(structure,
+            PackedAdicDigits.of(structure.base, precision, digits).reciprocal().toAdicDigits()
+        );
+    }
+
     /**
      * Computes the modular inverse of a mod m using extended Euclidean algorithm.
      * Returns -1 if no inverse exists (when gcd(a, m) != 1).
@@ -0,0 +1,395 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.padic.impl;
+
+import jakarta.validation.constraints.Min;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.meeuw.math.DigitUtils;
+import org.meeuw.math.exceptions.ReciprocalException;
+import org.meeuw.math.text.TextUtils;
+
+/**
+ * The first {@link #precision} digits of an adic number, i.e. the number modulo {@code base}<sup>{@code precision}</sup>.
+ * <p>
+ * Unlike {@link AdicDigits}, which stores one digit per byte, this packs as many digits as possible in every {@code long} 'limb': a limb is a number smaller than {@code base}<sup>{@link #digitsPerLimb(int) k}</sup>{@code  ≤ 2}<sup>{@code 62}</sup>, e.g. 26 digits in base 5. Additions and multiplications then handle carries per limb, rather than per digit.
+ * <p>
+ * Since the number of digits is finite, there is no {@link AdicDigits#repetend}, and this can only approximate numbers that are not finite. Results of operations have the precision of the least precise operand.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public final class PackedAdicDigits {
+
+    private static final long LIMB_LIMIT = 1L << 62;
+    private static final long HALF_MASK = 0xFFFFFFFFL;
+
+    final int base;
+    final int digitsPerLimb;
+    /**
+     * {@code base}<sup>{@link #digitsPerLimb}</sup>
+     */
+    final long limbRadix;
+    /**
+     * The radix of the most significant limb, which may contain fewer digits
+     */
+    final long topRadix;
+    final int precision;
+    /**
+     * The limbs, the least significant at {@code [0]}
+     */
+    final long[] limbs;
+
+    private PackedAdicDigits(int base, int precision, long[] limbs) {
+        this.base = base;
+        this.digitsPerLimb = digitsPerLimb(base);
+        this.limbRadix = pow(base, digitsPerLimb);
+        this.precision = precision;
+        this.topRadix = pow(base, precision - (limbs.length - 1) * digitsPerLimb);
+        this.limbs = limbs;
+    }
+
+    private PackedAdicDigits(PackedAdicDigits shape, long[] limbs) {
+        this.base = shape.base;
+        this.digitsPerLimb = shape.digitsPerLimb;
+        this.limbRadix = shape.limbRadix;
+        this.precision = shape.precision;
+        this.topRadix = shape.topRadix;
+        this.limbs = limbs;
+    }
+
+    /**
+     * @return the number of digits in base {@code base} that are packed in one {@code long}
+     */
+    public static int digitsPerLimb(@Min(2) int base) {
+        if (base < 2) {
+            throw new IllegalArgumentException("Base must be at least 2 (" + base + ")");
+        }
+        int k = 0;
+        for (long r = 1; r <= LIMB_LIMIT / base; r *= base) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * @param digits the digits, the least significant first, like {@link AdicDigits#digits}
+     */
+    public static PackedAdicDigits of(@Min(2) int base, @Min(1) int precision, byte[] digits) {
+        final PackedAdicDigits zero = zero(base, precision);
+        final long[] limbs = zero.limbs;
+        for (int l = 0; l < limbs.length; l++) {
+            final int from = l * zero.digitsPerLimb;
+            final int to = Math.min(Math.min(from + zero.digitsPerLimb, precision), digits.length);
+            long limb = 0;
+            for (int i = to - 1; i >= from; i--) {
+                limb = limb * base + Byte.toUnsignedInt(digits[i]);
+            }
+            limbs[l] = limb;
+        }
+        return zero;
+    }
+
+    /**
+     * The first {@code precision} digits of the given {@link AdicDigits}, including the repeated ones.
+     */
+    public static PackedAdicDigits of(@Min(2) int base, @Min(1) int precision, AdicDigits digits) {
+        final byte[] expanded = new byte[precision];
+        for (int i = 0; i < precision; i++) {
+            expanded[i] = digits.get(i).value();
+        }
+        return of(base, precision, expanded);
+    }
+
+    /**
+     * @param value an integer, which may be negative
+     */
+    public static PackedAdicDigits of(@Min(2) int base, @Min(1) int precision, BigInteger value) {
+        final PackedAdicDigits zero = zero(base, precision);
+        BigInteger remaining = value.mod(BigInteger.valueOf(base).pow(precision));
+        final BigInteger radix = BigInteger.valueOf(zero.limbRadix);
+        for (int l = 0; l < zero.limbs.length && remaining.signum() != 0; l++) {
+            final BigInteger[] divideAndRemainder = remaining.divideAndRemainder(radix);
+            zero.limbs[l] = divideAndRemainder[1].longValueExact();
+            remaining = divideAndRemainder[0];
+        }
+        return zero;
+    }
+
+    public static PackedAdicDigits zero(@Min(2) int base, @Min(1) int precision) {
+        if (precision < 1) {
+            throw new IllegalArgumentException("Precision must be positive (" + precision + ")");
+        }
+        final int k = digitsPerLimb(base);
+        return new PackedAdicDigits(base, precision, new long[(precision + k - 1) / k]);
+    }
+
+    public static PackedAdicDigits one(@Min(2) int base, @Min(1) int precision) {
+        final PackedAdicDigits result = zero(base, precision);
+        result.limbs[0] = 1;
+        return result;
+    }
+
+    public int getBase() {
+        return base;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return the digit at position {@code i}, or {@code 0} if {@code i} is not smaller than the precision
+     */
+    public byte digit(@Min(0) int i) {
+        if (i >= precision) {
+            return 0;
+        }
+        long limb = limbs[i / digitsPerLimb];
+        for (int j = i % digitsPerLimb; j > 0; j--) {
+            limb /= base;
+        }
+        return (byte) (limb % base);
+    }
+
+    /**
+     * @return all digits, the least significant first
+     */
+    public byte[] toDigits() {
+        final byte[] result = new byte[precision];
+        for (int l = 0; l < limbs.length; l++) {
+            long limb = limbs[l];
+            final int to = Math.min((l + 1) * digitsPerLimb, precision);
+            for (int i = l * digitsPerLimb; i < to; i++) {
+                result[i] = (byte) (limb % base);
+                limb /= base;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the digits as (finite) {@link AdicDigits}
+     */
+    public AdicDigits toAdicDigits() {
+        return AdicDigits.create(AdicDigits.NOT_REPETITIVE, toDigits());
+    }
+
+    /**
+     * @return the represented number, as an integer in the range {@code [0, base}<sup>{@code precision}</sup>{@code )}
+     */
+    public BigInteger bigIntegerValue() {
+        final BigInteger radix = BigInteger.valueOf(limbRadix);
+        BigInteger result = BigInteger.ZERO;
+        for (int l = limbs.length - 1; l >= 0; l--) {
+            result = result.multiply(radix).add(BigInteger.valueOf(limbs[l]));
+        }
+        return result;
+    }
+
+    /**
+     * Truncates, or extends with zeros.
+     */
+    public PackedAdicDigits withPrecision(@Min(1) int newPrecision) {
+        if (newPrecision == precision) {
+            return this;
+        }
+        final PackedAdicDigits result = zero(base, newPrecision);
+        System.arraycopy(limbs, 0, result.limbs, 0, Math.min(limbs.length, result.limbs.length));
+        result.truncate();
+        return result;
+    }
+
+    public PackedAdicDigits plus(PackedAdicDigits summand) {
+        final PackedAdicDigits shape = shape(summand);
+        final long[] result = new long[shape.limbs.length];
+        long carry = 0;
+        for (int l = 0; l < result.length; l++) {
+            long sum = limbs[l] + summand.limbs[l] + carry;
+            carry = 0;
+            if (sum >= limbRadix) {
+                sum -= limbRadix;
+                carry = 1;
+            }
+            result[l] = sum;
+        }
+        return new PackedAdicDigits(shape, result).truncate();
+    }
+
+    public PackedAdicDigits minus(PackedAdicDigits subtrahend) {
+        final PackedAdicDigits shape = shape(subtrahend);
+        final long[] result = new long[shape.limbs.length];
+        long borrow = 0;
+        for (int l = 0; l < result.length; l++) {
+            long difference = limbs[l] - subtrahend.limbs[l] - borrow;
+            borrow = 0;
+            if (difference < 0) {
+                difference += limbRadix;
+                borrow = 1;
+            }
+            result[l] = difference;
+        }
+        return new PackedAdicDigits(shape, result).truncate();
+    }
+
+    public PackedAdicDigits negation() {
+        return zero(base, precision).minus(this);
+    }
+
+    /**
+     * Long multiplication per limb. Only the limbs within the precision are calculated, so this takes about half the limb multiplications of a full product.
+     */
+    public PackedAdicDigits times(PackedAdicDigits multiplier) {
+        final PackedAdicDigits shape = shape(multiplier);
+        final int n = shape.limbs.length;
+        final long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+            final long a = limbs[i];
+            if (a == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; i + j < n; j++) {
+                // a * b + result + carry < limbRadix², so fits in 124 bits
+                final long b = multiplier.limbs[j];
+                long high = Math.multiplyHigh(a, b);
+                long low = a * b;
+                final long withResult = low + result[i + j];
+                if (Long.compareUnsigned(withResult, low) < 0) {
+                    high++;
+                }
+                low = withResult + carry;
+                if (Long.compareUnsigned(low, withResult) < 0) {
+                    high++;
+                }
+                carry = divide(high, low, limbRadix);
+                result[i + j] = low - carry * limbRadix;
+            }
+        }
+        return new PackedAdicDigits(shape, result).truncate();
+    }
+
+    /**
+     * The reciprocal, with <a href="https://en.wikipedia.org/wiki/Hensel%27s_lemma">Hensel lifting</a>: starting from the inverse of the first digit modulo {@code base}, the Newton step {@code x ← x (2 - a x)} doubles the number of correct digits, so this takes about as long as a few multiplications at the full precision.
+     * @throws ReciprocalException if the first digit is zero, or has no inverse modulo the base
+     */
+    public PackedAdicDigits reciprocal() throws ReciprocalException {
+        final int first = Byte.toUnsignedInt(digit(0));
+        final BigInteger bbase = BigInteger.valueOf(base);
+        final BigInteger bfirst = BigInteger.valueOf(first);
+        if (first == 0 || !bfirst.gcd(bbase).equals(BigInteger.ONE)) {
+            throw new ReciprocalException("Cannot compute reciprocal: first digit " + first + " has no inverse modulo " + base, "1/" + this);
+        }
+        PackedAdicDigits x = of(base, 1, bfirst.modInverse(bbase));
+        int reached = 1;
+        while (reached < precision) {
+            reached = reached > precision / 2 ? precision : 2 * reached;
+            x = x.withPrecision(reached);
+            final PackedAdicDigits two = of(base, reached, BigInteger.TWO);
+            x = x.times(two.minus(withPrecision(reached).times(x)));
+        }
+        return x;
+    }
+
+    private PackedAdicDigits shape(PackedAdicDigits other) {
+        if (base != other.base) {
+            throw new IllegalArgumentException("Cannot combine base " + base + " with base " + other.base);
+        }
+        return other.precision < precision ? other : this;
+    }
+
+    /**
+     * Reduces the most significant limb modulo {@link #topRadix}, i.e. drops the digits beyond the precision. Only used on new instances.
+     */
+    private PackedAdicDigits truncate() {
+        limbs[limbs.length - 1] %= topRadix;
+        return this;
+    }
+
+    /**
+     * Divides the unsigned 128-bit number {@code high·2}<sup>{@code 64}</sup>{@code  + low} by {@code divisor}, which must be bigger than {@code high}, after <a href="https://doi.org/10.5555/2462741">Hacker's Delight</a> {@code divlu}. The remainder is then {@code low - quotient · divisor}.
+     */
+    static long divide(long high, long low, long divisor) {
+        final int shift = Long.numberOfLeadingZeros(divisor);
+        final long v = divisor << shift;
+        final long vHigh = v >>> 32;
+        final long vLow = v & HALF_MASK;
+        final long u32 = (high << shift) | (shift == 0 ? 0 : low >>> (64 - shift));
+        final long u10 = low << shift;
+        final long u1 = u10 >>> 32;
+        final long u0 = u10 & HALF_MASK;
+
+        long q1 = Long.divideUnsigned(u32, vHigh);
+        long remainder = u32 - q1 * vHigh;
+        while (q1 > HALF_MASK || Long.compareUnsigned(q1 * vLow, (remainder << 32) | u1) > 0) {
+            q1--;
+            remainder += vHigh;
+            if (remainder > HALF_MASK) {
+                break;
+            }
+        }
+        final long u21 = (u32 << 32) + u1 - q1 * v;
+        long q0 = Long.divideUnsigned(u21, vHigh);
+        remainder = u21 - q0 * vHigh;
+        while (q0 > HALF_MASK || Long.compareUnsigned(q0 * vLow, (remainder << 32) | u0) > 0) {
+            q0--;
+            remainder += vHigh;
+            if (remainder > HALF_MASK) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PackedAdicDigits that = (PackedAdicDigits) o;
+        return base == that.base && precision == that.precision && Arrays.equals(limbs, that.limbs);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * base + precision) + Arrays.hashCode(limbs);
+    }
+
+    /**
+     * E.g. {@code 4303₅ + O(5⁴)}, the most significant digit first.
+     */
+    @Override
+    public String toString() {
+        final byte[] digits = toDigits();
+        final StringBuilder builder = new StringBuilder(precision + 16);
+        for (int i = digits.length - 1; i >= 0; i--) {
+            builder.append(DigitUtils.digitToString(digits[i]));
+        }
+        return builder
+            .append(TextUtils.subscript(base))
+            .append(" + O(").append(base).append(TextUtils.superscript(precision)).append(')')
+            .toString();
+    }
+}
@@ -26,6 +26,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.meeuw.math.abstractalgebra.MultiplicativeGroupElement;
 import org.meeuw.math.abstractalgebra.permutations.text.PermutationConfiguration;
 import org.meeuw.math.exceptions.InvalidElementCreationException;
+import org.meeuw.math.exceptions.OverflowException;
 import org.meeuw.math.text.FormatService;
 
 import static org.meeuw.configuration.ConfigurationService.getConfigurationAspect;
@@ -116,6 +117,43 @@ public class Permutation  implements
     }
 
 
+    /**
+     * The <a href="https://en.wikipedia.org/wiki/Lehmer_code">Lehmer code</a> of this permutation. The {@code i}th digit is the number of values after position {@code i} that are smaller than the value at position {@code i}.
+     * <p>
+     * Read as a number in the factorial number system, this is the {@link #rank()}.
+     * @since 0.20
+     */
+    public int[] lehmerCode() {
+        final int[] code = new int[value.length];
+        for (int i = 0; i < value.length; i++) {
+            for (int j = i + 1; j < value.length; j++) {
+                if (value[j] < value[i]) {
+                    code[i]++;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * The index of this permutation in the lexicographic order of all permutations of the same degree, which is the order of {@link PermutationGroup#stream()}.
+     *
+     * @throws OverflowException if the degree is bigger than {@link PermutationGroup#MAX_INDEXED_DEGREE}, since then the rank does not fit in a {@code long}
+     * @see PermutationGroup#unrank(long)
+     * @since 0.20
+     */
+    public long rank() {
+        if (value.length > PermutationGroup.MAX_INDEXED_DEGREE) {
+            throw new OverflowException("Degree " + value.length + " is too big", "rank(" + this + ")");
+        }
+        final int[] code = lehmerCode();
+        long rank = 0;
+        for (int i = 0; i < code.length; i++) {
+            rank = rank * (code.length - i) + code[i];
+        }
+        return rank;
+    }
+
     @Override
     public Permutation times(Permutation multiplier) {
         int[] result = new int[value.length];
@@ -19,13 +19,17 @@ import lombok.Getter;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.meeuw.math.ArrayUtils;
 import org.meeuw.math.Example;
 import org.meeuw.math.abstractalgebra.*;
 import org.meeuw.math.abstractalgebra.permutations.text.PermutationConfiguration;
+import org.meeuw.math.exceptions.InvalidElementCreationException;
+import org.meeuw.math.exceptions.OverflowException;
 import org.meeuw.math.text.TextUtils;
 
 import static org.meeuw.configuration.ConfigurationService.getConfigurationAspect;
@@ -41,6 +45,14 @@ public class PermutationGroup extends AbstractAlgebraicStructure<Permutation>
 
     private static final Map<Integer, PermutationGroup>  INSTANCES = new ConcurrentHashMap<>();
 
+    /**
+     * The maximal degree for which the permutations can be indexed by a {@code long}, since {@code 20! < 2⁶³ < 21!}.
+     * @see Permutation#rank()
+     * @see #unrank(long)
+     * @since 0.20
+     */
+    public static final int MAX_INDEXED_DEGREE = 20;
+
     /**
      * The <em>degree</em> of a permutation group is the number of elements it is working on.
      */
@@ -103,8 +115,52 @@ public class PermutationGroup extends AbstractAlgebraicStructure<Permutation>
     }
 
 
+    /**
+     * The permutation with the given index in the lexicographic order of all permutations of this group. This is the inverse of {@link Permutation#rank()}, and gives random access to the elements of {@link #stream()}.
+     *
+     * @param rank the index, {@code 0 <= rank < degree!}
+     * @throws InvalidElementCreationException if the rank is out of range
+     * @throws OverflowException if the degree is bigger than {@link #MAX_INDEXED_DEGREE}
+     * @since 0.20
+     */
+    public Permutation unrank(long rank) {
+        if (degree > MAX_INDEXED_DEGREE) {
+            throw new OverflowException("Degree " + degree + " is too big", "unrank(" + rank + ")");
+        }
+        if (rank < 0 || rank >= factorial(degree)) {
+            throw new InvalidElementCreationException("Rank " + rank + " is not in [0, " + degree + "!)");
+        }
+        return new Permutation(false, unrank(degree, rank));
+    }
+
+    static int[] unrank(int degree, long rank) {
+        // the digits of the rank in the factorial number system are the Lehmer code
+        final int[] code = new int[degree];
+        for (int i = degree - 1, radix = 1; i >= 0; i--, radix++) {
+            code[i] = (int) (rank % radix);
+            rank /= radix;
+        }
+        final List<Integer> remaining = new ArrayList<>(degree);
+        for (int i = 0; i < degree; i++) {
+            remaining.add(i);
+        }
+        final int[] result = new int[degree];
+        for (int i = 0; i < degree; i++) {
+            result[i] = remaining.remove(code[i]);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The permutations are streamed in lexicographic order. Up to degree {@link #MAX_INDEXED_DEGREE} the stream is {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and splits by {@link Permutation#rank() rank}, so parallel streams are perfectly balanced.
+     */
     @Override
     public Stream<Permutation> stream() {
+        if (degree <= MAX_INDEXED_DEGREE) {
+            return StreamSupport.stream(new PermutationSpliterator(degree, 0, factorial(degree)), false);
+        }
         final Iterator<Permutation> iterator = new Iterator<>() {
             Permutation p = one();
             final int[] values = Arrays.copyOf(p.value, degree);
@@ -125,9 +181,8 @@ public class PermutationGroup extends AbstractAlgebraicStructure<Permutation>
                 return value;
             }
         };
-        return StreamSupport.stream(Spliterators.spliterator(
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
                 iterator,
-                getCardinality().getValue().intValue(),
                 Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
 
     }
@@ -142,5 +197,60 @@ public class PermutationGroup extends AbstractAlgebraicStructure<Permutation>
         return "S" + TextUtils.subscript(degree);
     }
 
+    /**
+     * Spliterator over the permutations with rank in {@code [index, end)}. Only at the start, and after a split, a permutation is {@link #unrank(int, long) unranked}. After that it advances with {@link ArrayUtils#permute(int[])}.
+     */
+    private static class PermutationSpliterator implements Spliterator<Permutation> {
+        private final int degree;
+        private long index;
+        private final long end;
+        private int @Nullable [] values;
+
+        PermutationSpliterator(int degree, long index, long end) {
+            this.degree = degree;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Permutation> action) {
+            if (index >= end) {
+                return false;
+            }
+            if (values == null) {
+                values = unrank(degree, index);
+            }
+            action.accept(new Permutation(false, Arrays.copyOf(values, degree)));
+            index++;
+            if (index < end) {
+                ArrayUtils.permute(values);
+            }
+            return true;
+        }
+
+        @Override
+        public @Nullable Spliterator<Permutation> trySplit() {
+            final long middle = index + (end - index) / 2;
+            if (middle == index) {
+                return null;
+            }
+            final PermutationSpliterator prefix = new PermutationSpliterator(degree, index, middle);
+            prefix.values = values;
+            index = middle;
+            values = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+    }
+
 
 }
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.polynomial;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.meeuw.math.abstractalgebra.integers.ModuloArithmetic;
+import org.meeuw.math.abstractalgebra.integers.ModuloField;
+
+/**
+ * Multiplication of polynomials over {@link ModuloField ℤ/pℤ} with the <a href="https://en.wikipedia.org/wiki/Discrete_Fourier_transform_over_a_ring#Number-theoretic_transform">number theoretic transform</a>, which is {@code O(n log n)}.
+ * <p>
+ * This needs a {@code 2}<sup>{@code k}</sup>th root of unity, with {@code 2}<sup>{@code k}</sup> at least the number of coefficients of the product, so {@code 2}<sup>{@code k}</sup> must divide {@code p - 1}. E.g. {@code 998244353 = 119⋅2}<sup>{@code 23}</sup>{@code  + 1} can be used for products with up to {@code 2}<sup>{@code 23}</sup> coefficients.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+final class NumberTheoreticTransform {
+
+    /**
+     * The well known primes {@code c⋅2}<sup>{@code k}</sup>{@code  + 1} with a big {@code k}. Only the transforms for these are cached, so that the cache cannot grow unbounded. For other primes the root of unity is just searched again, which is cheap compared to the transform itself.
+     */
+    private static final Set<Long> CACHED_PRIMES = Set.of(
+        998_244_353L,   // 119⋅2^23 + 1
+        469_762_049L,   // 7⋅2^26 + 1
+        167_772_161L,   // 5⋅2^25 + 1
+        754_974_721L,   // 45⋅2^24 + 1
+        2_013_265_921L  // 15⋅2^27 + 1
+    );
+
+    private static final Map<Long, NumberTheoreticTransform> INSTANCES = new ConcurrentHashMap<>();
+
+    private final ModuloArithmetic arithmetic;
+    /**
+     * The exponent of the largest power of 2 dividing {@code p - 1}
+     */
+    private final int maxLogSize;
+    /**
+     * A primitive {@code 2}<sup>{@link #maxLogSize}</sup>th root of unity
+     */
+    private final long root;
+
+    private NumberTheoreticTransform(ModuloField field) {
+        this.arithmetic = field.getArithmetic();
+        final long p = field.getDivisor();
+        this.maxLogSize = Long.numberOfTrailingZeros(p - 1);
+        // c^((p - 1)/2^k) is a primitive 2^k-th root of unity if c is a quadratic non-residue
+        long r = 0;
+        for (long c = 2; c < p; c++) {
+            if (arithmetic.pow(c, (p - 1) / 2) == p - 1) {
+                r = arithmetic.pow(c, (p - 1) >> maxLogSize);
+                break;
+            }
+        }
+        this.root = r;
+    }
+
+    /**
+     * @return a transform for the given field, or {@code null} if the field is not suitable for products with the given number of coefficients.
+     */
+    static @Nullable NumberTheoreticTransform of(ModuloField field, int size) {
+        if (field.getDivisor() < 3 || size > (1L << Long.numberOfTrailingZeros(field.getDivisor() - 1))) {
+            return null;
+        }
+        if (!CACHED_PRIMES.contains(field.getDivisor())) {
+            return new NumberTheoreticTransform(field);
+        }
+        return INSTANCES.computeIfAbsent(field.getDivisor(), d -> new NumberTheoreticTransform(field));
+    }
+
+    /**
+     * @param a the coefficients of the first factor, in the range {@code [0, p)}
+     * @param b the coefficients of the second factor, in the range {@code [0, p)}
+     * @return the {@code a.length + b.length - 1} coefficients of the product
+     */
+    long[] multiply(long[] a, long[] b) {
+        final int resultLength = a.length + b.length - 1;
+        final int logSize = 32 - Integer.numberOfLeadingZeros(resultLength - 1);
+        final int size = 1 << logSize;
+        final long[] fa = new long[size];
+        final long[] fb = new long[size];
+        System.arraycopy(a, 0, fa, 0, a.length);
+        System.arraycopy(b, 0, fb, 0, b.length);
+        final long w = arithmetic.pow(root, 1L << (maxLogSize - logSize));
+        transform(fa, w);
+        transform(fb, w);
+        arithmetic.times(fa, fb, fa);
+        transform(fa, inverse(w));
+        final long sizeInverse = inverse(size);
+        final long[] result = new long[resultLength];
+        for (int i = 0; i < resultLength; i++) {
+            result[i] = arithmetic.times(fa[i], sizeInverse);
+        }
+        return result;
+    }
+
+    private long inverse(long value) {
+        // Fermat's little theorem
+        return arithmetic.pow(arithmetic.reduce(value), arithmetic.getDivisor() - 2);
+    }
+
+    /**
+     * In place iterative Cooley-Tukey transform
+     * @param w a primitive {@code values.length}th root of unity
+     */
+    private void transform(long[] values, long w) {
+        final int n = values.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                final long t = values[i];
+                values[i] = values[j];
+                values[j] = t;
+            }
+        }
+        final long[] powers = new long[n >> 1];
+        for (int length = 2; length <= n; length <<= 1) {
+            final int half = length >> 1;
+            final long wLength = arithmetic.pow(w, n / length);
+            powers[0] = 1;
+            for (int k = 1; k < half; k++) {
+                powers[k] = arithmetic.times(powers[k - 1], wLength);
+            }
+            for (int i = 0; i < n; i += length) {
+                for (int k = 0; k < half; k++) {
+                    final long u = values[i + k];
+                    final long v = arithmetic.times(values[i + k + half], powers[k]);
+                    values[i + k] = arithmetic.plus(u, v);
+                    values[i + k + half] = arithmetic.minus(u, v);
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.meeuw.math.ArrayUtils;
 import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.exceptions.DivisionByZeroException;
+import org.meeuw.math.exceptions.InverseException;
 import org.meeuw.math.text.TextUtils;
 
 /**
@@ -40,25 +42,58 @@ public class Polynomial<E extends AbelianRingElement<E>> implements AbelianRingE
         if (multiplier.isOne()) {
             return this;
         }
-        int degreeA = this.coefficients.length;
-        int degreeB = multiplier.coefficients.length;
-        @SuppressWarnings("unchecked")
-        E[] result = (E[]) Array.newInstance(
-            this.ring.getCoefficientRing().getElementClass(),
-            degreeA + degreeB - 1
-        );
-        // Initialize result coefficients to zero
-        for (int i = 0; i < result.length; i++) {
-            result[i] = this.ring.getCoefficientRing().zero();
-        }
-        for (int i = 0; i < degreeA; i++) {
-            for (int j = 0; j < degreeB; j++) {
-                result[i + j] = result[i + j].plus(
-                    this.coefficients[i].times(multiplier.coefficients[j])
-                );
-            }
+        return ring.newElement(PolynomialAlgorithms.multiply(ring.getCoefficientRing(), coefficients, multiplier.coefficients));
+    }
+
+    /**
+     * Euclidean division of polynomials. The leading coefficient of the divisor must be invertible.
+     * <p>
+     * For large polynomials the quotient is calculated with Newton iteration, which reduces the division to a few multiplications.
+     *
+     * @param divisor the polynomial to divide by
+     * @return the quotient {@code q}, such that {@code this = q ⋅ divisor + r}, with {@code r} of smaller degree than the divisor.
+     * @throws DivisionByZeroException if the divisor is zero
+     * @throws InverseException if the leading coefficient of the divisor is not invertible
+     * @since 0.20
+     */
+    public Polynomial<E> dividedByEuclidean(Polynomial<E> divisor) {
+        return ring.newElement(divideAndRemainder(divisor)[0]);
+    }
+
+    /**
+     * @param divisor the polynomial to divide by
+     * @return the remainder of the {@link #dividedByEuclidean(Polynomial) euclidean division}
+     * @since 0.20
+     */
+    public Polynomial<E> mod(Polynomial<E> divisor) {
+        return ring.newElement(divideAndRemainder(divisor)[1]);
+    }
+
+    private E[][] divideAndRemainder(Polynomial<E> divisor) {
+        final E[] divisorCoefficients = ArrayUtils.removeTrailingIf(AdditiveMonoidElement::isZero, ring.getCoefficientRing().getElementClass(), divisor.coefficients);
+        if (divisorCoefficients.length == 0) {
+            throw new DivisionByZeroException(this, divisor);
         }
-        return new Polynomial<>(ring, result);
+        return PolynomialAlgorithms.divideAndRemainder(ring.getCoefficientRing(), coefficients, divisorCoefficients);
+    }
+
+    /**
+     * Evaluates this polynomial, using Horner's method.
+     * @param x the value of the variable
+     * @since 0.20
+     */
+    public E evaluate(E x) {
+        return PolynomialAlgorithms.horner(ring.getCoefficientRing(), coefficients, x);
+    }
+
+    /**
+     * Evaluates this polynomial in many points. For large polynomials and many points this is faster than evaluating them one by one.
+     * @param points the values of the variable
+     * @return the values of the polynomial, in the same order as the points
+     * @since 0.20
+     */
+    public E[] evaluate(E[] points) {
+        return PolynomialAlgorithms.evaluate(ring.getCoefficientRing(), coefficients, points);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,322 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.polynomial;
+
+import java.util.Arrays;
+
+import org.meeuw.math.ArrayUtils;
+import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.abstractalgebra.integers.ModuloField;
+import org.meeuw.math.abstractalgebra.integers.ModuloFieldElement;
+import org.meeuw.math.exceptions.InverseException;
+
+import static org.meeuw.configuration.ConfigurationService.getConfigurationAspect;
+
+/**
+ * Algorithms on the coefficient arrays of {@link Polynomial polynomials}. The coefficients arrays may have trailing zeros, and are never modified.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see PolynomialConfiguration
+ */
+final class PolynomialAlgorithms {
+
+    private PolynomialAlgorithms() {
+    }
+
+    /**
+     * Multiplies two polynomials. Depending on the coefficient ring and the sizes, with the {@link NumberTheoreticTransform}, the Karatsuba algorithm, or the 'schoolbook' algorithm.
+     */
+    static <E extends AbelianRingElement<E>> E[] multiply(AbelianRing<E> ring, E[] a, E[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return ring.newArray(0);
+        }
+        final PolynomialConfiguration configuration = getConfigurationAspect(PolynomialConfiguration.class);
+        if (Math.min(a.length, b.length) >= configuration.getNttThreshold() && ring instanceof ModuloField field) {
+            final NumberTheoreticTransform ntt = NumberTheoreticTransform.of(field, a.length + b.length - 1);
+            if (ntt != null) {
+                return multiply(field, ntt, a, b);
+            }
+        }
+        return karatsuba(ring, a, b, configuration.getKaratsubaThreshold());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends AbelianRingElement<E>> E[] multiply(ModuloField field, NumberTheoreticTransform ntt, E[] a, E[] b) {
+        final long[] product = ntt.multiply(values(a), values(b));
+        final E[] result = (E[]) field.newArray(product.length);
+        for (int i = 0; i < product.length; i++) {
+            result[i] = (E) field.element(product[i]);
+        }
+        return result;
+    }
+
+    private static long[] values(AbelianRingElement<?>[] coefficients) {
+        final long[] values = new long[coefficients.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((ModuloFieldElement) coefficients[i]).getValue();
+        }
+        return values;
+    }
+
+    static <E extends AbelianRingElement<E>> E[] karatsuba(AbelianRing<E> ring, E[] a, E[] b, int threshold) {
+        if (a.length < b.length) {
+            // the algorithm below splits the longest one
+            if (ring.multiplicationIsCommutative()) {
+                return karatsuba(ring, b, a, threshold);
+            }
+        }
+        if (Math.min(a.length, b.length) < threshold) {
+            return schoolbook(ring, a, b);
+        }
+        final int half = (Math.max(a.length, b.length) + 1) / 2;
+        if (a.length <= half) {
+            // unbalanced, a * b0 + a * b1 * x^half
+            final E[] result = zeros(ring, a.length + b.length - 1);
+            addInto(result, karatsuba(ring, a, lower(ring, b, half), threshold), 0);
+            addInto(result, karatsuba(ring, a, upper(ring, b, half), threshold), half);
+            return result;
+        }
+        final E[] a0 = lower(ring, a, half);
+        final E[] a1 = upper(ring, a, half);
+        if (b.length <= half) {
+            // unbalanced, a0 * b + a1 * b * x^half
+            final E[] result = zeros(ring, a.length + b.length - 1);
+            addInto(result, karatsuba(ring, a0, b, threshold), 0);
+            addInto(result, karatsuba(ring, a1, b, threshold), half);
+            return result;
+        }
+        final E[] b0 = lower(ring, b, half);
+        final E[] b1 = upper(ring, b, half);
+        final E[] z0 = karatsuba(ring, a0, b0, threshold);
+        final E[] z2 = karatsuba(ring, a1, b1, threshold);
+        final E[] z1 = karatsuba(ring, add(ring, a0, a1), add(ring, b0, b1), threshold);
+        final E[] result = zeros(ring, a.length + b.length - 1);
+        addInto(result, z0, 0);
+        addInto(result, z2, 2 * half);
+        addInto(result, z1, half);
+        subtractInto(result, z0, half);
+        subtractInto(result, z2, half);
+        return result;
+    }
+
+    static <E extends AbelianRingElement<E>> E[] schoolbook(AbelianRing<E> ring, E[] a, E[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return ring.newArray(0);
+        }
+        final E[] result = zeros(ring, a.length + b.length - 1);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].isZero()) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = result[i + j].plus(a[i].times(b[j]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Euclidean division. The leading coefficient of the divisor must be invertible.
+     * @param divisor coefficients of the divisor, without trailing zeros
+     * @return an array with the quotient and the remainder
+     */
+    static <E extends AbelianRingElement<E>> E[][] divideAndRemainder(AbelianRing<E> ring, E[] dividend, E[] divisor) {
+        final E[][] result = ArrayUtils.newMatrix(ring.getElementClass(), 2, 0);
+        if (dividend.length < divisor.length) {
+            result[0] = ring.newArray(0);
+            result[1] = dividend;
+            return result;
+        }
+        final E leadInverse = inverse(divisor[divisor.length - 1]);
+        final int quotientLength = dividend.length - divisor.length + 1;
+        if (quotientLength >= getConfigurationAspect(PolynomialConfiguration.class).getNewtonThreshold()) {
+            // rev(q) = rev(a) / rev(b) mod x^(n - m + 1)
+            final E[] inverse = seriesInverse(ring, reverse(divisor), leadInverse, quotientLength);
+            final E[] quotient = reverse(lower(ring, multiply(ring, lower(ring, reverse(dividend), quotientLength), inverse), quotientLength));
+            result[0] = quotient;
+            result[1] = lower(ring, subtract(ring, dividend, multiply(ring, divisor, quotient)), divisor.length - 1);
+            return result;
+        }
+        final E[] remainder = Arrays.copyOf(dividend, dividend.length);
+        final E[] quotient = ring.newArray(quotientLength);
+        for (int i = quotientLength - 1; i >= 0; i--) {
+            final E q = remainder[i + divisor.length - 1].times(leadInverse);
+            quotient[i] = q;
+            if (q.isZero()) {
+                continue;
+            }
+            for (int j = 0; j < divisor.length; j++) {
+                remainder[i + j] = remainder[i + j].minus(q.times(divisor[j]));
+            }
+        }
+        result[0] = quotient;
+        result[1] = lower(ring, remainder, divisor.length - 1);
+        return result;
+    }
+
+    /**
+     * The first {@code n} coefficients of the power series {@code 1 / f}, calculated with Newton iteration {@code g ← g⋅(2 - f⋅g)}, which doubles the number of correct coefficients every step.
+     * @param constantInverse the inverse of {@code f[0]}
+     */
+    static <E extends AbelianRingElement<E>> E[] seriesInverse(AbelianRing<E> ring, E[] f, E constantInverse, int n) {
+        E[] g = ring.newArray(1);
+        g[0] = constantInverse;
+        final E two = ring.one().plus(ring.one());
+        int length = 1;
+        while (length < n) {
+            length = Math.min(2 * length, n);
+            final E[] fg = lower(ring, multiply(ring, lower(ring, f, length), g), length);
+            for (int i = 0; i < fg.length; i++) {
+                fg[i] = fg[i].negation();
+            }
+            fg[0] = fg[0].plus(two);
+            g = lower(ring, multiply(ring, g, fg), length);
+        }
+        return g;
+    }
+
+    /**
+     * Evaluates a polynomial in many points. For many points and large polynomials, a <a href="https://en.wikipedia.org/wiki/Polynomial_evaluation#Multipoint_evaluation">subproduct tree</a> is used, otherwise Horner's method.
+     */
+    static <E extends AbelianRingElement<E>> E[] evaluate(AbelianRing<E> ring, E[] coefficients, E[] points) {
+        final E[] result = ring.newArray(points.length);
+        final int threshold = getConfigurationAspect(PolynomialConfiguration.class).getNewtonThreshold();
+        if (points.length < threshold || coefficients.length < threshold) {
+            for (int i = 0; i < points.length; i++) {
+                result[i] = horner(ring, coefficients, points[i]);
+            }
+            return result;
+        }
+        // tree[level][i] is the product of the (x - point) for the points in the i-th block of 2^level points
+        int levels = 1;
+        while ((1 << (levels - 1)) < points.length) {
+            levels++;
+        }
+        final Object[][] tree = new Object[levels][];
+        tree[0] = new Object[points.length];
+        for (int i = 0; i < points.length; i++) {
+            final E[] linear = ring.newArray(2);
+            linear[0] = points[i].negation();
+            linear[1] = ring.one();
+            tree[0][i] = linear;
+        }
+        for (int level = 1; level < levels; level++) {
+            final Object[] below = tree[level - 1];
+            tree[level] = new Object[(below.length + 1) / 2];
+            for (int i = 0; i < tree[level].length; i++) {
+                tree[level][i] = 2 * i + 1 < below.length ? multiply(ring, cast(below[2 * i]), cast(below[2 * i + 1])) : below[2 * i];
+            }
+        }
+        // and down again, taking remainders. The products are all monic
+        Object[] remainders = new Object[] {divideAndRemainder(ring, coefficients, cast(tree[levels - 1][0]))[1]};
+        for (int level = levels - 2; level >= 0; level--) {
+            final Object[] next = new Object[tree[level].length];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = divideAndRemainder(ring, cast(remainders[i / 2]), cast(tree[level][i]))[1];
+            }
+            remainders = next;
+        }
+        for (int i = 0; i < points.length; i++) {
+            final E[] remainder = cast(remainders[i]);
+            result[i] = remainder.length == 0 ? ring.zero() : remainder[0];
+        }
+        return result;
+    }
+
+    static <E extends AbelianRingElement<E>> E horner(AbelianRing<E> ring, E[] coefficients, E x) {
+        E result = ring.zero();
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            result = result.times(x).plus(coefficients[i]);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E[] cast(Object o) {
+        return (E[]) o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends AbelianRingElement<E>> E inverse(E e) {
+        if (e.isOne() || e.times(e).isOne()) {
+            // e.g. -1 in the integers
+            return e;
+        }
+        if (e instanceof MultiplicativeGroupElement<?> m) {
+            return (E) m.reciprocal();
+        }
+        throw new InverseException("Leading coefficient " + e + " is not invertible in " + e.getStructure(), "1/" + e);
+    }
+
+    private static <E> E[] reverse(E[] a) {
+        final E[] result = Arrays.copyOf(a, a.length);
+        for (int i = 0; i < result.length / 2; i++) {
+            ArrayUtils.swap(result, i, result.length - 1 - i);
+        }
+        return result;
+    }
+
+    /**
+     * The first {@code n} coefficients, padded with zeros if needed
+     */
+    private static <E extends AbelianRingElement<E>> E[] lower(AbelianRing<E> ring, E[] a, int n) {
+        final E[] result = Arrays.copyOf(a, n);
+        for (int i = a.length; i < n; i++) {
+            result[i] = ring.zero();
+        }
+        return result;
+    }
+
+    private static <E extends AbelianRingElement<E>> E[] upper(AbelianRing<E> ring, E[] a, int from) {
+        if (from >= a.length) {
+            return ring.newArray(0);
+        }
+        return Arrays.copyOfRange(a, from, a.length);
+    }
+
+    private static <E extends AbelianRingElement<E>> E[] zeros(AbelianRing<E> ring, int n) {
+        final E[] result = ring.newArray(n);
+        Arrays.fill(result, ring.zero());
+        return result;
+    }
+
+    private static <E extends AbelianRingElement<E>> E[] add(AbelianRing<E> ring, E[] a, E[] b) {
+        final E[] result = zeros(ring, Math.max(a.length, b.length));
+        addInto(result, a, 0);
+        addInto(result, b, 0);
+        return result;
+    }
+
+    private static <E extends AbelianRingElement<E>> E[] subtract(AbelianRing<E> ring, E[] a, E[] b) {
+        final E[] result = zeros(ring, Math.max(a.length, b.length));
+        addInto(result, a, 0);
+        subtractInto(result, b, 0);
+        return result;
+    }
+
+    private static <E extends AbelianRingElement<E>> void addInto(E[] target, E[] a, int offset) {
+        for (int i = 0; i < a.length && i + offset < target.length; i++) {
+            target[i + offset] = target[i + offset].plus(a[i]);
+        }
+    }
+
+    private static <E extends AbelianRingElement<E>> void subtractInto(E[] target, E[] a, int offset) {
+        for (int i = 0; i < a.length && i + offset < target.length; i++) {
+            target[i + offset] = target[i + offset].minus(a[i]);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra.polynomial;
+
+import lombok.Getter;
+import lombok.With;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.meeuw.configuration.ConfigurationAspect;
+
+/**
+ * Tunes the algorithms used for arithmetic on {@link Polynomial}s. Below the thresholds the 'schoolbook' algorithms are used, which are faster for small polynomials.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see #karatsubaThreshold
+ * @see #nttThreshold
+ * @see #newtonThreshold
+ */
+@Getter
+public class PolynomialConfiguration implements ConfigurationAspect {
+
+    /**
+     * The minimal number of coefficients of both factors to multiply with the <a href="https://en.wikipedia.org/wiki/Karatsuba_algorithm">Karatsuba algorithm</a>.
+     */
+    @With
+    private final int karatsubaThreshold;
+
+    /**
+     * The minimal number of coefficients of both factors to multiply with a <a href="https://en.wikipedia.org/wiki/Discrete_Fourier_transform_over_a_ring#Number-theoretic_transform">number theoretic transform</a>. This is only possible for coefficients in a {@link org.meeuw.math.abstractalgebra.integers.ModuloField} with a suitable prime.
+     */
+    @With
+    private final int nttThreshold;
+
+    /**
+     * The minimal degree of the quotient to divide with Newton iteration (and multipoint evaluation with a subproduct tree).
+     */
+    @With
+    private final int newtonThreshold;
+
+    public PolynomialConfiguration() {
+        this(32, 64, 64);
+    }
+
+    @lombok.Builder
+    private PolynomialConfiguration(int karatsubaThreshold, int nttThreshold, int newtonThreshold) {
+        this.karatsubaThreshold = Math.max(2, karatsubaThreshold);
+        this.nttThreshold = nttThreshold;
+        this.newtonThreshold = newtonThreshold;
+    }
+
+    @Override
+    public List<Class<?>> associatedWith() {
+        return Collections.singletonList(Polynomial.class);
+    }
+}
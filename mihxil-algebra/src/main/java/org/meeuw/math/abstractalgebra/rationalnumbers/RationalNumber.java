@@ -17,8 +17,8 @@ package org.meeuw.math.abstractalgebra.rationalnumbers;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import lombok.Getter;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Optional;
@@ -37,37 +37,98 @@ import org.meeuw.math.text.TextUtils;
 import org.meeuw.math.validation.NotZero;
 
 /**
- * A rational number is implemented using two {@link BigInteger big integers}, one for the numerator, one for denominator
+ * A rational number is implemented as a fraction of two integers, one for the numerator, one for denominator
+ * <p>
+ * As long as the numerator and the denominator fit in a {@code long}, they are stored as {@code long}s, and the arithmetic is done with {@code long}s. The fraction is then reduced with the {@link IntegerUtils#binaryGcd(long, long) binary gcd algorithm}.
+ * <p>
+ * Otherwise, the results of arithmetic are not immediately reduced. In long chains of calculations (like sums, or matrix elimination) this saves a lot of (expensive) {@link BigInteger#gcd(BigInteger)} calls. The fraction is reduced when it is needed (e.g. by {@link #getNumerator()}, {@link #equals(Object)} or {@link #toString()}), or when it grows larger than {@value #MAX_UNREDUCED_BITS} bits.
  * @author Michiel Meeuwissen
  * @since 0.4
  * @see org.meeuw.math.abstractalgebra.rationalnumbers
  */
-@Getter
 public class RationalNumber extends Number
     implements
     ScalarFieldElement<RationalNumber, BigDecimalElement>,
     SignedNumber<RationalNumber>,
     Ordered<RationalNumber> {
 
-    public static final RationalNumber ONE = new RationalNumber(BigInteger.ONE, BigInteger.ONE);
-    public static final RationalNumber ZERO = new RationalNumber(BigInteger.ZERO, BigInteger.ONE);
+    /**
+     * Fractions with fewer bits than this, are always reduced immediately.
+     */
+    static final int MIN_UNREDUCED_BITS = 128;
+
+    /**
+     * Fractions with more bits than this, are reduced before they are used in arithmetic.
+     */
+    static final int MAX_UNREDUCED_BITS = 2048;
+
+    public static final RationalNumber ONE = new RationalNumber(1, 1);
+    public static final RationalNumber ZERO = new RationalNumber(0, 1);
+
+    /**
+     * Whether numerator and denominator fit in a long. They are then {@link #longNumerator} and {@link #longDenominator}, and the fraction is reduced.
+     */
+    private final boolean isLong;
+    private final long longNumerator;
+    private final long longDenominator;
+
+    /**
+     * If not {@link #isLong}, the (possibly not yet reduced) fraction. Otherwise {@code null}.
+     */
+    private final Fraction fraction;
+
+    /**
+     * The reduced form of {@link #fraction}, or, if {@link #isLong}, the longs as {@link Fraction}. Only created if needed.
+     */
+    private transient Fraction derivedFraction;
+
+    /**
+     * Numerator and denominator as {@link BigInteger}s. The denominator is always positive.
+     */
+    private record Fraction(BigInteger numerator, BigInteger denominator, boolean reduced) implements Serializable {
+
+        Fraction reduce() {
+            if (reduced) {
+                return this;
+            }
+            final BigInteger gcd = numerator.gcd(denominator);
+            return new Fraction(numerator.divide(gcd), denominator.divide(gcd), true);
+        }
 
-    @Getter
-    private final @NotNull BigInteger numerator;
-    @Getter
-    private final @NotNull @Positive BigInteger denominator;
+        int bitLength() {
+            return numerator.bitLength() + denominator.bitLength();
+        }
+    }
 
     public static RationalNumber of(long numerator, @NotZero long denominator) {
-        return new RationalNumber(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        if (denominator == 0) {
+            throw new InvalidElementCreationException("Denominator cannot be zero");
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        final long gcd = IntegerUtils.binaryGcd(numerator, denominator);
+        return new RationalNumber(numerator / gcd, denominator / gcd);
     }
 
     public static RationalNumber of(@NotNull BigInteger numerator, @NotNull
         @NotZero BigInteger denominator) {
-        return new RationalNumber(numerator, denominator);
+        if (denominator.signum() == 0) {
+            throw new InvalidElementCreationException("Denominator cannot be zero");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        return of(new Fraction(numerator, denominator, false));
     }
 
     public static RationalNumber of(@NotNull BigInteger numerator) {
-        return new RationalNumber(numerator, BigInteger.ONE);
+        return of(numerator, BigInteger.ONE);
     }
 
     public static RationalNumber of(long longValue) {
@@ -81,18 +142,87 @@ public class RationalNumber extends Number
         return of(bigDecimal.scaleByPowerOfTen(bigDecimal.scale()).toBigIntegerExact(),  denominator);
     }
 
-    RationalNumber(@NonNull BigInteger numerator, @NonNull @NotZero BigInteger denominator) throws InvalidElementCreationException {
-        if (denominator.equals(BigInteger.ZERO)) {
-            throw new InvalidElementCreationException("Denominator cannot be zero");
+    /**
+     * @param fraction a fraction with positive denominator
+     */
+    private static RationalNumber of(Fraction fraction) {
+        if (fraction.numerator.bitLength() < Long.SIZE && fraction.denominator.bitLength() < Long.SIZE
+            && fraction.numerator.longValue() != Long.MIN_VALUE && fraction.denominator.longValue() != Long.MIN_VALUE) {
+            return of(fraction.numerator.longValue(), fraction.denominator.longValue());
         }
-        BigInteger gcd = numerator.gcd(denominator);
-        BigInteger anumerator = numerator.abs();
-        BigInteger adenominator = denominator.abs();
-        boolean nn = anumerator.equals(numerator);
-        boolean dn = adenominator.equals(denominator);
-        boolean positive = (nn && dn) || (!nn && !dn);
-        this.numerator = positive ? anumerator.divide(gcd) : anumerator.divide(gcd).negate();
-        this.denominator = adenominator.divide(gcd);
+        if (fraction.bitLength() <= MIN_UNREDUCED_BITS) {
+            fraction = fraction.reduce();
+            if (fraction.numerator.bitLength() < Long.SIZE && fraction.denominator.bitLength() < Long.SIZE) {
+                return new RationalNumber(fraction.numerator.longValue(), fraction.denominator.longValue());
+            }
+        }
+        return new RationalNumber(fraction);
+    }
+
+    /**
+     * @param numerator   numerator of a reduced fraction
+     * @param denominator positive denominator of a reduced fraction
+     */
+    private RationalNumber(long numerator, long denominator) {
+        this.isLong = true;
+        this.longNumerator = numerator;
+        this.longDenominator = denominator;
+        this.fraction = null;
+    }
+
+    private RationalNumber(Fraction fraction) {
+        this.isLong = false;
+        this.longNumerator = 0;
+        this.longDenominator = 0;
+        this.fraction = fraction;
+    }
+
+    /**
+     * @return the fraction as {@link BigInteger}s, not necessarily reduced, unless it grew too big
+     */
+    private Fraction fraction() {
+        // a race on derivedFraction is harmless, since Fraction is immutable, and the final fields are always visible
+        Fraction result = derivedFraction;
+        if (result != null) {
+            return result;
+        }
+        if (isLong) {
+            result = new Fraction(BigInteger.valueOf(longNumerator), BigInteger.valueOf(longDenominator), true);
+            derivedFraction = result;
+        } else {
+            result = fraction;
+            if (!result.reduced && result.bitLength() > MAX_UNREDUCED_BITS) {
+                result = result.reduce();
+                derivedFraction = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the reduced fraction as {@link BigInteger}s
+     */
+    private Fraction reduced() {
+        Fraction result = fraction();
+        if (!result.reduced) {
+            result = result.reduce();
+            derivedFraction = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the numerator of the reduced fraction
+     */
+    public @NotNull BigInteger getNumerator() {
+        return reduced().numerator;
+    }
+
+    /**
+     * @return the (positive) denominator of the reduced fraction
+     */
+    public @NotNull @Positive BigInteger getDenominator() {
+        return reduced().denominator;
     }
 
     @Override
@@ -107,42 +237,52 @@ public class RationalNumber extends Number
 
     @Override
     public RationalNumber dividedBy(@NotZero BigInteger divisor) throws DivisionByZeroException {
-        return new RationalNumber(
-            numerator,
-            denominator.multiply(divisor));
+        final Fraction f = fraction();
+        return of(f.numerator, f.denominator.multiply(divisor));
     }
 
     @Override
     @NonAlgebraic(reason = NonAlgebraic.Reason.NON_ALL_ELEMENTS)
     public RationalNumber reciprocal() throws ReciprocalException {
-        if (numerator.equals(BigInteger.ZERO)) {
+        if (isZero()) {
             throw new DivisionByZeroException("Denominator cannot be zero", "reciprocal(" + this + ")");
         }
-        return new RationalNumber(denominator, numerator);
+        if (isLong) {
+            if (longNumerator > 0) {
+                return new RationalNumber(longDenominator, longNumerator);
+            } else if (longNumerator != Long.MIN_VALUE) {
+                return new RationalNumber(-longDenominator, -longNumerator);
+            }
+        }
+        final Fraction f = fraction();
+        return of(new Fraction(f.denominator.multiply(BigInteger.valueOf(f.numerator.signum())), f.numerator.abs(), f.reduced));
     }
 
     @Override
     public RationalNumber pow(final int exponent) throws IllegalPowerException {
         if (exponent < 0) {
             final int positiveExponent = -1 * exponent;
-            if (numerator.equals(BigInteger.ZERO)) {
+            if (isZero()) {
                 throw new IllegalPowerException("Cannot take negative exponent (" + exponent + ") of zero", BasicAlgebraicIntOperator.POWER.stringify(toString(), Integer.toString(exponent)));
             }
-            return new RationalNumber(
-                denominator.pow(positiveExponent),
-                numerator.pow(positiveExponent));
+            // powers of a reduced fraction are reduced
+            final Fraction f = reduced();
+            return of(
+                f.denominator.pow(positiveExponent),
+                f.numerator.pow(positiveExponent));
         } else if (exponent == 0) {
             return ONE;
         } else {
-            return new RationalNumber(
-                numerator.pow(exponent),
-                denominator.pow(exponent));
+            final Fraction f = reduced();
+            return of(new Fraction(
+                f.numerator.pow(exponent),
+                f.denominator.pow(exponent), true));
         }
     }
 
     @Override
     public boolean isZero() {
-        return numerator.equals(BigInteger.ZERO);
+        return isLong ? longNumerator == 0 : fraction.numerator.signum() == 0;
     }
 
     @Override
@@ -201,7 +341,7 @@ public class RationalNumber extends Number
 
     @Override
     public RationalNumber sqr() {
-        return new RationalNumber(numerator.multiply(numerator), denominator.multiply(denominator));
+        return times(this);
     }
 
     @Override
@@ -210,24 +350,40 @@ public class RationalNumber extends Number
         if (divisor.isZero()) {
             throw new DivisionByZeroException(this, divisor);
         }
-        return new RationalNumber(
-            numerator.multiply(divisor.denominator),
-            denominator.multiply(divisor.numerator)
-        );
+        return times(divisor.reciprocal());
     }
 
     @Override
     public RationalNumber plus(RationalNumber summand) {
-        return new RationalNumber(
-            numerator.multiply(summand.denominator).add(summand.numerator.multiply(denominator)),
-            denominator.multiply(summand.denominator)
-        );
+        if (isLong && summand.isLong) {
+            try {
+                // a/b + c/d = (a * d/g + c * b/g) / (b * d/g), with g = gcd(b, d)
+                final long gcd = IntegerUtils.binaryGcd(longDenominator, summand.longDenominator);
+                final long d = summand.longDenominator / gcd;
+                return of(
+                    Math.addExact(Math.multiplyExact(longNumerator, d), Math.multiplyExact(summand.longNumerator, longDenominator / gcd)),
+                    Math.multiplyExact(longDenominator, d)
+                );
+            } catch (ArithmeticException ae) {
+                // overflow, use BigIntegers
+            }
+        }
+        final Fraction f = fraction();
+        final Fraction s = summand.fraction();
+        return of(new Fraction(
+            f.numerator.multiply(s.denominator).add(s.numerator.multiply(f.denominator)),
+            f.denominator.multiply(s.denominator),
+            false
+        ));
     }
 
     @Override
     public RationalNumber negation() {
-        return new RationalNumber(
-                numerator.multiply(IntegerUtils.MINUS_ONE), denominator);
+        if (isLong && longNumerator != Long.MIN_VALUE) {
+            return new RationalNumber(-longNumerator, longDenominator);
+        }
+        final Fraction f = fraction();
+        return of(new Fraction(f.numerator.negate(), f.denominator, f.reduced));
     }
 
     @Override
@@ -238,7 +394,7 @@ public class RationalNumber extends Number
 
     @Override
     public RationalNumber minus(RationalNumber subtrahend) {
-        return plus(subtrahend.times(-1));
+        return plus(subtrahend.negation());
     }
 
     public BigDecimalElement toBigDecimalElement() {
@@ -247,24 +403,49 @@ public class RationalNumber extends Number
 
     @Override
     public int compareTo(@NonNull RationalNumber compare) {
-        return numerator.multiply(compare.denominator)
-            .compareTo(compare.numerator.multiply(denominator));
+        if (isLong && compare.isLong) {
+            // compare the 128 bits products
+            final long high = Math.multiplyHigh(longNumerator, compare.longDenominator);
+            final long compareHigh = Math.multiplyHigh(compare.longNumerator, longDenominator);
+            if (high != compareHigh) {
+                return Long.compare(high, compareHigh);
+            }
+            return Long.compareUnsigned(longNumerator * compare.longDenominator, compare.longNumerator * longDenominator);
+        }
+        final Fraction f = fraction();
+        final Fraction c = compare.fraction();
+        return f.numerator.multiply(c.denominator)
+            .compareTo(c.numerator.multiply(f.denominator));
     }
 
     @Override
     public RationalNumber times(RationalNumber multiplier) {
-        return new RationalNumber(
-                numerator.multiply(multiplier.numerator),
-                denominator.multiply(multiplier.denominator)
-        );
+        if (isLong && multiplier.isLong && longNumerator != Long.MIN_VALUE && multiplier.longNumerator != Long.MIN_VALUE) {
+            try {
+                // cross reduce first, the result is then reduced too
+                final long gcd1 = IntegerUtils.binaryGcd(longNumerator, multiplier.longDenominator);
+                final long gcd2 = IntegerUtils.binaryGcd(multiplier.longNumerator, longDenominator);
+                return new RationalNumber(
+                    Math.multiplyExact(longNumerator / gcd1, multiplier.longNumerator / gcd2),
+                    Math.multiplyExact(longDenominator / gcd2, multiplier.longDenominator / gcd1)
+                );
+            } catch (ArithmeticException ae) {
+                // overflow, use BigIntegers
+            }
+        }
+        final Fraction f = fraction();
+        final Fraction m = multiplier.fraction();
+        return of(new Fraction(
+            f.numerator.multiply(m.numerator),
+            f.denominator.multiply(m.denominator),
+            false
+        ));
     }
 
     @Override
     public RationalNumber times(BigInteger multiplier) {
-        return new RationalNumber(
-                numerator.multiply(multiplier),
-                denominator
-        );
+        final Fraction f = fraction();
+        return of(f.numerator.multiply(multiplier), f.denominator);
     }
 
     @Override
@@ -276,9 +457,10 @@ public class RationalNumber extends Number
             return times(Math.round(multiplier));
         } else {
             multiplier = 100_000 * abs * signum;
-            return new RationalNumber(
-                numerator.multiply(BigInteger.valueOf(Math.round(multiplier))),
-                denominator.multiply(BigInteger.valueOf(100_000))
+            final Fraction f = fraction();
+            return of(
+                f.numerator.multiply(BigInteger.valueOf(Math.round(multiplier))),
+                f.denominator.multiply(BigInteger.valueOf(100_000))
             );
 
         }
@@ -288,15 +470,16 @@ public class RationalNumber extends Number
         if (n == 0) {
             return this;
         }
+        final Fraction f = fraction();
         if (n > 0) {
-            return new RationalNumber(
-                numerator.multiply(BigInteger.TEN.pow(n)),
-                denominator
+            return of(
+                f.numerator.multiply(BigInteger.TEN.pow(n)),
+                f.denominator
             );
         } else {
-            return new RationalNumber(
-                numerator,
-                denominator.multiply(BigInteger.TEN.pow(-1 * n))
+            return of(
+                f.numerator,
+                f.denominator.multiply(BigInteger.TEN.pow(-1 * n))
             );
         }
      }
@@ -305,23 +488,36 @@ public class RationalNumber extends Number
 
     @Override
     public int intValue() {
-        return numerator.divide(denominator).intValue();
+        return (int) longValue();
     }
 
     @Override
     public long longValue() {
-        return numerator.divide(denominator).longValue();
+        if (isLong) {
+            return longNumerator / longDenominator;
+        }
+        final Fraction f = fraction();
+        return f.numerator.divide(f.denominator).longValue();
     }
 
     @Override
     public float floatValue() {
-        return (float) numerator.longValue() / denominator.longValue();
+        return (float) doubleValue();
     }
 
     @Override
     public double doubleValue() {
+        if (isLong && Math.abs(longNumerator) < EXACT_DOUBLE && longDenominator < EXACT_DOUBLE) {
+            // both are exact doubles, so the division is correctly rounded
+            return (double) longNumerator / longDenominator;
+        }
         return bigDecimalValue().doubleValue();
     }
+
+    /**
+     * Longs smaller than this, can be represented exactly by a double.
+     */
+    private static final long EXACT_DOUBLE = 1L << 53;
     @SuppressWarnings("unchecked")
     @Override
     public <F extends AlgebraicElement<F>> Optional<F> castDirectly(Class<F> clazz) {
@@ -339,48 +535,73 @@ public class RationalNumber extends Number
 
     @Override
     public BigDecimal bigDecimalValue() {
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator),
+        final Fraction f = fraction();
+        return new BigDecimal(f.numerator).divide(new BigDecimal(f.denominator),
             MathContextConfiguration.get().getContext());
     }
 
     @Override
     public boolean isOne() {
-        return this.equals(ONE);
+        if (isLong) {
+            return longNumerator == 1 && longDenominator == 1;
+        }
+        final Fraction f = fraction();
+        return f.numerator.equals(f.denominator);
     }
 
     @Override
     public int signum() {
-        return numerator.signum();
+        return isLong ? Long.signum(longNumerator) : fraction.numerator.signum();
     }
 
     @Override
     public RationalNumber abs() {
-        return new RationalNumber(numerator.abs(), denominator);
+        return signum() < 0 ? negation() : this;
     }
 
+    /**
+     * Compares the reduced fractions, so values which are not yet reduced, are equal to the same value which was reduced.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
 
         RationalNumber that = (RationalNumber) o;
-
-        return numerator.equals(that.numerator) && denominator.equals(that.denominator);
+        if (isLong && that.isLong) {
+            return longNumerator == that.longNumerator && longDenominator == that.longDenominator;
+        }
+        final Fraction f = reduced();
+        final Fraction t = that.reduced();
+        return f.numerator.equals(t.numerator) && f.denominator.equals(t.denominator);
     }
 
     @Override
     public int hashCode() {
-        int result = numerator.hashCode();
-        result = 31 * result + denominator.hashCode();
-        return result;
+        if (isLong) {
+            return 31 * Long.hashCode(longNumerator) + Long.hashCode(longDenominator);
+        }
+        final Fraction f = reduced();
+        return 31 * hashCode(f.numerator) + hashCode(f.denominator);
+    }
+
+    /**
+     * A hash code for a {@link BigInteger}, which is the same as {@link Long#hashCode(long)} if it fits in a long.
+     */
+    private static int hashCode(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? Long.hashCode(value.longValue()) : value.hashCode();
     }
 
     @Override
     public String toString() {
-        if (denominator.equals(BigInteger.ONE)) {
-            return numerator.toString();
+        if (isLong && longDenominator == 1) {
+            return Long.toString(longNumerator);
+        }
+        final Fraction f = reduced();
+        if (f.denominator.equals(BigInteger.ONE)) {
+            return f.numerator.toString();
         } else {
-            return (isNegative() ? "-" : "") + TextUtils.superscript(numerator.abs().toString()) + TextUtils.FRACTION_SLASH + TextUtils.subscript(denominator.toString());
+            return (isNegative() ? "-" : "") + TextUtils.superscript(f.numerator.abs().toString()) + TextUtils.FRACTION_SLASH + TextUtils.subscript(f.denominator.toString());
         }
     }
 
@@ -109,7 +109,7 @@ public class RationalNumbers extends AbstractAlgebraicStructure<RationalNumber>
             StreamUtils.diagonalStream(
                 (s) -> StreamUtils.reverseBigIntegerStream(BigInteger.valueOf(s), false),
                 () -> StreamUtils.bigIntegerStream(ONE, false),
-                (a, b) -> a.abs().gcd(b).equals(ONE) ? new RationalNumber(a.negate(), b) : null)
+                (a, b) -> a.abs().gcd(b).equals(ONE) ? RationalNumber.of(a.negate(), b) : null)
                 .filter(Objects::nonNull)
                 .flatMap(s -> Stream.of(s, s.negation()))
         );
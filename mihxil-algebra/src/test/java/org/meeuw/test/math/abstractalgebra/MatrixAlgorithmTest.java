@@ -0,0 +1,222 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.abstractalgebra.*;
+import org.meeuw.math.abstractalgebra.integers.*;
+import org.meeuw.math.abstractalgebra.quaternions.Quaternions;
+import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumber;
+import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumbers;
+import org.meeuw.math.abstractalgebra.reals.*;
+import org.meeuw.math.exceptions.ReciprocalException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.meeuw.math.abstractalgebra.MatrixAlgorithm.*;
+
+/**
+ * @author Michiel Meeuwissen
+ */
+class MatrixAlgorithmTest {
+
+    @Test
+    public void forRing() {
+        assertThat(MatrixAlgorithm.forRing(Integers.INSTANCE)).isEqualTo(BAREISS);
+        assertThat(MatrixAlgorithm.forRing(RationalNumbers.INSTANCE)).isEqualTo(GAUSS);
+        // not commutative
+        assertThat(MatrixAlgorithm.forRing(Quaternions.of(RationalNumbers.INSTANCE))).isEqualTo(LEIBNIZ);
+        assertThat(MatrixAlgorithm.forRing(ModuloRing.of(6))).isEqualTo(LEIBNIZ);
+    }
+
+    @Test
+    public void notApplicable() {
+        assertThatThrownBy(() -> GAUSS.determinant(Integers.INSTANCE, integers(new Random(1), 3)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5, 6})
+    public void bareissEqualsLeibniz(int n) {
+        Random random = new Random(n);
+        for (int i = 0; i < 20; i++) {
+            IntegerElement[][] matrix = integers(random, n);
+            assertThat(BAREISS.determinant(Integers.INSTANCE, matrix))
+                .isEqualTo(LEIBNIZ.determinant(Integers.INSTANCE, matrix));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5, 6})
+    public void gaussEqualsLeibniz(int n) {
+        Random random = new Random(n);
+        for (int i = 0; i < 20; i++) {
+            RationalNumber[][] matrix = rationals(random, n);
+            assertThat(GAUSS.determinant(RationalNumbers.INSTANCE, matrix))
+                .isEqualTo(LEIBNIZ.determinant(RationalNumbers.INSTANCE, matrix));
+        }
+    }
+
+    /**
+     * Without partial pivoting the tiny first pivot would make the determinant collapse to zero.
+     */
+    @Test
+    public void gaussPivotsOnLargestMagnitude() {
+        RealNumber[][] matrix = RealField.INSTANCE.newMatrix(3, 3);
+        double[][] values = {
+            {1e-20, 1, 1},
+            {1, 1, 2},
+            {1, 2, 1}
+        };
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                matrix[i][j] = DoubleElement.exactly(values[i][j]);
+            }
+        }
+        assertThat(GAUSS.determinant(RealField.INSTANCE, matrix).doubleValue()).isCloseTo(2, within(1e-12));
+    }
+
+    @Test
+    public void bareissWithZeroPivots() {
+        IntegerElement[][] matrix = ints(new long[][] {
+            {0, 2, 3},
+            {0, 0, 1},
+            {4, 5, 6}
+        });
+        assertThat(BAREISS.determinant(Integers.INSTANCE, matrix)).isEqualTo(IntegerElement.of(8));
+        assertThat(LEIBNIZ.determinant(Integers.INSTANCE, matrix)).isEqualTo(IntegerElement.of(8));
+
+        IntegerElement[][] singular = ints(new long[][] {
+            {1, 2, 3},
+            {2, 4, 6},
+            {0, 4, 6}
+        });
+        assertThat(BAREISS.determinant(Integers.INSTANCE, singular)).isEqualTo(IntegerElement.ZERO);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5})
+    public void adjugate(int n) {
+        Random random = new Random(n);
+        for (int i = 0; i < 20; i++) {
+            IntegerElement[][] matrix = integers(random, n);
+            assertThat(BAREISS.adjugate(Integers.INSTANCE, matrix))
+                .isDeepEqualTo(LEIBNIZ.adjugate(Integers.INSTANCE, matrix));
+            RationalNumber[][] rationals = rationals(random, n);
+            assertThat(GAUSS.adjugate(RationalNumbers.INSTANCE, rationals))
+                .isDeepEqualTo(LEIBNIZ.adjugate(RationalNumbers.INSTANCE, rationals));
+        }
+    }
+
+    @Test
+    public void adjugateOfSingular() {
+        IntegerElement[][] singular = ints(new long[][] {
+            {1, 2, 3},
+            {2, 4, 6},
+            {0, 4, 5}
+        });
+        assertThat(BAREISS.adjugate(Integers.INSTANCE, singular))
+            .isDeepEqualTo(LEIBNIZ.adjugate(Integers.INSTANCE, singular));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5})
+    public void reciprocal(int n) {
+        Random random = new Random(n);
+        RationalNumbers field = RationalNumbers.INSTANCE;
+        for (int i = 0; i < 20; i++) {
+            RationalNumber[][] matrix = rationals(random, n);
+            if (field.determinant(matrix).isZero()) {
+                assertThatThrownBy(() -> field.reciprocal(matrix)).isInstanceOf(ReciprocalException.class);
+            } else {
+                RationalNumber[][] product = field.product(matrix, field.reciprocal(matrix));
+                for (int j = 0; j < n; j++) {
+                    for (int k = 0; k < n; k++) {
+                        assertThat(product[j][k]).isEqualTo(j == k ? field.one() : field.zero());
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 12})
+    public void parallel(int n) {
+        Random random = new Random(n);
+        RationalNumbers field = RationalNumbers.INSTANCE;
+        RationalNumber[][] matrix = rationals(random, n);
+        RationalNumber[] vector = rationals(random, n)[0];
+        IntegerElement[][] integers = integers(random, n);
+
+        RationalNumber[][] product = sequential(() -> field.product(matrix, matrix));
+        RationalNumber[] vectorProduct = sequential(() -> field.product(matrix, vector));
+        RationalNumber determinant = sequential(() -> field.determinant(matrix));
+        RationalNumber[][] adjugate = sequential(() -> field.adjugate(matrix));
+        IntegerElement integerDeterminant = sequential(() -> Integers.INSTANCE.determinant(integers));
+        IntegerElement[][] integerAdjugate = sequential(() -> Integers.INSTANCE.adjugate(integers));
+
+        ConfigurationService.withAspect(MatrixConfiguration.class, c -> c.withParallelThreshold(1), () -> {
+            assertThat(field.product(matrix, matrix)).isDeepEqualTo(product);
+            assertThat(field.product(matrix, vector)).isEqualTo(vectorProduct);
+            assertThat(field.determinant(matrix)).isEqualTo(determinant);
+            assertThat(field.adjugate(matrix)).isDeepEqualTo(adjugate);
+            assertThat(Integers.INSTANCE.determinant(integers)).isEqualTo(integerDeterminant);
+            assertThat(Integers.INSTANCE.adjugate(integers)).isDeepEqualTo(integerAdjugate);
+        });
+    }
+
+    static <R> R sequential(Supplier<R> supplier) {
+        return ConfigurationService.withAspect(MatrixConfiguration.class, c -> c.withParallelThreshold(Integer.MAX_VALUE), supplier);
+    }
+
+    static IntegerElement[][] integers(Random random, int n) {
+        IntegerElement[][] result = Integers.INSTANCE.newMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = IntegerElement.of(random.nextInt(21) - 10);
+            }
+        }
+        return result;
+    }
+
+    static IntegerElement[][] ints(long[][] values) {
+        IntegerElement[][] result = Integers.INSTANCE.newMatrix(values.length, values.length);
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values.length; j++) {
+                result[i][j] = IntegerElement.of(values[i][j]);
+            }
+        }
+        return result;
+    }
+
+    static RationalNumber[][] rationals(Random random, int n) {
+        RationalNumber[][] result = RationalNumbers.INSTANCE.newMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = RationalNumber.of(random.nextInt(21) - 10, random.nextInt(5) + 1);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra.complex;
+
+import lombok.extern.java.Log;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.meeuw.math.abstractalgebra.bigdecimals.BigDecimalElement;
+import org.meeuw.math.abstractalgebra.complex.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+@Log
+class FourierTransformTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 5, 8, 12, 64, 100, 127})
+    public void againstDefinition(int n) {
+        final double[] data = random(n, n);
+        assertClose(FourierTransform.forward(data), dft(data, false), 1e-9 * (n + 1));
+        assertClose(FourierTransform.inverse(data), dft(data, true), 1e-9);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 17, 1000, 1024})
+    public void roundTrip(int n) {
+        final double[] data = random(n, 1);
+        final double[] transformed = data.clone();
+        FourierTransform.transform(transformed, false);
+        FourierTransform.transform(transformed, true);
+        assertClose(transformed, data, 1e-10);
+    }
+
+    @Test
+    public void impulse() {
+        final double[] data = new double[2 * 6];
+        data[0] = 1;
+        final double[] transformed = FourierTransform.forward(data);
+        for (int k = 0; k < 6; k++) {
+            assertThat(transformed[2 * k]).isCloseTo(1, within(1e-15));
+            assertThat(transformed[2 * k + 1]).isCloseTo(0, within(1e-15));
+        }
+        assertThatThrownBy(() -> FourierTransform.forward(new double[3])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 10, 33})
+    public void convolve(int n) {
+        final double[] a = random(n, 1);
+        final double[] b = random(n + 4, 2);
+        final double[] expected = new double[2 * (2 * n + 3)];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n + 4; j++) {
+                expected[2 * (i + j)] += a[2 * i] * b[2 * j] - a[2 * i + 1] * b[2 * j + 1];
+                expected[2 * (i + j) + 1] += a[2 * i] * b[2 * j + 1] + a[2 * i + 1] * b[2 * j];
+            }
+        }
+        assertClose(FourierTransform.convolve(a, b), expected, 1e-9);
+        assertThat(FourierTransform.convolve(a, new double[0])).isEmpty();
+    }
+
+    @Test
+    public void complexNumbers() {
+        final ComplexNumber[] values = {
+            ComplexNumber.of(1, 2), ComplexNumber.of(-3, 0.5), ComplexNumber.of(0, 1)
+        };
+        final ComplexNumber[] transformed = FourierTransform.forward(values);
+        final double[] expected = dft(FourierTransform.toInterleaved(values), false);
+        for (int k = 0; k < values.length; k++) {
+            log.info("%s -> %s".formatted(values[k], transformed[k]));
+            assertThat(transformed[k].getReal().doubleValue()).isCloseTo(expected[2 * k], within(1e-12));
+            assertThat(transformed[k].getImaginary().doubleValue()).isCloseTo(expected[2 * k + 1], within(1e-12));
+            assertThat(transformed[k].getReal().doubleUncertainty()).isGreaterThan(0);
+        }
+        final ComplexNumber[] back = FourierTransform.inverse(transformed);
+        for (int k = 0; k < values.length; k++) {
+            assertThat(back[k].eq(values[k])).isTrue();
+        }
+
+        final ComplexNumber[] product = FourierTransform.convolve(values, new ComplexNumber[] {ComplexNumber.of(0, 1)});
+        for (int k = 0; k < values.length; k++) {
+            assertThat(product[k].eq(values[k].times(ComplexNumber.of(0, 1)))).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {7, 16})
+    public void againstBigComplexNumbers(int n) {
+        final double[] data = random(n, 3);
+        final BigComplexNumber[] big = new BigComplexNumber[n];
+        for (int i = 0; i < n; i++) {
+            big[i] = BigComplexNumber.of(BigDecimalElement.of(data[2 * i]), BigDecimalElement.of(data[2 * i + 1]));
+        }
+        final BigComplexNumber[] expected = FourierTransform.transform(big, false);
+        final double[] transformed = FourierTransform.forward(data);
+        for (int k = 0; k < n; k++) {
+            assertThat(transformed[2 * k]).isCloseTo(expected[k].getReal().doubleValue(), within(1e-12));
+            assertThat(transformed[2 * k + 1]).isCloseTo(expected[k].getImaginary().doubleValue(), within(1e-12));
+        }
+        final BigComplexNumber[] back = FourierTransform.transform(expected, true);
+        for (int i = 0; i < n; i++) {
+            assertThat(back[i].getReal().doubleValue()).isCloseTo(data[2 * i], within(1e-14));
+            assertThat(back[i].getImaginary().doubleValue()).isCloseTo(data[2 * i + 1], within(1e-14));
+        }
+    }
+
+    private static double[] dft(double[] data, boolean inverse) {
+        final int n = data.length / 2;
+        final double[] result = new double[data.length];
+        for (int k = 0; k < n; k++) {
+            double re = 0;
+            double im = 0;
+            for (int j = 0; j < n; j++) {
+                final double angle = (inverse ? 2 : -2) * Math.PI * ((long) j * k % n) / n;
+                re += data[2 * j] * Math.cos(angle) - data[2 * j + 1] * Math.sin(angle);
+                im += data[2 * j] * Math.sin(angle) + data[2 * j + 1] * Math.cos(angle);
+            }
+            result[2 * k] = inverse ? re / n : re;
+            result[2 * k + 1] = inverse ? im / n : im;
+        }
+        return result;
+    }
+
+    private static double[] random(int n, long seed) {
+        final Random random = new Random(seed);
+        final double[] result = new double[2 * n];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = random.nextGaussian();
+        }
+        return result;
+    }
+
+    private static void assertClose(double[] actual, double[] expected, double tolerance) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < actual.length; i++) {
+            assertThat(actual[i]).withFailMessage("%d: %s != %s", i, actual[i], expected[i]).isCloseTo(expected[i], within(tolerance));
+        }
+    }
+}
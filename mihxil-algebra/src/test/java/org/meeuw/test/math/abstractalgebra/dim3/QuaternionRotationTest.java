@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra.dim3;
+
+import java.util.Random;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.abstractalgebra.dim3.*;
+import org.meeuw.math.abstractalgebra.quaternions.Quaternion;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.exceptions.InvalidElementCreationException;
+import org.meeuw.theories.abstractalgebra.MultiplicativeGroupTheory;
+
+import static java.lang.Math.PI;
+import static org.assertj.core.api.Assertions.*;
+import static org.meeuw.math.Utils.Math_2PI;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class QuaternionRotationTest implements MultiplicativeGroupTheory<QuaternionRotation> {
+
+    @Test
+    public void basicRotations() {
+        assertClose(QuaternionRotation.Rx(PI / 2).apply(Vector3.of(0, 1, 0)), Vector3.of(0, 0, 1));
+        assertClose(QuaternionRotation.Ry(PI).apply(Vector3.of(1, 0, 0)), Vector3.of(-1, 0, 0));
+        assertClose(QuaternionRotation.Rz(PI / 2).apply(Vector3.of(1, 0, 0)), Vector3.of(0, 1, 0));
+        assertClose(QuaternionRotation.axisAngle(Vector3.of(1, 1, 1), 2 * PI / 3).apply(Vector3.of(1, 0, 0)), Vector3.of(0, 1, 0));
+        assertEq(QuaternionRotation.Rz(2 * PI), QuaternionRotation.ONE);
+        assertThat(QuaternionRotation.Rx(0.3).angle()).isCloseTo(0.3, within(1e-15));
+
+        assertThatThrownBy(() -> QuaternionRotation.of(0, 0, 0, 0)).isInstanceOf(InvalidElementCreationException.class);
+        assertThatThrownBy(() -> QuaternionRotation.axisAngle(Vector3.of(0, 0, 0), 1)).isInstanceOf(InvalidElementCreationException.class);
+    }
+
+    @Property
+    public void likeRotation(@ForAll("angles") double phi, @ForAll("angles") double theta, @ForAll("angles") double psi) {
+        final QuaternionRotation q = QuaternionRotation.Rx(phi).times(QuaternionRotation.Ry(theta)).times(QuaternionRotation.Rz(psi));
+        final Rotation r = Rotation.Rx(phi).times(Rotation.Ry(theta)).times(Rotation.Rz(psi));
+        final double[][] expectedMatrix = q.asMatrix3().getValues();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertThat(r.asMatrix().asVectors()[i].get(j).doubleValue()).isCloseTo(expectedMatrix[i][j], within(1e-12));
+                assertThat(q.asRotation().asMatrix().asVectors()[i].get(j).doubleValue()).isEqualTo(expectedMatrix[i][j]);
+            }
+        }
+        assertEq(QuaternionRotation.of(r), q);
+        assertEq(QuaternionRotation.of(q.asMatrix3()), q);
+        assertEq(QuaternionRotation.of(q.asQuaternion()), q);
+        assertThat(q.asMatrix3().determinant()).isCloseTo(1, within(1e-12));
+
+        final Vector3 v = Vector3.of(1, -2, 3);
+        final Vector3 rotated = q.apply(v);
+        final Vector3 expected = v.times(q.asMatrix3());
+        assertClose(rotated, expected);
+        assertClose(q.reciprocal().apply(rotated), v);
+    }
+
+    @Property
+    public void matrixConversionForAllRotations(@ForAll(ELEMENTS) QuaternionRotation q) {
+        assertEq(QuaternionRotation.of(q.asMatrix3()), q);
+    }
+
+    @Test
+    public void quaternion() {
+        final Quaternion<RealNumber, RealNumber> quaternion = new Quaternion<>(RealNumber.of(1), RealNumber.of(1), RealNumber.of(0), RealNumber.of(0));
+        final QuaternionRotation rotation = QuaternionRotation.of(quaternion);
+        assertEq(rotation, QuaternionRotation.Rx(PI / 2));
+        assertEq(QuaternionRotation.of(-1, -1, 0, 0), rotation);
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        final QuaternionRotation q = QuaternionRotation.of(1, 1, 0, 0);
+        final QuaternionRotation minusQ = QuaternionRotation.of(-1, -1, 0, 0);
+        assertThat(minusQ).isEqualTo(q);
+        assertThat(minusQ.hashCode()).isEqualTo(q.hashCode());
+        assertThat(QuaternionRotation.of(0, 0, -1, 0)).isEqualTo(QuaternionRotation.of(0, 0, 1, 0));
+        assertThat(QuaternionRotation.of(0, 0, -1, 0).hashCode()).isEqualTo(QuaternionRotation.of(0, 0, 1, 0).hashCode());
+
+        // equals is exact, eq is tolerant
+        final QuaternionRotation nearlyQ = QuaternionRotation.of(1, 1 + 1e-14, 0, 0);
+        assertThat(nearlyQ).isNotEqualTo(q);
+        assertThat(nearlyQ.eq(q)).isTrue();
+        assertThat(QuaternionRotationGroup.INSTANCE.getEquivalence().test(nearlyQ, minusQ)).isTrue();
+        assertThat(QuaternionRotation.of(1, 1.1, 0, 0).eq(q)).isFalse();
+    }
+
+    @Test
+    public void slerp() {
+        final QuaternionRotation from = QuaternionRotation.Rz(0.2);
+        final QuaternionRotation to = QuaternionRotation.Rz(1.4);
+        assertEq(from.slerp(to, 0), from);
+        assertEq(from.slerp(to, 1), to);
+        assertEq(from.slerp(to, 0.5), QuaternionRotation.Rz(0.8));
+        assertEq(from.slerp(to, 0.25), QuaternionRotation.Rz(0.5));
+        // shortest path, also if the quaternions are in opposite hemispheres
+        assertEq(QuaternionRotation.Rz(-3).slerp(QuaternionRotation.Rz(3), 0.5), QuaternionRotation.Rz(PI));
+        assertEq(from.slerp(from, 0.3), from);
+    }
+
+    @Property
+    public void slerpHasConstantSpeed(@ForAll(ELEMENTS) QuaternionRotation from, @ForAll(ELEMENTS) QuaternionRotation to) {
+        final double angle = from.reciprocal().times(to).angle();
+        final QuaternionRotation quarter = from.slerp(to, 0.25);
+        assertThat(from.reciprocal().times(quarter).angle()).isCloseTo(angle / 4, within(1e-6));
+    }
+
+    @Test
+    public void rotateInPlace() {
+        final QuaternionRotation rotation = QuaternionRotation.axisAngle(Vector3.of(0.3, -1, 2), 1.1);
+        final double[] xyz = random(1000);
+        final double[] copy = xyz.clone();
+        rotation.rotate(xyz);
+        for (int i = 0; i < 1000; i++) {
+            final Vector3 expected = Vector3.of(copy[3 * i], copy[3 * i + 1], copy[3 * i + 2]).times(rotation.asMatrix3());
+            assertClose(Vector3.of(xyz[3 * i], xyz[3 * i + 1], xyz[3 * i + 2]), expected);
+        }
+        rotation.reciprocal().rotate(xyz, 10, 5);
+        assertThat(xyz[30]).isCloseTo(copy[30], within(1e-12));
+        assertThat(xyz[45]).isNotCloseTo(copy[45], within(1e-12));
+
+        assertThatThrownBy(() -> rotation.rotate(new double[4])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Provide
+    public Arbitrary<Double> angles() {
+        return Arbitraries.doubles().ofScale(20).between(0, Math_2PI);
+    }
+
+    @Override
+    public Arbitrary<QuaternionRotation> elements() {
+        return Arbitraries.randomValue(QuaternionRotationGroup.INSTANCE::nextRandom);
+    }
+
+    private static double[] random(int points) {
+        final Random random = new Random(points);
+        final double[] result = new double[3 * points];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = random.nextGaussian();
+        }
+        return result;
+    }
+
+    private static void assertEq(QuaternionRotation actual, QuaternionRotation expected) {
+        assertThat(actual.eq(expected)).withFailMessage("%s !≈ %s", actual, expected).isTrue();
+    }
+
+    private static void assertClose(Vector3 actual, Vector3 expected) {
+        for (int i = 0; i < 3; i++) {
+            assertThat(actual.get(i).doubleValue()).withFailMessage("%s != %s", actual, expected).isCloseTo(expected.get(i).doubleValue(), within(1e-12));
+        }
+    }
+}
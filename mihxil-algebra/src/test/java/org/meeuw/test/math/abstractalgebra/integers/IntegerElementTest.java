@@ -17,6 +17,7 @@ package org.meeuw.test.math.abstractalgebra.integers;
 
 import lombok.extern.java.Log;
 
+import java.math.BigInteger;
 import java.util.stream.Collectors;
 
 import net.jqwik.api.*;
@@ -146,6 +147,39 @@ class IntegerElementTest implements
         log.info(IntegerElement.of(100).factorial().toRational().dividedBy(IntegerElement.of(100).subfactorial().toRational()).toBigDecimalElement().toString());
     }
 
+    /**
+     * Values that fit in a long are calculated with longs. Checks that the results are the same as with {@link BigInteger}s, also around overflow.
+     */
+    @Property
+    void longArithmetic(@ForAll("longs") long a, @ForAll("longs") long b) {
+        BigInteger bigA = BigInteger.valueOf(a);
+        BigInteger bigB = BigInteger.valueOf(b);
+        IntegerElement ea = of(a);
+        IntegerElement eb = of(b);
+        assertThat(ea.plus(eb).getValue()).isEqualTo(bigA.add(bigB));
+        assertThat(ea.minus(eb).getValue()).isEqualTo(bigA.subtract(bigB));
+        assertThat(ea.times(eb).getValue()).isEqualTo(bigA.multiply(bigB));
+        assertThat(ea.negation().getValue()).isEqualTo(bigA.negate());
+        assertThat(ea.abs().getValue()).isEqualTo(bigA.abs());
+        assertThat(ea.sqr().getValue()).isEqualTo(bigA.multiply(bigA));
+        assertThat(ea.compareTo(eb)).isEqualTo(bigA.compareTo(bigB));
+        if (b != 0) {
+            assertThat(ea.dividedByEuclidean(eb).getValue()).isEqualTo(bigA.divide(bigB));
+            assertThat(ea.mod(eb).getValue()).isEqualTo(bigA.remainder(bigB));
+        }
+        // results that overflowed, equal results that didn't
+        IntegerElement big = ea.plus(eb).plus(eb);
+        assertThat(big.minus(eb).minus(eb)).isEqualTo(ea);
+        assertThat(big.minus(eb).minus(eb).hashCode()).isEqualTo(ea.hashCode());
+        assertThat(new IntegerElement(bigA)).isEqualTo(ea);
+        assertThat(new IntegerElement(bigA).hashCode()).isEqualTo(ea.hashCode());
+    }
+
+    @Provide
+    Arbitrary<Long> longs() {
+        return Arbitraries.longs().edgeCases(c -> c.add(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1, Long.MAX_VALUE - 1, -1L, 1L << 32, (1L << 31) - 1));
+    }
+
     @Override
     @Provide
     public Arbitrary<IntegerElement> elements() {
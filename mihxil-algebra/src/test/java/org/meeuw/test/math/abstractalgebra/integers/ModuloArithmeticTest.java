@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra.integers;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.abstractalgebra.integers.*;
+
+import static java.math.BigInteger.valueOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class ModuloArithmeticTest {
+
+    static final long PRIME_62 = 4611686018427387847L;
+    static final long PRIME_63 = 9223372036854775783L;
+
+    @Property
+    public void againstBigInteger(
+        @ForAll("divisors") long divisor,
+        @ForAll long a,
+        @ForAll long b,
+        @ForAll("exponents") long exponent) {
+        final ModuloArithmetic arithmetic = ModuloArithmetic.of(divisor);
+        final BigInteger d = valueOf(divisor);
+        final long ra = arithmetic.reduce(a);
+        final long rb = arithmetic.reduce(b);
+        assertThat(ra).isEqualTo(valueOf(a).mod(d).longValue());
+        assertThat(arithmetic.plus(ra, rb)).isEqualTo(valueOf(a).add(valueOf(b)).mod(d).longValue());
+        assertThat(arithmetic.minus(ra, rb)).isEqualTo(valueOf(a).subtract(valueOf(b)).mod(d).longValue());
+        assertThat(arithmetic.negation(ra)).isEqualTo(valueOf(a).negate().mod(d).longValue());
+        assertThat(arithmetic.times(ra, rb)).isEqualTo(valueOf(a).multiply(valueOf(b)).mod(d).longValue());
+        assertThat(arithmetic.pow(ra, exponent)).isEqualTo(valueOf(a).modPow(valueOf(exponent), d).longValue());
+    }
+
+    @Provide
+    Arbitrary<Long> divisors() {
+        return Arbitraries.oneOf(
+            Arbitraries.longs().between(1, 100),
+            Arbitraries.longs().between(1, Long.MAX_VALUE),
+            Arbitraries.of(1L, 2L, (1L << 32) - 1, 1L << 32, (1L << 32) + 1, PRIME_62, PRIME_63, Long.MAX_VALUE, Long.MAX_VALUE - 1)
+        );
+    }
+
+    @Provide
+    Arbitrary<Long> exponents() {
+        return Arbitraries.oneOf(
+            Arbitraries.longs().between(0, 10),
+            Arbitraries.longs().between(0, Long.MAX_VALUE)
+        );
+    }
+
+    @Test
+    public void bulk() {
+        final ModuloArithmetic arithmetic = ModuloArithmetic.of(PRIME_62);
+        final Random random = new Random(1);
+        final long[] a = random.longs(100, 0, PRIME_62).toArray();
+        final long[] b = random.longs(100, 0, PRIME_62).toArray();
+        final long[] sums = new long[a.length];
+        final long[] products = new long[a.length];
+        final long[] powers = new long[a.length];
+        arithmetic.plus(a, b, sums);
+        arithmetic.times(a, b, products);
+        arithmetic.pow(a, PRIME_62 - 1, powers);
+        BigInteger dot = BigInteger.ZERO;
+        for (int i = 0; i < a.length; i++) {
+            assertThat(sums[i]).isEqualTo(arithmetic.plus(a[i], b[i]));
+            assertThat(products[i]).isEqualTo(arithmetic.times(a[i], b[i]));
+            // Fermat's little theorem
+            assertThat(powers[i]).isEqualTo(a[i] == 0 ? 0 : 1);
+            dot = dot.add(valueOf(a[i]).multiply(valueOf(b[i])));
+        }
+        assertThat(arithmetic.dot(a, b)).isEqualTo(dot.mod(valueOf(PRIME_62)).longValue());
+
+        arithmetic.times(a, b, a);
+        assertThat(a).containsExactly(products);
+
+        assertThatThrownBy(() -> arithmetic.plus(a, new long[1], sums)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void interned() {
+        final ModuloField field = ModuloField.of(23);
+        assertThat(field.element(5).times(field.element(3))).isSameAs(field.element(15));
+        assertThat(field.element(-8)).isSameAs(field.element(15));
+        assertThat(field.getArithmetic().getDivisor()).isEqualTo(23);
+    }
+
+    @Test
+    public void largePrimeField() {
+        final long prime = 1099511627689L;
+        final ModuloField field = ModuloField.of(prime);
+        final ModuloFieldElement x = field.element(prime - 2);
+        // (-2)^2 = 4
+        assertThat(x.times(x).getValue()).isEqualTo(4);
+        assertThat(x.times(x.reciprocal())).isEqualTo(field.one());
+        assertThat(x.times(prime - 1).getValue()).isEqualTo(2);
+        assertThat(x.dividedBy(-2)).isEqualTo(field.one());
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra.linear;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.abstractalgebra.linear.*;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.exceptions.InvalidElementCreationException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class DoubleMatrixTest {
+
+    static final double EPSILON = 1e-9;
+
+    @Test
+    void of() {
+        DoubleMatrix m = DoubleMatrix.of(
+            1, 2,
+            3, 4
+        );
+        assertThat(m.getDimension()).isEqualTo(2);
+        assertThat(m.get(1, 0)).isEqualTo(3d);
+        assertThat(m.determinant()).isCloseTo(-2d, within(EPSILON));
+        assertThat(m.getStructure()).isSameAs(DoubleMatrixGroup.of(2));
+        assertThat(m.getStructure().one()).isEqualTo(DoubleMatrix.of(1, 0, 0, 1));
+        assertThat(m.getStructure().toString()).isEqualTo("GL₂(double)");
+        assertThat(m.toString()).isEqualTo("((1.0,2.0),(3.0,4.0))");
+        assertThat(m.transpose()).isEqualTo(DoubleMatrix.of(1, 3, 2, 4));
+    }
+
+    @Test
+    void timesAgainstNaive() {
+        final Random random = new Random(1);
+        // bigger than the block size, and not a multiple of it
+        for (int n : new int[] {1, 3, 64, 100}) {
+            final DoubleMatrix a = randomMatrix(random, n);
+            final DoubleMatrix b = randomMatrix(random, n);
+            final double[][] av = a.getValues();
+            final double[][] bv = b.getValues();
+            final double[][] expected = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    for (int k = 0; k < n; k++) {
+                        expected[i][j] += av[i][k] * bv[k][j];
+                    }
+                }
+            }
+            assertThat(a.times(b).eq(DoubleMatrix.of(expected), EPSILON)).isTrue();
+        }
+    }
+
+    @Test
+    void luAndInverse() {
+        final Random random = new Random(2);
+        final DoubleMatrix a = randomMatrix(random, 20);
+        final DoubleMatrix.LU lu = a.lu();
+        assertThat(lu.isSingular()).isFalse();
+
+        // P A = L U
+        final int[] permutation = lu.getPermutation();
+        final double[][] permuted = new double[20][];
+        for (int i = 0; i < 20; i++) {
+            permuted[i] = a.getValues()[permutation[i]];
+        }
+        assertThat(lu.getL().times(lu.getU()).eq(DoubleMatrix.of(permuted), EPSILON)).isTrue();
+
+        assertThat(a.times(a.reciprocal()).eq(DoubleMatrix.identity(20), EPSILON)).isTrue();
+        assertThat(a.reciprocal().times(a).eq(DoubleMatrix.identity(20), EPSILON)).isTrue();
+        assertThat(a.determinant() * a.reciprocal().determinant()).isCloseTo(1d, within(EPSILON));
+
+        assertThatThrownBy(() -> DoubleMatrix.of(1, 2, 2, 4)).isInstanceOf(InvalidElementCreationException.class);
+        assertThatThrownBy(() -> DoubleMatrix.of(new double[][] {{1, 2}, {2, 4}})).isInstanceOf(InvalidElementCreationException.class);
+        assertThatThrownBy(() -> a.times(0)).isInstanceOf(InvalidElementCreationException.class);
+    }
+
+    @Test
+    void qr() {
+        final Random random = new Random(3);
+        final DoubleMatrix a = randomMatrix(random, 10);
+        final DoubleMatrix.QR qr = a.qr();
+        assertThat(qr.getQ().times(qr.getR()).eq(a, EPSILON)).isTrue();
+        assertThat(qr.getQ().transpose().times(qr.getQ()).eq(DoubleMatrix.identity(10), EPSILON)).isTrue();
+        final double[][] r = qr.getR().getValues();
+        for (int i = 1; i < 10; i++) {
+            for (int j = 0; j < i; j++) {
+                assertThat(r[i][j]).isCloseTo(0d, within(EPSILON));
+            }
+        }
+    }
+
+    @Test
+    void solve() {
+        final DoubleMatrix a = DoubleMatrix.of(
+            2, 1, -1,
+            -3, -1, 2,
+            -2, 1, 2
+        );
+        final double[] b = {8, -11, -3};
+        assertThat(a.lu().solve(b)).containsExactly(new double[] {2, 3, -1}, within(EPSILON));
+        assertThat(a.qr().solve(b)).containsExactly(new double[] {2, 3, -1}, within(EPSILON));
+
+        final DoubleVector x = a.reciprocal().times(DoubleVector.of(b));
+        assertThat(x.eq(DoubleVector.of(2, 3, -1), EPSILON)).isTrue();
+        assertThat(a.times(x).eq(DoubleVector.of(b), EPSILON)).isTrue();
+    }
+
+    @Test
+    void uncertainties() {
+        final DoubleMatrix a = DoubleMatrix.of(
+            1, 2,
+            3, 4
+        ).withUncertainties(
+            0.01, 0.01,
+            0.01, 0.01
+        );
+        assertThat(a.hasUncertainties()).isTrue();
+        assertThat(DoubleMatrix.identity(2).hasUncertainties()).isFalse();
+
+        final DoubleMatrix square = a.times(a);
+        // (1 ± 0.01)(1 ± 0.01) + (2 ± 0.01)(3 ± 0.01) = 7 ± (0.01 + 0.01 + 0.03 + 0.02)
+        assertThat(square.get(0, 0)).isCloseTo(7d, within(EPSILON));
+        assertThat(square.getUncertainty(0, 0)).isCloseTo(0.07d, within(1e-6));
+
+        final DoubleVector v = a.times(DoubleVector.of(1, 1));
+        assertThat(v.get(0)).isCloseTo(3d, within(EPSILON));
+        assertThat(v.getUncertainty(0)).isCloseTo(0.02d, within(1e-6));
+
+        assertThat(a.reciprocal().getUncertainty(0, 0)).isGreaterThan(0);
+
+        final DoubleMatrix roundTrip = DoubleMatrix.of(a.toInvertibleMatrix());
+        assertThat(roundTrip.eq(a, 0)).isTrue();
+        assertThat(a).isNotEqualTo(DoubleMatrix.of(1, 2, 3, 4));
+        assertThat(a.withUncertainties(0.01, 0.01, 0.01, 0.01)).isEqualTo(a).hasSameHashCodeAs(a);
+        assertThat(roundTrip.getUncertainty(0, 1)).isCloseTo(0.01d, within(1e-6));
+    }
+
+    @Test
+    void invertibleMatrixOfRealNumbers() {
+        final Random random = new Random(4);
+        final DoubleMatrix a = randomMatrix(random, 10);
+        final InvertibleMatrix<RealNumber> m = a.toInvertibleMatrix();
+        final InvertibleMatrix<RealNumber> product = m.times(m.reciprocal());
+        assertThat(DoubleMatrix.of(product).eq(DoubleMatrix.identity(10), 1e-6)).isTrue();
+    }
+
+    static DoubleMatrix randomMatrix(Random random, int n) {
+        final double[] values = new double[n * n];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 2 - 1;
+        }
+        return DoubleMatrix.of(values);
+    }
+}
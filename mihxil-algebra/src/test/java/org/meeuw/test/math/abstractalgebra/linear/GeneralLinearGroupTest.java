@@ -33,6 +33,7 @@ import org.meeuw.theories.abstractalgebra.WithScalarTheory;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumbers.INSTANCE;
 
 @Log
@@ -85,7 +86,8 @@ class GeneralLinearGroupTest {
         );
 
         RealNumber det = e.determinant();
-        assertThat(det.doubleValue()).isEqualTo(-3d);
+        // partial pivoting divides by 7, so the result is subject to rounding
+        assertThat(det.doubleValue()).isCloseTo(-3d, within(1e-12));
     }
 
 
@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.math.abstractalgebra.padic.impl;
+
+import lombok.extern.java.Log;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.meeuw.math.abstractalgebra.padic.PAdicInteger;
+import org.meeuw.math.abstractalgebra.padic.PAdicIntegers;
+import org.meeuw.math.abstractalgebra.padic.impl.*;
+import org.meeuw.math.exceptions.ReciprocalException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Log
+public class PackedAdicDigitsTest {
+
+    @Test
+    public void digitsPerLimb() {
+        assertThat(PackedAdicDigits.digitsPerLimb(2)).isEqualTo(62);
+        assertThat(PackedAdicDigits.digitsPerLimb(5)).isEqualTo(26);
+        assertThat(PackedAdicDigits.digitsPerLimb(7)).isEqualTo(22);
+        assertThat(PackedAdicDigits.digitsPerLimb(10)).isEqualTo(18);
+    }
+
+    @Test
+    public void ofAdicDigits() {
+        final AdicDigits digits = AdicDigits.of("12", "3");
+        final PackedAdicDigits packed = PackedAdicDigits.of(5, 6, digits);
+        assertThat(packed.toString()).isEqualTo("212123₅ + O(5⁶)");
+        assertThat(packed.toAdicDigits().toString()).isEqualTo("...0 212123");
+        assertThat(packed.digit(1)).isEqualTo((byte) 2);
+        assertThat(packed.digit(6)).isEqualTo((byte) 0);
+        assertThat(packed.withPrecision(3).toString()).isEqualTo("123₅ + O(5³)");
+        assertThat(packed.withPrecision(8).toString()).isEqualTo("00212123₅ + O(5⁸)");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 5, 7, 10, 127})
+    public void againstBigInteger(int base) {
+        final Random random = new Random(base);
+        for (int precision : new int[] {1, 17, 100, 500}) {
+            final BigInteger modulus = BigInteger.valueOf(base).pow(precision);
+            for (int i = 0; i < 10; i++) {
+                final BigInteger a = new BigInteger(modulus.bitLength() + 8, random).subtract(modulus);
+                final BigInteger b = new BigInteger(modulus.bitLength() + 8, random);
+                final PackedAdicDigits pa = PackedAdicDigits.of(base, precision, a);
+                final PackedAdicDigits pb = PackedAdicDigits.of(base, precision, b);
+                assertThat(pa.bigIntegerValue()).isEqualTo(a.mod(modulus));
+                assertThat(pa.plus(pb).bigIntegerValue()).isEqualTo(a.add(b).mod(modulus));
+                assertThat(pa.minus(pb).bigIntegerValue()).isEqualTo(a.subtract(b).mod(modulus));
+                assertThat(pa.negation().bigIntegerValue()).isEqualTo(a.negate().mod(modulus));
+                assertThat(pa.times(pb).bigIntegerValue()).isEqualTo(a.multiply(b).mod(modulus));
+                assertThat(PackedAdicDigits.of(base, precision, pa.toDigits())).isEqualTo(pa);
+            }
+        }
+    }
+
+    @Test
+    public void timesLikeAdicDigits() {
+        final AdicDigits a = AdicDigits.of("", "4321042");
+        final AdicDigits b = AdicDigits.of("", "3302");
+        final AdicDigits expected = AdicDigitUtils.multiplyAdicDigits(5, a, b);
+        final PackedAdicDigits product = PackedAdicDigits.of(5, 20, a).times(PackedAdicDigits.of(5, 20, b));
+        assertThat(product.toAdicDigits()).isEqualTo(expected);
+    }
+
+    @Test
+    public void mixedPrecision() {
+        final PackedAdicDigits a = PackedAdicDigits.of(5, 40, BigInteger.valueOf(-1));
+        final PackedAdicDigits b = PackedAdicDigits.one(5, 30);
+        assertThat(a.plus(b)).isEqualTo(PackedAdicDigits.zero(5, 30));
+        assertThat(b.plus(a).getPrecision()).isEqualTo(30);
+        assertThatThrownBy(() -> a.plus(PackedAdicDigits.one(7, 30))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 5, 7, 10})
+    public void reciprocal(int base) {
+        final Random random = new Random(base);
+        for (int precision : new int[] {1, 2, 26, 27, 1000}) {
+            final BigInteger modulus = BigInteger.valueOf(base).pow(precision);
+            BigInteger a = new BigInteger(modulus.bitLength() + 8, random);
+            while (!a.gcd(BigInteger.valueOf(base)).equals(BigInteger.ONE)) {
+                a = a.add(BigInteger.ONE);
+            }
+            final PackedAdicDigits reciprocal = PackedAdicDigits.of(base, precision, a).reciprocal();
+            assertThat(reciprocal.bigIntegerValue()).isEqualTo(a.modInverse(modulus));
+        }
+        assertThatThrownBy(() -> PackedAdicDigits.of(base, 10, BigInteger.valueOf(base)).reciprocal()).isInstanceOf(ReciprocalException.class);
+    }
+
+    @Test
+    public void reciprocalOfPAdicInteger() {
+        final PAdicIntegers p5 = PAdicIntegers.of(5);
+        final PAdicInteger three = p5.of(new int[] {3});
+        final PAdicInteger exact = three.reciprocal();
+        final PAdicInteger approximation = three.reciprocal(12);
+        log.info("1/3 = %s ≈ %s".formatted(exact, approximation));
+        assertThat(approximation.toString()).isEqualTo("...0 313131313132₅");
+        assertThat(approximation.times(three).bigIntegerValue().mod(BigInteger.valueOf(5).pow(12))).isEqualTo(BigInteger.ONE);
+    }
+
+    /**
+     * Not really a test, but logs the time needed for multiplications and reciprocals of 5-adic and 7-adic numbers with packed limbs, and compares with {@link AdicDigitUtils#multiplyAdicDigits(int, AdicDigits, AdicDigits)}, for the smallest size.
+     */
+    @Test
+    public void performance() {
+        final Random random = new Random(1);
+        for (int base : new int[] {5, 7}) {
+            for (int precision : new int[] {1_000, 10_000, 100_000}) {
+                final byte[] digitsA = randomDigits(random, base, precision);
+                final byte[] digitsB = randomDigits(random, base, precision);
+                final PackedAdicDigits a = PackedAdicDigits.of(base, precision, digitsA);
+                final PackedAdicDigits b = PackedAdicDigits.of(base, precision, digitsB);
+                for (int round = 0; round < (precision == 100_000 ? 1 : 3); round++) {
+                    long nano = System.nanoTime();
+                    final PackedAdicDigits product = a.times(b);
+                    final Duration packed = Duration.ofNanos(System.nanoTime() - nano);
+
+                    nano = System.nanoTime();
+                    final PackedAdicDigits reciprocal = a.reciprocal();
+                    final Duration hensel = Duration.ofNanos(System.nanoTime() - nano);
+                    assertThat(reciprocal.times(a)).isEqualTo(PackedAdicDigits.one(base, precision));
+
+                    String bytes = "";
+                    if (precision == 1_000) {
+                        nano = System.nanoTime();
+                        final AdicDigits byteProduct = AdicDigitUtils.multiplyAdicDigits(base, AdicDigits.create(AdicDigits.NOT_REPETITIVE, digitsA), AdicDigits.create(AdicDigits.NOT_REPETITIVE, digitsB));
+                        bytes = ", with AdicDigits %s".formatted(Duration.ofNanos(System.nanoTime() - nano));
+                        assertThat(PackedAdicDigits.of(base, precision, byteProduct)).isEqualTo(product);
+                    }
+                    log.info("%d-adic, %d digits: multiplication %s%s, reciprocal %s".formatted(base, precision, packed, bytes, hensel));
+                }
+            }
+        }
+    }
+
+    private static byte[] randomDigits(Random random, int base, int precision) {
+        final byte[] digits = new byte[precision];
+        for (int i = 0; i < precision; i++) {
+            digits[i] = (byte) random.nextInt(base);
+        }
+        digits[0] = (byte) (1 + random.nextInt(base - 1));
+        return digits;
+    }
+}
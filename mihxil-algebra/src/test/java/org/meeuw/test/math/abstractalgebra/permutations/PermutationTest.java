@@ -29,6 +29,7 @@ import org.meeuw.math.abstractalgebra.permutations.PermutationGroup;
 import org.meeuw.math.abstractalgebra.permutations.text.PermutationConfiguration;
 import org.meeuw.theories.abstractalgebra.MultiplicativeGroupTheory;
 import org.meeuw.math.exceptions.InvalidElementCreationException;
+import org.meeuw.math.exceptions.OverflowException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -196,6 +197,47 @@ class PermutationTest implements MultiplicativeGroupTheory<Permutation> {
         assertThat(permutedproduct).containsExactly(permutedqp);
     }
 
+    @Test
+    public void rankAndUnrank() {
+        PermutationGroup group = PermutationGroup.ofDegree(5);
+        List<Permutation> all = group.stream().toList();
+        assertThat(all).hasSize(120).doesNotHaveDuplicates();
+        for (int i = 0; i < all.size(); i++) {
+            assertThat(all.get(i).rank()).isEqualTo(i);
+            assertThat(group.unrank(i)).isEqualTo(all.get(i));
+        }
+        assertThat(Permutation.of(3, 1, 2).lehmerCode()).containsExactly(2, 0, 0);
+        assertThat(Permutation.of(3, 1, 2).rank()).isEqualTo(4);
+
+        PermutationGroup s20 = PermutationGroup.ofDegree(20);
+        Permutation last = s20.unrank(2432902008176639999L);
+        assertThat(last.rank()).isEqualTo(2432902008176639999L);
+        assertThat(last.listNotation(0)).startsWith("(19 18 17");
+        assertThatThrownBy(() -> s20.unrank(2432902008176640000L)).isInstanceOf(InvalidElementCreationException.class);
+        assertThatThrownBy(() -> group.unrank(-1)).isInstanceOf(InvalidElementCreationException.class);
+        assertThatThrownBy(() -> PermutationGroup.ofDegree(21).one().rank()).isInstanceOf(OverflowException.class);
+    }
+
+    @Test
+    public void spliterator() {
+        PermutationGroup group = PermutationGroup.ofDegree(7);
+        Spliterator<Permutation> spliterator = group.stream().spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(5040);
+        spliterator.tryAdvance(p -> assertThat(p.rank()).isEqualTo(0));
+        Spliterator<Permutation> prefix = spliterator.trySplit();
+        assertThat(prefix.estimateSize()).isEqualTo(2519);
+        assertThat(spliterator.estimateSize()).isEqualTo(2520);
+        prefix.tryAdvance(p -> assertThat(p.rank()).isEqualTo(1));
+        spliterator.tryAdvance(p -> assertThat(p.rank()).isEqualTo(2520));
+
+        assertThat(group.stream().parallel().count()).isEqualTo(5040);
+        assertThat(group.stream().parallel().collect(Collectors.toSet())).hasSize(5040);
+        assertThat(group.stream().parallel().map(Permutation::rank).toList())
+            .isEqualTo(group.stream().map(Permutation::rank).toList());
+        assertThat(PermutationGroup.ofDegree(20).stream().skip(1000).findFirst().orElseThrow().rank()).isEqualTo(1000);
+    }
+
     @Override
     public Arbitrary<Permutation> elements() {
         return Arbitraries.of(
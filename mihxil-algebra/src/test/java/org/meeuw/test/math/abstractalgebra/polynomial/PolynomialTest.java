@@ -1,16 +1,29 @@
 package org.meeuw.test.math.abstractalgebra.polynomial;
 
+import java.util.Random;
+import java.util.function.Supplier;
+
 import net.jqwik.api.Arbitraries;
 import net.jqwik.api.Arbitrary;
 import org.junit.jupiter.api.Test;
 
-import org.meeuw.math.abstractalgebra.integers.IntegerElement;
+import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.abstractalgebra.AbelianRing;
+import org.meeuw.math.abstractalgebra.AbelianRingElement;
+import org.meeuw.math.abstractalgebra.integers.*;
 import org.meeuw.math.abstractalgebra.polynomial.Polynomial;
+import org.meeuw.math.abstractalgebra.polynomial.PolynomialConfiguration;
+import org.meeuw.math.abstractalgebra.polynomial.PolynomialRing;
+import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumber;
+import org.meeuw.math.exceptions.DivisionByZeroException;
+import org.meeuw.math.exceptions.InverseException;
 import org.meeuw.theories.abstractalgebra.RingTheory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.meeuw.math.abstractalgebra.integers.Integers.INSTANCE;
 import static org.meeuw.math.abstractalgebra.polynomial.PolynomialRing.INTEGER_POLYNOMIALS;
+import static org.meeuw.math.abstractalgebra.polynomial.PolynomialRing.RATIONAL_POLYNOMIALS;
 
 public class PolynomialTest implements RingTheory<Polynomial<IntegerElement>> {
 
@@ -84,4 +97,85 @@ public class PolynomialTest implements RingTheory<Polynomial<IntegerElement>> {
     }
 
 
+    static final ModuloField NTT_FIELD = ModuloField.of(998244353);
+
+    @Test
+    public void multiplicationAlgorithms() {
+        Random random = new Random(1);
+        for (int size : new int[] {1, 5, 31, 32, 33, 64, 100, 257}) {
+            Polynomial<IntegerElement> a = random(INTEGER_POLYNOMIALS, size, () -> INSTANCE.newElement(random.nextInt(2001) - 1000));
+            Polynomial<IntegerElement> b = random(INTEGER_POLYNOMIALS, size + random.nextInt(100), () -> INSTANCE.newElement(random.nextInt(2001) - 1000));
+            assertThat(a.times(b)).isEqualTo(schoolbook(() -> a.times(b)));
+            assertThat(b.times(a)).isEqualTo(a.times(b));
+        }
+    }
+
+    @Test
+    public void numberTheoreticTransform() {
+        PolynomialRing<ModuloFieldElement> ring = PolynomialRing.of(NTT_FIELD);
+        Random random = new Random(2);
+        for (int size : new int[] {64, 100, 1000}) {
+            Polynomial<ModuloFieldElement> a = random(ring, size, () -> NTT_FIELD.nextRandom(random));
+            Polynomial<ModuloFieldElement> b = random(ring, size + 17, () -> NTT_FIELD.nextRandom(random));
+            assertThat(a.times(b)).isEqualTo(schoolbook(() -> a.times(b)));
+        }
+    }
+
+    @Test
+    public void division() {
+        Random random = new Random(3);
+        for (int size : new int[] {1, 2, 10, 100, 300}) {
+            Polynomial<RationalNumber> a = random(RATIONAL_POLYNOMIALS, 2 * size + 3, () -> RationalNumber.of(random.nextInt(21) - 10, random.nextInt(5) + 1));
+            Polynomial<RationalNumber> b = random(RATIONAL_POLYNOMIALS, size, () -> RationalNumber.of(random.nextInt(21) - 10, random.nextInt(5) + 1));
+            Polynomial<RationalNumber> q = a.dividedByEuclidean(b);
+            Polynomial<RationalNumber> r = a.mod(b);
+            assertThat(q.times(b).plus(r)).isEqualTo(a);
+            assertThat(r.mod(b)).isEqualTo(r);
+        }
+        // integers can be divided by monic polynomials
+        Polynomial<IntegerElement> monic = INTEGER_POLYNOMIALS.fromString("-1 + x");
+        Polynomial<IntegerElement> cube = INTEGER_POLYNOMIALS.fromString("-1 + x^3");
+        assertThat(cube.dividedByEuclidean(monic).toString()).isEqualTo("1 + x + x²");
+        assertThat(cube.mod(monic)).isEqualTo(INTEGER_POLYNOMIALS.zero());
+        assertThat(monic.mod(cube)).isEqualTo(monic);
+
+        assertThatThrownBy(() -> cube.dividedByEuclidean(INTEGER_POLYNOMIALS.fromString("2x"))).isInstanceOf(InverseException.class);
+        assertThatThrownBy(() -> cube.mod(INTEGER_POLYNOMIALS.zero())).isInstanceOf(DivisionByZeroException.class);
+    }
+
+    @Test
+    public void evaluate() {
+        Polynomial<IntegerElement> pol = INTEGER_POLYNOMIALS.fromString("1 - 60x + 7x^2");
+        assertThat(pol.evaluate(INSTANCE.newElement(2))).isEqualTo(INSTANCE.newElement(-91));
+
+        PolynomialRing<ModuloFieldElement> ring = PolynomialRing.of(NTT_FIELD);
+        Random random = new Random(4);
+        Polynomial<ModuloFieldElement> p = random(ring, 500, () -> NTT_FIELD.nextRandom(random));
+        ModuloFieldElement[] points = new ModuloFieldElement[300];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = NTT_FIELD.nextRandom(random);
+        }
+        ModuloFieldElement[] values = p.evaluate(points);
+        for (int i = 0; i < points.length; i++) {
+            assertThat(values[i]).isEqualTo(p.evaluate(points[i]));
+        }
+    }
+
+    static <E> E schoolbook(Supplier<E> supplier) {
+        return ConfigurationService.withAspect(PolynomialConfiguration.class, c -> c
+            .withKaratsubaThreshold(Integer.MAX_VALUE)
+            .withNttThreshold(Integer.MAX_VALUE), supplier);
+    }
+
+    static <E extends AbelianRingElement<E>> Polynomial<E> random(PolynomialRing<E> ring, int size, Supplier<E> coefficients) {
+        AbelianRing<E> coefficientRing = ring.getCoefficientRing();
+        E[] array = coefficientRing.newArray(size);
+        for (int i = 0; i < size; i++) {
+            array[i] = coefficients.get();
+        }
+        if (array[size - 1].isZero()) {
+            array[size - 1] = coefficientRing.one();
+        }
+        return ring.newElement(array);
+    }
 }
@@ -17,6 +17,8 @@ package org.meeuw.test.math.abstractalgebra.rationalnumbers;
 
 import lombok.extern.java.Log;
 
+import java.math.BigInteger;
+
 import net.jqwik.api.*;
 import org.junit.jupiter.api.Test;
 
@@ -128,6 +130,52 @@ class RationalNumberTest implements
         });
     }
 
+    /**
+     * Rational numbers are calculated with longs as long as possible. This checks the results near overflow against plain {@link BigInteger} arithmetic.
+     */
+    @Property
+    public void longArithmetic(
+        @ForAll("longs") long n1, @ForAll("longs") long d1,
+        @ForAll("longs") long n2, @ForAll("longs") long d2) {
+        Assume.that(d1 != 0 && d2 != 0);
+        final RationalNumber a = of(n1, d1);
+        final RationalNumber b = of(n2, d2);
+        final BigInteger bn1 = valueOf(n1), bd1 = valueOf(d1), bn2 = valueOf(n2), bd2 = valueOf(d2);
+
+        assertThat(a.plus(b)).isEqualTo(of(bn1.multiply(bd2).add(bn2.multiply(bd1)), bd1.multiply(bd2)));
+        assertThat(a.minus(b)).isEqualTo(of(bn1.multiply(bd2).subtract(bn2.multiply(bd1)), bd1.multiply(bd2)));
+        assertThat(a.times(b)).isEqualTo(of(bn1.multiply(bn2), bd1.multiply(bd2)));
+        assertThat(a.negation()).isEqualTo(of(bn1.negate(), bd1));
+        assertThat(Integer.signum(a.compareTo(b))).isEqualTo(
+            bn1.multiply(bd2).subtract(bn2.multiply(bd1)).signum() * Long.signum(d1) * Long.signum(d2));
+        if (n2 != 0) {
+            assertThat(a.dividedBy(b)).isEqualTo(of(bn1.multiply(bd2), bd1.multiply(bn2)));
+        }
+    }
+
+    @Provide
+    Arbitrary<Long> longs() {
+        return Arbitraries.oneOf(
+            Arbitraries.longs(),
+            Arbitraries.longs().between(-100, 100),
+            Arbitraries.of(Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MAX_VALUE, Long.MAX_VALUE - 1, 1L << 32, 1L << 62, (1L << 53) + 1)
+        );
+    }
 
+    @Test
+    public void representations() {
+        final RationalNumber big = of(valueOf(Long.MAX_VALUE).multiply(valueOf(4)), valueOf(2));
+        final RationalNumber halved = big.dividedBy(of(2));
+        final RationalNumber small = of(Long.MAX_VALUE);
+
+        assertThat(halved).isEqualTo(small);
+        assertThat(halved.hashCode()).isEqualTo(small.hashCode());
+        assertThat(halved.toString()).isEqualTo(small.toString());
+        assertThat(of(Long.MIN_VALUE, -1).minus(of(1))).isEqualTo(small);
+        assertThat(of(Long.MIN_VALUE, -1).minus(of(1)).hashCode()).isEqualTo(small.hashCode());
+        assertThat(of(Long.MIN_VALUE).negation().negation()).isEqualTo(of(Long.MIN_VALUE));
+        assertThat(of(1, Long.MIN_VALUE).reciprocal()).isEqualTo(of(Long.MIN_VALUE));
+        assertThat(of(1, 3).doubleValue()).isEqualTo(1d / 3);
+    }
 
 }
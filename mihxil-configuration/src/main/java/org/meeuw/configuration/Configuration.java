@@ -27,6 +27,8 @@ import static org.meeuw.configuration.ConfigurationService.newConfigurationMap;
 
 /**
  * Immutable object containing all {@link ConfigurationAspect}s.
+ * <p>
+ * Besides in a map, the aspects are stored in an array, indexed by a slot per aspect class, so that {@link #getAspect(Class)} needs no map lookup.
  *
  * @author Michiel Meeuwissen
  * @since 0.4
@@ -36,8 +38,15 @@ public class Configuration implements Iterable<ConfigurationAspect> {
 
     final Map<Class<? extends ConfigurationAspect>, ConfigurationAspect> map;
 
+    @EqualsAndHashCode.Exclude
+    private final ConfigurationAspect[] aspects;
+
     private Configuration(Map<Class<? extends ConfigurationAspect>, ConfigurationAspect> configuration) {
         this.map = immutableCopy(configuration);
+        this.aspects = new ConfigurationAspect[ConfigurationService.slotCount()];
+        for (Map.Entry<Class<? extends ConfigurationAspect>, ConfigurationAspect> e : map.entrySet()) {
+            aspects[ConfigurationService.slot(e.getKey())] = e.getValue();
+        }
     }
 
     /**
@@ -48,7 +57,8 @@ public class Configuration implements Iterable<ConfigurationAspect> {
      */
     @SuppressWarnings("unchecked")
     public <E extends ConfigurationAspect> E getAspect(Class<E> clazz) {
-        E result =  (E) map.get(clazz);
+        final int slot = ConfigurationService.slot(clazz);
+        E result = slot < 0 ? null : (E) aspects[slot];
         if (result == null) {
             throw new ConfigurationException("No configuration aspect with class " + clazz + " registered");
         }
@@ -119,6 +129,10 @@ public class Configuration implements Iterable<ConfigurationAspect> {
     @SuppressWarnings("UnusedReturnValue")
     public static class Builder {
         private final FixedSizeMap<Class<? extends ConfigurationAspect>, ConfigurationAspect> configuration;
+        /**
+         * The result of {@link #build()}, until the next change. So e.g. all threads starting with the default configuration share the same instance.
+         */
+        private Configuration built;
 
         public Builder(FixedSizeMap<Class<? extends ConfigurationAspect>, ConfigurationAspect> configuration) {
             this.configuration = configuration;
@@ -134,21 +148,24 @@ public class Configuration implements Iterable<ConfigurationAspect> {
          * @param configOperator The code to change it
          */
         @SuppressWarnings("unchecked")
-        public <E extends ConfigurationAspect> Builder configure(Class<E> aspect, UnaryOperator<E> configOperator) {
+        public synchronized <E extends ConfigurationAspect> Builder configure(Class<E> aspect, UnaryOperator<E> configOperator) {
             E template = (E) configuration.get(aspect);
             E newConfig = configOperator.apply(template);
             configuration.put(aspect, newConfig);
+            built = null;
             return this;
         }
 
-        public <E extends ConfigurationAspect> Builder aspectValue(E value) {
+        public synchronized <E extends ConfigurationAspect> Builder aspectValue(E value) {
             configuration.put(value.getClass(), value);
+            built = null;
             return this;
         }
 
         @SneakyThrows
-        public <E extends ConfigurationAspect> Builder aspectDefault(Class<E> clazz) {
+        public synchronized <E extends ConfigurationAspect> Builder aspectDefault(Class<E> clazz) {
             configuration.put(clazz, clazz.getDeclaredConstructor().newInstance());
+            built = null;
             return this;
         }
 
@@ -160,8 +177,11 @@ public class Configuration implements Iterable<ConfigurationAspect> {
             return this;
         }
 
-        public Configuration build() {
-            return new Configuration(configuration);
+        public synchronized Configuration build() {
+            if (built == null) {
+                built = new Configuration(configuration);
+            }
+            return built;
         }
     }
 
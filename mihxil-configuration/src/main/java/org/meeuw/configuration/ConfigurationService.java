@@ -33,7 +33,7 @@ import static java.lang.System.Logger.Level.*;
  * <li>This default configuration object is the initial value of every <em>thread local</em> configuration</li>
  *</ol>
  *
- * Configuration and their aspects are unmodifiable, and can only be entirely replaced by updated values.
+ * Configuration and their aspects are unmodifiable, and can only be entirely replaced by updated values. Since they are immutable snapshots, they can cheaply be handed over to other threads, see {@link #bind(Runnable)}.
  *
  * @since 0.7
  */
@@ -48,6 +48,31 @@ public class ConfigurationService {
     private static final Map<Class<? extends ConfigurationAspect>, ConfigurationAspect> INITIAL_MAP
         = Collections.unmodifiableMap(createInitialConfigurationMap());
 
+    /**
+     * All registered aspect classes. The index in this list is the 'slot' of the aspect in {@link Configuration}
+     */
+    private static final List<Class<? extends ConfigurationAspect>> ASPECT_CLASSES = List.copyOf(INITIAL_MAP.keySet());
+
+    /**
+     * Open addressing hash table (on identity hash code) of {@link #ASPECT_CLASSES}, mapping to {@link #SLOT_TABLE}
+     */
+    private static final Class<?>[] CLASS_TABLE;
+    private static final int[] SLOT_TABLE;
+
+    static {
+        final int size = Integer.highestOneBit(Math.max(4, ASPECT_CLASSES.size() * 4 - 1)) << 1;
+        CLASS_TABLE = new Class<?>[size];
+        SLOT_TABLE = new int[size];
+        for (int slot = 0; slot < ASPECT_CLASSES.size(); slot++) {
+            int i = System.identityHashCode(ASPECT_CLASSES.get(slot)) & (size - 1);
+            while (CLASS_TABLE[i] != null) {
+                i = (i + 1) & (size - 1);
+            }
+            CLASS_TABLE[i] = ASPECT_CLASSES.get(slot);
+            SLOT_TABLE[i] = slot;
+        }
+    }
+
     private static final Configuration.Builder DEFAULT = Configuration.builder();
     private static boolean useUserPreferences = false;
 
@@ -225,6 +250,26 @@ public class ConfigurationService {
 
     }
 
+    /**
+     * Binds the current configuration to a task. The returned {@link Runnable} runs the task with the configuration of the calling thread, in whatever thread it is executed. E.g. subtasks submitted to an {@link java.util.concurrent.ExecutorService} inherit the configuration this way.
+     * <p>
+     * This is like binding a {@code ScopedValue}. The configuration is an immutable snapshot, so only a reference is captured.
+     * @since 0.20
+     */
+    public static Runnable bind(Runnable runnable) {
+        final Configuration configuration = getConfiguration();
+        return () -> withConfiguration(configuration, runnable);
+    }
+
+    /**
+     * As {@link #bind(Runnable)}, but for a {@link Supplier}
+     * @since 0.20
+     */
+    public static <R> Supplier<R> bind(Supplier<R> supplier) {
+        final Configuration configuration = getConfiguration();
+        return () -> withConfiguration(configuration, supplier);
+    }
+
     public static <E extends ConfigurationAspect> void withAspect(E configurationAspect, Runnable r) {
         withAspect(configurationAspect, supplier(r));
     }
@@ -289,6 +334,28 @@ public class ConfigurationService {
         return new FixedSizeMap<>(m);
     }
 
+    /**
+     * @return the slot of the given aspect class in {@link Configuration}, or {@code -1} if it is not registered
+     */
+    static int slot(Class<?> aspectClass) {
+        final int mask = CLASS_TABLE.length - 1;
+        int i = System.identityHashCode(aspectClass) & mask;
+        while (true) {
+            final Class<?> c = CLASS_TABLE[i];
+            if (c == aspectClass) {
+                return SLOT_TABLE[i];
+            }
+            if (c == null) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    static int slotCount() {
+        return ASPECT_CLASSES.size();
+    }
+
     private static Map<Class<? extends ConfigurationAspect>, ConfigurationAspect> createEmptyMap() {
         return new TreeMap<>(Comparator.comparing(Class::getCanonicalName));
     }
@@ -20,6 +20,9 @@ import lombok.extern.java.Log;
 import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -156,6 +159,38 @@ public class ConfigurationServiceTest {
     }
 
 
+    @Test
+    public void bind() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            try (Reset reset = withAspect(TestConfigurationAspect.class, (b) -> b.withSomeInt(7))) {
+                Runnable bound = ConfigurationService.bind(() -> {
+                    assertThat(getConfigurationAspect(TestConfigurationAspect.class).getSomeInt()).isEqualTo(7);
+                });
+                executor.submit(bound).get();
+                Supplier<Integer> someInt = () -> getConfigurationAspect(TestConfigurationAspect.class).getSomeInt();
+                assertThat(executor.submit(someInt::get).get()).isEqualTo(-1);
+                assertThat(executor.submit(ConfigurationService.bind(someInt)::get).get()).isEqualTo(7);
+            }
+            // the thread's own configuration is restored
+            assertThat(executor.submit(() -> getConfigurationAspect(TestConfigurationAspect.class).getSomeInt()).get()).isEqualTo(-1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sharedDefaults() throws Exception {
+        Configuration[] configurations = new Configuration[2];
+        for (int i = 0; i < configurations.length; i++) {
+            final int index = i;
+            Thread thread = new Thread(() -> configurations[index] = getConfiguration());
+            thread.start();
+            thread.join();
+        }
+        assertThat(configurations[0]).isSameAs(configurations[1]);
+    }
+
     @Test
     public void invalid() {
         assertThatThrownBy(() ->
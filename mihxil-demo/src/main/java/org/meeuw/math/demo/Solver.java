@@ -10,6 +10,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.meeuw.math.IntegerUtils;
@@ -108,6 +109,139 @@ public  class Solver<E extends RingElement<E>> {
             .filter(Objects::nonNull);
     }
 
+    /**
+     * Determines all values that can be reached by combining <em>all</em> given values with the {@link #OPERATORS}, each with one expression reaching it.
+     * <p>
+     * Contrary to {@link #stream(RingElement[])} this does not enumerate all expressions, but works bottom up over the sub-multisets of the input. For every sub-multiset the reachable values are memoized, so expressions leading to the same value are only combined further once. Sub-multisets of the same size are handled in parallel.
+     *
+     * @return a map from value to an expression evaluating to it
+     */
+    @SafeVarargs
+    public final Map<E, Expression<E>> reachable(E... set) {
+        final int n = set.length;
+        if (n == 0) {
+            return Map.of();
+        }
+        final int full = (1 << n) - 1;
+        final int[] canonical = canonicalMasks(set);
+        @SuppressWarnings("unchecked")
+        final Map<E, Expression<E>>[] reachable = new Map[full + 1];
+        final AtomicLong done = new AtomicLong();
+        for (int size = 1; size <= n; size++) {
+            final int bits = size;
+            IntStream.rangeClosed(1, full)
+                .filter(mask -> Integer.bitCount(mask) == bits && canonical[mask] == mask)
+                .parallel()
+                .forEach(mask -> {
+                    if (cancelled()) {
+                        throw new CancellationException("cancelled");
+                    }
+                    reachable[mask] = combine(set, mask, canonical, reachable);
+                    reachable[mask].values().stream().findFirst().ifPresent(e ->
+                        callBack(done.incrementAndGet(), tries.get(), full, e)
+                    );
+                });
+        }
+        return reachable[full];
+    }
+
+    private Map<E, Expression<E>> combine(E[] set, int mask, int[] canonical, Map<E, Expression<E>>[] reachable) {
+        final Map<E, Expression<E>> result = new HashMap<>();
+        if (Integer.bitCount(mask) == 1) {
+            final E value = set[Integer.numberOfTrailingZeros(mask)];
+            result.put(value, new Value<>(value));
+            return result;
+        }
+        long count = 0;
+        // all ways to split the mask in two non-empty parts
+        for (int left = (mask - 1) & mask; left > 0; left = (left - 1) & mask) {
+            final int right = mask ^ left;
+            final Map<E, Expression<E>> leftValues = reachable[canonical[left]];
+            final Map<E, Expression<E>> rightValues = reachable[canonical[right]];
+            for (AlgebraicBinaryOperator operator : OPERATORS) {
+                if (left < right && structure.isCommutative(operator)) {
+                    // the other order gives the same values
+                    continue;
+                }
+                for (Map.Entry<E, Expression<E>> l : leftValues.entrySet()) {
+                    for (Map.Entry<E, Expression<E>> r : rightValues.entrySet()) {
+                        count++;
+                        try {
+                            final E value = operator.apply(l.getKey(), r.getKey());
+                            if (!result.containsKey(value)) {
+                                result.put(value, new BinaryOperation<>(operator, l.getValue(), r.getValue()));
+                            }
+                        } catch (MathException ex) {
+                            // e.g. division by zero
+                        }
+                    }
+                }
+            }
+        }
+        tries.addAndGet(count);
+        return result;
+    }
+
+    /**
+     * Subsets of the input with the same values can reach the same values. For each subset this determines the representative subset, which consists of the first indices of each value.
+     */
+    private static <E> int[] canonicalMasks(E[] set) {
+        final int n = set.length;
+        final int[] first = new int[n];
+        for (int i = 0; i < n; i++) {
+            first[i] = i;
+            for (int j = 0; j < i; j++) {
+                if (set[j].equals(set[i])) {
+                    first[i] = j;
+                    break;
+                }
+            }
+        }
+        final int[] canonical = new int[1 << n];
+        for (int mask = 1; mask < canonical.length; mask++) {
+            int result = 0;
+            for (int i = 0; i < n; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    // take the first index with the same value that is not taken yet
+                    int j = first[i];
+                    while ((result & (1 << j)) != 0 || !set[j].equals(set[i])) {
+                        j++;
+                    }
+                    result |= 1 << j;
+                }
+            }
+            canonical[mask] = result;
+        }
+        return canonical;
+    }
+
+    /**
+     * Like {@link #solve(String, String)}, but using {@link #reachable(RingElement[])}. This is much faster, but finds only one expression per outcome.
+     */
+    public SolverResult solveByValue(String outcomeString, String inputStrings) {
+        ParseResult<E> outcome = parseOutcome(outcomeString);
+        ParseResult<E[]> input = parseInput(inputStrings);
+        if (outcome.success() && input.success()) {
+            return solveByValue(outcome.result(), input.result());
+        } else {
+            throw new NotParsable(outcome.error() + "/" + input.error());
+        }
+    }
+
+    public SolverResult solveByValue(E outcome, E[] input) {
+        AtomicLong matches = new AtomicLong();
+        log.fine(() -> "Solving input " + List.of(input) + " for " + outcome + " by value ( in field " + structure + ")");
+        final Map<E, Expression<E>> reachable = reachable(input);
+        return new SolverResult(
+            reachable.entrySet().stream()
+                .filter(e -> e.getKey().eq(outcome))
+                .map(e -> new EvaluatedExpression<>(e.getValue(), e.getKey()))
+                .peek(e -> matches.getAndIncrement())
+                .map(EvaluatedExpression::toString),
+            tries, matches, structure
+        );
+    }
+
     /**
      *
      */
@@ -5,15 +5,22 @@ import lombok.extern.java.Log;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
 import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumber;
 import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumbers;
+import org.meeuw.math.arithmetic.ast.EvaluatedExpression;
+import org.meeuw.math.arithmetic.ast.Expression;
 import org.meeuw.math.statistics.StatisticalLong;
 import org.meeuw.time.UncertainJavaTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @Log
 class SolverTest {
     static {
@@ -43,4 +50,34 @@ class SolverTest {
         }
         log.info("Solved: %s".formatted(duration.toString()));
     }
+
+    @Test
+    void reachable() {
+        Map<RationalNumber, Expression<RationalNumber>> reachable = solver.reachable(
+            RationalNumber.of(8), RationalNumber.of(8), RationalNumber.of(3), RationalNumber.of(3)
+        );
+        // the only solution is 8 / (3 - 8 / 3)
+        assertThat(reachable.get(RationalNumber.of(24)).eval()).isEqualTo(RationalNumber.of(24));
+        reachable.forEach((value, expression) -> assertThat(expression.eval()).isEqualTo(value));
+
+        Set<RationalNumber> all = solver.evaledStream(
+                RationalNumber.of(8), RationalNumber.of(8), RationalNumber.of(3), RationalNumber.of(3))
+            .map(EvaluatedExpression::result)
+            .collect(Collectors.toSet());
+        assertThat(reachable.keySet()).isEqualTo(all);
+
+        assertThat(solver.reachable(RationalNumber.of(7)))
+            .containsOnlyKeys(RationalNumber.of(7));
+        assertThat(solver.reachable()).isEmpty();
+    }
+
+    @Test
+    void solveByValue() {
+        Solver.SolverResult solve = solver.solveByValue("120", "4 7 7 7 8");
+        assertThat(solve.list()).hasSize(1);
+        assertThat(solve.matches().get()).isEqualTo(1);
+
+        assertThat(solver.solveByValue("1000000", "1 1 1 1").list()).isEmpty();
+    }
+
 }
@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.arithmetic.ast;
+
+import lombok.Getter;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.meeuw.math.abstractalgebra.AlgebraicElement;
+import org.meeuw.math.operators.AlgebraicBinaryOperator;
+import org.meeuw.math.operators.AlgebraicUnaryOperator;
+
+/**
+ * An {@link Expression} 'compiled' to a flat list of instructions in postfix order, which can be evaluated for many different values of its variables.
+ * <p>
+ * While compiling, sub expressions without variables are evaluated once ('constant folding'). {@link Variable}s that are named in {@link #compile(Expression, String...)} become 'slots', whose values are given on evaluation. Other variables keep using their {@link Variable#getValue() supplier}.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @param <E> the type of the elements the expression evaluates to
+ */
+public final class CompiledExpression<E extends AlgebraicElement<E>> {
+
+    private static final byte CONSTANT = 0;
+    private static final byte SLOT = 1;
+    private static final byte SUPPLIER = 2;
+    private static final byte UNARY = 3;
+    private static final byte BINARY = 4;
+
+    private final byte[] instructions;
+    /**
+     * Per instruction its argument. A constant, a slot number, a supplier or an operator.
+     */
+    private final Object[] arguments;
+    private final int stackSize;
+
+    @Getter
+    private final List<String> variables;
+
+    private CompiledExpression(byte[] instructions, Object[] arguments, int stackSize, List<String> variables) {
+        this.instructions = instructions;
+        this.arguments = arguments;
+        this.stackSize = stackSize;
+        this.variables = variables;
+    }
+
+    /**
+     * Compiles the given expression.
+     *
+     * @param expression the expression to compile
+     * @param variables  the names of the {@link Variable}s that must be given when evaluating, in the order they must be given.
+     * @return a new compiled expression
+     */
+    public static <E extends AlgebraicElement<E>> CompiledExpression<E> compile(Expression<E> expression, String... variables) {
+        final Compiler<E> compiler = new Compiler<>(List.of(variables));
+        compiler.compile(compiler.fold(expression));
+        final byte[] instructions = new byte[compiler.instructions.size()];
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = compiler.instructions.get(i);
+        }
+        return new CompiledExpression<>(instructions, compiler.arguments.toArray(), compiler.maxDepth, List.of(variables));
+    }
+
+    /**
+     * @param bindings the values of the variables, in the order of {@link #getVariables()}
+     * @return the value of the expression for the given values of its variables
+     */
+    @SafeVarargs
+    public final E evaluate(E... bindings) {
+        return evaluate(bindings, new Object[stackSize]);
+    }
+
+    /**
+     * Evaluates the expression for several sets of values of its variables.
+     *
+     * @param bindings per evaluation the values of the variables, in the order of {@link #getVariables()}
+     * @return the values of the expression, in the same order as the bindings
+     */
+    @SuppressWarnings("unchecked")
+    public E[] evaluate(E[][] bindings) {
+        final E[] result = (E[]) Array.newInstance(bindings.getClass().getComponentType().getComponentType(), bindings.length);
+        final Object[] stack = new Object[stackSize];
+        for (int i = 0; i < bindings.length; i++) {
+            result[i] = evaluate(bindings[i], stack);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of instructions after constant folding
+     */
+    public int size() {
+        return instructions.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E evaluate(E[] bindings, Object[] stack) {
+        if (bindings.length != variables.size()) {
+            throw new IllegalArgumentException("Expected values for " + variables + " but got " + Arrays.toString(bindings));
+        }
+        int top = -1;
+        for (int i = 0; i < instructions.length; i++) {
+            switch (instructions[i]) {
+                case CONSTANT -> stack[++top] = arguments[i];
+                case SLOT -> stack[++top] = bindings[(Integer) arguments[i]];
+                case SUPPLIER -> stack[++top] = ((Supplier<E>) arguments[i]).get();
+                case UNARY -> stack[top] = ((AlgebraicUnaryOperator) arguments[i]).apply((E) stack[top]);
+                case BINARY -> {
+                    final E right = (E) stack[top];
+                    stack[top--] = null;
+                    stack[top] = ((AlgebraicBinaryOperator) arguments[i]).apply((E) stack[top], right);
+                }
+                default -> throw new IllegalStateException();
+            }
+        }
+        final E result = (E) stack[0];
+        stack[0] = null;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < instructions.length; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(switch (instructions[i]) {
+                case SLOT -> variables.get((Integer) arguments[i]);
+                case SUPPLIER -> "<supplier>";
+                default -> String.valueOf(arguments[i]);
+            });
+        }
+        return builder.toString();
+    }
+
+    private static class Compiler<E extends AlgebraicElement<E>> {
+        private final List<String> variables;
+        private final List<Byte> instructions = new ArrayList<>();
+        private final List<Object> arguments = new ArrayList<>();
+        private int depth = 0;
+        private int maxDepth = 0;
+
+        Compiler(List<String> variables) {
+            this.variables = variables;
+        }
+
+        /**
+         * Replaces all sub expressions without variables with their values.
+         */
+        Expression<E> fold(Expression<E> expression) {
+            if (expression instanceof BinaryOperation<E> binary) {
+                final Expression<E> left = fold(binary.getLeft());
+                final Expression<E> right = fold(binary.getRight());
+                if (left instanceof Value<E> l && right instanceof Value<E> r) {
+                    final Optional<E> value = tryApply(() -> binary.getOperator().apply(l.getValue(), r.getValue()));
+                    if (value.isPresent()) {
+                        return new Value<>(value.get());
+                    }
+                }
+                return new BinaryOperation<>(binary.getOperator(), left, right);
+            } else if (expression instanceof UnaryOperation<E> unary) {
+                final Expression<E> operand = fold(unary.getOperand());
+                if (operand instanceof Value<E> o) {
+                    final Optional<E> value = tryApply(() -> unary.getOperator().apply(o.getValue()));
+                    if (value.isPresent()) {
+                        return new Value<>(value.get());
+                    }
+                }
+                return new UnaryOperation<>(unary.getOperator(), operand);
+            }
+            return expression;
+        }
+
+        /**
+         * If folding fails (e.g. division by zero), the operation is kept, so it fails on evaluation, as it would have without compiling.
+         */
+        private Optional<E> tryApply(Supplier<E> operation) {
+            try {
+                return Optional.of(operation.get());
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+
+        void compile(Expression<E> expression) {
+            if (expression instanceof Value<E> value) {
+                push(CONSTANT, value.getValue());
+            } else if (expression instanceof Variable<E> variable) {
+                final int slot = variables.indexOf(variable.getName());
+                if (slot >= 0) {
+                    push(SLOT, slot);
+                } else {
+                    push(SUPPLIER, variable.getValue());
+                }
+            } else if (expression instanceof UnaryOperation<E> unary) {
+                compile(unary.getOperand());
+                add(UNARY, unary.getOperator());
+            } else if (expression instanceof BinaryOperation<E> binary) {
+                compile(binary.getLeft());
+                compile(binary.getRight());
+                add(BINARY, binary.getOperator());
+                depth--;
+            } else {
+                throw new IllegalArgumentException("Unknown Expression type " + expression);
+            }
+        }
+
+        private void push(byte instruction, Object argument) {
+            add(instruction, argument);
+            maxDepth = Math.max(maxDepth, ++depth);
+        }
+
+        private void add(byte instruction, Object argument) {
+            instructions.add(instruction);
+            arguments.add(argument);
+        }
+    }
+}
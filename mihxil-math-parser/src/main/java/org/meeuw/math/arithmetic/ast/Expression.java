@@ -11,5 +11,16 @@ public interface Expression<E extends AlgebraicElement<E>>  extends Comparable<E
         return this;
     };
 
+    /**
+     * Compiles this expression, so that it can efficiently be evaluated many times.
+     *
+     * @param variables the names of the {@link Variable}s whose values are given on {@link CompiledExpression#evaluate(AlgebraicElement[]) evaluation}
+     * @see CompiledExpression#compile(Expression, String...)
+     * @since 0.20
+     */
+    default CompiledExpression<E> compile(String... variables) {
+        return CompiledExpression.compile(this, variables);
+    }
+
 
 }
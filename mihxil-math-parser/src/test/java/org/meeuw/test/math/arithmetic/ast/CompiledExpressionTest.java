@@ -0,0 +1,107 @@
+package org.meeuw.test.math.arithmetic.ast;
+
+import lombok.extern.java.Log;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.abstractalgebra.rationalnumbers.RationalNumber;
+import org.meeuw.math.arithmetic.ast.*;
+import org.meeuw.math.exceptions.DivisionByZeroException;
+import org.meeuw.math.operators.BasicAlgebraicUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.meeuw.math.operators.BasicAlgebraicBinaryOperator.*;
+
+@Log
+class CompiledExpressionTest {
+
+    final AtomicReference<RationalNumber> x = new AtomicReference<>();
+    final AtomicReference<RationalNumber> y = new AtomicReference<>();
+
+    final Variable<RationalNumber> varX = new Variable<>("x", x::get);
+    final Variable<RationalNumber> varY = new Variable<>("y", y::get);
+
+    @Test
+    void constantFolding() {
+        // (x + 2 ⋅ 3) ⋅ -y
+        Expression<RationalNumber> expression = new BinaryOperation<>(MULTIPLICATION,
+            new BinaryOperation<>(ADDITION, varX, new BinaryOperation<>(MULTIPLICATION, value(2), value(3))),
+            new UnaryOperation<>(BasicAlgebraicUnaryOperator.NEGATION, varY)
+        );
+        CompiledExpression<RationalNumber> compiled = expression.compile("x", "y");
+        log.info(() -> "compiled: " + compiled);
+        assertThat(compiled.size()).isEqualTo(6);
+        assertThat(compiled.getVariables()).containsExactly("x", "y");
+
+        assertThat(compiled.evaluate(RationalNumber.of(1), RationalNumber.of(2))).isEqualTo(RationalNumber.of(-14));
+
+        x.set(RationalNumber.of(1));
+        y.set(RationalNumber.of(2));
+        assertThat(expression.eval()).isEqualTo(RationalNumber.of(-14));
+    }
+
+    @Test
+    void batch() {
+        Expression<RationalNumber> expression = varX.times(varX).minus(varY.dividedBy(value(2)));
+        CompiledExpression<RationalNumber> compiled = expression.compile("x", "y");
+        Random random = new Random(1);
+        RationalNumber[][] bindings = new RationalNumber[100][];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = new RationalNumber[] {
+                RationalNumber.of(random.nextInt(100) - 50, random.nextInt(10) + 1),
+                RationalNumber.of(random.nextInt(100) - 50, random.nextInt(10) + 1)
+            };
+        }
+        RationalNumber[] results = compiled.evaluate(bindings);
+        assertThat(results).hasSize(bindings.length);
+        for (int i = 0; i < bindings.length; i++) {
+            x.set(bindings[i][0]);
+            y.set(bindings[i][1]);
+            assertThat(results[i]).isEqualTo(expression.eval());
+        }
+    }
+
+    @Test
+    void unboundVariablesUseSupplier() {
+        CompiledExpression<RationalNumber> compiled = varX.plus(varY).compile("x");
+        y.set(RationalNumber.of(10));
+        assertThat(compiled.evaluate(RationalNumber.of(1))).isEqualTo(RationalNumber.of(11));
+        y.set(RationalNumber.of(20));
+        assertThat(compiled.evaluate(RationalNumber.of(1))).isEqualTo(RationalNumber.of(21));
+    }
+
+    @Test
+    void failingConstantsAreNotFolded() {
+        CompiledExpression<RationalNumber> compiled = varX.plus(value(1).dividedBy(value(0))).compile("x");
+        assertThat(compiled.size()).isEqualTo(5);
+        assertThatThrownBy(() -> compiled.evaluate(RationalNumber.of(1)))
+            .isInstanceOf(DivisionByZeroException.class);
+    }
+
+    @Test
+    void wrongNumberOfValues() {
+        CompiledExpression<RationalNumber> compiled = varX.plus(varY).compile("x", "y");
+        assertThatThrownBy(() -> compiled.evaluate(RationalNumber.of(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sameAsEval() {
+        List<RationalNumber> leaves = List.of(RationalNumber.of(1), RationalNumber.of(2), RationalNumber.of(3), RationalNumber.of(4));
+        AST.stream(leaves, List.of(ADDITION, SUBTRACTION, MULTIPLICATION, DIVISION))
+            .forEach(expression -> {
+                CompiledExpression<RationalNumber> compiled = expression.compile();
+                assertThat(compiled.size()).isEqualTo(1);
+                assertThat(compiled.evaluate()).isEqualTo(expression.eval());
+            });
+    }
+
+    static Value<RationalNumber> value(long i) {
+        return new Value<>(RationalNumber.of(i));
+    }
+}
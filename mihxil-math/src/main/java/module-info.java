@@ -17,6 +17,7 @@
 import org.meeuw.configuration.ConfigurationAspect;
 import org.meeuw.configuration.spi.ToStringProvider;
 import org.meeuw.math.abstractalgebra.GenericGroupConfiguration;
+import org.meeuw.math.abstractalgebra.MatrixConfiguration;
 import org.meeuw.math.abstractalgebra.RandomConfiguration;
 import org.meeuw.math.numbers.*;
 import org.meeuw.math.streams.StreamUtils;
@@ -76,7 +77,8 @@ module org.meeuw.math {
         MathContextConfiguration,
         RandomConfiguration,
         GenericGroupConfiguration,
-        CompareConfiguration
+        CompareConfiguration,
+        MatrixConfiguration
         ;
     provides ToStringProvider with
         DecimalFormatToString,
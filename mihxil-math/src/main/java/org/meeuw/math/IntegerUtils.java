@@ -4,9 +4,8 @@ import jakarta.validation.constraints.*;
 
 import java.math.BigInteger;
 import java.util.*;
-import java.util.function.LongConsumer;
 import java.util.stream.LongStream;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -43,6 +42,9 @@ public final class IntegerUtils {
         100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
         100_000_000_000_000_000L, 1_000_000_000_000_000_000L
     };
+
+    private static final long HALF_MASK = 0xFFFFFFFFL;
+
     /**
      * Returns 10 to the power i, a utility in java.lang.Math for that lacks.
      *
@@ -187,24 +189,56 @@ public final class IntegerUtils {
     }
 
     /**
-     * Simple prime test. 6k ± 1 optimization only. Not suitable for (very) large numbers.
+     * Bases for which a strong probable prime test is deterministic for all longs (found by Jim Sinclair)
+     */
+    private static final long[] MILLER_RABIN_BASES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    /**
+     * Factors below this are found by trial division, before resorting to {@link #pollardBrent(long)}.
+     */
+    private static final int TRIAL_DIVISION_LIMIT = 1 << 10;
+
+    /**
+     * Numbers below this are tested for primality by lookup in a {@link Sieve sieve}.
+     */
+    private static final int SIEVE_QUERY_LIMIT = 1 << 16;
+
+    /**
+     * The number of rounds {@link BigInteger#isProbablePrime(int)} is called with for big integers.
+     */
+    private static final int CERTAINTY = 100;
+
+    /**
+     * Prime test. Small numbers are looked up in a sieve, others are tested with a <a href="https://en.wikipedia.org/wiki/Miller%E2%80%93Rabin_primality_test">Miller-Rabin</a> test with a fixed set of bases, which is deterministic for all longs.
      * @param n an integer to test for primeness
      * @return whether the argument is prime or not
      */
     public static boolean isPrime(long n) {
-        if (n <= 3) {
-            return n > 1;
-        } else if (n % 2 == 0 || n % 3 == 0) {
+        if (n < 2) {
             return false;
         }
-        long i = 5;
-        while (i * i <= n) {
-            if (n % i == 0 || n % (i + 2) == 0) {
-                return false;
-            }
-            i += 6;
+        if (n < SIEVE_QUERY_LIMIT || n < Sieve.limit) {
+            return Sieve.isPrime((int) n);
         }
-        return true;
+        if ((n & 1) == 0 || n % 3 == 0 || n % 5 == 0 || n % 7 == 0) {
+            return false;
+        }
+        return isStrongProbablePrime(new MontgomeryArithmetic(n), MILLER_RABIN_BASES);
+    }
+
+    /**
+     * Prime test for big integers. Integers that fit in a long are tested with {@link #isPrime(long)}, for others {@link BigInteger#isProbablePrime(int)} is used, so the probability of a wrong answer is smaller than 2<sup>-100</sup>.
+     * @since 0.20
+     */
+    public static boolean isPrime(@NonNull BigInteger n) {
+        if (n.signum() <= 0) {
+            // BigInteger#isProbablePrime would consider the absolute value
+            return false;
+        }
+        if (n.bitLength() < Long.SIZE) {
+            return isPrime(n.longValue());
+        }
+        return n.isProbablePrime(CERTAINTY);
     }
 
     public static long nextPrime(long n) {
@@ -222,6 +256,30 @@ public final class IntegerUtils {
         return n;
     }
 
+    /**
+     * @see #nextPrime(long)
+     * @see BigInteger#nextProbablePrime()
+     * @since 0.20
+     */
+    public static BigInteger nextPrime(@NonNull BigInteger n) {
+        if (n.signum() <= 0) {
+            // BigInteger#nextProbablePrime would throw for negative values
+            return TWO;
+        }
+        if (n.bitLength() < Long.SIZE - 2) {
+            return BigInteger.valueOf(nextPrime(n.longValue()));
+        }
+        return n.nextProbablePrime();
+    }
+
+    /**
+     * The prime numbers, in order. The small ones are taken from a sieve.
+     * @since 0.20
+     */
+    public static LongStream primes() {
+        return LongStream.iterate(2, IntegerUtils::nextPrime);
+    }
+
     /**
      * Returns a stream of the prime factors of the given number.
      * <p>
@@ -230,6 +288,9 @@ public final class IntegerUtils {
      * <p>
      * For example, {@code primeFactorization(12)} will return {@code 2, 2, 3}.
      * </p>
+     * <p>
+     * Small factors are found by trial division, bigger ones with <a href="https://en.wikipedia.org/wiki/Pollard%27s_rho_algorithm#Variants">Pollard-Brent rho</a>.
+     * </p>
      *
      * @param number the number to factorize
      * @return a stream of the prime factors
@@ -239,43 +300,53 @@ public final class IntegerUtils {
         if (argument <= 1) {
             return LongStream.empty();
         }
-        Spliterator.OfLong spliterator = new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE,
-               Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL) {
-            long n = argument;
-            boolean evens = true;
-            long sqrt;
-            long i;
-
-            @Override
-            public boolean tryAdvance(LongConsumer action) {
-                if (evens) {
-                    if (n % 2 == 0) {
-                        action.accept(2);
-                        n /= 2;
-                        return true;
-                    }
-                    evens = false;
-                    sqrt = (long) Math.sqrt(n);
-                    i = 3;
-                }
-                while (i <= sqrt) {
-                    if (n % i == 0) {
-                        action.accept(i);
-                        n /= i;
-                        return true;
-                    }
-                    i += 2;
-                }
-                if (n > 2) {
-                    action.accept(n);
-                    n = 1;
-                    return true;
+        final LongStream.Builder builder = LongStream.builder();
+        long n = argument;
+        final int twos = Long.numberOfTrailingZeros(n);
+        for (int i = 0; i < twos; i++) {
+            builder.add(2);
+        }
+        n >>= twos;
+        for (int p = 3; p < TRIAL_DIVISION_LIMIT && (long) p * p <= n; p += 2) {
+            if (Sieve.isPrime(p)) {
+                while (n % p == 0) {
+                    builder.add(p);
+                    n /= p;
                 }
-                return false;
             }
+        }
+        if (n > 1) {
+            final List<Long> factors = new ArrayList<>();
+            collectFactors(n, factors);
+            factors.stream().sorted().forEach(builder::add);
+        }
+        return builder.build();
+    }
 
-        };
-        return StreamSupport.longStream(spliterator, false);
+    /**
+     * @see #primeFactorization(long)
+     * @since 0.20
+     */
+    public static Stream<BigInteger> primeFactorization(@NonNull BigInteger number) {
+        final BigInteger argument = number.abs();
+        if (argument.bitLength() < Long.SIZE) {
+            return primeFactorization(argument.longValue()).mapToObj(BigInteger::valueOf);
+        }
+        final List<BigInteger> factors = new ArrayList<>();
+        BigInteger n = argument;
+        for (int p = 2; p < TRIAL_DIVISION_LIMIT; p++) {
+            if (Sieve.isPrime(p)) {
+                final BigInteger bp = BigInteger.valueOf(p);
+                BigInteger[] divided = n.divideAndRemainder(bp);
+                while (divided[1].signum() == 0) {
+                    factors.add(bp);
+                    n = divided[0];
+                    divided = n.divideAndRemainder(bp);
+                }
+            }
+        }
+        collectFactors(n, factors);
+        return factors.stream().sorted();
     }
 
     public static boolean isPrimePower(long argument) {
@@ -285,6 +356,17 @@ public final class IntegerUtils {
             .count() == 1;
     }
 
+    /**
+     * @see #isPrimePower(long)
+     * @since 0.20
+     */
+    public static boolean isPrimePower(@NonNull BigInteger argument) {
+        return primeFactorization(argument)
+            .distinct()
+            .limit(2)
+            .count() == 1;
+    }
+
     /**
      * Checks whether {@code n} is a power of {@code p}.
      * @return the exponent, or {@code -1} if it's not.
@@ -304,20 +386,146 @@ public final class IntegerUtils {
 
     /**
      * Finds out which integer power the argument can be.
+     * <p>
+     * This is determined from the {@link #primeFactorization(long) prime factorization}: the exponent is the greatest common divisor of the exponents of the prime factors.
      * @return an array of 2 ints {@code (i, j)}, such that {@code i^j == n},  for smallest possible {@code i}. If there is no such combination, then {@code (0,0)}
      * @param n The number to check
      *
      */
     public static int[] checkPower(final long n) {
-        long p = 2;
-        while(p * p <= n) {
-            long found = checkPower(n, p);
-            if (found > 0) {
-                return new int[]{(int) p, (int)found};
+        if (n < 4) {
+            return new int[] {0, 0};
+        }
+        final long[] factors = primeFactorization(n).toArray();
+        final List<long[]> powers = new ArrayList<>();
+        long exponent = 0;
+        for (int i = 0; i < factors.length; i++) {
+            if (i == 0 || factors[i] != factors[i - 1]) {
+                powers.add(new long[] {factors[i], 0});
+            }
+            powers.get(powers.size() - 1)[1]++;
+        }
+        for (long[] power : powers) {
+            exponent = gcd(exponent, power[1]);
+        }
+        if (exponent < 2) {
+            return new int[] {0, 0};
+        }
+        long base = 1;
+        for (long[] power : powers) {
+            for (long i = 0; i < power[1] / exponent; i++) {
+                base *= power[0];
+            }
+        }
+        return new int[]{(int) base, (int) exponent};
+    }
+
+    /**
+     * @param n an odd number bigger than 1, without factors smaller than {@link #TRIAL_DIVISION_LIMIT}
+     */
+    private static void collectFactors(long n, List<Long> factors) {
+        if (n == 1) {
+            return;
+        }
+        if (isPrime(n)) {
+            factors.add(n);
+            return;
+        }
+        final long divisor = pollardBrent(n);
+        collectFactors(divisor, factors);
+        collectFactors(n / divisor, factors);
+    }
+
+    private static void collectFactors(BigInteger n, List<BigInteger> factors) {
+        if (n.equals(BigInteger.ONE)) {
+            return;
+        }
+        if (n.bitLength() < Long.SIZE) {
+            primeFactorization(n.longValue()).mapToObj(BigInteger::valueOf).forEach(factors::add);
+            return;
+        }
+        if (isPrime(n)) {
+            factors.add(n);
+            return;
+        }
+        final BigInteger divisor = pollardBrent(n);
+        collectFactors(divisor, factors);
+        collectFactors(n.divide(divisor), factors);
+    }
+
+    /**
+     * Finds a non-trivial divisor of an odd composite number, with <a href="https://maths-people.anu.edu.au/~brent/pub/pub051.html">Brent's variant</a> of Pollard's rho algorithm. The polynomial {@code x² + c} is iterated in Montgomery form.
+     */
+    private static long pollardBrent(final long n) {
+        final MontgomeryArithmetic montgomery = new MontgomeryArithmetic(n);
+        final int batch = 128;
+        for (long c = 1; ; c++) {
+            final long mc = montgomery.toMontgomery(c);
+            long y = montgomery.toMontgomery(2);
+            long x = y;
+            long ys = y;
+            long q = montgomery.one();
+            long g = 1;
+            for (long r = 1; g == 1; r <<= 1) {
+                x = y;
+                for (long i = 0; i < r; i++) {
+                    y = montgomery.plus(montgomery.times(y, y), mc);
+                }
+                for (long k = 0; k < r && g == 1; k += batch) {
+                    ys = y;
+                    for (long i = 0; i < Math.min(batch, r - k); i++) {
+                        y = montgomery.plus(montgomery.times(y, y), mc);
+                        q = montgomery.times(q, x > y ? x - y : y - x);
+                    }
+                    g = binaryGcd(q, n);
+                }
+            }
+            if (g == n) {
+                // the batch overshot, redo it one by one
+                do {
+                    ys = montgomery.plus(montgomery.times(ys, ys), mc);
+                    g = binaryGcd(x > ys ? x - ys : ys - x, n);
+                } while (g == 1);
+            }
+            if (g != n) {
+                return g;
+            }
+        }
+    }
+
+    private static BigInteger pollardBrent(final BigInteger n) {
+        final int batch = 128;
+        for (long c = 1; ; c++) {
+            final BigInteger bc = BigInteger.valueOf(c);
+            BigInteger y = TWO;
+            BigInteger x = y;
+            BigInteger ys = y;
+            BigInteger q = BigInteger.ONE;
+            BigInteger g = BigInteger.ONE;
+            for (long r = 1; g.equals(BigInteger.ONE); r <<= 1) {
+                x = y;
+                for (long i = 0; i < r; i++) {
+                    y = y.multiply(y).add(bc).mod(n);
+                }
+                for (long k = 0; k < r && g.equals(BigInteger.ONE); k += batch) {
+                    ys = y;
+                    for (long i = 0; i < Math.min(batch, r - k); i++) {
+                        y = y.multiply(y).add(bc).mod(n);
+                        q = q.multiply(x.subtract(y).abs()).mod(n);
+                    }
+                    g = q.gcd(n);
+                }
+            }
+            if (g.equals(n)) {
+                do {
+                    ys = ys.multiply(ys).add(bc).mod(n);
+                    g = x.subtract(ys).gcd(n);
+                } while (g.equals(BigInteger.ONE));
+            }
+            if (!g.equals(n)) {
+                return g;
             }
-            p++;
         }
-        return new int[] {0, 0};
     }
 
     /**
@@ -333,6 +541,39 @@ public final class IntegerUtils {
         return gcdByEuclidsAlgorithm(n1, n2);
     }
 
+    /**
+     * Returns the greatest common divisor of two long integers.
+     * <p>
+     * Uses the <a href="https://en.wikipedia.org/wiki/Binary_GCD_algorithm">binary GCD algorithm</a>, which only needs shifts and subtractions, and is therefore often faster than {@link #gcd(long, long)}.
+     *
+     * @param n1 the first integer, not {@link Long#MIN_VALUE}
+     * @param n2 the second integer, not {@link Long#MIN_VALUE}
+     * @return the (non-negative) greatest common divisor of {@code n1} and {@code n2}
+     * @since 0.20
+     */
+    public static long binaryGcd(long n1, long n2) {
+        long a = Math.abs(n1);
+        long b = Math.abs(n2);
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        final int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                final long t = b;
+                b = a;
+                a = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
      /**
      * Returns the greatest common divisor of two integers.
      * <p>
@@ -419,19 +660,82 @@ public final class IntegerUtils {
        return result;
    }
 
-   public static long modPow(long base, long exponent, long modulus){
-       if (modulus == 1) return 0;
-       long result = 1;
-       base = base % modulus;
-       while (exponent > 0) {
-           if ((exponent & 1) == 1) {
-               result = (result * base) % modulus;
-           }
-           exponent >>= 1;
-           base = (base * base) % modulus;
-       }
-       return result;
-   }
+    /**
+     * @param modulus a positive long
+     * @return {@code base}<sup>{@code exponent}</sup> modulo {@code modulus}, for all longs (the products are calculated in 128 bits)
+     */
+    public static long modPow(long base, long exponent, long modulus) {
+        if (modulus == 1) {
+            return 0;
+        }
+        base = Math.floorMod(base, modulus);
+        if ((modulus & 1) == 1) {
+            final MontgomeryArithmetic montgomery = new MontgomeryArithmetic(modulus);
+            return montgomery.fromMontgomery(montgomery.pow(montgomery.toMontgomery(base), exponent));
+        }
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = mulMod(result, base, modulus);
+            }
+            exponent >>= 1;
+            base = mulMod(base, base, modulus);
+        }
+        return result;
+    }
+
+    /**
+     * @param modulus a positive long
+     * @return {@code a * b} modulo {@code modulus}, without overflow
+     * @since 0.20
+     */
+    public static long mulMod(long a, long b, long modulus) {
+        a = Math.floorMod(a, modulus);
+        b = Math.floorMod(b, modulus);
+        final long high = Math.multiplyHigh(a, b);
+        final long low = a * b;
+        if (high == 0 && low >= 0) {
+            return low % modulus;
+        }
+        // the high bits are smaller than the modulus, so the quotient fits in a long
+        return low - divideUnsigned(high, low, modulus) * modulus;
+    }
+
+    /**
+     * Divides the unsigned 128-bit number {@code high·2}<sup>{@code 64}</sup>{@code  + low} by {@code divisor}, which must be bigger than {@code high} (unsigned), after <a href="https://doi.org/10.5555/2462741">Hacker's Delight</a> {@code divlu}. The remainder is then {@code low - quotient · divisor}.
+     * @since 0.20
+     */
+    public static long divideUnsigned(long high, long low, long divisor) {
+        final int shift = Long.numberOfLeadingZeros(divisor);
+        final long v = divisor << shift;
+        final long vHigh = v >>> 32;
+        final long vLow = v & HALF_MASK;
+        final long u32 = (high << shift) | (shift == 0 ? 0 : low >>> (64 - shift));
+        final long u10 = low << shift;
+        final long u1 = u10 >>> 32;
+        final long u0 = u10 & HALF_MASK;
+
+        long q1 = Long.divideUnsigned(u32, vHigh);
+        long remainder = u32 - q1 * vHigh;
+        while (q1 > HALF_MASK || Long.compareUnsigned(q1 * vLow, (remainder << 32) | u1) > 0) {
+            q1--;
+            remainder += vHigh;
+            if (remainder > HALF_MASK) {
+                break;
+            }
+        }
+        final long u21 = (u32 << 32) + u1 - q1 * v;
+        long q0 = Long.divideUnsigned(u21, vHigh);
+        remainder = u21 - q0 * vHigh;
+        while (q0 > HALF_MASK || Long.compareUnsigned(q0 * vLow, (remainder << 32) | u0) > 0) {
+            q0--;
+            remainder += vHigh;
+            if (remainder > HALF_MASK) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
 
     private static synchronized  BigInteger bigIntegerSubfactorial(BigInteger n, Map<BigInteger, BigInteger> answers) {
         if (n.equals(BigInteger.ZERO)) {
@@ -507,4 +811,108 @@ public final class IntegerUtils {
         return numerator.divide(denominator);
     }
 
+    /**
+     * The high 64 bits of the unsigned 128 bits product of two longs.
+     * @since 0.20
+     */
+    public static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * The strong probable prime test of Miller-Rabin for each of the given bases.
+     */
+    private static boolean isStrongProbablePrime(MontgomeryArithmetic montgomery, long... bases) {
+        final long n = montgomery.getModulus();
+        final long one = montgomery.one();
+        final long minusOne = n - one;
+        final int s = Long.numberOfTrailingZeros(n - 1);
+        final long d = (n - 1) >> s;
+        bases:
+        for (long base : bases) {
+            final long a = base % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = montgomery.pow(montgomery.toMontgomery(a), d);
+            if (x == one || x == minusOne) {
+                continue;
+            }
+            for (int i = 1; i < s; i++) {
+                x = montgomery.times(x, x);
+                if (x == minusOne) {
+                    continue bases;
+                }
+                if (x == one) {
+                    return false;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * A sieve of Eratosthenes on the odd numbers, which is grown on demand, segment by segment.
+     */
+    private static final class Sieve {
+        private static final int MAX_LIMIT = 1 << 26;
+
+        /**
+         * Bit {@code i} is set if {@code 2i + 1} is composite
+         */
+        private static volatile long[] composites = new long[0];
+
+        /**
+         * All numbers below this are sieved
+         */
+        private static volatile int limit = 0;
+
+        static boolean isPrime(int n) {
+            if (n < 3) {
+                return n == 2;
+            }
+            if ((n & 1) == 0) {
+                return false;
+            }
+            if (n >= limit) {
+                grow(n + 1);
+            }
+            final int i = n >> 1;
+            return (composites[i >> 6] & (1L << i)) == 0;
+        }
+
+        private static synchronized void grow(int to) {
+            while (limit < to) {
+                final int from = limit;
+                final int newLimit = (int) Math.min(MAX_LIMIT, Math.max(Math.max(1 << 10, 2L * from), to));
+                // bit i represents 2i + 1
+                final long[] newComposites = Arrays.copyOf(composites, ((newLimit >> 1) >> 6) + 1);
+                if (from == 0) {
+                    newComposites[0] |= 1; // 1 is not a prime
+                }
+                for (int p = 3; (long) p * p < newLimit; p += 2) {
+                    final int ip = p >> 1;
+                    if ((newComposites[ip >> 6] & (1L << ip)) != 0) {
+                        continue;
+                    }
+                    // the first odd multiple of p in the new segment, but not p itself
+                    long start = Math.max((long) p * p, ((from + p - 1) / p) * (long) p);
+                    if ((start & 1) == 0) {
+                        start += p;
+                    }
+                    for (long m = start; m < newLimit; m += 2L * p) {
+                        final int im = (int) (m >> 1);
+                        newComposites[im >> 6] |= 1L << im;
+                    }
+                }
+                composites = newComposites;
+                limit = newLimit;
+                if (newLimit == MAX_LIMIT) {
+                    break;
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math;
+
+import lombok.Getter;
+
+/**
+ * Arithmetic modulo an odd {@code long}, in 'Montgomery form' {@code aR mod n} (with {@code R = 2}<sup>{@code 64}</sup>), so that products of 128 bits can be reduced without divisions. See <a href="https://en.wikipedia.org/wiki/Montgomery_modular_multiplication">Montgomery multiplication</a>.
+ * <p>
+ * Values are converted with {@link #toMontgomery(long)} and {@link #fromMontgomery(long)}. Sums and products of values in Montgomery form are in Montgomery form too. All values are in the range {@code [0, modulus)}.
+ *
+ * @see IntegerUtils#modPow(long, long, long)
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public final class MontgomeryArithmetic {
+
+    @Getter
+    private final long modulus;
+    /**
+     * modulus<sup>-1</sup> modulo 2<sup>64</sup>
+     */
+    private final long inverse;
+    /**
+     * R modulo the modulus, which is 1 in Montgomery form
+     */
+    private final long one;
+    /**
+     * R<sup>2</sup> modulo the modulus
+     */
+    private final long r2;
+
+    /**
+     * @param modulus an odd positive long
+     */
+    public MontgomeryArithmetic(long modulus) {
+        if (modulus <= 0 || (modulus & 1) == 0) {
+            throw new IllegalArgumentException("Modulus must be odd and positive (" + modulus + ")");
+        }
+        this.modulus = modulus;
+        // Newton's iteration, every step doubles the number of correct bits (starting with 3, since x * x = 1 mod 8 for odd x)
+        long inv = modulus;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - modulus * inv;
+        }
+        this.inverse = inv;
+        final long r1 = Long.remainderUnsigned(-1L, modulus) + 1;
+        this.one = r1 == modulus ? 0 : r1;
+        long r = one;
+        for (int i = 0; i < Long.SIZE; i++) {
+            r = plus(r, r);
+        }
+        this.r2 = r;
+    }
+
+    /**
+     * @return 1 in Montgomery form
+     */
+    public long one() {
+        return one;
+    }
+
+    /**
+     * @param a a non-negative long, which needs not be smaller than the modulus
+     * @return {@code a} in Montgomery form
+     */
+    public long toMontgomery(long a) {
+        // a * r2 < 2^63 * modulus, which can be reduced
+        return times(a, r2);
+    }
+
+    public long fromMontgomery(long a) {
+        return redc(0, a);
+    }
+
+    /**
+     * @return the product of two values in Montgomery form, in Montgomery form
+     */
+    public long times(long a, long b) {
+        return redc(Math.multiplyHigh(a, b), a * b);
+    }
+
+    public long plus(long a, long b) {
+        // a + b - modulus cannot overflow, since both are smaller than the modulus
+        final long sum = a - (modulus - b);
+        return sum < 0 ? sum + modulus : sum;
+    }
+
+    /**
+     * @param base     a value in Montgomery form
+     * @param exponent a non-negative exponent
+     * @return {@code base}<sup>{@code exponent}</sup>, in Montgomery form
+     */
+    public long pow(long base, long exponent) {
+        long result = one;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = times(result, base);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                base = times(base, base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Montgomery reduction of the 128 bits number {@code high * 2^64 + low}, which must be smaller than {@code modulus * 2^64}
+     * @return {@code (high * 2^64 + low) / R mod modulus}
+     */
+    private long redc(long high, long low) {
+        final long m = low * inverse;
+        // low - m * modulus = 0 (mod 2^64), so there is no borrow from the low bits
+        final long result = high - IntegerUtils.unsignedMultiplyHigh(m, modulus);
+        return result < 0 ? result + modulus : result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " mod " + modulus;
+    }
+}
@@ -19,10 +19,10 @@ import java.util.NavigableSet;
 
 import org.meeuw.configuration.ConfigurationService;
 import org.meeuw.math.NonAlgebraic;
+import org.meeuw.math.exceptions.ReciprocalException;
 import org.meeuw.math.operators.*;
+import org.meeuw.math.validation.Square;
 
-import static org.meeuw.math.ArrayUtils.cloneMatrix;
-import static org.meeuw.math.ArrayUtils.swap;
 import static org.meeuw.math.CollectionUtils.navigableSet;
 
 /**
@@ -68,55 +68,16 @@ public interface DivisionRing<E extends DivisionRingElement<E>> extends
     }
 
     /**
-     * Given a (square) matrix of elements of this field, calculate its determinant.
+     * Given a (square) matrix of elements of this division ring, calculate its inverse.
      * <p>
-     * Using Gaussian elimination.
+     * Using Gauss-Jordan elimination, so this is {@code O(n³)}.
+     *
+     * @return the (new) inverse matrix
+     * @throws ReciprocalException if the matrix is not invertible
+     * @since 0.20
      */
-    @Override
-    default E determinant(E[][] source) {
-        // make a copy of the matrix first, since we're going to modify it.
-        E[][] matrix = cloneMatrix(source[0][0].getStructure().getElementClass(), source);
-        final E z = zero();
-
-        int n = matrix.length;
-        int swaps = 0;
-        for(int col = 0; col < n; ++col) {
-            boolean found = false;
-            for(int row = col; row < n; ++row) {
-                if (! z.eq(matrix[row][col])) {
-                    if ( row != col ) {
-                        swap(matrix, row, col);
-                        swaps++;
-                    }
-                    found = true;
-                    break;
-                }
-            }
-
-            if(!found) {
-                return z;
-            }
-
-            for(int row = col + 1; row < n; ++row) {
-                while(true) {
-                    final E del = matrix[row][col].dividedBy(matrix[col][col]);
-                    for (int j = col; j < n; ++j) {
-                        matrix[row][j] = matrix[row][j].minus(del.times(matrix[col][j]));
-                    }
-                    if (z.eq(matrix[row][col])) {
-                        break;
-                    } else {
-                        swap(matrix, row, col);
-                        swaps++;
-                    }
-                }
-            }
-        }
-        E det = swaps % 2 == 0 ? one() : one().negation();
-        for(int i = 0; i < n; ++i) {
-            det = det.times(matrix[i][i]);
-        }
-        return det;
+    default @Square E[][] reciprocal(@Square E[][] matrix) throws ReciprocalException {
+        return MatrixAlgorithm.reciprocal(this, matrix);
     }
 
 }
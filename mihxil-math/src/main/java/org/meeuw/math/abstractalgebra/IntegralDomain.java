@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra;
+
+import org.meeuw.math.NonAlgebraic;
+import org.meeuw.math.exceptions.DivisionByZeroException;
+import org.meeuw.math.exceptions.InvalidAlgebraicResult;
+
+/**
+ * An integral domain is an {@link AbelianRing} without zero divisors. I.e. if {@code a ⋅ b = 0}, then {@code a = 0} or {@code b = 0}.
+ * <p>
+ * The consequence is that, if it is known that some element is a multiple of another, it can be divided exactly. This is
+ * what e.g. {@link MatrixAlgorithm#BAREISS Bareiss' algorithm} uses to calculate determinants without leaving the ring.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @param <E> the type of the elements of this integral domain
+ */
+public interface IntegralDomain<E extends AbelianRingElement<E>> extends AbelianRing<E> {
+
+    /**
+     * Divides {@code dividend} by {@code divisor}, where it is known that {@code divisor} divides {@code dividend}.
+     *
+     * @return the (unique) element {@code q} for which {@code q ⋅ divisor = dividend}
+     * @throws DivisionByZeroException if {@code divisor} is zero
+     * @throws InvalidAlgebraicResult if {@code divisor} does not divide {@code dividend}
+     */
+    @NonAlgebraic(reason = NonAlgebraic.Reason.MANY_ELEMENTS)
+    E exactDivision(E dividend, E divisor) throws DivisionByZeroException, InvalidAlgebraicResult;
+
+}
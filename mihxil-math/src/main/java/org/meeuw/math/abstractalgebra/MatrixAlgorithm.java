@@ -0,0 +1,566 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.meeuw.configuration.Configuration;
+import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.ArrayUtils;
+import org.meeuw.math.exceptions.ReciprocalException;
+import org.meeuw.math.numbers.Scalar;
+import org.meeuw.math.numbers.Sizeable;
+import org.meeuw.math.streams.StreamUtils;
+import org.meeuw.math.uncertainnumbers.Uncertain;
+import org.meeuw.math.validation.Square;
+
+import static org.meeuw.math.ArrayUtils.*;
+
+/**
+ * Algorithms to perform calculations on (square) matrices of {@link RingElement ring elements}. Which algorithm can be used depends on the capabilities of the {@link Ring}.
+ * <p>
+ * {@link Ring#determinant(RingElement[][])} and {@link Ring#adjugate(RingElement[][])} use {@link #forRing(Ring)} to pick the most efficient one.
+ * <p>
+ * For matrices of at least {@link MatrixConfiguration#getParallelThreshold()} rows, the products and the row operations of the eliminations are performed in parallel.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public enum MatrixAlgorithm {
+
+    /**
+     * <a href="https://en.wikipedia.org/wiki/Leibniz_formula_for_determinants">Leibniz formula</a>. Sums the products belonging to all permutations, so this is {@code O(n!⋅n)}.
+     * <p>
+     * Only multiplication and addition are needed, so this works for every {@link Ring}, and it does not need multiplication to be commutative. It is used as a fallback if nothing better is possible.
+     */
+    LEIBNIZ {
+        @Override
+        public <E extends RingElement<E>> E determinant(Ring<E> ring, @Square E[][] source) {
+            E det = ring.zero();
+            final int[] permutation = new int[source.length];
+            for (int i = 0; i < permutation.length; i++) {
+                permutation[i] = i;
+            }
+            E sign = ring.one();
+
+            while(true) {
+                E product = sign;
+                for (int i = 0; i < source.length; i++) {
+                    product = product.times(source[permutation[i]][i]);
+                }
+                det = det.plus(product);
+                int swaps = ArrayUtils.permute(permutation);
+                if (swaps == 0)   {
+                    break;
+                }
+                if (swaps % 2 == 1) {
+                    sign = sign.negation();
+                }
+            }
+            return det;
+        }
+
+        @Override
+        public <E extends RingElement<E>> E[][] adjugate(Ring<E> ring, @Square E[][] source) {
+            return adjugateByMinors(ring, source);
+        }
+
+        @Override
+        public boolean isApplicable(Ring<?> ring) {
+            return true;
+        }
+    },
+
+    /**
+     * <a href="https://en.wikipedia.org/wiki/Bareiss_algorithm">Bareiss algorithm</a>. A fraction free variant of Gaussian elimination, which is {@code O(n³)}.
+     * <p>
+     * All intermediate results remain elements of the ring, but it requires {@link IntegralDomain#exactDivision(AbelianRingElement, AbelianRingElement) exact division}, so it can only be used for {@link IntegralDomain integral domains}.
+     */
+    BAREISS {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public <E extends RingElement<E>> E determinant(Ring<E> ring, @Square E[][] source) {
+            checkApplicable(ring);
+            return (E) bareiss((IntegralDomain) ring, (AbelianRingElement[][]) source);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * This uses fraction free Gauss-Jordan elimination, which yields the adjugate in one pass. Only if the matrix is singular, this falls back to calculating the {@code n²} minors (using Bareiss' algorithm for their determinants).
+         */
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public <E extends RingElement<E>> E[][] adjugate(Ring<E> ring, @Square E[][] source) {
+            checkApplicable(ring);
+            final E[][] adjugate = (E[][]) bareissAdjugate((IntegralDomain) ring, (AbelianRingElement[][]) source);
+            return adjugate == null ? adjugateByMinors(ring, source) : adjugate;
+        }
+
+        @Override
+        public boolean isApplicable(Ring<?> ring) {
+            return ring instanceof IntegralDomain;
+        }
+    },
+
+    /**
+     * <a href="https://en.wikipedia.org/wiki/Gaussian_elimination">Gaussian elimination</a>, with partial pivoting. This is {@code O(n³)}, but requires division, so it can be used for {@link DivisionRing division rings}.
+     */
+    GAUSS {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public <E extends RingElement<E>> E determinant(Ring<E> ring, @Square E[][] source) {
+            checkApplicable(ring);
+            return (E) gauss((DivisionRing) ring, (DivisionRingElement[][]) source);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * For commutative multiplication this uses Gauss-Jordan elimination, which yields both the inverse and the determinant in one pass. The adjugate is then their product. If the matrix is singular (or multiplication is not commutative) this falls back to calculating the {@code n²} minors.
+         */
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public <E extends RingElement<E>> E[][] adjugate(Ring<E> ring, @Square E[][] source) {
+            checkApplicable(ring);
+            if (ring.multiplicationIsCommutative()) {
+                final Reduction<E> reduction = (Reduction<E>) gaussJordan((DivisionRing) ring, (DivisionRingElement[][]) source);
+                if (reduction != null) {
+                    final E[][] adjugate = reduction.reciprocal();
+                    for (E[] row : adjugate) {
+                        for (int j = 0; j < row.length; j++) {
+                            row[j] = row[j].times(reduction.determinant());
+                        }
+                    }
+                    return adjugate;
+                }
+            }
+            return adjugateByMinors(ring, source);
+        }
+
+        @Override
+        public boolean isApplicable(Ring<?> ring) {
+            return ring instanceof DivisionRing;
+        }
+    };
+
+    /**
+     * Given a (square) matrix of elements of the given ring, calculate its determinant.
+     *
+     * @param ring the ring the elements belong to
+     * @param source the matrix. This will not be modified.
+     * @return the determinant of the given matrix
+     * @throws UnsupportedOperationException if this algorithm {@link #isApplicable(Ring) is not applicable} to the given ring
+     */
+    public abstract <E extends RingElement<E>> E determinant(Ring<E> ring, @Square E[][] source);
+
+    /**
+     * Given a (square) matrix of elements of the given ring, calculate its 'adjugate' matrix. I.e. the transpose of its cofactor matrix.
+     *
+     * @param ring the ring the elements belong to
+     * @param source the matrix. This will not be modified.
+     * @return the (new) adjugate matrix
+     * @throws UnsupportedOperationException if this algorithm {@link #isApplicable(Ring) is not applicable} to the given ring
+     */
+    public abstract <E extends RingElement<E>> E[][] adjugate(Ring<E> ring, @Square E[][] source);
+
+    /**
+     * Whether this algorithm can be used for elements of the given ring.
+     */
+    public abstract boolean isApplicable(Ring<?> ring);
+
+    /**
+     * Determines the most efficient algorithm for the given ring. This is {@link #GAUSS} for {@link DivisionRing division rings}, {@link #BAREISS} for {@link IntegralDomain integral domains}, and otherwise {@link #LEIBNIZ}.
+     * <p>
+     * The eliminations only yield the determinant if multiplication is {@link Ring#multiplicationIsCommutative() commutative}, so for e.g. quaternions this is {@link #LEIBNIZ} too.
+     */
+    public static MatrixAlgorithm forRing(Ring<?> ring) {
+        if (ring.multiplicationIsCommutative()) {
+            if (GAUSS.isApplicable(ring)) {
+                return GAUSS;
+            }
+            if (BAREISS.isApplicable(ring)) {
+                return BAREISS;
+            }
+        }
+        return LEIBNIZ;
+    }
+
+    /**
+     * Given a (square) matrix of elements of a division ring, calculate its inverse, using Gauss-Jordan elimination.
+     *
+     * @param ring the division ring the elements belong to
+     * @param source the matrix. This will not be modified.
+     * @return the (new) inverse matrix
+     * @throws ReciprocalException if the matrix is not invertible
+     */
+    public static <E extends DivisionRingElement<E>> E[][] reciprocal(DivisionRing<E> ring, @Square E[][] source) throws ReciprocalException {
+        final Reduction<E> reduction = gaussJordan(ring, source);
+        if (reduction == null) {
+            throw new ReciprocalException("Determinant is zero", "reciprocal(" + ArrayUtils.toString(source) + ")");
+        }
+        return reduction.reciprocal();
+    }
+
+    /**
+     * The matrix product of two square matrices. Used by {@link Ring#product(RingElement[][], RingElement[][])}.
+     * <p>
+     * Big matrices are multiplied in parallel, every task calculating a block of rows of the result.
+     *
+     * @param ring the ring the elements belong to
+     * @return the (new) product matrix
+     */
+    public static <E extends RingElement<E>> E[][] product(Ring<E> ring, E[][] matrix1, E[][] matrix2) {
+        final E[][] result = ring.newMatrix(matrix1.length, matrix2.length);
+        final E z = ring.zero();
+        rows(matrix1.length, 0, matrix1.length, i -> {
+            for (int j = 0; j < matrix1[i].length; j++) {
+                E sum = z;
+                for (int k = 0; k < matrix1.length; k++) {
+                    sum = sum.plus(matrix1[i][k].times(matrix2[k][j]));
+                }
+                result[i][j] = sum;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The product of a matrix and a vector. Used by {@link Ring#product(RingElement[][], RingElement[])}.
+     *
+     * @param ring the ring the elements belong to
+     * @return the (new) product vector
+     */
+    public static <E extends RingElement<E>> E[] product(Ring<E> ring, E[][] matrix, E[] vector) {
+        final E[] result = ring.newArray(matrix.length);
+        final E z = ring.zero();
+        rows(matrix.length, 0, matrix.length, i -> {
+            E sum = z;
+            for (int j = 0; j < matrix[i].length; j++) {
+                sum = sum.plus(matrix[i][j].times(vector[j]));
+            }
+            result[i] = sum;
+        });
+        return result;
+    }
+
+    protected void checkApplicable(Ring<?> ring) {
+        if (!isApplicable(ring)) {
+            throw new UnsupportedOperationException(name() + " is not applicable to " + ring);
+        }
+    }
+
+    static <E extends AbelianRingElement<E>> E bareiss(IntegralDomain<E> ring, @Square E[][] source) {
+        final int n = source.length;
+        if (n == 0) {
+            return ring.one();
+        }
+        // make a copy of the matrix first, since we're going to modify it.
+        final E[][] matrix = cloneMatrix(ring.getElementClass(), source);
+        boolean negate = false;
+        E previousPivot = ring.one();
+        for (int k = 0; k < n - 1; k++) {
+            if (matrix[k][k].isZero()) {
+                int row = k + 1;
+                while (row < n && matrix[row][k].isZero()) {
+                    row++;
+                }
+                if (row == n) {
+                    return ring.zero();
+                }
+                swap(matrix, k, row);
+                negate = !negate;
+            }
+            final E pivot = matrix[k][k];
+            final E divisor = previousPivot;
+            final int col = k;
+            rows(n, k + 1, n, i -> {
+                for (int j = col + 1; j < n; j++) {
+                    matrix[i][j] = ring.exactDivision(
+                        matrix[i][j].times(pivot).minus(matrix[i][col].times(matrix[col][j])),
+                        divisor
+                    );
+                }
+            });
+            previousPivot = pivot;
+        }
+        final E det = matrix[n - 1][n - 1];
+        return negate ? det.negation() : det;
+    }
+
+    static <E extends DivisionRingElement<E>> E gauss(DivisionRing<E> ring, @Square E[][] source) {
+        if (source.length == 0) {
+            return ring.one();
+        }
+        // make a copy of the matrix first, since we're going to modify it.
+        final E[][] matrix = cloneMatrix(ring.getElementClass(), source);
+        final E z = ring.zero();
+        final int n = matrix.length;
+        boolean negate = false;
+        for (int col = 0; col < n; ++col) {
+            final int pivotRow = pivot(matrix, col, z);
+            if (pivotRow < 0) {
+                return z;
+            }
+            if (pivotRow != col) {
+                swap(matrix, pivotRow, col);
+                negate = !negate;
+            }
+            final E pivot = matrix[col][col];
+            final int c = col;
+            rows(n, col + 1, n, row -> {
+                if (z.eq(matrix[row][c])) {
+                    return;
+                }
+                final E factor = matrix[row][c].dividedBy(pivot);
+                matrix[row][c] = z;
+                for (int j = c + 1; j < n; ++j) {
+                    matrix[row][j] = matrix[row][j].minus(factor.times(matrix[c][j]));
+                }
+            });
+        }
+        E det = negate ? ring.one().negation() : ring.one();
+        for (int i = 0; i < n; ++i) {
+            det = det.times(matrix[i][i]);
+        }
+        return det;
+    }
+
+    /**
+     * Fraction free Gauss-Jordan elimination. Like {@link #bareiss(IntegralDomain, AbelianRingElement[][])}, but also eliminating above the diagonal, and performing the same operations on the identity matrix. That yields the adjugate.
+     *
+     * @return the adjugate, or {@code null} if the matrix is singular
+     */
+    static <E extends AbelianRingElement<E>> E @Nullable [][] bareissAdjugate(IntegralDomain<E> ring, @Square E[][] source) {
+        final int n = source.length;
+        if (n == 0) {
+            return ring.newMatrix(0, 0);
+        }
+        final E[][] matrix = cloneMatrix(ring.getElementClass(), source);
+        final E[][] adjugate = identity(ring, n);
+        boolean negate = false;
+        E previousPivot = ring.one();
+        for (int k = 0; k < n; k++) {
+            if (matrix[k][k].isZero()) {
+                int row = k + 1;
+                while (row < n && matrix[row][k].isZero()) {
+                    row++;
+                }
+                if (row == n) {
+                    return null;
+                }
+                swap(matrix, k, row);
+                swap(adjugate, k, row);
+                negate = !negate;
+            }
+            final E pivot = matrix[k][k];
+            final E divisor = previousPivot;
+            final int col = k;
+            rows(n, 0, n, i -> {
+                if (i == col) {
+                    return;
+                }
+                final E factor = matrix[i][col];
+                for (int j = 0; j < n; j++) {
+                    if (j != col) {
+                        matrix[i][j] = ring.exactDivision(matrix[i][j].times(pivot).minus(factor.times(matrix[col][j])), divisor);
+                    }
+                    adjugate[i][j] = ring.exactDivision(adjugate[i][j].times(pivot).minus(factor.times(adjugate[col][j])), divisor);
+                }
+                matrix[i][col] = ring.zero();
+            });
+            previousPivot = pivot;
+        }
+        // the left part is now ±det(source) times the identity, and the right part is that times the inverse.
+        if (negate) {
+            for (E[] row : adjugate) {
+                for (int j = 0; j < n; j++) {
+                    row[j] = row[j].negation();
+                }
+            }
+        }
+        return adjugate;
+    }
+
+    /**
+     * Gauss-Jordan elimination. The row operations are left multiplications, so this works for non-commutative division rings too.
+     *
+     * @return the inverse and determinant of the matrix, or {@code null} if the matrix is singular
+     */
+    static <E extends DivisionRingElement<E>> @Nullable Reduction<E> gaussJordan(DivisionRing<E> ring, @Square E[][] source) {
+        final int n = source.length;
+        if (n == 0) {
+            return new Reduction<>(ring.newMatrix(0, 0), ring.one());
+        }
+        final E[][] matrix = cloneMatrix(ring.getElementClass(), source);
+        final E[][] reciprocal = identity(ring, n);
+        final E z = ring.zero();
+        boolean negate = false;
+        E det = ring.one();
+        for (int col = 0; col < n; ++col) {
+            final int pivotRow = pivot(matrix, col, z);
+            if (pivotRow < 0) {
+                return null;
+            }
+            if (pivotRow != col) {
+                swap(matrix, pivotRow, col);
+                swap(reciprocal, pivotRow, col);
+                negate = !negate;
+            }
+            final E pivot = matrix[col][col];
+            det = det.times(pivot);
+            final E r = pivot.reciprocal();
+            for (int j = col + 1; j < n; ++j) {
+                matrix[col][j] = r.times(matrix[col][j]);
+            }
+            matrix[col][col] = ring.one();
+            for (int j = 0; j < n; ++j) {
+                reciprocal[col][j] = r.times(reciprocal[col][j]);
+            }
+            final int c = col;
+            rows(n, 0, n, row -> {
+                final E factor = matrix[row][c];
+                if (row == c || factor.isZero()) {
+                    return;
+                }
+                for (int j = c + 1; j < n; ++j) {
+                    matrix[row][j] = matrix[row][j].minus(factor.times(matrix[c][j]));
+                }
+                matrix[row][c] = z;
+                for (int j = 0; j < n; ++j) {
+                    reciprocal[row][j] = reciprocal[row][j].minus(factor.times(reciprocal[c][j]));
+                }
+            });
+        }
+        return new Reduction<>(reciprocal, negate ? det.negation() : det);
+    }
+
+    /**
+     * The adjugate matrix by its definition. This calculates {@code n²} determinants of minors, so this is not very efficient.
+     */
+    static <E extends RingElement<E>> E[][] adjugateByMinors(Ring<E> ring, @Square E[][] matrix) {
+        final E[][] adjugate = ring.newMatrix(matrix.length, matrix.length);
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                E[][] minor = minor(ring.getElementClass(), matrix, i, j);
+                adjugate[j][i] = ring.determinant(minor);
+                if ((i + j) % 2 == 1) {
+                    adjugate[j][i] = adjugate[j][i].negation();
+                }
+            }
+        }
+        return adjugate;
+    }
+
+    static <E extends RingElement<E>> E[][] identity(Ring<E> ring, int n) {
+        final E[][] identity = ring.newMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                identity[i][j] = i == j ? ring.one() : ring.zero();
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * The result of {@link #gaussJordan(DivisionRing, DivisionRingElement[][])}
+     */
+    record Reduction<E>(E[][] reciprocal, E determinant) {
+    }
+
+    /**
+     * Performs an action for every row index in {@code [from, to)}. The action must only modify the given row.
+     * <p>
+     * For matrices smaller than {@link MatrixConfiguration#getParallelThreshold()}, this is a plain loop. Otherwise, the range is recursively split in at most {@link StreamUtils#getMaxThreads()} blocks, which are handled by the common {@link ForkJoinPool}, with the configuration of the calling thread.
+     *
+     * @param dimension the dimension of the matrix
+     */
+    static void rows(int dimension, int from, int to, IntConsumer action) {
+        final int threads = StreamUtils.getMaxThreads();
+        if (threads < 2 || to - from < 2 || dimension < ConfigurationService.getConfigurationAspect(MatrixConfiguration.class).getParallelThreshold()) {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        final int blockSize = (to - from + threads - 1) / threads;
+        ForkJoinPool.commonPool().invoke(
+            new Rows(from, to, blockSize, action, ConfigurationService.getConfiguration())
+        );
+    }
+
+    private static class Rows extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int blockSize;
+        private final IntConsumer action;
+        private final Configuration configuration;
+
+        Rows(int from, int to, int blockSize, IntConsumer action, Configuration configuration) {
+            this.from = from;
+            this.to = to;
+            this.blockSize = blockSize;
+            this.action = action;
+            this.configuration = configuration;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= blockSize) {
+                ConfigurationService.withConfiguration(configuration, () -> {
+                    for (int i = from; i < to; i++) {
+                        action.accept(i);
+                    }
+                });
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                    new Rows(from, middle, blockSize, action, configuration),
+                    new Rows(middle, to, blockSize, action, configuration)
+                );
+            }
+        }
+    }
+
+    /**
+     * Finds the row to use as pivot for the given column, or {@code -1} if the column (from the diagonal down) contains only zeros.
+     * <p>
+     * If the elements are {@link Uncertain} and {@link Sizeable}, this is the row with the largest {@link Sizeable#abs() absolute value} (partial pivoting), which keeps rounding errors small. For exact elements it is just the first row with a non-zero element.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E extends RingElement<E>> int pivot(E[][] matrix, int col, E z) {
+        int result = -1;
+        Scalar max = null;
+        for (int row = col; row < matrix.length; ++row) {
+            final E element = matrix[row][col];
+            if (z.eq(element)) {
+                continue;
+            }
+            if (!(element instanceof Uncertain) || !(element instanceof Sizeable<?> sizeable)) {
+                return row;
+            }
+            final Scalar abs = sizeable.abs();
+            if (max == null || abs.compareTo(max) > 0) {
+                max = abs;
+                result = row;
+            }
+        }
+        return result;
+    }
+}
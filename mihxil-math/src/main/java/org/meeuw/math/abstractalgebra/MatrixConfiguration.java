@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.abstractalgebra;
+
+import lombok.Getter;
+import lombok.With;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.meeuw.configuration.ConfigurationAspect;
+import org.meeuw.math.streams.StreamUtils;
+
+/**
+ * Configures the calculations on matrices of {@link RingElement ring elements}. Since their elements may be expensive to multiply (e.g. {@code BigDecimalElement}s or rational numbers), big matrices are multiplied, and eliminated, in parallel, using at most {@link StreamUtils#getMaxThreads()} threads of the common fork join pool.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ * @see Ring#product(RingElement[][], RingElement[][])
+ * @see MatrixAlgorithm
+ */
+public class MatrixConfiguration implements ConfigurationAspect {
+
+    /**
+     * The minimal dimension of a matrix to perform operations on it in parallel. Smaller matrices are handled in the calling thread, since then the overhead would dominate.
+     */
+    @With
+    @Getter
+    private final int parallelThreshold;
+
+    public MatrixConfiguration() {
+        this(32);
+    }
+
+    @lombok.Builder
+    private MatrixConfiguration(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public List<Class<?>> associatedWith() {
+        return Collections.singletonList(Ring.class);
+    }
+}
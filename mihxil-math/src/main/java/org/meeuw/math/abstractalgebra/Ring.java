@@ -18,7 +18,6 @@ package org.meeuw.math.abstractalgebra;
 import java.util.NavigableSet;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.meeuw.math.ArrayUtils;
 import org.meeuw.math.operators.AlgebraicBinaryOperator;
 import org.meeuw.math.operators.AlgebraicUnaryOperator;
 
@@ -27,8 +26,6 @@ import static org.meeuw.math.operators.BasicAlgebraicBinaryOperator.MULTIPLICATI
 
 import org.meeuw.math.validation.Square;
 
-import static org.meeuw.math.ArrayUtils.minor;
-
 /**
  * A ring is a {@link AdditiveGroup}, but also defines multiplication, though an inverse {@link MultiplicativeGroupElement#reciprocal()} is not defined (That would make it a {@link Field}, or at least a {@link DivisionRing}
  *
@@ -43,91 +40,48 @@ public interface Ring<E extends RingElement<E>> extends Rng<E>, MultiplicativeMo
     NavigableSet<AlgebraicUnaryOperator> UNARY_OPERATORS = Rng.UNARY_OPERATORS;
 
 
-     /**
+    /**
      * Given a (square) matrix of elements of this Ring, calculate its determinant.
      * <p>
-     * Using Leibniz formula
-      *
-      * @return the determinant of the give matrix
+     * The algorithm is chosen by {@link MatrixAlgorithm#forRing(Ring)}. E.g. Gaussian elimination for {@link DivisionRing division rings}, Bareiss' algorithm for {@link IntegralDomain integral domains}, and the Leibniz formula as a fallback.
+     *
+     * @return the determinant of the give matrix
      */
     default E determinant(@Square E[][] source) {
-        E det = zero();
-        final int[] permutation = new int[source.length];
-        for (int i = 0; i < permutation.length; i++) {
-            permutation[i] = i;
-        }
-        E sign = one();
-
-        while(true) {
-            E product = sign;
-            for (int i = 0; i < source.length; i++) {
-                product = product.times(source[permutation[i]][i]);
-            }
-            det = det.plus(product);
-            int swaps = ArrayUtils.permute(permutation);
-            if (swaps == 0)   {
-                break;
-            }
-            if (swaps % 2 == 1) {
-                sign = sign.negation();
-            }
-        }
-        return det;
+        return MatrixAlgorithm.forRing(this).determinant(this, source);
     }
 
 
     /**
      * A Ring supports the operations to perform a matrix product of two matrices.
+     * <p>
+     * Big matrices are multiplied in parallel, see {@link MatrixConfiguration}.
      * @return the (new) product matrix
      */
     default E[][] product(E[][] matrix1, E[][] matrix2) {
-        E[][] result = newMatrix(matrix1.length, matrix2.length);
-        E z = zero();
-        for (int i = 0; i < matrix1.length; i++) {
-            for (int j = 0; j < matrix1[i].length; j++) {
-                result[i][j] = z;
-                for (int k = 0; k < matrix1.length; k++) {
-                    result[i][j] = result[i][j].plus(matrix1[i][k].times(matrix2[k][j]));
-                }
-            }
-        }
-        return result;
+        return MatrixAlgorithm.product(this, matrix1, matrix2);
     }
 
     /**
      * Given a (square) matrix of elements of this Ring, calculate its 'adjugate' matrix.
+     * <p>
+     * Like {@link #determinant(RingElement[][])} the algorithm is chosen by {@link MatrixAlgorithm#forRing(Ring)}. For {@link DivisionRing division rings} and {@link IntegralDomain integral domains} this needs only one elimination pass.
      *
      * @return the (new) adjugate matrix
      */
-     default @Square E[][] adjugate(@Square E[][] matrix) {
-        final E[][] adjugate = newMatrix(matrix.length, matrix.length);
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix.length; j++) {
-                E[][] minor = minor(getElementClass(), matrix, i, j);
-                adjugate[j][i] = determinant(minor);
-                //System.out.println("|" + MatrixUtils.toString(minor) + "| = " + adjugate[j][i]);
-                if ((i + j) % 2 == 1) {
-                    adjugate[j][i] = adjugate[j][i].negation();
-                }
-            }
-        }
-        return adjugate;
+    default @Square E[][] adjugate(@Square E[][] matrix) {
+        return MatrixAlgorithm.forRing(this).adjugate(this, matrix);
     }
 
 
     /**
      * A Ring supports the operations to perform a matrix product of a matrix and a vector.
+     * <p>
+     * Big matrices are multiplied in parallel, see {@link MatrixConfiguration}.
      * @return the (new) product vector
      */
     default E[] product(E[]@NonNull [] matrix, E[] vector) {
-        E[] result = newArray(matrix.length);
-        for (int i = 0; i < matrix.length; i++) {
-            result[i] = zero();
-            for (int j = 0; j < matrix[i].length; j++) {
-                result[i] = result[i].plus(matrix[i][j].times(vector[j]));
-            }
-        }
-        return result;
+        return MatrixAlgorithm.product(this, matrix, vector);
     }
 
     @Override
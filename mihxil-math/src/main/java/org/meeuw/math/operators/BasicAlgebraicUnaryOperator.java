@@ -16,9 +16,7 @@
 package org.meeuw.math.operators;
 
 import lombok.Getter;
-import lombok.SneakyThrows;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import org.meeuw.math.abstractalgebra.*;
@@ -154,6 +152,28 @@ public enum BasicAlgebraicUnaryOperator implements AlgebraicUnaryOperator {
     @Getter
     final String symbol;
 
+    /**
+     * Per class of the operand, how to apply this operator to it.
+     */
+    private final ClassValue<java.util.function.UnaryOperator<Object>> dispatch = new ClassValue<>() {
+        @Override
+        protected java.util.function.UnaryOperator<Object> computeValue(Class<?> type) {
+            if (method.getDeclaringClass().isAssignableFrom(type)) {
+                return CompiledMethods.unary(method);
+            }
+            try {
+                // It is possible that the operation is defined, but the class does not extend the correct class
+                // e.g. an odd integer implements negation, but it is not an additive group (negation is possible inside the algebra, but addition itself isn't).
+                final Method specific = type.getMethod(method.getName());
+                return (e) -> CompiledMethods.invoke(specific, e);
+            } catch (NoSuchMethodException noSuchMethodError) {
+                return (e) -> {
+                    throw new NoSuchOperatorException("No operation " + BasicAlgebraicUnaryOperator.this + " found on " + e, noSuchMethodError);
+                };
+            }
+        }
+    };
+
     BasicAlgebraicUnaryOperator(Method method, java.util.function.UnaryOperator<CharSequence> stringify, String symbol) {
         this.method = method;
         this.stringify = stringify;
@@ -162,21 +182,8 @@ public enum BasicAlgebraicUnaryOperator implements AlgebraicUnaryOperator {
 
     @SuppressWarnings("unchecked")
     @Override
-    @SneakyThrows
     public <E extends AlgebraicElement<E>> E apply(E e) {
-        try {
-            return (E) method.invoke(e);
-        } catch (IllegalArgumentException iae) {
-            try {
-                // It is possible that the operation is defined, but the class does not extend the correct class
-                // e.g. an odd integer implements negation, but it is not an additive group (negation is possible inside the algebra, but addition itself isn't).
-                return (E) e.getClass().getMethod(method.getName()).invoke(e);
-            } catch (java.lang.NoSuchMethodException noSuchMethodError) {
-                throw new NoSuchOperatorException("No operation " + this + " found on " + e, noSuchMethodError);
-            }
-        } catch (InvocationTargetException ex) {
-            throw ex.getCause();
-        }
+        return (E) dispatch.get(e.getClass()).apply(e);
     }
 
     @Override
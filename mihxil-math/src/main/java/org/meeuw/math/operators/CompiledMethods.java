@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.operators;
+
+import lombok.SneakyThrows;
+import lombok.extern.java.Log;
+
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+
+/**
+ * Converts the {@link Method}s on which the operators are based to functional interfaces, using {@link LambdaMetafactory}. Calling those costs about
+ * the same as a direct call, which is considerably cheaper than {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * If that for some reason fails (e.g. because the method is not accessible), the functional interface falls back to reflection.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+@Log
+final class CompiledMethods {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private CompiledMethods() {
+        // no instances
+    }
+
+    /**
+     * @param method a method with one parameter
+     * @return a binary operator, which calls {@code method} on its first argument, with the second argument as parameter.
+     */
+    @SuppressWarnings("unchecked")
+    static BinaryOperator<Object> binary(Method method) {
+        try {
+            return (BinaryOperator<Object>) compile(method, BinaryOperator.class,
+                MethodType.methodType(Object.class, Object.class, Object.class)
+            );
+        } catch (Throwable e) {
+            log.log(Level.FINE, () -> "Could not compile " + method + " (" + e.getMessage() + "), falling back to reflection");
+            return (a, b) -> invoke(method, a, b);
+        }
+    }
+
+    /**
+     * @param method a method without parameters
+     * @return an unary operator, which calls {@code method} on its argument
+     */
+    @SuppressWarnings("unchecked")
+    static UnaryOperator<Object> unary(Method method) {
+        try {
+            return (UnaryOperator<Object>) compile(method, UnaryOperator.class,
+                MethodType.methodType(Object.class, Object.class)
+            );
+        } catch (Throwable e) {
+            log.log(Level.FINE, () -> "Could not compile " + method + " (" + e.getMessage() + "), falling back to reflection");
+            return (a) -> invoke(method, a);
+        }
+    }
+
+    /**
+     * Just calls {@link Method#invoke(Object, Object...)}, but unwraps {@link InvocationTargetException}s.
+     */
+    @SneakyThrows
+    static Object invoke(Method method, Object target, Object... arguments) {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException ite) {
+            throw ite.getCause();
+        }
+    }
+
+    private static Object compile(Method method, Class<?> functionalInterface, MethodType erased) throws Throwable {
+        final Module module = CompiledMethods.class.getModule();
+        final Module target = method.getDeclaringClass().getModule();
+        if (!module.canRead(target)) {
+            // the operators are defined in other modules too (e.g. factorial), which this module would not read otherwise
+            module.addReads(target);
+        }
+        final MethodHandle implementation = LOOKUP.unreflect(method);
+        final CallSite site = LambdaMetafactory.metafactory(
+            LOOKUP,
+            "apply",
+            MethodType.methodType(functionalInterface),
+            erased,
+            implementation,
+            implementation.type()
+        );
+        return site.getTarget().invoke();
+    }
+}
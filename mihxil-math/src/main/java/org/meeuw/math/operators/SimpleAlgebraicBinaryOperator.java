@@ -16,9 +16,7 @@
 package org.meeuw.math.operators;
 
 import lombok.Getter;
-import lombok.SneakyThrows;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.function.BinaryOperator;
 
@@ -48,6 +46,24 @@ import org.meeuw.math.exceptions.NoSuchOperatorException;
 
     final String name;
 
+    /**
+     * Per class of the first operand, how to apply this operator to it.
+     */
+    private final ClassValue<BinaryOperator<Object>> dispatch = new ClassValue<>() {
+        @Override
+        protected BinaryOperator<Object> computeValue(Class<?> type) {
+            if (!method.getParameterTypes()[0].isAssignableFrom(type)) {
+                return (a, b) -> {
+                    throw new NoSuchOperatorException(a.getClass().getSimpleName() + " " + a + " has no operator '" + method.getName() + "'");
+                };
+            }
+            if (method.getDeclaringClass().isAssignableFrom(type)) {
+                return CompiledMethods.binary(method);
+            }
+            return (a, b) -> CompiledMethods.invoke(method, a, b);
+        }
+    };
+
     public SimpleAlgebraicBinaryOperator(Method method, String symbol, int precedence, String name) {
         this.method = method;
         this.symbol = symbol;
@@ -65,22 +81,27 @@ import org.meeuw.math.exceptions.NoSuchOperatorException;
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The way to call {@link #getMethod()} is determined once per class of {@code element1}. Normally this is a direct call (see {@link CompiledMethods}).
+     */
     @Override
     @SuppressWarnings("unchecked")
-    @SneakyThrows
     public <E extends AlgebraicElement<E>> E apply(E element1, E element2) {
+        final E result;
         try {
-            if (!method.getParameterTypes()[0].isInstance(element1)) {
-                throw new NoSuchOperatorException(element1.getClass().getSimpleName() + " " + element1 + " has no operator '" + method.getName() + "'");
-            }
-            E result = (E) method.invoke(element1, element2);
-            if (result == null) {
-                throw new InvalidAlgebraicResult("" + method + "(" + element1 + ',' + element2 + ") resulted null");
+            result = (E) dispatch.get(element1.getClass()).apply(element1, element2);
+        } catch (ClassCastException cce) {
+            if (!method.getParameterTypes()[0].isInstance(element2)) {
+                throw new IllegalArgumentException(method + ": argument type mismatch (" + element2.getClass().getName() + ")", cce);
             }
-            return result;
-        } catch (InvocationTargetException ite) {
-            throw ite.getCause();
+            throw cce;
+        }
+        if (result == null) {
+            throw new InvalidAlgebraicResult("" + method + "(" + element1 + ',' + element2 + ") resulted null");
         }
+        return result;
     }
 
 
@@ -16,9 +16,7 @@
 package org.meeuw.math.operators;
 
 import lombok.Getter;
-import lombok.SneakyThrows;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.function.UnaryOperator;
 
@@ -45,6 +43,19 @@ import org.meeuw.math.exceptions.InvalidAlgebraicResult;
 
     final String name;
 
+    /**
+     * Per class of the operand, how to apply this operator to it.
+     */
+    private final ClassValue<UnaryOperator<Object>> dispatch = new ClassValue<>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            if (method.getDeclaringClass().isAssignableFrom(type)) {
+                return CompiledMethods.unary(method);
+            }
+            return (a) -> CompiledMethods.invoke(method, a);
+        }
+    };
+
     public SimpleAlgebraicUnaryOperator(Method method, String symbol, String name) {
         this(method, symbol,  (a) -> symbol + a, name);
     }
@@ -70,17 +81,12 @@ import org.meeuw.math.exceptions.InvalidAlgebraicResult;
 
     @Override
     @SuppressWarnings("unchecked")
-    @SneakyThrows
     public <E extends AlgebraicElement<E>> E apply(E element1) {
-        try {
-            E result = (E) method.invoke(element1);
-            if (result == null) {
-                throw new InvalidAlgebraicResult(  method + "(" + element1 + ") resulted null");
-            }
-            return result;
-        } catch (InvocationTargetException ite) {
-            throw ite.getCause();
+        E result = (E) dispatch.get(element1.getClass()).apply(element1);
+        if (result == null) {
+            throw new InvalidAlgebraicResult(  method + "(" + element1 + ") resulted null");
         }
+        return result;
     }
 
 
@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.meeuw.math.text.TextUtils;
 
 import static java.lang.System.Logger.Level.DEBUG;
@@ -99,6 +100,7 @@ import static org.meeuw.configuration.ReflectionUtils.commonSuperClass;
  * ... etc
  * </pre>
  *
+ * <p>The position in this enumeration can be calculated from the index (the number of combinations with all positions below a certain limit is just the product of those limits), so the spliterator can be split in ranges of indices. If all generators are {@link Spliterator#SIZED} it is split in halves. Otherwise, generators that are not sized are supposed to be infinite, and ever-growing ranges are split off at the start.</p>
  *
  */
 public class CartesianSpliterator<E> implements Spliterator<E[]> {
@@ -106,8 +108,11 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
     private static final System.Logger log = System.getLogger(CartesianSpliterator.class.getName());
 
 
-    static final int maxSplit = 3;
-
+    /**
+     * The size of the first range split off from an unbounded spliterator. Every next split adds this again.
+     */
+    static final int BATCH_UNIT = 1 << 10;
+    static final int MAX_BATCH = 1 << 25;
 
     final Supplier<Spliterator<? extends E>>[] generators;
 
@@ -120,13 +125,27 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
     @Getter
     final long initiallyRemaining;
 
-
     @Getter
     final Class<E> elementClass;
 
-    int split = 0;
+    /**
+     * The sizes of the generators ({@link Long#MAX_VALUE} for infinite ones), or {@code null} if they are not all known, in which case the state cannot be calculated from an index, and this spliterator cannot be split.
+     */
+    long @Nullable [] sizes;
+
+    /**
+     * The index after the last element of this spliterator, or {@link Long#MAX_VALUE} if unbounded.
+     */
+    final long end;
+
+    /**
+     * Whether the sizes of all generators are known. Generators of unknown size are supposed to be infinite, but they may not be, so only if this is {@code true} the size of a range of indices is the exact number of elements.
+     */
+    final boolean allSized;
+
+    int batch = BATCH_UNIT;
 
-    final State state;
+    State state;
 
     @SafeVarargs
     public CartesianSpliterator(
@@ -136,16 +155,24 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
         this.size = generators.length;
         this.state = new State(this.size);
         this.elementClass = elementClass;
+        this.sizes = new long[size];
         this.initiallyRemaining = state.init();
+        this.end = sizes != null && initiallyRemaining < Long.MAX_VALUE ? initiallyRemaining : Long.MAX_VALUE;
+        this.allSized = state.allSized;
     }
 
-    private CartesianSpliterator(CartesianSpliterator<E> source) {
+    /**
+     * The prefix of a split. It takes over the state of the source.
+     */
+    private CartesianSpliterator(CartesianSpliterator<E> source, long end) {
         this.generators = source.generators;
         this.size = source.size;
         this.state = source.state;
         this.elementClass = source.elementClass;
         this.initiallyRemaining = source.initiallyRemaining;
-        this.split = source.split;
+        this.sizes = source.sizes;
+        this.end = end;
+        this.allSized = source.allSized;
     }
 
     @SafeVarargs
@@ -157,15 +184,14 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
         this(fill(generator, size));
     }
 
-
-
-
     @Override
     public  boolean tryAdvance(final Consumer<? super E[]> action) {
+        if (state.index + 1 >= end) {
+            return false;
+        }
         final int toAdvance = state.elementToAdvance();
         if (state.advance(toAdvance)) {
             state.index++;
-            state.remaining--;
             action.accept(state.copyOfCurrent());
             return true;
         } else {
@@ -174,8 +200,6 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
         }
     }
 
-
-
     public String currentAsString() {
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < size; i++) {
@@ -198,37 +222,59 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
         return builder.toString();
     }
 
-
+    /**
+     * Splits off the first part of the remaining range of indices. This spliterator continues with a new state, calculated for the start of the second part.
+     */
     @Override
-    public Spliterator<E[]> trySplit() {
-        // just split the first iterator.
-        if (split > maxSplit || true) {
-            // but not too often.
+    public @Nullable Spliterator<E[]> trySplit() {
+        if (sizes == null) {
             return null;
         }
-
-        this.split++;
-        CartesianSpliterator<E> result = new CartesianSpliterator<>(
-            this);
-
-        return result;
+        final long from = state.index + 1;
+        final long mid;
+        if (end == Long.MAX_VALUE) {
+            if (from > Long.MAX_VALUE - batch) {
+                return null;
+            }
+            mid = from + batch;
+            batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+        } else {
+            if (end - from < 2) {
+                return null;
+            }
+            mid = from + (end - from) / 2;
+        }
+        final State suffix = new State(size);
+        if (!suffix.seek(mid - 1)) {
+            log.log(DEBUG, () -> "Could not seek to " + mid + ". Not splitting any more");
+            sizes = null;
+            return null;
+        }
+        final CartesianSpliterator<E> prefix = new CartesianSpliterator<>(this, mid);
+        this.state = suffix;
+        return prefix;
     }
 
     @Override
     public long estimateSize() {
-        return state.remaining;
+        if (end != Long.MAX_VALUE) {
+            return end - state.index - 1;
+        }
+        if (initiallyRemaining == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, initiallyRemaining - state.index - 1);
     }
 
     @Override
     public int characteristics() {
-        return state.limitIterators[0].characteristics();
+        return allSized && end != Long.MAX_VALUE ? ORDERED | NONNULL | SIZED | SUBSIZED : ORDERED | NONNULL;
     }
 
     public long getIndex() {
         return state.getIndex();
     }
 
-
     /**
      * Utility to determine the common super class of all generators.
      */
@@ -252,6 +298,12 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
         return result;
     }
 
+    private static long saturatedMultiply(long a, long b) {
+        final long hi = Math.multiplyHigh(a, b);
+        final long lo = a * b;
+        return hi != 0 || lo < 0 ? Long.MAX_VALUE : lo;
+    }
+
     @SuppressWarnings("unchecked")
     private static <E> Supplier<Spliterator<? extends E>>[] fill(Supplier<Spliterator<? extends E>> generator, int count) {
         Supplier<Spliterator<? extends E>>[] generators = new Supplier[count];
@@ -292,16 +344,16 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
          */
         int currentLimit = -1; // not yet started
 
-        /**
-         * The number of remaining elements to return (may be {@link Long#MAX_VALUE} for infinite streams)
-         */
-        long remaining;
-
         @Getter
         long index = -1;
 
         int elementCurrentlyFixedAtLimit;
 
+        /**
+         * Whether all generators were {@link Spliterator#SIZED} when {@link #init() initializing}.
+         */
+        boolean allSized = true;
+
         @SuppressWarnings("unchecked")
         State(int size) {
             this.positions = new int[size];
@@ -318,12 +370,24 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
             elementCurrentlyFixedAtLimit = size - 1; // as if we would be on the -1'th entry,
 
             // calculate remaining. cartesian product, so multiply them all.
-            remaining = size > 0 ? 1 : 0; // unless no iterators, then the combine one results zero
+            long remaining = size > 0 ? 1 : 0; // unless no iterators, then the combine one results zero
             for (int i = 0; i < size; i++) {
                 limitIterators[i] = generators[i].get();
                 long subSize = limitIterators[i].estimateSize();
+                if (!limitIterators[i].hasCharacteristics(SIZED)) {
+                    allSized = false;
+                }
+                if (sizes != null) {
+                    if (limitIterators[i].hasCharacteristics(SIZED) || subSize == Long.MAX_VALUE) {
+                        sizes[i] = subSize;
+                    } else {
+                        sizes = null;
+                    }
+                }
                 if (subSize == 0) {
                     remaining = 0;
+                    // the product is certainly empty then
+                    allSized |= limitIterators[i].hasCharacteristics(SIZED);
                     break;
                 }
                 try {
@@ -406,7 +470,7 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
          * the next one.
          *
          */
-        private synchronized boolean advance(final int elementToAdvance) {
+        private boolean advance(final int elementToAdvance) {
             assert elementToAdvance != elementCurrentlyFixedAtLimit : "Cannot increase current fix";
             assert elementToAdvance >= 0;
 
@@ -467,6 +531,109 @@ public class CartesianSpliterator<E> implements Spliterator<E[]> {
 
 
 
+        /**
+         * Sets up this (new) state as it would be after the element with the given index was produced.
+         * <p>
+         * All combinations with positions below {@code limit} precede the ones with {@code limit} as maximal position, so the limit can be found by bisection. Within that limit the combinations are grouped by the element fixed at the limit, and the others are counted like an odometer.
+         *
+         * @return {@code false} if the generators turned out not to be as large as they promised
+         */
+        private boolean seek(final long target) {
+            long high = 1;
+            while (combinationsBelow(high) <= target) {
+                high <<= 1;
+                if (high > Integer.MAX_VALUE) {
+                    return false;
+                }
+            }
+            long low = high >> 1;
+            while (high - low > 1) {
+                final long mid = (low + high) >>> 1;
+                if (combinationsBelow(mid) <= target) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            final int limit = (int) low;
+            long offset = target - combinationsBelow(limit);
+            int fix = 0;
+            while (fix < size) {
+                final long count = combinationsAt(limit, fix);
+                if (offset < count) {
+                    break;
+                }
+                offset -= count;
+                fix++;
+            }
+            if (fix == size) {
+                return false;
+            }
+            currentLimit = limit;
+            elementCurrentlyFixedAtLimit = fix;
+            for (int i = 0; i < size; i++) {
+                // the limit iterators are advanced once for every limit, up to the current one for the elements that had their turn already
+                limitIterators[i] = generators[i].get();
+                final long limitAdvances = Math.min(i <= fix ? limit + 1L : limit, sizes[i]);
+                if (!advance(limitIterators[i], limitAdvances, i == fix ? i : -1)) {
+                    return false;
+                }
+                if (i == fix) {
+                    positions[i] = -1;
+                } else {
+                    final long radix = Math.min(i < fix ? limit : limit + 1L, sizes[i]);
+                    positions[i] = (int) (offset % radix);
+                    offset /= radix;
+                    iterators[i] = generators[i].get();
+                    if (!advance(iterators[i], positions[i] + 1, i)) {
+                        return false;
+                    }
+                }
+            }
+            index = target;
+            return true;
+        }
+
+        private boolean advance(Spliterator<? extends E> iterator, long times, int element) {
+            for (long j = 0; j < times; j++) {
+                if (!iterator.tryAdvance(e -> {
+                    if (element >= 0) {
+                        current[element] = e;
+                    }
+                })) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * The number of combinations with all positions smaller than {@code limit}.
+         */
+        private long combinationsBelow(long limit) {
+            long result = 1;
+            for (int i = 0; i < size; i++) {
+                result = saturatedMultiply(result, Math.min(limit, sizes[i]));
+            }
+            return result;
+        }
+
+        /**
+         * The number of combinations with the element at {@code fix} at position {@code limit}, the ones before it below it, and the ones after it not above it.
+         */
+        private long combinationsAt(int limit, int fix) {
+            if (limit >= sizes[fix]) {
+                return 0;
+            }
+            long result = 1;
+            for (int i = 0; i < size; i++) {
+                if (i != fix) {
+                    result = saturatedMultiply(result, Math.min(i < fix ? limit : limit + 1L, sizes[i]));
+                }
+            }
+            return result;
+        }
+
         @SuppressWarnings({"unchecked"})
         E[] copyOfCurrent() {
             E[] copy = (E[]) Array.newInstance(elementClass, size);
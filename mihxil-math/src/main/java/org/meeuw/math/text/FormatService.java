@@ -21,8 +21,8 @@ import java.text.Format;
 import java.text.ParsePosition;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.meeuw.configuration.Configuration;
@@ -47,6 +47,26 @@ public final class FormatService {
 
     private static final ThreadLocal<AlgebraicStructure<?>> CURRENT_STRUCTURE = ThreadLocal.withInitial(() -> null);
 
+    /**
+     * Per element class, the providers that are applicable to it, sorted by weight (heaviest first)
+     */
+    private static final ClassValue<List<AlgebraicElementFormatProvider<?>>> PROVIDERS_BY_CLASS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected List<AlgebraicElementFormatProvider<?>> computeValue(Class<?> type) {
+            final Class<? extends AlgebraicElement<?>> elementClass = (Class<? extends AlgebraicElement<?>>) type;
+            final List<AlgebraicElementFormatProvider<?>> list = new ArrayList<>(Providers.ALL);
+            list.removeIf(e -> e.weight(elementClass) < 0);
+            list.sort(Comparator.comparingInt(e -> -1 * e.weight(elementClass)));
+            return List.copyOf(list);
+        }
+    };
+
+    /**
+     * Per thread, the {@link Format} instances per element class. {@link Format}s are mutable and not necessarily thread safe, so these are not shared between threads.
+     */
+    private static final ThreadLocal<FormatCache> FORMATS = ThreadLocal.withInitial(FormatCache::new);
+
     private FormatService() {
     }
 
@@ -61,13 +81,13 @@ public final class FormatService {
         return getFormat((Class<? extends AlgebraicElement<?>>) object.getClass(), configuration);
     }
 
+    /**
+     * @param elementClass the class of algebraic elements for which a {@code Format} is needed
+     * @param configuration an object to configure these instances
+     * @return all available {@link Format} instances that would be available for the given class of algebraic elements, the most appropriate first. They are created lazily, and are cached for the current thread. Since they are mutable, they must not be modified, nor be handed to other threads.
+     */
     public static Stream<Format> getFormat(Class<? extends AlgebraicElement<?>> elementClass, Configuration configuration) {
-        final List<AlgebraicElementFormatProvider<?>> list = new ArrayList<>();
-        getProviders().forEach(list::add);
-        list.removeIf(e -> e.weight(elementClass) < 0);
-        list.sort(Comparator.comparingInt(e -> -1 * e.weight(elementClass)));
-        return list.stream()
-            .map(p -> p.getInstance(configuration));
+        return FORMATS.get().get(elementClass, configuration).stream();
     }
 
     @SuppressWarnings("unchecked")
@@ -75,13 +95,11 @@ public final class FormatService {
         return (F) getProviders().filter(clazz::isInstance).findFirst().map(p -> p.getInstance(ConfigurationService.getConfiguration())).orElse(null);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    /**
+     * @return all available {@link AlgebraicElementFormatProvider}s. These are loaded only once.
+     */
     public static Stream<AlgebraicElementFormatProvider<?>> getProviders() {
-        final ServiceLoader<AlgebraicElementFormatProvider<?>> loader = (ServiceLoader)
-            ServiceLoader.load(AlgebraicElementFormatProvider.class);
-
-        return StreamSupport.stream(
-            Spliterators.spliteratorUnknownSize(loader.iterator(), Spliterator.ORDERED), false);
+        return Providers.ALL.stream();
     }
 
     /**
@@ -156,6 +174,72 @@ public final class FormatService {
     }
 
 
-}
+    /**
+     * Holder for the providers, so they are loaded only when needed, and only once.
+     */
+    private static final class Providers {
+        static final List<AlgebraicElementFormatProvider<?>> ALL = load();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static List<AlgebraicElementFormatProvider<?>> load() {
+            final ServiceLoader<AlgebraicElementFormatProvider<?>> loader = (ServiceLoader)
+                ServiceLoader.load(AlgebraicElementFormatProvider.class);
+            final List<AlgebraicElementFormatProvider<?>> result = new ArrayList<>();
+            loader.forEach(result::add);
+            log.log(DEBUG, () -> "Found format providers " + result);
+            return List.copyOf(result);
+        }
+    }
+
+    /**
+     * The {@link Format}s for one thread. They are valid for one {@link Configuration}, and if that configuration or the configuration of the current thread changes, the cache is cleared. (Providers may
+     * configure the formats using the configuration of the current thread, rather than the given one)
+     */
+    private static final class FormatCache {
+        private Configuration configuration;
+        private Configuration threadConfiguration;
+        private final Map<Class<?>, LazyFormats> formats = new HashMap<>();
+
+        LazyFormats get(Class<? extends AlgebraicElement<?>> elementClass, Configuration configuration) {
+            final Configuration threadConfiguration = getConfiguration();
+            if (changed(this.configuration, configuration) || changed(this.threadConfiguration, threadConfiguration)) {
+                formats.clear();
+            }
+            // also if only equal, so the next time the identity check suffices
+            this.configuration = configuration;
+            this.threadConfiguration = threadConfiguration;
+            return formats.computeIfAbsent(elementClass, c -> new LazyFormats(PROVIDERS_BY_CLASS.get(c), configuration));
+        }
+
+        private static boolean changed(Configuration cached, Configuration configuration) {
+            return cached != configuration && !configuration.equals(cached);
+        }
+    }
 
+    /**
+     * The {@link Format}s of the providers for one element class. A format is only created when it is needed, so if the first one suffices, the others are never instantiated.
+     */
+    private static final class LazyFormats {
+        private final List<AlgebraicElementFormatProvider<?>> providers;
+        private final Configuration configuration;
+        private final Format[] formats;
+
+        LazyFormats(List<AlgebraicElementFormatProvider<?>> providers, Configuration configuration) {
+            this.providers = providers;
+            this.configuration = configuration;
+            this.formats = new Format[providers.size()];
+        }
+
+        Stream<Format> stream() {
+            return IntStream.range(0, formats.length).mapToObj(this::get);
+        }
 
+        private Format get(int i) {
+            // not created in the constructor, since creating a format may format other elements
+            if (formats[i] == null) {
+                formats[i] = (Format) providers.get(i).getInstance(configuration);
+            }
+            return formats[i];
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.text;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.meeuw.math.IntegerUtils;
+
+/**
+ * The shortest decimal {@link #significand}·10<sup>{@link #exponent}</sup> that rounds to a given positive {@code double}, determined with Raffaello Giulietti's 'Schubfach' algorithm (which is also what {@link Double#toString(double)} uses since java 19).
+ * <p>
+ * This is mutable, so that it can be reused without creating objects. It also has the (exact) conversions back from decimal to {@code double} that {@link UncertainDoubleAppender} needs.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+final class ShortestDecimal {
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long C_MIN = 1L << 52;
+
+    /**
+     * For every k, the 126 bits of ⌊10<sup>-k</sup>·2<sup>-r</sup>⌋ + 1 (with r such that this is between 2<sup>125</sup> and 2<sup>126</sup>), as two longs of 63 bits
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+
+    private static final long[] POWERS_OF_FIVE = new long[28];
+
+    static {
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            final int r = flog2pow10(-k) - 125;
+            final BigInteger g;
+            if (k <= 0) {
+                final BigInteger pow = BigInteger.TEN.pow(-k);
+                g = (r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r)).add(BigInteger.ONE);
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k)).add(BigInteger.ONE);
+            }
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValueExact();
+            G[2 * (k - K_MIN) + 1] = g.longValue() & MASK_63;
+        }
+        double d = 1;
+        for (int i = 0; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = d;
+            d *= 10;
+        }
+        long l = 1;
+        for (int i = 0; i < POWERS_OF_FIVE.length; i++) {
+            POWERS_OF_FIVE[i] = l;
+            l *= 5;
+        }
+    }
+
+    /**
+     * The digits, without trailing zeros
+     */
+    long significand;
+    int exponent;
+
+    /**
+     * Makes this the shortest decimal for {@code v}.
+     * @return {@code false} if that is not supported, i.e. if {@code v} is not positive, not finite, or subnormal
+     */
+    boolean set(double v) {
+        final long bits = Double.doubleToRawLongBits(v);
+        final int bq = (int) (bits >>> 52);
+        if (bq <= 0 || bq >= 0x7FF) {
+            return false;
+        }
+        final int mq = 1075 - bq;
+        final long c = C_MIN | (bits & (C_MIN - 1));
+        if (0 < mq && mq < 53 && (c >> mq) << mq == c) {
+            // an integer
+            return normalize(c >> mq, 0);
+        }
+        return toDecimal(-mq, c);
+    }
+
+    private boolean toDecimal(int q, long c) {
+        final int out = (int) c & 1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if (c != C_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // the lower neighbour is closer
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final long g1 = G[2 * (k - K_MIN)];
+        final long g0 = G[2 * (k - K_MIN) + 1];
+
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            final long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return normalize(upin ? sp10 : tp10, k);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return normalize(uin ? s : t, k);
+        }
+        final long cmp = vb - (s + t << 1);
+        return normalize(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k);
+    }
+
+    private boolean normalize(long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        significand = f;
+        exponent = e;
+        return true;
+    }
+
+    /**
+     * The number of digits of {@link #significand}
+     */
+    int length() {
+        int length = 1;
+        for (long power = 10; length < 19 && significand >= power; power *= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Compares (exactly) the given positive {@code double} with this decimal.
+     * @return the signum of {@code v} minus this
+     */
+    int compareTo(double v) {
+        final long bits = Double.doubleToRawLongBits(v);
+        final long c = C_MIN | (bits & (C_MIN - 1));
+        final int q = (int) (bits >>> 52) - 1075;
+        if (exponent < -27 || exponent > 27) {
+            return new BigDecimal(v).compareTo(BigDecimal.valueOf(significand, -exponent));
+        }
+        // compare c·2^q with significand·5^exponent·2^exponent, so x·2^(q - exponent) with y
+        final long xHigh, xLow, yHigh, yLow;
+        if (exponent >= 0) {
+            xHigh = 0;
+            xLow = c;
+            yHigh = Math.multiplyHigh(significand, POWERS_OF_FIVE[exponent]);
+            yLow = significand * POWERS_OF_FIVE[exponent];
+        } else {
+            xHigh = Math.multiplyHigh(c, POWERS_OF_FIVE[-exponent]);
+            xLow = c * POWERS_OF_FIVE[-exponent];
+            yHigh = 0;
+            yLow = significand;
+        }
+        final int shift = q - exponent;
+        final int xLength = bitLength(xHigh, xLow) + shift;
+        final int yLength = bitLength(yHigh, yLow);
+        if (xLength != yLength) {
+            return xLength > yLength ? 1 : -1;
+        }
+        if (shift >= 0) {
+            return compare(shiftLeftHigh(xHigh, xLow, shift), shiftLeftLow(xLow, shift), yHigh, yLow);
+        } else {
+            return compare(xHigh, xLow, shiftLeftHigh(yHigh, yLow, -shift), shiftLeftLow(yLow, -shift));
+        }
+    }
+
+    /**
+     * @return {@code significand}·10<sup>{@code exponent}</sup>, correctly rounded to a {@code double}, like {@link BigDecimal#doubleValue()} does. The significand must be positive.
+     */
+    static double toDouble(long significand, int exponent) {
+        if (significand < (1L << 53) && exponent > -DOUBLE_POWERS_OF_TEN.length && exponent < DOUBLE_POWERS_OF_TEN.length) {
+            // exact operands, so a single rounding
+            return exponent >= 0 ? significand * DOUBLE_POWERS_OF_TEN[exponent] : significand / DOUBLE_POWERS_OF_TEN[-exponent];
+        }
+        if (exponent < -27 || exponent > 27) {
+            return BigDecimal.valueOf(significand, -exponent).doubleValue();
+        }
+        // significand·5^exponent·2^exponent
+        long high, low;
+        final long divisor;
+        if (exponent >= 0) {
+            high = Math.multiplyHigh(significand, POWERS_OF_FIVE[exponent]);
+            low = significand * POWERS_OF_FIVE[exponent];
+            divisor = 1;
+        } else {
+            high = 0;
+            low = significand;
+            divisor = POWERS_OF_FIVE[-exponent];
+        }
+        // normalize, so that the quotient surely has more than enough bits
+        final int shift = 127 - bitLength(high, low);
+        high = shiftLeftHigh(high, low, shift);
+        low = shiftLeftLow(low, shift);
+
+        final long quotientHigh = Long.divideUnsigned(high, divisor);
+        final long quotientLow = IntegerUtils.divideUnsigned(Long.remainderUnsigned(high, divisor), low, divisor);
+        boolean sticky = low - quotientLow * divisor != 0;
+
+        // take the 54 most significant bits of the quotient, the last one being the rounding bit
+        final int length = bitLength(quotientHigh, quotientLow);
+        final int drop = length - 54;
+        final long top;
+        if (drop >= 64) {
+            top = quotientHigh >>> (drop - 64);
+            sticky |= quotientLow != 0 || (quotientHigh & ((1L << (drop - 64)) - 1)) != 0;
+        } else {
+            top = (quotientHigh << (64 - drop)) | (quotientLow >>> drop);
+            sticky |= (quotientLow & ((1L << drop) - 1)) != 0;
+        }
+        long mantissa = top >>> 1;
+        if ((top & 1) != 0 && (sticky || (mantissa & 1) != 0)) {
+            mantissa++;
+        }
+        return Math.scalb((double) mantissa, drop + 1 - shift + exponent);
+    }
+
+    private static int bitLength(long high, long low) {
+        return high != 0 ? 128 - Long.numberOfLeadingZeros(high) : 64 - Long.numberOfLeadingZeros(low);
+    }
+
+    private static long shiftLeftHigh(long high, long low, int shift) {
+        if (shift == 0) {
+            return high;
+        }
+        return shift >= 64 ? low << (shift - 64) : (high << shift) | (low >>> (64 - shift));
+    }
+
+    private static long shiftLeftLow(long low, int shift) {
+        return shift >= 64 ? 0 : low << shift;
+    }
+
+    private static int compare(long xHigh, long xLow, long yHigh, long yLow) {
+        final int result = Long.compareUnsigned(xHigh, yHigh);
+        return Integer.signum(result != 0 ? result : Long.compareUnsigned(xLow, yLow));
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = Math.multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = Math.multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    /**
+     * ⌊log<sub>10</sub> 2<sup>e</sup>⌋
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * ⌊log<sub>10</sub>(¾·2<sup>e</sup>)⌋
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    /**
+     * ⌊log<sub>2</sub> 10<sup>e</sup>⌋
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
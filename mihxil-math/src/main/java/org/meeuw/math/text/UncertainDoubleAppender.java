@@ -0,0 +1,381 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.text;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.text.FieldPosition;
+
+import org.meeuw.math.DoubleUtils;
+import org.meeuw.math.IntegerUtils;
+import org.meeuw.math.text.configuration.NumberConfiguration;
+import org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation;
+import org.meeuw.math.uncertainnumbers.UncertainDouble;
+
+import static org.meeuw.math.text.ScientificNotation.TIMES_10;
+import static org.meeuw.math.text.ScientificNotation.UC_MATHCONTEXT;
+
+/**
+ * Implementation of {@link UncertainDoubleFormat#format(UncertainDouble, Appendable)}. It produces the same as {@link ScientificNotation} and {@link java.text.DecimalFormat} would, but it uses
+ * {@link ShortestDecimal} to find the digits of a {@code double}, and it reuses its buffers, so it needs to be confined to one thread.
+ * <p>
+ * The doubles calculated on the way ({@link SplitNumber#coefficient coefficients}, and the scaled values) are calculated exactly as in {@link ScientificNotation}, and then the rounding of {@code java.text.DigitList} is imitated.
+ * If that is not possible, this falls back to {@link UncertainDoubleFormat#format(Object, StringBuffer, FieldPosition)}.
+ * This happens for infinite numbers, for a {@link UncertainDoubleFormat#getNumberFormat() number format} that is not the {@link NumberConfiguration#getDefaultNumberFormat() default}, and for doubles of {@link #LIMIT} and bigger, for which
+ * (before java 19) {@link Double#toString(double)} does not always give the shortest digits.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+final class UncertainDoubleAppender {
+
+    private static final ThreadLocal<UncertainDoubleAppender> INSTANCE = ThreadLocal.withInitial(UncertainDoubleAppender::new);
+
+    static final double LIMIT = 1e16;
+
+    /**
+     * {@link org.meeuw.math.numbers.DoubleOperations#precision(Double)}
+     */
+    private static final int PRECISION = 17;
+
+    /**
+     * {@code DecimalFormat.DOUBLE_FRACTION_DIGITS}
+     */
+    private static final int MAXIMUM_FRACTION_DIGITS = 340;
+
+    private final ShortestDecimal decimal = new ShortestDecimal();
+    private final char[] digits = new char[19];
+    private final StringBuilder result = new StringBuilder();
+
+    private final StringBuffer fallback = new StringBuffer();
+    private final FieldPosition position = new FieldPosition(AbstractUncertainFormat.VALUE_FIELD);
+
+    /**
+     * Results of {@link #split(double)}
+     */
+    private double coefficient;
+    private int exponent;
+
+    private UncertainDoubleAppender() {
+    }
+
+    static UncertainDoubleAppender get() {
+        return INSTANCE.get();
+    }
+
+    void append(UncertainDoubleFormat format, UncertainDouble<?> number, Appendable appendable) throws IOException {
+        result.setLength(0);
+        if (format(format, number)) {
+            appendable.append(result);
+        } else {
+            fallback.setLength(0);
+            format.format(number, fallback, position);
+            appendable.append(fallback);
+        }
+    }
+
+    /**
+     * Like {@link UncertainDoubleFormat#valueAndError(StringBuffer, FieldPosition, UncertainDouble)}
+     * @return {@code false} if this could not be done, and nothing sensible is in {@link #result}
+     */
+    private boolean format(UncertainDoubleFormat format, UncertainDouble<?> number) {
+        final double value = number.doubleValue();
+        final double uncertainty = number.doubleUncertainty();
+        if (!Double.isFinite(value) || !Double.isFinite(uncertainty) || uncertainty < 0 ||
+            UC_MATHCONTEXT.getPrecision() != 3 || UC_MATHCONTEXT.getRoundingMode() != RoundingMode.CEILING ||
+            !NumberConfiguration.isDefaultNumberFormat(format.getNumberFormat())) {
+            return false;
+        }
+        final Notation notation = format.getUncertaintyNotation();
+        final boolean withoutError = number.isExact() || format.roundingErrorsOnly(value, uncertainty);
+        if (!formatWithUncertainty(format, value, uncertainty, notation, !withoutError)) {
+            return false;
+        }
+        if (format.getStripZeros().test(notation, number)) {
+            strip();
+        }
+        return true;
+    }
+
+    /**
+     * Like {@code ScientificNotation#formatWithUncertainty(Number, Number, StringBuffer, FieldPosition, Notation, boolean)}
+     */
+    private boolean formatWithUncertainty(UncertainDoubleFormat format, double mean, double uncertainty, Notation notation, boolean errorIndication) {
+        final int minimumExponent = format.getMinimumExponent();
+
+        double meanCoefficient;
+        int meanExponent;
+        if (mean == 0) {
+            meanCoefficient = mean;
+            meanExponent = 1;
+        } else {
+            if (!split(mean)) {
+                return false;
+            }
+            meanCoefficient = coefficient;
+            meanExponent = exponent;
+        }
+
+        final boolean exact = uncertainty == 0;
+        double std = 0;
+        int stdExponent = 0;
+        if (!exact) {
+            if (!split(uncertainty) || !decimal.set(coefficient)) {
+                return false;
+            }
+            // round to 3 digits, upwards
+            std = coefficient;
+            final int length = decimal.length();
+            if (length > 3) {
+                final long power = IntegerUtils.positivePow10(length - 3);
+                long rounded = decimal.significand / power;
+                if (rounded * power != decimal.significand) {
+                    rounded++;
+                }
+                std = ShortestDecimal.toDouble(rounded, decimal.exponent + length - 3);
+            }
+            stdExponent = exponent;
+            if (!errorIndication) {
+                stdExponent++;
+            }
+        }
+        errorIndication &= !exact;
+
+        final int minimumFractionDigits;
+        final int maximumFractionDigits;
+        final boolean useE;
+        if (!exact) {
+            // like ScientificNotation#arrangeError
+            final int magnitudeDifference = meanExponent - stdExponent;
+            int meanDigits = magnitudeDifference;
+            if (std < 2 && std > 0) {
+                meanDigits++;
+            }
+            std = std * DoubleUtils.pow10(-1 * magnitudeDifference);
+            if (meanExponent != 0 && (Math.abs(meanExponent) < minimumExponent || meanDigits >= Math.abs(meanExponent))) {
+                meanDigits -= meanExponent;
+                meanCoefficient = meanCoefficient * DoubleUtils.pow10(meanExponent);
+                std = std * DoubleUtils.pow10(meanExponent);
+                meanExponent = 0;
+            }
+            meanDigits = Math.min(meanDigits, format.getMaximalPrecision());
+            minimumFractionDigits = meanDigits;
+            maximumFractionDigits = meanDigits;
+            useE = meanExponent != 0;
+        } else {
+            // like ScientificNotation#arrangeErrorForExact
+            if (Math.abs(meanExponent) <= minimumExponent) {
+                meanCoefficient = meanCoefficient * DoubleUtils.pow10(meanExponent);
+                meanExponent = 0;
+            }
+            minimumFractionDigits = format.getStripZeros().test(notation, mean) ? 0 : PRECISION;
+            maximumFractionDigits = PRECISION;
+            useE = Math.abs(meanExponent) > minimumExponent;
+        }
+
+        final boolean useBrackets = useE && notation.useBrackets() && errorIndication;
+        if (useBrackets) {
+            result.append('(');
+        }
+        // like UncertainFormatUtils#valueAndError
+        if (!appendDecimal(meanCoefficient, minimumFractionDigits, maximumFractionDigits)) {
+            return false;
+        }
+        switch (notation) {
+            case PARENTHESES -> {
+                result.append('(');
+                final int before = result.length();
+                if (errorIndication && !appendDecimal(std, minimumFractionDigits, maximumFractionDigits)) {
+                    return false;
+                }
+                final int i = leadingZeros(before);
+                if (i == result.length()) {
+                    result.setLength(before - 1);
+                } else {
+                    result.delete(before, i);
+                    result.append(')');
+                }
+            }
+            case PLUS_MINUS -> {
+                result.append(' ').append(TextUtils.PLUSMIN).append(' ');
+                final int before = result.length();
+                if (errorIndication && !appendDecimal(std, minimumFractionDigits, maximumFractionDigits)) {
+                    return false;
+                }
+                if (leadingZeros(before) == result.length()) {
+                    result.setLength(before - 3);
+                }
+            }
+            case ROUND_VALUE -> {
+            }
+        }
+        if (useBrackets) {
+            result.append(')');
+        }
+        if (useE) {
+            result.append(TIMES_10);
+            TextUtils.superscript(result, meanExponent);
+        }
+        return true;
+    }
+
+    /**
+     * Like {@link org.meeuw.math.numbers.NumberOperations#split(Number)}, with the result in {@link #coefficient} and {@link #exponent}.
+     */
+    private boolean split(double number) {
+        final double abs = Math.abs(number);
+        int e = (int) Math.floor(Math.log10(abs));
+        if (abs >= LIMIT || !decimal.set(abs)) {
+            return false;
+        }
+        double c = ShortestDecimal.toDouble(decimal.significand, decimal.exponent - e);
+        if (number < 0) {
+            c = -c;
+        }
+        while ((int) c >= 10) {
+            decimal.set(c);
+            c = ShortestDecimal.toDouble(decimal.significand, decimal.exponent - 1);
+            e++;
+        }
+        coefficient = c;
+        exponent = e;
+        return true;
+    }
+
+    /**
+     * Appends a double like the default {@link java.text.DecimalFormat} does (see {@code DigitList#set(boolean, double, int, boolean)}), with the given number of fraction digits, rounding half even.
+     */
+    private boolean appendDecimal(double value, int minimumFractionDigits, int maximumFractionDigits) {
+        maximumFractionDigits = Math.min(Math.max(0, maximumFractionDigits), MAXIMUM_FRACTION_DIGITS);
+        minimumFractionDigits = Math.min(Math.max(0, minimumFractionDigits), maximumFractionDigits);
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            result.append('-');
+            value = -value;
+        }
+        int count = 0;
+        int decimalAt = 0;
+        if (value != 0) {
+            if (value >= LIMIT || !decimal.set(value)) {
+                return false;
+            }
+            count = decimal.length();
+            long significand = decimal.significand;
+            for (int i = count - 1; i >= 0; i--) {
+                digits[i] = (char) ('0' + significand % 10);
+                significand /= 10;
+            }
+            decimalAt = count + decimal.exponent;
+            if (-decimalAt > maximumFractionDigits) {
+                count = 0;
+            } else if (-decimalAt == maximumFractionDigits) {
+                // FloatingDecimal gives '5.0E-4' for 0.0005, so then a single 5 is followed by a zero, and not rounded up
+                final boolean followedByZero = count == 1 && decimalAt <= -3 && digits[0] == '5';
+                if (!followedByZero && shouldRoundUp(0, count, value)) {
+                    count = 1;
+                    decimalAt++;
+                    digits[0] = '1';
+                } else {
+                    count = 0;
+                }
+            } else if (decimalAt + maximumFractionDigits < count) {
+                int maximumDigits = decimalAt + maximumFractionDigits;
+                if (shouldRoundUp(maximumDigits, count, value)) {
+                    while (true) {
+                        --maximumDigits;
+                        if (maximumDigits < 0) {
+                            digits[0] = '1';
+                            decimalAt++;
+                            maximumDigits = 0;
+                            break;
+                        }
+                        if (++digits[maximumDigits] <= '9') {
+                            break;
+                        }
+                    }
+                    maximumDigits++;
+                }
+                count = maximumDigits;
+                while (count > 1 && digits[count - 1] == '0') {
+                    count--;
+                }
+            }
+        }
+        if (count == 0) {
+            decimalAt = 0;
+        }
+        if (decimalAt <= 0) {
+            result.append('0');
+        } else {
+            for (int i = 0; i < decimalAt; i++) {
+                result.append(i < count ? digits[i] : '0');
+            }
+        }
+        final int fractionDigits = Math.max(minimumFractionDigits, count - decimalAt);
+        if (fractionDigits > 0) {
+            result.append('.');
+            for (int i = decimalAt; i < decimalAt + fractionDigits; i++) {
+                result.append(i >= 0 && i < count ? digits[i] : '0');
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code DigitList#shouldRoundUp} for {@link RoundingMode#HALF_EVEN}. Whether the digits of {@code java.text.DigitList} were rounded up, or are exact, is determined by comparing them with the value.
+     */
+    private boolean shouldRoundUp(int maximumDigits, int count, double value) {
+        final char digit = digits[maximumDigits];
+        if (digit != '5') {
+            return digit > '5';
+        }
+        if (maximumDigits < count - 1) {
+            // there are no trailing zeros, so this is more than half
+            return true;
+        }
+        final int compare = decimal.compareTo(value);
+        if (compare == 0) {
+            return maximumDigits > 0 && (digits[maximumDigits - 1] - '0') % 2 != 0;
+        }
+        return compare > 0;
+    }
+
+    /**
+     * @return the index of the first character from {@code from} which is not a '0' or a '.'
+     */
+    private int leadingZeros(int from) {
+        int i = from;
+        while (i < result.length() && (result.charAt(i) == '0' || result.charAt(i) == '.')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Like {@link UncertainFormatUtils#strip(StringBuffer, FieldPosition)}
+     */
+    private void strip() {
+        final int dot = result.lastIndexOf(".");
+        if (dot >= 0) {
+            int j = result.length();
+            while (j > dot && result.charAt(--j) == '0') {
+                result.setLength(j);
+            }
+            if (j == dot) {
+                result.deleteCharAt(dot);
+            }
+        }
+    }
+}
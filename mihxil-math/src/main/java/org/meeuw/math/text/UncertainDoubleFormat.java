@@ -16,6 +16,9 @@
 package org.meeuw.math.text;
 
 
+import lombok.SneakyThrows;
+
+import java.io.IOException;
 import java.text.FieldPosition;
 
 import org.meeuw.configuration.ConfigurationService;
@@ -40,10 +43,26 @@ public class UncertainDoubleFormat extends AbstractUncertainFormat<UncertainDoub
         );
     }
 
-    private boolean roundingErrorsOnly(double value, double uncertainty) {
+    boolean roundingErrorsOnly(double value, double uncertainty) {
         return uncertainty < uncertaintyForDouble(value) * considerRoundingErrorFactor;
     }
 
+    /**
+     * Formats like {@link #format(Object)}, but appends the result to the given {@link Appendable}, e.g. a {@link StringBuilder}.
+     * <p>
+     * For the default {@link #getNumberFormat() number format} the digits are determined directly from the {@code double}s, and per thread buffers are reused, so that formatting many values does not create garbage.
+     * @param <A> the type of the appendable
+     * @param number the number to format
+     * @param appendable where to append to
+     * @return {@code appendable}
+     * @since 0.20
+     */
+    @SneakyThrows(IOException.class)
+    public <A extends Appendable> A format(UncertainDouble<?> number, A appendable) {
+        UncertainDoubleAppender.get().append(this, number, appendable);
+        return appendable;
+    }
+
     @Override
     DoubleElement exactly(String valueStr, Factor factor) {
         double value = scientific.fromString(valueStr);
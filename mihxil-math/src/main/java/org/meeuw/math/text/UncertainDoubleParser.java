@@ -0,0 +1,463 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import ch.randelshofer.fastdoubleparser.JavaDoubleParser;
+import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.math.numbers.Factor;
+import org.meeuw.math.text.configuration.UncertaintyConfiguration;
+import org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation;
+import org.meeuw.math.uncertainnumbers.UncertainDoubleArray;
+
+import static java.lang.Character.isDigit;
+import static java.lang.Character.isWhitespace;
+import static org.meeuw.math.text.TextUtils.PLUSMIN;
+import static org.meeuw.math.text.TextUtils.TIMES;
+import static org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation.ROUND_VALUE;
+
+/**
+ * Parses many uncertain doubles in one go, e.g. a column of a CSV file, or the values in a log file.
+ * <p>
+ * The source is split into records on newlines, {@code ','}, {@code ';'} and tabs (empty records are skipped). Every record is parsed like {@link UncertainDoubleFormat#parseObject(String)} would do (so e.g. {@code 5.0 ± 0.2}, {@code 1.23(4)·10⁵} or {@code (1.23 ± 0.04)·10⁵}), and also {@code E}-notation and {@code +/-} are recognized. What follows the number (e.g. units like {@code m·s⁻²}) is not interpreted, but its position is passed to the {@link Handler}.
+ * <p>
+ * The values are handed over as primitive {@code double}s, and no strings or other objects are created per record. Instances are not thread safe, but can be reused.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class UncertainDoubleParser {
+
+    /**
+     * Receives the parsed values
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @param value the parsed value
+         * @param uncertainty its uncertainty
+         * @param source the source that is parsed (for a {@link Reader} this is a buffer which will be reused)
+         * @param suffixStart the start of the trimmed text following the number in {@code source}, e.g. units
+         * @param suffixEnd the end of that text. Equal to {@code suffixStart} if there is no such text.
+         */
+        void accept(double value, double uncertainty, CharSequence source, int suffixStart, int suffixEnd);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Notation notation;
+
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * The exponent parsed by the last call to {@link #exponent(CharSequence, int, int)}, or the base and exponent parsed by {@link #power(CharSequence, int, int)}
+     */
+    private int exponent;
+    private int base;
+
+    private double value;
+    private double uncertainty;
+
+    /**
+     * @param notation if this is {@link Notation#ROUND_VALUE}, then a value without an uncertainty gets one derived from its last digit, like {@link UncertainDoubleFormat#parseObject(String)} does. Otherwise, it is exact.
+     */
+    public UncertainDoubleParser(Notation notation) {
+        this.notation = notation;
+    }
+
+    /**
+     * Uses the notation of the current {@link UncertaintyConfiguration}.
+     */
+    public UncertainDoubleParser() {
+        this(ConfigurationService.getConfigurationAspect(UncertaintyConfiguration.class).getNotation());
+    }
+
+    /**
+     * @return the number of parsed values
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public int parse(CharSequence source, Handler handler) {
+        return parse(source, 0, source.length(), handler);
+    }
+
+    /**
+     * Parses the records between {@code start} and {@code end}.
+     * @return the number of parsed values
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public int parse(CharSequence source, int start, int end, Handler handler) {
+        return parse(source, start, end, 0, handler);
+    }
+
+    /**
+     * Reads and parses everything available from the given reader. It is read in blocks, so this can be used for big files.
+     * @return the number of parsed values
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public long parse(Reader reader, Handler handler) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        CharBuffer wrapped = CharBuffer.wrap(buffer);
+        long count = 0;
+        long offset = 0;
+        int length = 0;
+        while (true) {
+            if (length == buffer.length) {
+                // a record longer than the buffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                wrapped = CharBuffer.wrap(buffer);
+            }
+            final int read = reader.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return count + parse(wrapped, 0, length, offset, handler);
+            }
+            length += read;
+            int last = length - 1;
+            while (last >= 0 && !isSeparator(buffer[last])) {
+                last--;
+            }
+            if (last >= 0) {
+                count += parse(wrapped, 0, last, offset, handler);
+                System.arraycopy(buffer, last + 1, buffer, 0, length - last - 1);
+                offset += last + 1;
+                length -= last + 1;
+            }
+        }
+    }
+
+    /**
+     * Collects all values of the given source in a new {@link UncertainDoubleArray}
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public UncertainDoubleArray toArray(CharSequence source) {
+        Collector collector = new Collector();
+        parse(source, collector);
+        return collector.toArray();
+    }
+
+    /**
+     * Collects all values available from the given reader in a new {@link UncertainDoubleArray}
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public UncertainDoubleArray toArray(Reader reader) throws IOException {
+        Collector collector = new Collector();
+        parse(reader, collector);
+        return collector.toArray();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '\n' || c == '\r' || c == ',' || c == ';' || c == '\t';
+    }
+
+    private int parse(CharSequence source, int start, int end, long offset, Handler handler) {
+        int count = 0;
+        int recordStart = start;
+        while (recordStart < end) {
+            int recordEnd = recordStart;
+            while (recordEnd < end && !isSeparator(source.charAt(recordEnd))) {
+                recordEnd++;
+            }
+            final int suffixStart = skipWhitespace(source, recordStart, recordEnd);
+            if (suffixStart < recordEnd) {
+                try {
+                    final int unitsStart = record(source, suffixStart, recordEnd, offset);
+                    int unitsEnd = recordEnd;
+                    while (unitsEnd > unitsStart && isWhitespace(source.charAt(unitsEnd - 1))) {
+                        unitsEnd--;
+                    }
+                    handler.accept(value, uncertainty, source, unitsStart, unitsEnd);
+                    count++;
+                } catch (NumberFormatException nfe) {
+                    throw new NotParsable(nfe.getMessage() + " at " + (offset + suffixStart), nfe, source.subSequence(suffixStart, recordEnd).toString());
+                }
+            }
+            recordStart = recordEnd + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Parses one record, and leaves the result in {@link #value} and {@link #uncertainty}
+     * @return the position after the number
+     */
+    private int record(CharSequence s, int start, int end, long offset) {
+        int i = start;
+        final boolean bracket = s.charAt(i) == '(';
+        if (bracket) {
+            i = skipWhitespace(s, i + 1, end);
+        }
+
+        // the value, possibly with an exponent of its own
+        final int valueStart = i;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        final int digitsStart = i;
+        while (i < end && isDigit(s.charAt(i))) {
+            i++;
+        }
+        int fractionDigits = 0;
+        if (i < end && s.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < end && isDigit(s.charAt(i))) {
+                i++;
+            }
+            fractionDigits = i - fractionStart;
+        }
+        if (i == digitsStart || i - digitsStart == 1 && s.charAt(digitsStart) == '.') {
+            throw notParsable("No number found", s, start, end, offset + i);
+        }
+        final int mantissaEnd = i;
+        int valueExponent = 0;
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E') && isExponentStart(s, i + 1, end)) {
+            i = integer(s, i + 1, end);
+            valueExponent = exponent;
+            value = JavaDoubleParser.parseDouble(s, valueStart, i - valueStart);
+        } else if (i + 2 < end && s.charAt(i) == TIMES && s.charAt(i + 1) == '1' && s.charAt(i + 2) == '0' && exponent(s, i + 3, end) > i + 3) {
+            i = exponent(s, i + 3, end);
+            valueExponent = exponent;
+            scratch.setLength(0);
+            scratch.append(s, valueStart, mantissaEnd).append('E').append(valueExponent);
+            value = JavaDoubleParser.parseDouble(scratch);
+        } else {
+            value = JavaDoubleParser.parseDouble(s, valueStart, i - valueStart);
+        }
+
+        // the uncertainty
+        final int afterValue = skipWhitespace(s, i, end);
+        boolean uncertain = true;
+        if (afterValue < end && (s.charAt(afterValue) == PLUSMIN || startsWith(s, afterValue, end, "+/-"))) {
+            i = skipWhitespace(s, afterValue + (s.charAt(afterValue) == PLUSMIN ? 1 : 3), end);
+            if (startsWith(s, i, end, "NaN")) {
+                uncertainty = Double.NaN;
+                i += 3;
+            } else {
+                final int uncertaintyStart = i;
+                while (i < end && (isDigit(s.charAt(i)) || s.charAt(i) == '.' || s.charAt(i) == '-')) {
+                    i++;
+                }
+                if (i == uncertaintyStart) {
+                    throw notParsable("No uncertainty found", s, start, end, offset + i);
+                }
+                uncertainty = JavaDoubleParser.parseDouble(s, uncertaintyStart, i - uncertaintyStart);
+            }
+        } else if (afterValue < end && s.charAt(afterValue) == '(') {
+            final int uncertaintyStart = skipWhitespace(s, afterValue + 1, end);
+            i = uncertaintyStart;
+            boolean point = false;
+            while (i < end && (isDigit(s.charAt(i)) || s.charAt(i) == '.' && !point)) {
+                point |= s.charAt(i) == '.';
+                i++;
+            }
+            final int uncertaintyEnd = i;
+            i = skipWhitespace(s, i, end);
+            if (i >= end || s.charAt(i) != ')') {
+                throw notParsable("No closing bracket", s, start, end, offset + i);
+            }
+            i++;
+            if (uncertaintyStart == uncertaintyEnd) {
+                uncertainty = 0;
+            } else if (point) {
+                // the uncertainty is just given in the same units as the value
+                uncertainty = JavaDoubleParser.parseDouble(s, uncertaintyStart, uncertaintyEnd - uncertaintyStart);
+            } else {
+                // the uncertainty in the last digits of the value
+                scratch.setLength(0);
+                scratch.append(s, uncertaintyStart, uncertaintyEnd).append('E').append(valueExponent - fractionDigits);
+                uncertainty = JavaDoubleParser.parseDouble(scratch);
+            }
+        } else {
+            uncertain = false;
+            i = afterValue;
+            if (notation == ROUND_VALUE) {
+                // 5 in the last digit
+                scratch.setLength(0);
+                scratch.append("5E").append(valueExponent - fractionDigits);
+                uncertainty = JavaDoubleParser.parseDouble(scratch);
+            } else {
+                uncertainty = 0;
+            }
+        }
+        if (bracket) {
+            i = skipWhitespace(s, i, end);
+            if (i >= end || s.charAt(i) != ')') {
+                throw notParsable("No closing bracket", s, start, end, offset + i);
+            }
+            i++;
+        }
+
+        // a factor applying to value and uncertainty
+        final int afterPower = power(s, i, end);
+        if (afterPower > i) {
+            i = afterPower;
+            if (base == 10) {
+                // like DoubleElement#scaleByPowerOfTen
+                final double factor = Math.pow(10, exponent);
+                value *= factor;
+                uncertainty *= factor;
+            } else if (exponent != 0) {
+                final RealNumber scaled = Factor.ofPow(base, exponent).apply((RealNumber) (uncertain ? DoubleElement.of(value, uncertainty) : DoubleElement.exactly(value)));
+                value = scaled.getValue();
+                uncertainty = scaled.getUncertainty();
+            }
+        }
+        return skipWhitespace(s, i, end);
+    }
+
+    /**
+     * Parses a factor like {@code ·10⁵} or {@code e5}, into {@link #base} and {@link #exponent}
+     * @return the position after it, or {@code start} if there is no such factor.
+     */
+    private int power(CharSequence s, int start, int end) {
+        final int i = skipWhitespace(s, start, end);
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E') && isExponentStart(s, i + 1, end)) {
+            base = 10;
+            return integer(s, i + 1, end);
+        }
+        if (i + 1 < end && s.charAt(i) == TIMES && isDigit(s.charAt(i + 1))) {
+            final int afterBase = integer(s, i + 1, end);
+            final int parsedBase = exponent;
+            final int afterExponent = exponent(s, afterBase, end);
+            base = parsedBase;
+            if (afterExponent == afterBase) {
+                exponent = 1;
+            }
+            return afterExponent;
+        }
+        return start;
+    }
+
+    /**
+     * Parses an exponent in superscript, into {@link #exponent}
+     * @return the position after it, or {@code start} if there is no exponent.
+     */
+    private int exponent(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            final char sign = TextUtils.unsuperscript(s.charAt(i));
+            if (sign != s.charAt(i) && (sign == '-' || sign == '+')) {
+                negative = sign == '-';
+                i++;
+            }
+        }
+        int result = 0;
+        final int digitsStart = i;
+        while (i < end) {
+            final char c = s.charAt(i);
+            final char digit = TextUtils.unsuperscript(c);
+            if (digit == c || !isDigit(digit)) {
+                break;
+            }
+            result = appendDigit(result, digit);
+            i++;
+        }
+        if (i == digitsStart) {
+            return start;
+        }
+        exponent = negative ? -result : result;
+        return i;
+    }
+
+    /**
+     * Parses a (signed) integer into {@link #exponent}
+     */
+    private int integer(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (s.charAt(i) == '-' || s.charAt(i) == '+') {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        int result = 0;
+        while (i < end && isDigit(s.charAt(i))) {
+            result = appendDigit(result, s.charAt(i));
+            i++;
+        }
+        exponent = negative ? -result : result;
+        return i;
+    }
+
+    /**
+     * @throws NumberFormatException if the result would not fit in an {@code int}
+     */
+    private static int appendDigit(int result, char digit) {
+        if (result > (Integer.MAX_VALUE - (digit - '0')) / 10) {
+            throw new NumberFormatException("Exponent too large");
+        }
+        return result * 10 + digit - '0';
+    }
+
+    private static boolean isExponentStart(CharSequence s, int i, int end) {
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        return i < end && isDigit(s.charAt(i));
+    }
+
+    private static boolean startsWith(CharSequence s, int i, int end, String prefix) {
+        if (end - i < prefix.length()) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length(); j++) {
+            if (s.charAt(i + j) != prefix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(CharSequence s, int i, int end) {
+        while (i < end && isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static NotParsable notParsable(String message, CharSequence s, int start, int end, long position) {
+        return new NotParsable(message + " at " + position, s.subSequence(start, end).toString());
+    }
+
+    /**
+     * Collects values and uncertainties in growing arrays
+     */
+    private static class Collector implements Handler {
+        private double[] values = new double[64];
+        private double[] uncertainties = new double[64];
+        private int size = 0;
+
+        @Override
+        public void accept(double value, double uncertainty, CharSequence source, int suffixStart, int suffixEnd) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                uncertainties = Arrays.copyOf(uncertainties, size * 2);
+            }
+            values[size] = value;
+            uncertainties[size] = uncertainty;
+            size++;
+        }
+
+        UncertainDoubleArray toArray() {
+            return new UncertainDoubleArray(Arrays.copyOf(values, size), Arrays.copyOf(uncertainties, size));
+        }
+    }
+}
@@ -49,6 +49,15 @@ public class NumberConfiguration implements ConfigurationAspect {
         return (DecimalFormat) DEFAULT.clone();
     }
 
+    /**
+     * @param format a number format
+     * @return whether the given format formats exactly like {@link #getDefaultNumberFormat()}. This does not create any objects.
+     * @since 0.20
+     */
+    public static boolean isDefaultNumberFormat(NumberFormat format) {
+        return DEFAULT.equals(format);
+    }
+
     /**
      * If the absolute value of the exponent would be bigger than this, then
      * scientific notation will be used. Otherwise, no.
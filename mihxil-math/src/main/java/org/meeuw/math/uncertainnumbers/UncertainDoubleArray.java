@@ -0,0 +1,575 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.uncertainnumbers;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import org.meeuw.math.DoubleUtils;
+import org.meeuw.math.exceptions.*;
+
+import static org.meeuw.math.DoubleUtils.uncertaintyForDouble;
+
+/**
+ * A column of uncertain doubles, stored as two parallel arrays of primitive values and uncertainties.
+ * <p>
+ * The element wise operations propagate uncertainties following the same rules as {@link UncertainDouble} and {@link org.meeuw.math.abstractalgebra.reals.DoubleElement}, but without creating an object per element. They store their results in a given array (which may be one of the operands), or in a new one. Big arrays are processed in parallel {@link #forEachChunk(Chunk) chunks}.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class UncertainDoubleArray {
+
+    /**
+     * Arrays with at least this many elements are processed in parallel
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    static final int CHUNK_SIZE = 1 << 13;
+
+    private final double[] values;
+    private final double[] uncertainties;
+
+    /**
+     * Wraps the given arrays (without copying them).
+     * @param values the values
+     * @param uncertainties the uncertainties of the values (not negative), must have the same length
+     */
+    public UncertainDoubleArray(double[] values, double[] uncertainties) {
+        if (values.length != uncertainties.length) {
+            throw new IllegalArgumentException("Values and uncertainties must have the same length (" + values.length + ", " + uncertainties.length + ")");
+        }
+        this.values = values;
+        this.uncertainties = uncertainties;
+    }
+
+    /**
+     * A new array of exact zeros
+     */
+    public UncertainDoubleArray(int length) {
+        this(new double[length], new double[length]);
+    }
+
+    /**
+     * @return a new array with the given values, and the uncertainties caused by their representation as doubles.
+     */
+    public static UncertainDoubleArray of(double... values) {
+        final double[] uncertainties = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            uncertainties[i] = uncertaintyForDouble(values[i]);
+        }
+        return new UncertainDoubleArray(values.clone(), uncertainties);
+    }
+
+    public static UncertainDoubleArray of(Collection<? extends UncertainDouble<?>> elements) {
+        final UncertainDoubleArray result = new UncertainDoubleArray(elements.size());
+        int i = 0;
+        for (UncertainDouble<?> e : elements) {
+            result.values[i] = e.doubleValue();
+            result.uncertainties[i] = e.doubleUncertainty();
+            i++;
+        }
+        return result;
+    }
+
+    public static UncertainDoubleArray of(UncertainDouble<?>... elements) {
+        return of(Arrays.asList(elements));
+    }
+
+    public int length() {
+        return values.length;
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    public double uncertainty(int i) {
+        return uncertainties[i];
+    }
+
+    public UncertainNumber<Double> get(int i) {
+        return new ImmutableUncertainNumber<>(values[i], uncertainties[i]);
+    }
+
+    public void set(int i, double value, double uncertainty) {
+        values[i] = value;
+        uncertainties[i] = uncertainty;
+    }
+
+    /**
+     * @return the backing array of values
+     */
+    public double[] values() {
+        return values;
+    }
+
+    /**
+     * @return the backing array of uncertainties
+     */
+    public double[] uncertainties() {
+        return uncertainties;
+    }
+
+    public UncertainDoubleArray copy() {
+        return new UncertainDoubleArray(values.clone(), uncertainties.clone());
+    }
+
+    /**
+     * Processes consecutive ranges of the arrays, in parallel if the arrays are big.
+     */
+    @FunctionalInterface
+    public interface Chunk {
+        void accept(double[] values, double[] uncertainties, int from, int to);
+    }
+
+    public void forEachChunk(Chunk chunk) {
+        forEachChunk(values.length, (from, to) -> chunk.accept(values, uncertainties, from, to));
+    }
+
+    public UncertainDoubleArray plus(UncertainDoubleArray summand) {
+        return plus(summand, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @param result where to store the sums. May be {@code this} or {@code summand}
+     * @return {@code result}
+     */
+    public UncertainDoubleArray plus(UncertainDoubleArray summand, UncertainDoubleArray result) {
+        checkLengths(summand, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final double v1 = values[i];
+                final double v2 = summand.values[i];
+                final double sum = v1 + v2;
+                result.values[i] = sum;
+                result.uncertainties[i] = additionUncertainty(sum, v1, uncertainties[i], v2, summand.uncertainties[i]);
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray minus(UncertainDoubleArray subtrahend) {
+        return minus(subtrahend, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * Like {@code DoubleElement}, this adds the negated subtrahend.
+     * @param result where to store the differences. May be {@code this} or {@code subtrahend}
+     * @return {@code result}
+     */
+    public UncertainDoubleArray minus(UncertainDoubleArray subtrahend, UncertainDoubleArray result) {
+        checkLengths(subtrahend, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final double v1 = values[i];
+                final double v2 = -subtrahend.values[i];
+                final double u2 = subtrahend.uncertainties[i];
+                final double sum = v1 + v2;
+                result.values[i] = sum;
+                result.uncertainties[i] = additionUncertainty(sum, v1, uncertainties[i], v2, u2 == 0d ? 0d : Math.max(u2, uncertaintyForDouble(v2)));
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray times(UncertainDoubleArray multiplier) {
+        return times(multiplier, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @param result where to store the products. May be {@code this} or {@code multiplier}
+     * @return {@code result}
+     */
+    public UncertainDoubleArray times(UncertainDoubleArray multiplier, UncertainDoubleArray result) {
+        checkLengths(multiplier, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                multiply(values[i], uncertainties[i], multiplier.values[i], multiplier.uncertainties[i], result, i);
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray dividedBy(UncertainDoubleArray divisor) {
+        return dividedBy(divisor, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * Multiplies with the {@link #reciprocal() reciprocal} of the divisor.
+     * @param result where to store the quotients. May be {@code this} or {@code divisor}
+     * @return {@code result}
+     * @throws DivisionByZeroException if one of the divisors is exactly zero
+     */
+    public UncertainDoubleArray dividedBy(UncertainDoubleArray divisor, UncertainDoubleArray result) {
+        checkLengths(divisor, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final double v = divisor.values[i];
+                final double u = divisor.uncertainties[i];
+                final double reciprocal = reciprocalValue(v, u);
+                multiply(values[i], uncertainties[i], reciprocal, reciprocalUncertainty(v, u), result, i);
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray reciprocal() {
+        return reciprocal(new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @see #pow(int, UncertainDoubleArray)
+     * @throws DivisionByZeroException if one of the elements is exactly zero
+     */
+    public UncertainDoubleArray reciprocal(UncertainDoubleArray result) {
+        checkLengths(result, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final double v = values[i];
+                final double u = uncertainties[i];
+                result.values[i] = reciprocalValue(v, u);
+                result.uncertainties[i] = reciprocalUncertainty(v, u);
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray times(double multiplier) {
+        return times(multiplier, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @see UncertainDouble#times(double)
+     */
+    public UncertainDoubleArray times(double multiplier, UncertainDoubleArray result) {
+        checkLengths(result, result);
+        final double absMultiplier = Math.abs(multiplier);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result.values[i] = multiplier * values[i];
+                result.uncertainties[i] = absMultiplier * uncertainties[i];
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray plus(double summand) {
+        return plus(summand, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @see UncertainDouble#plus(double)
+     */
+    public UncertainDoubleArray plus(double summand, UncertainDoubleArray result) {
+        checkLengths(result, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result.values[i] = summand + values[i];
+                result.uncertainties[i] = uncertainties[i];
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray negation() {
+        return times(-1d);
+    }
+
+    public UncertainDoubleArray abs() {
+        final UncertainDoubleArray result = new UncertainDoubleArray(length());
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result.values[i] = Math.abs(values[i]);
+                result.uncertainties[i] = uncertainties[i];
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray sqrt() {
+        return sqrt(new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * Like {@link org.meeuw.math.abstractalgebra.reals.DoubleElement#sqrt()}, the uncertainties are kept.
+     * @throws IllegalSqrtException if one of the values is negative
+     */
+    public UncertainDoubleArray sqrt(UncertainDoubleArray result) {
+        checkLengths(result, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (values[i] < 0) {
+                    throw new IllegalSqrtException("Cannot take square root of negative number", Double.toString(values[i]));
+                }
+                result.values[i] = Math.sqrt(values[i]);
+                result.uncertainties[i] = uncertainties[i];
+            }
+        });
+        return result;
+    }
+
+    public UncertainDoubleArray pow(int exponent) {
+        return pow(exponent, new UncertainDoubleArray(length()));
+    }
+
+    /**
+     * @throws IllegalPowerException if a result would be infinite, or for negative powers of zero
+     */
+    public UncertainDoubleArray pow(int exponent, UncertainDoubleArray result) {
+        checkLengths(result, result);
+        forEachChunk(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double v = values[i];
+                final double u = uncertainties[i];
+                if (v == 0 && u != 0) {
+                    v = u;
+                }
+                if (v == 0 && exponent < 0) {
+                    throw new IllegalPowerException("Cannot take negative power of zero", v + "^" + exponent);
+                }
+                final double power = Math.pow(v, exponent);
+                if (Double.isInfinite(power)) {
+                    throw new IllegalPowerException("Resulted infinity", v + "^" + exponent);
+                }
+                result.values[i] = power;
+                result.uncertainties[i] = Math.abs(exponent) * Math.pow(Math.abs(v), exponent - 1) * u;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The sum of all elements. The uncertainties are accumulated like in a sequence of {@link org.meeuw.math.abstractalgebra.reals.DoubleElement#plus(org.meeuw.math.abstractalgebra.reals.RealNumber) additions}, per chunk.
+     */
+    public UncertainNumber<Double> sum() {
+        final double[] sum = reduceChunks((from, to) -> {
+            double value = 0;
+            double uncertainty = 0;
+            for (int i = from; i < to; i++) {
+                final double v = values[i];
+                final double s = value + v;
+                uncertainty = additionUncertainty(s, value, uncertainty, v, uncertainties[i]);
+                value = s;
+            }
+            return new double[] {value, uncertainty};
+        }, (a, b) -> {
+            final double s = a[0] + b[0];
+            return new double[] {s, additionUncertainty(s, a[0], a[1], b[0], b[1])};
+        });
+        return new ImmutableUncertainNumber<>(sum[0], sum[1]);
+    }
+
+    /**
+     * The average of all elements, weighted by the inverses of the squares of their uncertainties, like repeated {@link UncertainDouble#weightedAverage(UncertainDouble)}.
+     * <p>
+     * If there are exact values, they must all be the same, and that will be the (exact) result. Elements with an unknown ({@link Double#NaN}) uncertainty get the average weight of the other ones (or {@code 1} if there are none).
+     *
+     * @throws WeighingExactValuesException if there are different exact values
+     */
+    public UncertainNumber<Double> weightedAverage() {
+        if (values.length == 0) {
+            throw new IllegalStateException("Cannot take average of nothing");
+        }
+        // value * weight, weight, number of known weights, exact value, number of exact values
+        final double[] sums = reduceChunks((from, to) -> {
+            final double[] s = new double[5];
+            for (int i = from; i < to; i++) {
+                final double u = uncertainties[i];
+                if (u == 0d) {
+                    if (s[4] > 0 && s[3] != values[i]) {
+                        throw new WeighingExactValuesException("Can't combine 2 (different) exact values (" + s[3] + " and " + values[i] + ")");
+                    }
+                    s[3] = values[i];
+                    s[4]++;
+                } else if (!Double.isNaN(u)) {
+                    final double weight = weight(values[i], u);
+                    s[0] += values[i] * weight;
+                    s[1] += weight;
+                    s[2]++;
+                }
+            }
+            return s;
+        }, (a, b) -> {
+            if (a[4] > 0 && b[4] > 0 && a[3] != b[3]) {
+                throw new WeighingExactValuesException("Can't combine 2 (different) exact values (" + a[3] + " and " + b[3] + ")");
+            }
+            return new double[] {a[0] + b[0], a[1] + b[1], a[2] + b[2], a[4] > 0 ? a[3] : b[3], a[4] + b[4]};
+        });
+        if (sums[4] > 0) {
+            return new ImmutableUncertainNumber<>(sums[3], 0d);
+        }
+        double weightedSum = sums[0];
+        double totalWeight = sums[1];
+        final double unknowns = values.length - sums[2];
+        if (unknowns > 0) {
+            final double unknownWeight = sums[2] == 0 ? 1d : totalWeight / sums[2];
+            for (int i = 0; i < values.length; i++) {
+                if (Double.isNaN(uncertainties[i])) {
+                    weightedSum += values[i] * unknownWeight;
+                }
+            }
+            totalWeight += unknowns * unknownWeight;
+        }
+        return new ImmutableUncertainNumber<>(weightedSum / totalWeight, 1d / Math.sqrt(totalWeight));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UncertainDoubleArray that)) {
+            return false;
+        }
+        return Arrays.equals(values, that.values) && Arrays.equals(uncertainties, that.uncertainties);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + Arrays.hashCode(uncertainties);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * @see UncertainDouble#weightedAverage(UncertainDouble)
+     */
+    private static double weight(double value, double uncertainty) {
+        final double u2 = Math.max(uncertainty * uncertainty, uncertaintyForDouble(value));
+        return Math.min(1d / u2, Double.MAX_VALUE);
+    }
+
+    /**
+     * @see org.meeuw.math.abstractalgebra.reals.DoubleElement#plus(org.meeuw.math.abstractalgebra.reals.RealNumber)
+     */
+    private static double additionUncertainty(double sum, double v1, double u1, double v2, double u2) {
+        final double forSum = uncertaintyForDouble(sum);
+        return DoubleUtils.max(
+            u1 + u2 + forSum,
+            forSum,
+            uncertaintyForDouble(v1),
+            uncertaintyForDouble(v2)
+        );
+    }
+
+    /**
+     * @see org.meeuw.math.abstractalgebra.reals.DoubleElement#considerMultiplicationBySpecialValues
+     */
+    private static void multiply(double v1, double u1, double v2, double u2, UncertainDoubleArray result, int i) {
+        if (u2 == 0d && v2 == 1d) {
+            result.values[i] = v1;
+            result.uncertainties[i] = u1;
+            return;
+        }
+        final double product = v1 * v2;
+        if ((u1 == 0d && v1 == 0d) || (u2 == 0d && v2 == 0d)) {
+            result.values[i] = 0d;
+            result.uncertainties[i] = 0d;
+        } else if (Double.isNaN(v1) || Double.isNaN(v2)) {
+            result.values[i] = product;
+            result.uncertainties[i] = Double.NaN;
+        } else {
+            final double value1 = Math.max(Math.abs(v1), u1);
+            final double value2 = Math.max(Math.abs(v2), u2);
+            result.values[i] = product;
+            if (u1 == 0d && u2 == 0d && isExactProduct(value1, value2)) {
+                result.uncertainties[i] = 0d;
+            } else {
+                result.uncertainties[i] = value1 * value2 * (u1 / value1 + u2 / value2) + uncertaintyForDouble(product);
+            }
+        }
+    }
+
+    /**
+     * Like {@link DoubleUtils#isExactProduct(double, double)}, but without allocations for the normal cases: the product is exact if the fused multiply-add finds no rounding error.
+     */
+    private static boolean isExactProduct(double a, double b) {
+        final double product = a * b;
+        if (!Double.isFinite(product)) {
+            return false;
+        }
+        if (Math.abs(product) < 0x1p-969) {
+            // the rounding error may be too small to be represented
+            return DoubleUtils.isExactProduct(a, b);
+        }
+        return Math.fma(a, b, -product) == 0d;
+    }
+
+    /**
+     * @see org.meeuw.math.abstractalgebra.reals.DoubleElement#reciprocal()
+     */
+    private static double reciprocalValue(double v, double u) {
+        if (u == 0d && v == 0d) {
+            throw new DivisionByZeroException("Reciprocal of zero", "1/0");
+        }
+        return Math.pow(v == 0 ? u : v, -1);
+    }
+
+    private static double reciprocalUncertainty(double v, double u) {
+        final double base = v == 0 ? u : v;
+        return Math.pow(Math.abs(base), -2) * u;
+    }
+
+    private void checkLengths(UncertainDoubleArray other, UncertainDoubleArray result) {
+        if (other.length() != length() || result.length() != length()) {
+            throw new IllegalArgumentException("Arrays must have the same length (" + length() + ", " + other.length() + ", " + result.length() + ")");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Range {
+        void accept(int from, int to);
+    }
+
+    @FunctionalInterface
+    private interface RangeReducer {
+        double[] apply(int from, int to);
+    }
+
+    private static void forEachChunk(int length, Range range) {
+        if (length < PARALLEL_THRESHOLD) {
+            range.accept(0, length);
+        } else {
+            IntStream.range(0, (length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .parallel()
+                .forEach(c -> range.accept(c * CHUNK_SIZE, Math.min(length, (c + 1) * CHUNK_SIZE)));
+        }
+    }
+
+    private double[] reduceChunks(RangeReducer reducer, BinaryOperator<double[]> combiner) {
+        final int length = values.length;
+        if (length < PARALLEL_THRESHOLD) {
+            return reducer.apply(0, length);
+        }
+        return IntStream.range(0, (length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+            .parallel()
+            .mapToObj(c -> reducer.apply(c * CHUNK_SIZE, Math.min(length, (c + 1) * CHUNK_SIZE)))
+            .reduce(combiner)
+            .orElseThrow();
+    }
+}
@@ -18,6 +18,8 @@ package org.meeuw.math.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.math.BigInteger;
+
 import org.meeuw.math.IntegerUtils;
 
 /**
@@ -34,11 +36,14 @@ public class PrimeValidator implements ConstraintValidator<Prime, Object> {
 
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
+        if (value instanceof BigInteger bigInteger) {
+            return power ? IntegerUtils.isPrimePower(bigInteger) : IntegerUtils.isPrime(bigInteger);
+        }
         long toValidate = SquareValidator.toLong(value);
         if (power) {
             return IntegerUtils.isPrimePower(toValidate);
         } else {
-            return IntegerUtils.isPrime((int) toValidate);
+            return IntegerUtils.isPrime(toValidate);
         }
     }
 }
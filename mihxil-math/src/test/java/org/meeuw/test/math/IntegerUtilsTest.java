@@ -47,6 +47,13 @@ class IntegerUtilsTest {
         assertThat(IntegerUtils.gcd(8, -12)).isEqualTo(4);
     }
 
+    @Property
+    void binaryGcd(@ForAll long n1, @ForAll long n2) {
+        Assume.that(n1 != Long.MIN_VALUE && n2 != Long.MIN_VALUE);
+        assertThat(IntegerUtils.binaryGcd(n1, n2))
+            .isEqualTo(BigInteger.valueOf(n1).gcd(BigInteger.valueOf(n2)).longValue());
+    }
+
 
     @Test
     public void digits() {
@@ -96,7 +103,9 @@ class IntegerUtilsTest {
         assertThat(IntegerUtils.nextPrime(1)).isEqualTo(2);
         assertThat(IntegerUtils.nextPrime(13)).isEqualTo(17);
         assertThat(IntegerUtils.nextPrime(22)).isEqualTo(23);
-
+        assertThat(IntegerUtils.nextPrime(BigInteger.valueOf(-5))).isEqualTo(IntegerUtils.TWO);
+        assertThat(IntegerUtils.nextPrime(BigInteger.ONE.shiftLeft(100).negate())).isEqualTo(IntegerUtils.TWO);
+        assertThat(IntegerUtils.nextPrime(BigInteger.ONE.shiftLeft(100))).isEqualTo(BigInteger.ONE.shiftLeft(100).nextProbablePrime());
     }
 
 
@@ -266,6 +275,112 @@ class IntegerUtilsTest {
         return Arbitraries.randomValue(random -> (long) random.nextInt(1_000_000_000));
     }
 
+    @Property
+    public void isPrimeAgainstBigInteger(@ForAll("oddLongs") long n) {
+        assertThat(IntegerUtils.isPrime(n)).isEqualTo(BigInteger.valueOf(n).isProbablePrime(100));
+    }
+
+    @Provide
+    Arbitrary<Long> oddLongs() {
+        return Arbitraries.oneOf(
+            Arbitraries.longs().between(1, 1 << 20),
+            Arbitraries.longs().between(1, Long.MAX_VALUE)
+        ).map(l -> l | 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {
+        // strong pseudoprimes to several bases
+        2047L, 1373653L, 25326001L, 3215031751L, 2152302898747L, 3474749660383L, 341550071728321L, 3825123056546413051L,
+        // Carmichael numbers
+        561L, 1105L, 1729L, 9999109081L,
+        4611686014132420609L, // (2^31 - 1)^2
+    })
+    public void isPseudoPrime(long composite) {
+        assertThat(IntegerUtils.isPrime(composite)).isFalse();
+        assertThat(IntegerUtils.primeFactorization(composite).count()).isGreaterThan(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {65537L, 2147483647L, 1000000000000037L, 4611686018427387847L, 9223372036854775783L})
+    public void isBigPrime(long prime) {
+        assertThat(IntegerUtils.isPrime(prime)).isTrue();
+        assertThat(IntegerUtils.isPrime(BigInteger.valueOf(prime))).isTrue();
+        assertThat(IntegerUtils.primeFactorization(prime)).containsExactly(prime);
+    }
 
+    @Test
+    public void isPrimeNonPositiveBigInteger() {
+        final BigInteger mersenne = BigInteger.TWO.pow(127).subtract(BigInteger.ONE);
+        assertThat(IntegerUtils.isPrime(mersenne)).isTrue();
+        assertThat(IntegerUtils.isPrime(mersenne.negate())).isFalse();
+        assertThat(IntegerUtils.isPrime(BigInteger.valueOf(-9223372036854775783L))).isFalse();
+        assertThat(IntegerUtils.isPrime(BigInteger.valueOf(-2))).isFalse();
+        assertThat(IntegerUtils.isPrime(BigInteger.ONE.negate())).isFalse();
+        assertThat(IntegerUtils.isPrime(BigInteger.ZERO)).isFalse();
+    }
+
+    @Test
+    public void nextBigPrime() {
+        assertThat(IntegerUtils.nextPrime(1_000_000_000_000_000L)).isEqualTo(1_000_000_000_000_037L);
+        assertThat(IntegerUtils.nextPrime(BigInteger.valueOf(22))).isEqualTo(BigInteger.valueOf(23));
+        assertThat(IntegerUtils.nextPrime(BigInteger.TEN.pow(30))).isEqualTo(BigInteger.TEN.pow(30).add(BigInteger.valueOf(57)));
+    }
+
+    @Test
+    public void primes() {
+        assertThat(IntegerUtils.primes().limit(10)).containsExactly(2L, 3L, 5L, 7L, 11L, 13L, 17L, 19L, 23L, 29L);
+        assertThat(IntegerUtils.primes().skip(9_999).findFirst()).hasValue(104_729L);
+    }
+
+    @Test
+    public void semiPrimeFactorization() {
+        // two 30 bits primes
+        assertThat(IntegerUtils.primeFactorization(1073741789L * 1073741827L)).containsExactly(1073741789L, 1073741827L);
+        assertThat(IntegerUtils.primeFactorization(3L * 3L * 1000003L * 1000003L * 101L)).containsExactly(3L, 3L, 101L, 1000003L, 1000003L);
+        assertThat(IntegerUtils.isPrimePower(1000003L * 1000003L * 1000003L)).isTrue();
+        assertThat(IntegerUtils.checkPower(1000003L * 1000003L * 1000003L)).containsExactly(1000003, 3);
+        assertThat(IntegerUtils.checkPower(64)).containsExactly(2, 6);
+        assertThat(IntegerUtils.checkPower(36)).containsExactly(6, 2);
+    }
+
+    @Test
+    public void bigIntegerFactorization() {
+        final BigInteger p = BigInteger.valueOf(4611686018427387847L);
+        final BigInteger q = BigInteger.valueOf(1000000007L);
+        assertThat(IntegerUtils.primeFactorization(p.multiply(q).multiply(IntegerUtils.TWO))).containsExactly(IntegerUtils.TWO, q, p);
+        assertThat(IntegerUtils.primeFactorization(BigInteger.valueOf(12345))).containsExactly(BigInteger.valueOf(3), BigInteger.valueOf(5), BigInteger.valueOf(823));
+        assertThat(IntegerUtils.isPrimePower(q.pow(3))).isTrue();
+        assertThat(IntegerUtils.isPrime(p.multiply(q))).isFalse();
+    }
+
+    @Property
+    public void modPow(@ForAll long base, @ForAll("exponents") long exponent, @ForAll("moduli") long modulus) {
+        final BigInteger m = BigInteger.valueOf(modulus);
+        assertThat(IntegerUtils.modPow(base, exponent, modulus)).isEqualTo(BigInteger.valueOf(base).modPow(BigInteger.valueOf(exponent), m).longValue());
+        assertThat(IntegerUtils.mulMod(base, exponent, modulus)).isEqualTo(BigInteger.valueOf(base).multiply(BigInteger.valueOf(exponent)).mod(m).longValue());
+    }
+
+    @Property
+    public void divideUnsigned(@ForAll long high, @ForAll long low, @ForAll long divisor) {
+        final BigInteger d = new BigInteger(Long.toUnsignedString(divisor));
+        final BigInteger h = new BigInteger(Long.toUnsignedString(high)).mod(d.max(BigInteger.ONE));
+        Assume.that(divisor != 0);
+        final BigInteger dividend = h.shiftLeft(64).add(new BigInteger(Long.toUnsignedString(low)));
+        assertThat(Long.toUnsignedString(IntegerUtils.divideUnsigned(h.longValue(), low, divisor))).isEqualTo(dividend.divide(d).toString());
+    }
+
+    @Provide
+    Arbitrary<Long> exponents() {
+        return Arbitraries.longs().between(0, Long.MAX_VALUE);
+    }
+
+    @Provide
+    Arbitrary<Long> moduli() {
+        return Arbitraries.oneOf(
+            Arbitraries.longs().between(1, 1000),
+            Arbitraries.longs().between(1, Long.MAX_VALUE)
+        );
+    }
 
 }
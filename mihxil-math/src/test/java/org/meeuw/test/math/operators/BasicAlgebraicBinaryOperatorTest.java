@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.assertj.core.api.Assertions;
 
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
 import org.meeuw.math.exceptions.InvalidAlgebraicResult;
 import org.meeuw.math.exceptions.NoSuchOperatorException;
 import org.meeuw.math.operators.*;
@@ -132,6 +133,15 @@ public class BasicAlgebraicBinaryOperatorTest {
         ).isInstanceOf(NoSuchOperatorException.class).hasMessage("SampleElement sampleelement has no operator 'times'");
     }
 
+    @Test
+    public void realNumbers() {
+        RealNumber two = RealNumber.of(2);
+        RealNumber three = RealNumber.of(3);
+        assertThat(ADDITION.apply(two, three).getValue()).isEqualTo(5);
+        assertThat(MULTIPLICATION.apply(two, three).getValue()).isEqualTo(6);
+        assertThat(POWER.apply(two, three).getValue()).isEqualTo(8);
+    }
+
     @Test
     public void illegalArgument() {
         assertThatThrownBy(() ->
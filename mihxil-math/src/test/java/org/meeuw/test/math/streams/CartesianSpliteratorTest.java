@@ -18,6 +18,8 @@ package org.meeuw.test.math.streams;
 import lombok.extern.java.Log;
 
 import java.io.*;
+import java.math.BigInteger;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
@@ -291,4 +293,101 @@ class CartesianSpliteratorTest {
         }
     }
 
+    @ParameterizedTest()
+    @ValueSource(ints = {1, 2, 3, 4})
+    public void splitFinite(int dim) {
+        final List<Integer> values = Arrays.asList(1, 2, 3, 4, 5);
+        final List<List<Integer>> sequential = StreamSupport.stream(new CartesianSpliterator<>(values::spliterator, dim), false)
+            .map(Arrays::asList).toList();
+        final CartesianSpliterator<Integer> cartesianSpliterator = new CartesianSpliterator<>(values::spliterator, dim);
+        assertThat(cartesianSpliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+
+        assertThat(splitAll(cartesianSpliterator)).containsExactlyElementsOf(sequential);
+        assertThat(StreamSupport.stream(new CartesianSpliterator<>(values::spliterator, dim), true)
+            .map(Arrays::asList).toList()).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    public void splitMixed() {
+        final List<String> values1 = Arrays.asList("a", "b", "c");
+        final List<String> values2 = Arrays.asList("x", "y");
+        final Supplier<Spliterator<? extends Object>> infinite = () -> Stream.iterate(1, i -> i + 1).spliterator();
+        final Supplier<CartesianSpliterator<Object>> supplier = () ->
+            new CartesianSpliterator<>(Object.class, values1::spliterator, infinite, values2::spliterator);
+
+        final List<List<Object>> sequential = StreamSupport.stream(supplier.get(), false)
+            .limit(5000).map(Arrays::asList).toList();
+        final CartesianSpliterator<Object> first = supplier.get();
+        final Spliterator<Object[]> prefix = first.trySplit();
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize()).isEqualTo(1024);
+        assertThat(prefix.hasCharacteristics(Spliterator.SIZED)).isFalse();
+        assertThat(first.estimateSize()).isEqualTo(Long.MAX_VALUE);
+
+        assertThat(StreamSupport.stream(supplier.get(), true)
+            .limit(5000).map(Arrays::asList).toList()).containsExactlyElementsOf(sequential);
+    }
+
+    /**
+     * Generators of unknown size are supposed to be infinite, but they may be finite. The prefix split off then is not {@link Spliterator#SIZED}.
+     */
+    @Test
+    public void splitFiniteOfUnknownSize() {
+        final List<Integer> values = IntStream.rangeClosed(1, 100).boxed().toList();
+        final Supplier<Spliterator<? extends Integer>> unknownSize = () -> Spliterators.spliteratorUnknownSize(values.iterator(), Spliterator.ORDERED);
+        final CartesianSpliterator<Integer> cartesianSpliterator = new CartesianSpliterator<>(unknownSize, 2);
+        final Spliterator<Integer[]> prefix = cartesianSpliterator.trySplit();
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.hasCharacteristics(Spliterator.SIZED)).isFalse();
+        assertThat(prefix.getExactSizeIfKnown()).isEqualTo(-1);
+        assertThat(cartesianSpliterator.hasCharacteristics(Spliterator.SIZED)).isFalse();
+    }
+
+    /**
+     * Not really a test, but logs the time needed to take the first elements of a product of infinite streams, sequentially and in parallel.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3})
+    public void performance(int dim) {
+        final Supplier<Spliterator<? extends BigInteger>> positive =
+            () -> Stream.iterate(BigInteger.ONE, i -> i.add(BigInteger.ONE)).spliterator();
+        final long n = 50_000;
+        for (int round = 0; round < 2; round++) {
+            long nano = System.nanoTime();
+            final long sequential = StreamSupport.stream(new CartesianSpliterator<>(positive, dim), false)
+                .limit(n).map(CartesianSpliteratorTest::work).filter(b -> b.testBit(0)).count();
+            final Duration sequentialTime = Duration.ofNanos(System.nanoTime() - nano);
+
+            nano = System.nanoTime();
+            final long parallel = StreamSupport.stream(new CartesianSpliterator<>(positive, dim), true)
+                .limit(n).map(CartesianSpliteratorTest::work).filter(b -> b.testBit(0)).count();
+            final Duration parallelTime = Duration.ofNanos(System.nanoTime() - nano);
+            assertThat(parallel).isEqualTo(sequential);
+            log.info("%d-fold product, %d elements: sequential %s, parallel %s".formatted(dim, n, sequentialTime, parallelTime));
+        }
+    }
+
+    private static BigInteger work(BigInteger[] values) {
+        BigInteger result = BigInteger.ONE;
+        for (BigInteger v : values) {
+            result = result.multiply(v.pow(20));
+        }
+        return result;
+    }
+
+    /**
+     * Splits recursively until splitting is not possible any more, and collects the results in order
+     */
+    private static <E> List<List<E>> splitAll(Spliterator<E[]> spliterator) {
+        final List<List<E>> result = new ArrayList<>();
+        final Spliterator<E[]> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            result.addAll(splitAll(prefix));
+            result.addAll(splitAll(spliterator));
+        } else {
+            spliterator.forEachRemaining(e -> result.add(Arrays.asList(e)));
+        }
+        return result;
+    }
+
 }
@@ -15,14 +15,21 @@
  */
 package org.meeuw.test.math.text;
 
+import java.text.Format;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Isolated;
 
 import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+import org.meeuw.math.text.FormatService;
+import org.meeuw.math.text.configuration.UncertaintyConfiguration;
 import org.meeuw.math.text.spi.AlgebraicElementFormatProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.meeuw.configuration.ConfigurationService.getConfiguration;
+import static org.meeuw.configuration.ConfigurationService.withAspect;
 import static org.meeuw.math.text.FormatService.getProviders;
 
 /**
@@ -46,4 +53,17 @@ class FormatServiceTest {
                 "UncertainDoubleFormatProvider [NumberConfiguration(minimalExponent=4, numberFormat=###0.###), UncertaintyConfiguration(notation=PLUS_MINUS, considerRoundingErrorFactor=1000.0, stripZeros=if ROUND_VALUE and exact, widthOfConfidenceInterval=2.0)]"
             );
     }
+
+    @Test
+    public void formatsAreCached() {
+        Format format = FormatService.getFormat(DoubleElement.class, getConfiguration()).findFirst().orElseThrow();
+        assertThat(FormatService.getFormat(DoubleElement.class, getConfiguration()).findFirst()).containsSame(format);
+        assertThat(FormatService.toString(DoubleElement.of(1, 0.1))).isEqualTo("1.00 ± 0.10");
+
+        withAspect(UncertaintyConfiguration.class, uc -> uc.withNotation(UncertaintyConfiguration.Notation.PARENTHESES), () -> {
+            assertThat(FormatService.getFormat(DoubleElement.class, getConfiguration()).findFirst().orElseThrow()).isNotSameAs(format);
+            assertThat(FormatService.toString(DoubleElement.of(1, 0.1))).isEqualTo("1.00(10)");
+        });
+        assertThat(FormatService.toString(DoubleElement.of(1, 0.1))).isEqualTo("1.00 ± 0.10");
+    }
 }
@@ -17,9 +17,13 @@ package org.meeuw.test.math.text;
 
 import lombok.extern.java.Log;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.text.*;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.function.BiPredicate;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -30,6 +34,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.assertj.core.data.Offset;
 
 import org.meeuw.configuration.ConfigurationService;
+import org.meeuw.math.DoubleUtils;
 import org.meeuw.math.abstractalgebra.reals.DoubleElement;
 import org.meeuw.math.abstractalgebra.reals.RealField;
 import org.meeuw.math.text.*;
@@ -37,6 +42,7 @@ import org.meeuw.math.text.configuration.NumberConfiguration;
 import org.meeuw.math.text.configuration.UncertaintyConfiguration;
 import org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation;
 import org.meeuw.math.text.spi.UncertainDoubleFormatProvider;
+import org.meeuw.math.uncertainnumbers.UncertainDouble;
 import org.meeuw.math.uncertainnumbers.UncertainNumber;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -268,6 +274,7 @@ class UncertainDoubleFormatTest {
         assertThat(toString)
             .withFailMessage(() -> notation + (stripZeros != null && stripZeros ? " (and strip)" : (defaultStrip ? " (implicit strip)" : "")) + " of " + el.toDebugString() + " is '" + toString + "' but it should have been '" + expected + "'")
             .isEqualTo(expected);
+        assertThat(uncertainDoubleFormat.format(el, new StringBuilder()).toString()).isEqualTo(toString);
         DoubleElement parsed = (DoubleElement) RealField.INSTANCE.fromString(toString);
         assertThat(parsed.eq(el))
             .withFailMessage(() -> notation + ": toString of " + el.toDebugString() + " is correct (" + toString + "), but parsing it again resulted " + parsed.toDebugString())
@@ -372,4 +379,68 @@ class UncertainDoubleFormatTest {
     }
 
 
+    @Test
+    public void appendable() throws IOException {
+        final StringBuilder builder = new StringBuilder("values: ");
+        uncertainDoubleFormat.setUncertaintyNotation(PARENTHESES);
+        uncertainDoubleFormat.format(DoubleElement.of(123456.7, 4000), builder).append(", ");
+        uncertainDoubleFormat.format(DoubleElement.of(5, 1.9), builder);
+        assertThat(builder.toString()).isEqualTo("values: 1.23(4)·10⁵, 5.0(1.9)");
+
+        final StringWriter writer = new StringWriter();
+        uncertainDoubleFormat.format(DoubleElement.of(Double.NEGATIVE_INFINITY), writer).append(' ');
+        uncertainDoubleFormat.format(DoubleElement.exactly(-0.000123), writer);
+        assertThat(writer.toString()).isEqualTo("-∞ -0.000123");
+    }
+
+    /**
+     * {@link UncertainDoubleFormat#format(UncertainDouble, Appendable)} determines the digits itself, but should give exactly the same as {@link UncertainDoubleFormat#format(Object)}.
+     */
+    @Test
+    public void appendableLikeFormat() {
+        final Random random = new Random(1);
+        final List<BiPredicate<Notation, Object>> strips = List.of(UncertaintyConfiguration.DEFAULT_STRIP_ZEROS, (n, o) -> true, (n, o) -> false);
+        for (double value : new double[] {0, -0d, 0.0005, -0.0005, 0.005, 0.05, 2.5, 0.125, 9.5e-7, 1e16, -9.999999999999998e15, Double.MIN_VALUE, Double.POSITIVE_INFINITY}) {
+            for (Notation notation : Notation.values()) {
+                for (int maximalPrecision = 0; maximalPrecision < 10; maximalPrecision++) {
+                    uncertainDoubleFormat.setUncertaintyNotation(notation);
+                    uncertainDoubleFormat.setMaximalPrecision(maximalPrecision);
+                    assertLikeFormat(DoubleElement.exactly(value));
+                    assertLikeFormat(DoubleElement.of(value, 0.00125));
+                    assertLikeFormat(DoubleElement.of(value, 0.0005));
+                }
+            }
+        }
+        for (int i = 0; i < 200_000; i++) {
+            final double value = randomDouble(random, random.nextInt(40) - 25);
+            final double uncertainty = switch (random.nextInt(5)) {
+                case 0 -> 0;
+                case 1 -> Math.abs(randomDouble(random, random.nextInt(40) - 25));
+                case 2 -> Math.abs(value) * random.nextDouble() * 1e-15;
+                default -> Math.abs(value) * Math.abs(randomDouble(random, -random.nextInt(12)));
+            };
+            uncertainDoubleFormat.setUncertaintyNotation(Notation.values()[random.nextInt(Notation.values().length)]);
+            uncertainDoubleFormat.setStripZeros(strips.get(random.nextInt(strips.size())));
+            uncertainDoubleFormat.setMinimumExponent(1 + random.nextInt(6));
+            uncertainDoubleFormat.setMaximalPrecision(random.nextInt(10) == 0 ? random.nextInt(5) : Integer.MAX_VALUE);
+            assertLikeFormat(uncertainty == 0 && random.nextBoolean() ? DoubleElement.exactly(value) : DoubleElement.of(value, uncertainty));
+        }
+    }
+
+    private void assertLikeFormat(DoubleElement number) {
+        final String expected = uncertainDoubleFormat.format(number);
+        assertThat(uncertainDoubleFormat.format(number, new StringBuilder()).toString())
+            .withFailMessage(() -> "%s %s: expected %s".formatted(uncertainDoubleFormat.getUncertaintyNotation(), number.toDebugString(), expected))
+            .isEqualTo(expected);
+    }
+
+    private static double randomDouble(Random random, int exponent) {
+        final double value = random.nextGaussian() * DoubleUtils.pow10(exponent);
+        return switch (random.nextInt(3)) {
+            case 0 -> Double.parseDouble("%.3g".formatted(value));
+            case 1 -> Math.rint(value);
+            default -> value;
+        };
+    }
+
 }
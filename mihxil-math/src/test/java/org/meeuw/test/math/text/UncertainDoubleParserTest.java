@@ -0,0 +1,152 @@
+package org.meeuw.test.math.text;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParsePosition;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.math.text.UncertainDoubleFormat;
+import org.meeuw.math.text.UncertainDoubleParser;
+import org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation;
+import org.meeuw.math.uncertainnumbers.UncertainDoubleArray;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation.*;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class UncertainDoubleParserTest {
+
+    record Parsed(double value, double uncertainty, String suffix) {
+    }
+
+    static List<Parsed> parse(UncertainDoubleParser parser, CharSequence source) {
+        final List<Parsed> result = new ArrayList<>();
+        parser.parse(source, (v, u, s, start, end) -> result.add(new Parsed(v, u, s.subSequence(start, end).toString())));
+        return result;
+    }
+
+    @Test
+    public void records() {
+        final UncertainDoubleParser parser = new UncertainDoubleParser(PLUS_MINUS);
+        assertThat(parse(parser, "5.0 ± 0.2 m·s⁻², 1.567(45);-1.567(4) ·10⁵ km\n\n(1.23 ± 0.04)·10⁻³ eV\t12 kg\r\n1.5e3 +/- 20\n  306 ± NaN  s  ,5.0(1.9) m")).containsExactly(
+            new Parsed(5.0, 0.2, "m·s⁻²"),
+            new Parsed(1.567, 0.045, ""),
+            new Parsed(-1.567 * Math.pow(10, 5), 0.004 * Math.pow(10, 5), "km"),
+            new Parsed(1.23 * Math.pow(10, -3), 0.04 * Math.pow(10, -3), "eV"),
+            new Parsed(12, 0, "kg"),
+            new Parsed(1500, 20, ""),
+            new Parsed(306, Double.NaN, "s"),
+            new Parsed(5.0, 1.9, "m")
+        );
+    }
+
+    @Test
+    public void roundValue() {
+        assertThat(parse(new UncertainDoubleParser(ROUND_VALUE), "1.23, -12 m, 1.23·10⁵ J")).containsExactly(
+            new Parsed(1.23, 0.05, ""),
+            new Parsed(-12, 5, "m"),
+            new Parsed(1.23e5, 0.05e5, "J")
+        );
+    }
+
+    @Test
+    public void notParsable() {
+        final UncertainDoubleParser parser = new UncertainDoubleParser(PLUS_MINUS);
+        assertThatThrownBy(() -> parser.parse("1, 2, m", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("No number found at 6");
+        assertThatThrownBy(() -> parser.parse("(1 ± 2 m", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("No closing bracket at 7");
+        assertThatThrownBy(() -> parser.parse("1.2(3", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("No closing bracket at 5");
+    }
+
+    @Test
+    public void exponentTooLarge() {
+        final UncertainDoubleParser parser = new UncertainDoubleParser(PLUS_MINUS);
+        assertThatThrownBy(() -> parser.parse("1, 1e99999999999", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("Exponent too large at 3");
+        assertThatThrownBy(() -> parser.parse("1.5·10⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹ m", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("Exponent too large at 0");
+        assertThatThrownBy(() -> parser.parse("(1.5 ± 0.1)·10⁻⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹", (v, u, s, start, end) -> {}))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("Exponent too large at 0");
+        // still fits
+        assertThat(parse(parser, "1e2147483647")).containsExactly(new Parsed(Double.POSITIVE_INFINITY, 0, ""));
+    }
+
+    /**
+     * Whatever {@link UncertainDoubleFormat} produces, should be parsed to exactly the same as {@link UncertainDoubleFormat#parseObject(String, ParsePosition)} does.
+     */
+    @ParameterizedTest
+    @EnumSource(Notation.class)
+    public void likeParseObject(Notation notation) {
+        final UncertainDoubleFormat format = new UncertainDoubleFormat();
+        format.setUncertaintyNotation(notation);
+        final UncertainDoubleParser parser = new UncertainDoubleParser(notation);
+        final Random random = new Random(notation.ordinal());
+        final StringBuilder source = new StringBuilder();
+        final List<DoubleElement> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+            final double uncertainty = random.nextInt(4) == 0 ? 0 : Math.abs(value) * Math.pow(10, -random.nextInt(10) - 1);
+            final String formatted = format.format(DoubleElement.of(value, uncertainty));
+            final ParsePosition position = new ParsePosition(0);
+            final DoubleElement parsed = format.parseObject(formatted, position);
+            if (position.getIndex() == formatted.length() && position.getErrorIndex() < 0) {
+                expected.add(parsed);
+                source.append(formatted).append('\n');
+            }
+        }
+        assertThat(expected.size()).isGreaterThan(9000);
+
+        final UncertainDoubleArray array = parser.toArray(source);
+        assertThat(array.length()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final int index = i;
+            assertThat(array.value(i))
+                .withFailMessage(() -> "%s: value %s != %s".formatted(expected.get(index), array.value(index), expected.get(index).doubleValue()))
+                .isEqualTo(expected.get(i).doubleValue());
+            assertThat(array.uncertainty(i))
+                .withFailMessage(() -> "%s: uncertainty %s != %s".formatted(expected.get(index), array.uncertainty(index), expected.get(index).doubleUncertainty()))
+                .isEqualTo(expected.get(i).doubleUncertainty());
+        }
+    }
+
+    /**
+     * Records may span the blocks in which a {@link java.io.Reader} is read.
+     */
+    @Test
+    public void reader() throws IOException {
+        final StringBuilder source = new StringBuilder();
+        final Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            source.append(random.nextInt(1000) - 500).append('.').append(random.nextInt(1000))
+                .append(" ± 0.").append(random.nextInt(100) + 1)
+                .append(" m").append(random.nextBoolean() ? ",\n" : ";");
+        }
+        // and a record longer than the buffer
+        source.append("1").append("0".repeat(10_000)).append(" m");
+        final UncertainDoubleParser parser = new UncertainDoubleParser(PLUS_MINUS);
+        final List<Parsed> expected = parse(parser, source);
+        final List<Parsed> read = new ArrayList<>();
+        final long count = parser.parse(new StringReader(source.toString()), (v, u, s, start, end) -> read.add(new Parsed(v, u, s.subSequence(start, end).toString())));
+        assertThat(count).isEqualTo(20_001);
+        assertThat(read).isEqualTo(expected);
+        assertThat(parser.toArray(new StringReader(source.toString())).length()).isEqualTo(20_001);
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.meeuw.test.math.uncertainnumbers;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.meeuw.math.abstractalgebra.reals.DoubleElement;
+import org.meeuw.math.abstractalgebra.reals.RealNumber;
+import org.meeuw.math.exceptions.*;
+import org.meeuw.math.uncertainnumbers.UncertainDoubleArray;
+import org.meeuw.math.uncertainnumbers.UncertainNumber;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class UncertainDoubleArrayTest {
+
+    /**
+     * Sizes below and above the threshold for parallel processing
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 100, 200_000})
+    public void elementWiseLikeDoubleElement(int size) {
+        final UncertainDoubleArray a = random(size, 1);
+        final UncertainDoubleArray b = random(size, 2);
+
+        assertElementWise(a.plus(b), a, b, DoubleElement::plus);
+        assertElementWise(a.minus(b), a, b, DoubleElement::minus);
+        assertElementWise(a.times(b), a, b, DoubleElement::times);
+        assertElementWise(a.dividedBy(b), a, b, DoubleElement::dividedBy);
+        assertElementWise(a.abs().sqrt(), a, e -> e.abs().sqrt());
+        assertElementWise(a.pow(3), a, e -> e.pow(3));
+        assertElementWise(a.reciprocal(), a, DoubleElement::reciprocal);
+        assertElementWise(a.times(-2.5), a, e -> e.times(-2.5));
+        assertElementWise(a.plus(2.5), a, e -> e.plus(2.5));
+    }
+
+    @Test
+    public void inPlace() {
+        final UncertainDoubleArray a = random(1000, 1);
+        final UncertainDoubleArray b = random(1000, 2);
+        final UncertainDoubleArray expected = a.times(b);
+        a.times(b, a);
+        assertThat(a).isEqualTo(expected);
+        assertThatThrownBy(() -> a.plus(random(10, 3))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void specialValues() {
+        final UncertainDoubleArray exact = new UncertainDoubleArray(new double[] {0, 1, 3, 0.1}, new double[] {0, 0, 0, 0});
+        final UncertainDoubleArray other = new UncertainDoubleArray(new double[] {5, 7, 3, 3}, new double[] {0.1, 0.1, 0, 0});
+        final UncertainDoubleArray product = exact.times(other);
+        // exactly zero, an exact product, and an inexact one
+        assertElementWise(product, exact, other, DoubleElement::times);
+        assertThat(product.uncertainty(0)).isEqualTo(0);
+        assertThat(product.uncertainty(2)).isEqualTo(0);
+        assertThat(product.uncertainty(3)).isGreaterThan(0);
+        assertThat(other.times(exact).uncertainty(1)).isEqualTo(0.1);
+
+        assertThatThrownBy(() -> other.dividedBy(exact)).isInstanceOf(DivisionByZeroException.class);
+        assertThatThrownBy(() -> UncertainDoubleArray.of(-1).sqrt()).isInstanceOf(IllegalSqrtException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    public void sum(int size) {
+        final UncertainDoubleArray a = random(size, 1);
+        DoubleElement expected = DoubleElement.ZERO;
+        for (int i = 0; i < size; i++) {
+            expected = expected.plus(DoubleElement.of(a.value(i), a.uncertainty(i)));
+        }
+        final UncertainNumber<Double> sum = a.sum();
+        assertThat(sum.getValue()).isEqualTo(expected.doubleValue());
+        assertThat(sum.getUncertainty()).isEqualTo(expected.doubleUncertainty());
+    }
+
+    @Test
+    public void bigSum() {
+        final UncertainDoubleArray a = random(300_000, 1);
+        final UncertainNumber<Double> sum = a.sum();
+        assertThat(sum.getValue()).isCloseTo(Arrays.stream(a.values()).sum(), within(1e-6));
+        assertThat(sum.getUncertainty()).isGreaterThanOrEqualTo(Arrays.stream(a.uncertainties()).sum());
+    }
+
+    @Test
+    public void weightedAverage() {
+        final UncertainDoubleArray a = random(50, 1);
+        RealNumber expected = DoubleElement.of(a.value(0), a.uncertainty(0));
+        for (int i = 1; i < a.length(); i++) {
+            expected = expected.weightedAverage(DoubleElement.of(a.value(i), a.uncertainty(i)));
+        }
+        final UncertainNumber<Double> average = a.weightedAverage();
+        assertThat(average.getValue()).isCloseTo(expected.doubleValue(), within(1e-9));
+        assertThat(average.getUncertainty()).isCloseTo(expected.doubleUncertainty(), within(1e-9));
+
+        final UncertainDoubleArray withExact = new UncertainDoubleArray(new double[] {1, 2, 2}, new double[] {0.1, 0, 0});
+        assertThat(withExact.weightedAverage().getValue()).isEqualTo(2);
+        assertThat(withExact.weightedAverage().getUncertainty()).isEqualTo(0);
+        withExact.set(1, 3, 0);
+        assertThatThrownBy(withExact::weightedAverage).isInstanceOf(WeighingExactValuesException.class);
+
+        final UncertainDoubleArray unknown = new UncertainDoubleArray(new double[] {1, 3}, new double[] {Double.NaN, 0.5});
+        assertThat(unknown.weightedAverage().getValue()).isEqualTo(2);
+    }
+
+    @Test
+    public void chunks() {
+        final UncertainDoubleArray a = random(500_000, 1);
+        final UncertainDoubleArray copy = a.copy();
+        a.forEachChunk((values, uncertainties, from, to) -> {
+            for (int i = from; i < to; i++) {
+                values[i] *= 2;
+            }
+        });
+        for (int i = 0; i < a.length(); i++) {
+            assertThat(a.value(i)).isEqualTo(copy.value(i) * 2);
+        }
+    }
+
+    private static UncertainDoubleArray random(int size, long seed) {
+        final Random random = new Random(seed);
+        final UncertainDoubleArray result = new UncertainDoubleArray(size);
+        for (int i = 0; i < size; i++) {
+            result.set(i, random.nextGaussian() * 100, random.nextDouble());
+        }
+        return result;
+    }
+
+    private static void assertElementWise(UncertainDoubleArray result, UncertainDoubleArray a, Function<DoubleElement, ? extends RealNumber> operator) {
+        assertElementWise(result, a, a, (e1, e2) -> operator.apply(e1));
+    }
+
+    private static void assertElementWise(UncertainDoubleArray result, UncertainDoubleArray a, UncertainDoubleArray b, BiFunction<DoubleElement, DoubleElement, ? extends RealNumber> operator) {
+        assertThat(result.length()).isEqualTo(a.length());
+        for (int i = 0; i < result.length(); i++) {
+            final RealNumber expected = operator.apply(DoubleElement.of(a.value(i), a.uncertainty(i)), DoubleElement.of(b.value(i), b.uncertainty(i)));
+            assertThat(result.value(i)).isEqualTo(expected.doubleValue());
+            assertThat(result.uncertainty(i)).isEqualTo(expected.doubleUncertainty());
+        }
+    }
+}
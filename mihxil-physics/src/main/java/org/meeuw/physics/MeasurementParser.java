@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.physics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.math.text.UncertainDoubleParser;
+
+/**
+ * Parses many measurements like {@code 5.0 ± 0.2 m·s⁻²} in one go, combining an {@link UncertainDoubleParser} with a {@link UnitsParser}. So the units of every distinct unit expression are parsed only once.
+ * <p>
+ * Instances are not thread safe, but can be reused.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class MeasurementParser {
+
+    /**
+     * Receives the parsed measurements
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void accept(double value, double uncertainty, Units units);
+    }
+
+    private final UncertainDoubleParser parser;
+    private final UnitsParser unitsParser;
+
+    public MeasurementParser(UncertainDoubleParser parser, UnitsParser unitsParser) {
+        this.parser = parser;
+        this.unitsParser = unitsParser;
+    }
+
+    public MeasurementParser() {
+        this(new UncertainDoubleParser(), new UnitsParser());
+    }
+
+    /**
+     * @return the number of parsed measurements
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public int parse(CharSequence source, Handler handler) {
+        return parser.parse(source, (value, uncertainty, s, start, end) ->
+            handler.accept(value, uncertainty, unitsParser.parse(s, start, end))
+        );
+    }
+
+    /**
+     * @return the number of parsed measurements
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public long parse(Reader reader, Handler handler) throws IOException {
+        return parser.parse(reader, (value, uncertainty, s, start, end) ->
+            handler.accept(value, uncertainty, unitsParser.parse(s, start, end))
+        );
+    }
+
+    /**
+     * @return all measurements in the given source, as {@link Measurement}s
+     * @throws NotParsable if one of the records could not be parsed
+     */
+    public List<Measurement> toList(CharSequence source) {
+        final List<Measurement> result = new ArrayList<>();
+        parse(source, (value, uncertainty, units) -> result.add(new Measurement(value, uncertainty, units)));
+        return result;
+    }
+}
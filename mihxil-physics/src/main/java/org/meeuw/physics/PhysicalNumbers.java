@@ -15,6 +15,7 @@
  */
 package org.meeuw.physics;
 
+import java.util.List;
 import java.util.NavigableSet;
 
 import org.meeuw.math.Singleton;
@@ -22,6 +23,7 @@ import org.meeuw.math.abstractalgebra.*;
 import org.meeuw.math.exceptions.NotParsable;
 import org.meeuw.math.operators.AlgebraicComparisonOperator;
 import org.meeuw.math.operators.BasicComparisonOperator;
+import org.meeuw.math.text.UncertainDoubleParser;
 
 import static org.meeuw.math.CollectionUtils.navigableSet;
 
@@ -42,6 +44,8 @@ public class PhysicalNumbers extends AbstractAlgebraicStructure<PhysicalNumber>
 
     public static final PhysicalNumbers INSTANCE = new PhysicalNumbers();
 
+    private static final ThreadLocal<UnitsParser> UNITS_PARSER = ThreadLocal.withInitial(UnitsParser::new);
+
     private PhysicalNumbers() {
         super(PhysicalNumber.class);
     }
@@ -66,9 +70,16 @@ public class PhysicalNumbers extends AbstractAlgebraicStructure<PhysicalNumber>
         return true;
     }
 
+    /**
+     * Parses one measurement, like {@code 5.0 ± 0.2 m·s⁻²}. To parse many, use a {@link MeasurementParser}.
+     */
     @Override
     public PhysicalNumber fromString(String s) {
-        throw new NotParsable.NotImplemented("Not implemented parsing to a PhysicalNumber", s);
+        final List<Measurement> measurements = new MeasurementParser(new UncertainDoubleParser(), UNITS_PARSER.get()).toList(s);
+        if (measurements.size() != 1) {
+            throw new NotParsable("Not a single physical number", s);
+        }
+        return measurements.get(0);
     }
 
 }
@@ -0,0 +1,326 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.physics;
+
+import java.util.*;
+
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.math.text.TextUtils;
+
+import static java.lang.Character.isDigit;
+import static java.lang.Character.isWhitespace;
+
+/**
+ * Parses unit expressions like {@code m·s⁻²}, {@code km/h}, {@code kg m^2 s-2} or {@code J/(mol·K)} to {@link Units}.
+ * <p>
+ * The symbols are those of the {@link SystemOfMeasurements#getUnits() units} of the given systems, optionally with a {@link SI.DecimalPrefix} or {@link SI.BinaryPrefix}. Every distinct expression is parsed only once, after that the result is taken from a cache, which can be consulted without creating objects. Instances are not thread safe.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class UnitsParser {
+
+    private static final int MAX_CACHE_SIZE = 1 << 12;
+
+    private static final List<Prefix> PREFIXES = new ArrayList<>();
+    static {
+        for (SI.DecimalPrefix p : SI.DecimalPrefix.values()) {
+            if (p != SI.DecimalPrefix.none) {
+                PREFIXES.add(p);
+            }
+        }
+        for (SI.BinaryPrefix p : SI.BinaryPrefix.values()) {
+            if (p != SI.BinaryPrefix.none) {
+                PREFIXES.add(p);
+            }
+        }
+        // longest first, so that e.g. 'da' is preferred over 'd'
+        PREFIXES.sort(Comparator.comparing((Prefix p) -> p.toString().length()).reversed());
+    }
+
+    private final Map<String, Unit> symbols = new HashMap<>();
+
+    /**
+     * Open addressing hash table of the already parsed expressions
+     */
+    private String[] keys = new String[64];
+    private Units[] values = new Units[keys.length];
+    private int size = 0;
+
+    private CharSequence text;
+    private int start;
+    private int position;
+    private int end;
+
+    /**
+     * @param systems the systems of measurements to take the unit symbols from. If a symbol occurs in more than one, the first one wins.
+     */
+    public UnitsParser(SystemOfMeasurements... systems) {
+        for (SystemOfMeasurements system : systems) {
+            for (Units units : system.getUnits()) {
+                if (units instanceof Unit unit) {
+                    symbols.putIfAbsent(unit.getSymbol(), unit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Uses the units of {@link SI}
+     */
+    public UnitsParser() {
+        this(SI.INSTANCE);
+    }
+
+    public Units parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * @return the units represented by the text between {@code start} and {@code end}, {@link Units#DIMENSIONLESS} if that is empty.
+     * @throws NotParsable if the expression cannot be parsed, or contains an unknown symbol
+     */
+    public Units parse(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int slot = spread(hash) & (keys.length - 1);
+        while (keys[slot] != null) {
+            if (contentEquals(keys[slot], text, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        final Units result = parseExpression(text, start, end);
+        if (size >= MAX_CACHE_SIZE) {
+            // probably not a column of units, just start over
+            clear();
+        } else if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        put(text.subSequence(start, end).toString(), result);
+        return result;
+    }
+
+    /**
+     * Forgets all cached expressions
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void grow() {
+        final String[] oldKeys = keys;
+        final Units[] oldValues = values;
+        keys = new String[oldKeys.length * 2];
+        values = new Units[keys.length];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void put(String key, Units units) {
+        int slot = spread(key.hashCode()) & (keys.length - 1);
+        while (keys[slot] != null) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        values[slot] = units;
+        size++;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String key, CharSequence text, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Units parseExpression(CharSequence text, int start, int end) {
+        this.text = text;
+        this.start = start;
+        this.position = start;
+        this.end = end;
+        try {
+            final Units result = product();
+            if (position < end) {
+                throw notParsable("Unexpected '" + text.charAt(position) + "'");
+            }
+            return result;
+        } finally {
+            this.text = null;
+        }
+    }
+
+    /**
+     * {@code factor ((·|*|.|' '|/) factor)*}, where a '/' only applies to the next factor. A leading {@code 1} is ignored, so {@code 1/s} is supported.
+     */
+    private Units product() {
+        Units result = null;
+        boolean divide = false;
+        skipWhitespace();
+        if (position < end && text.charAt(position) == '1' && (position + 1 == end || !isDigit(text.charAt(position + 1)))) {
+            position++;
+        }
+        while (true) {
+            skipWhitespace();
+            if (position >= end || text.charAt(position) == ')') {
+                break;
+            }
+            final char c = text.charAt(position);
+            if (c == '/') {
+                if (divide) {
+                    throw notParsable("Unexpected '/'");
+                }
+                divide = true;
+                position++;
+                continue;
+            }
+            if (c == TextUtils.TIMES || c == '*' || c == '.' || c == '⋅') {
+                position++;
+                continue;
+            }
+            Units factor = factor();
+            if (divide) {
+                factor = factor.reciprocal();
+                divide = false;
+            }
+            result = result == null ? factor : result.times(factor);
+        }
+        if (divide) {
+            throw notParsable("Nothing to divide by");
+        }
+        return result == null ? Units.DIMENSIONLESS : result;
+    }
+
+    /**
+     * {@code (symbol | '(' product ')') exponent?}
+     */
+    private Units factor() {
+        final Units base;
+        if (text.charAt(position) == '(') {
+            position++;
+            base = product();
+            if (position >= end) {
+                throw notParsable("No closing bracket");
+            }
+            position++;
+        } else {
+            final int symbolStart = position;
+            while (position < end && isSymbolChar(text.charAt(position))) {
+                position++;
+            }
+            if (position == symbolStart) {
+                throw notParsable("Unexpected '" + text.charAt(position) + "'");
+            }
+            base = unit(text.subSequence(symbolStart, position).toString());
+        }
+        final int exponent = exponent();
+        return exponent == 1 ? base : base.pow(exponent);
+    }
+
+    /**
+     * A superscript exponent, or one like {@code ^-2} or {@code -2}.
+     * @return the exponent, {@code 1} if there is none.
+     */
+    private int exponent() {
+        if (position < end && text.charAt(position) == '^') {
+            position++;
+        }
+        boolean negative = false;
+        if (position < end) {
+            final char sign = TextUtils.unsuperscript(text.charAt(position));
+            if (sign == '-' || sign == '+') {
+                negative = sign == '-';
+                position++;
+            }
+        }
+        final int digitsStart = position;
+        int result = 0;
+        while (position < end && isDigit(TextUtils.unsuperscript(text.charAt(position)))) {
+            final int digit = TextUtils.unsuperscript(text.charAt(position)) - '0';
+            if (result > (Integer.MAX_VALUE - digit) / 10) {
+                throw notParsable("Exponent too large");
+            }
+            result = result * 10 + digit;
+            position++;
+        }
+        if (position == digitsStart) {
+            if (negative) {
+                throw notParsable("No exponent");
+            }
+            return 1;
+        }
+        return negative ? -result : result;
+    }
+
+    private Unit unit(String symbol) {
+        final Unit unit = symbols.get(symbol);
+        if (unit != null) {
+            return unit;
+        }
+        for (Prefix prefix : PREFIXES) {
+            final String p = prefix.toString();
+            if (symbol.length() > p.length() && symbol.startsWith(p)) {
+                final Unit prefixed = symbols.get(symbol.substring(p.length()));
+                if (prefixed != null) {
+                    return prefixed.withPrefix(prefix);
+                }
+            }
+        }
+        if (symbol.length() > 1 && (symbol.charAt(0) == 'u' || symbol.charAt(0) == 'µ')) {
+            // commonly used instead of μ
+            final Unit prefixed = symbols.get(symbol.substring(1));
+            if (prefixed != null) {
+                return prefixed.withPrefix(SI.DecimalPrefix.μ);
+            }
+        }
+        throw new NotParsable("Unknown unit '" + symbol + "'", symbol);
+    }
+
+    private boolean isSymbolChar(char c) {
+        return !isWhitespace(c) &&
+            c != TextUtils.TIMES && c != '*' && c != '.' && c != '⋅' &&
+            c != '/' && c != '(' && c != ')' && c != '^' &&
+            c != '-' && c != '+' &&
+            !isDigit(c) && TextUtils.unsuperscript(c) == c;
+    }
+
+    private void skipWhitespace() {
+        while (position < end && isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private NotParsable notParsable(String message) {
+        return new NotParsable(message + " at " + (position - start), text.subSequence(start, end).toString());
+    }
+}
@@ -18,6 +18,7 @@ package org.meeuw.physics.text;
 import java.text.*;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.meeuw.math.exceptions.NotParsable;
 import org.meeuw.math.text.TextUtils;
 import org.meeuw.physics.*;
 
@@ -29,6 +30,8 @@ public class UnitsFormat extends Format {
 
     public static final UnitsFormat INSTANCE = new UnitsFormat();
 
+    private static final ThreadLocal<UnitsParser> PARSER = ThreadLocal.withInitial(UnitsParser::new);
+
     private UnitsFormat() {
 
     }
@@ -53,18 +56,14 @@ public class UnitsFormat extends Format {
 
     @Override
     public Object parseObject(String source, ParsePosition pos) {
-        // TODO, this just implements some cases we happen to need.
-        // A real solution will be based on javacc or so.
-        if ("/s".equals(source.substring(pos.getIndex()).trim())) {
-            pos.setIndex(pos.getIndex() + 2);
-            return Units.of(SIUnit.s).reciprocal();
-        }
-        if (source.substring(pos.getIndex()).trim().isEmpty()) {
-            pos.setIndex(pos.getIndex());
-            return Units.DIMENSIONLESS;
+        try {
+            Units units = PARSER.get().parse(source, pos.getIndex(), source.length());
+            pos.setIndex(source.length());
+            return units;
+        } catch (NotParsable notParsable) {
+            pos.setErrorIndex(pos.getIndex());
+            return null;
         }
-        return null;
-        //throw new UnsupportedOperationException();
     }
 
 }
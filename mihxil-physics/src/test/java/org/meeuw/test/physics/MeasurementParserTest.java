@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.physics;
+
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.math.text.UncertainDoubleParser;
+import org.meeuw.physics.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.meeuw.math.text.configuration.UncertaintyConfiguration.Notation.PLUS_MINUS;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+@Log
+class MeasurementParserTest {
+
+    final MeasurementParser parser = new MeasurementParser(new UncertainDoubleParser(PLUS_MINUS), new UnitsParser());
+
+    @Test
+    public void toList() {
+        final List<Measurement> measurements = parser.toList("5.0 ± 0.2 m·s⁻²\n(1.23 ± 0.04)·10³ J, 3.2(1) km/h;12");
+        assertThat(measurements).hasSize(4);
+        assertThat(measurements.get(0).toString()).isEqualTo("5.0 ± 0.2 m·s⁻²");
+        assertThat(measurements.get(1).getUnits()).isEqualTo(SI.J);
+        assertThat(measurements.get(1).doubleValue()).isEqualTo(1230);
+        assertThat(measurements.get(2).doubleUncertainty()).isEqualTo(0.1);
+        assertThat(measurements.get(2).getUnits().getSIFactor().doubleValue()).isEqualTo(1000d / 3600);
+        assertThat(measurements.get(3).getUnits()).isEqualTo(Units.DIMENSIONLESS);
+    }
+
+    @Test
+    public void unitsParsedOnce() throws IOException {
+        final StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            source.append(i).append(" ± 0.5 ").append(i % 2 == 0 ? "m·s⁻²" : "N").append('\n');
+        }
+        final Set<Units> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        final double[] sum = new double[1];
+        final long count = parser.parse(new StringReader(source.toString()), (value, uncertainty, units) -> {
+            distinct.add(units);
+            sum[0] += value;
+        });
+        assertThat(count).isEqualTo(10_000);
+        assertThat(sum[0]).isEqualTo(9999 * 10_000 / 2d);
+        assertThat(distinct).hasSize(2);
+    }
+
+    @Test
+    public void fromString() {
+        final PhysicalNumber parsed = PhysicalNumbers.INSTANCE.fromString("5.0 ± 0.2 m·s⁻²");
+        assertThat(parsed.toString()).isEqualTo("5.0 ± 0.2 m·s⁻²");
+        assertThatThrownBy(() -> PhysicalNumbers.INSTANCE.fromString("5.0 m, 3 s")).isInstanceOf(NotParsable.class);
+        assertThatThrownBy(() -> PhysicalNumbers.INSTANCE.fromString("5.0 foo")).isInstanceOf(NotParsable.class);
+    }
+}
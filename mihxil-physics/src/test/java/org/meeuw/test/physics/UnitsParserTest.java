@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.test.physics;
+
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.exceptions.NotParsable;
+import org.meeuw.physics.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.meeuw.physics.SIUnit.*;
+
+/**
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+class UnitsParserTest {
+
+    final UnitsParser parser = new UnitsParser();
+
+    @Test
+    public void expressions() {
+        assertThat(parser.parse("m·s⁻²").toString()).isEqualTo("m·s⁻²");
+        assertThat(parser.parse("m·s⁻²")).isEqualTo(Units.of(m).times(s.pow(-2)));
+        assertThat(parser.parse("kg m^2 s-2")).isEqualTo(SI.J);
+        assertThat(parser.parse("kg·m²/s²")).isEqualTo(SI.J);
+        assertThat(parser.parse("J/(mol·K)")).isEqualTo(SI.J.dividedBy(mol.times(K)));
+        assertThat(parser.parse("1/s")).isEqualTo(Units.of(s).reciprocal());
+        assertThat(parser.parse(" N ")).isEqualTo(SI.N);
+        assertThat(parser.parse("")).isEqualTo(Units.DIMENSIONLESS);
+    }
+
+    @Test
+    public void prefixes() {
+        assertThat(parser.parse("km/h").getSIFactor().doubleValue()).isEqualTo(1000d / 3600);
+        assertThat(parser.parse("dam").getSIFactor().doubleValue()).isEqualTo(10d);
+        assertThat(parser.parse("mg").getSIFactor().doubleValue()).isEqualTo(1e-6);
+        assertThat(parser.parse("μs").getSIFactor().doubleValue()).isEqualTo(1e-6);
+        assertThat(parser.parse("us")).isEqualTo(parser.parse("μs"));
+        assertThat(parser.parse("Kibit")).isEqualTo(SI.bit.withPrefix(SI.BinaryPrefix.Ki));
+        // a symbol wins over a prefixed one
+        assertThat(parser.parse("min")).isEqualTo(SI.min);
+        assertThat(parser.parse("Pa")).isEqualTo(SI.Pa);
+    }
+
+    @Test
+    public void notParsable() {
+        assertThatThrownBy(() -> parser.parse("foo/s"))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("Unknown unit 'foo'");
+        assertThatThrownBy(() -> parser.parse("m/"))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("Nothing to divide by at 2");
+        assertThatThrownBy(() -> parser.parse("(m·s"))
+            .isInstanceOf(NotParsable.class)
+            .hasMessage("No closing bracket at 4");
+        assertThatThrownBy(() -> parser.parse("m^99999999999"))
+            .isInstanceOf(NotParsable.class)
+            .hasMessageStartingWith("Exponent too large");
+        assertThatThrownBy(() -> parser.parse("s⁻⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹⁹"))
+            .isInstanceOf(NotParsable.class)
+            .hasMessageStartingWith("Exponent too large");
+    }
+
+    @Test
+    public void cache() {
+        final Units units = parser.parse("m·s⁻²");
+        assertThat(parser.parse("5.0 ± 0.2 m·s⁻²", 10, 15)).isSameAs(units);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(parser.parse("m^" + i).getDimensions()).isEqualTo(m.getDimensions().pow(i));
+        }
+        assertThat(parser.parse("m·s⁻²")).isEqualTo(units);
+    }
+}
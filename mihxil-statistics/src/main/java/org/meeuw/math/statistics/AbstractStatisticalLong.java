@@ -153,6 +153,9 @@ public abstract class AbstractStatisticalLong<SELF extends AbstractStatisticalLo
             this.squareSum = m.squareSum;
             this.guessedMean = m.guessedMean;
             this.count = m.count;
+            this.max = m.max;
+            this.min = m.min;
+            this.autoGuess = m.autoGuess;
             return (SELF) this;
         }
         long diff = guessedMean - m.guessedMean;
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.statistics;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A histogram of non-negative long values (e.g. latencies), from which quantiles can be estimated.
+ * <p>
+ * The values are counted in 'log-linear' bins, like in <a href="https://hdrhistogram.github.io/HdrHistogram/">HdrHistogram</a>. Values smaller than {@code 2}<sup>{@code significantBits}</sup> have a bin of their own, and larger values share a bin with other values with the same {@code significantBits} most significant bits. So the relative error of a quantile is smaller than {@code 2}<sup>{@code 1 - significantBits}</sup>.
+ * <p>
+ * The number of bins is fixed, and {@link #accept(long)} does not allocate anything. Histograms with the same number of significant bits can be {@link #combine(LongHistogram) combined}.
+ * <p>
+ * This is not thread safe.
+ *
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class LongHistogram implements LongConsumer {
+
+    /**
+     * The default number of significant bits. This gives a relative precision of about 1.6%.
+     */
+    public static final int DEFAULT_SIGNIFICANT_BITS = 7;
+
+    @Getter
+    private final int significantBits;
+    private final int subBinCount;
+    private final long[] counts;
+
+    @Getter
+    private long count = 0;
+    @Getter
+    private long min = Long.MAX_VALUE;
+    @Getter
+    private long max = Long.MIN_VALUE;
+
+    public LongHistogram() {
+        this(DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * @param significantBits the number of most significant bits which are distinguished. Between 1 and 16.
+     */
+    public LongHistogram(int significantBits) {
+        if (significantBits < 1 || significantBits > 16) {
+            throw new IllegalArgumentException("Significant bits must be between 1 and 16 (is " + significantBits + ")");
+        }
+        this.significantBits = significantBits;
+        this.subBinCount = 1 << significantBits;
+        // the values with more than significantBits bits, are in (63 - significantBits) halves of subBinCount
+        this.counts = new long[subBinCount + (63 - significantBits) * (subBinCount >> 1)];
+    }
+
+    /**
+     * @param value a non-negative value to add to the histogram
+     * @throws IllegalArgumentException if the value is negative
+     */
+    @Override
+    public void accept(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values can be entered (" + value + ")");
+        }
+        counts[index(value)]++;
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public LongHistogram enter(long... values) {
+        for (long v : values) {
+            accept(v);
+        }
+        return this;
+    }
+
+    /**
+     * Adds all counts of an other histogram to this one.
+     * @param other a histogram with the same number of {@link #getSignificantBits() significant bits}
+     */
+    public void combine(LongHistogram other) {
+        if (other.significantBits != significantBits) {
+            throw new IllegalArgumentException("Cannot combine histograms with different number of significant bits (" + significantBits + " != " + other.significantBits + ")");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimates the value below which the given fraction of the entered values are.
+     *
+     * @param quantile a number between 0 and 1, e.g. {@code 0.99} for the 99th percentile
+     * @return the smallest value (within the precision of this histogram) such that at least the given fraction of the values is smaller or equal. For {@code 0} and {@code 1}, this is {@link #getMin()} and {@link #getMax()}.
+     * @throws NoValues if no values were entered yet
+     */
+    public long getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1 (is " + quantile + ")");
+        }
+        if (count == 0) {
+            throw new NoValues("No values entered, cannot calculate quantile", toString());
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                final long lower = lowerBound(i);
+                final long middle = lower + ((lowerBound(i + 1) - 1 - lower) >> 1);
+                return Math.max(min, Math.min(max, middle));
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return the number of entered values in the same bin as the given value
+     */
+    public long getCountAt(long value) {
+        return counts[index(value)];
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    public LongHistogram copy() {
+        LongHistogram copy = new LongHistogram(significantBits);
+        copy.combine(this);
+        return copy;
+    }
+
+    int index(long value) {
+        if (value < subBinCount) {
+            return (int) value;
+        }
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - significantBits;
+        return subBinCount + (shift - 1) * (subBinCount >> 1) + (int) (value >>> shift) - (subBinCount >> 1);
+    }
+
+    /**
+     * The smallest value in the bin with given index. For {@code counts.length} this is {@link Long#MAX_VALUE}, and can be used as the exclusive upper bound of the last bin.
+     */
+    long lowerBound(int index) {
+        if (index < subBinCount) {
+            return index;
+        }
+        if (index == counts.length) {
+            return Long.MAX_VALUE;
+        }
+        final int half = subBinCount >> 1;
+        final int shift = (index - subBinCount) / half + 1;
+        final long top = half + (index - subBinCount) % half;
+        return top << shift;
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "[]";
+        }
+        return "[" + count + " values, min: " + min + ", median: " + getQuantile(0.5) + ", p99: " + getQuantile(0.99) + ", max: " + max + "]";
+    }
+}
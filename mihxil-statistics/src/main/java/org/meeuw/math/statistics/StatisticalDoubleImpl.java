@@ -110,7 +110,7 @@ public class StatisticalDoubleImpl
         sumOfSquares += m.sumOfSquares;
         count += m.count;
         max = Math.max(max, m.max);
-        min = Math.max(min, m.min);
+        min = Math.min(min, m.min);
         return this;
     }
 
@@ -64,7 +64,7 @@ public abstract class Windowed<T> {
 
     protected final T[] buckets;
 
-    private boolean bucketsInited = false;
+    private volatile boolean bucketsInited = false;
 
     protected final long bucketDuration; // ms
     protected final long totalDuration;  // ms
@@ -76,8 +76,11 @@ public abstract class Windowed<T> {
     protected final Clock clock;
 
     private boolean warmingUp = true;
-    protected long  currentBucketTime;
-    protected int   currentBucketIndex = 0;
+    /**
+     * The begin of the current bucket. This is the 'epoch' that is checked on every access of the {@link #currentBucket()}, and is only changed by {@link #shiftBuckets()}.
+     */
+    protected volatile long  currentBucketTime;
+    protected volatile int   currentBucketIndex = 0;
 
     protected final BiConsumer<Event, Windowed<T>> eventListeners;
 
@@ -260,9 +263,23 @@ public abstract class Windowed<T> {
         }
     }
 
+    /**
+     * The bucket to which new values must be added.
+     * <p>
+     * Only if the current bucket is expired this needs to {@link #shiftBuckets()}, which is synchronized. Otherwise, this is lock free, so concurrent threads don't need to wait for each other.
+     */
     protected T currentBucket() {
-        shiftBuckets();
-        return buckets[currentBucketIndex];
+        return buckets[currentIndex()];
+    }
+
+    /**
+     * Like {@link #currentBucket()}, but returns the index of the current bucket in {@link #buckets}.
+     */
+    protected int currentIndex() {
+        if (!bucketsInited || clock.millis() - currentBucketTime > bucketDuration) {
+            shiftBuckets();
+        }
+        return currentBucketIndex;
     }
 
     protected synchronized void shiftBuckets() {
@@ -271,11 +288,12 @@ public abstract class Windowed<T> {
         long afterBucketBegin = currentTime - currentBucketTime;
         int i = 0;
         while (afterBucketBegin > bucketDuration && (i++) < buckets.length) {
-            currentBucketIndex = (currentBucketIndex + 1) % buckets.length;
-
-            if (!resetValue(buckets[currentBucketIndex])) {
-                buckets[currentBucketIndex] = initialValue();
+            final int nextBucketIndex = (currentBucketIndex + 1) % buckets.length;
+            if (!resetValue(buckets[nextBucketIndex])) {
+                buckets[nextBucketIndex] = initialValue();
             }
+            // only now publish the new index, so that lock free readers of it see the new bucket
+            currentBucketIndex = nextBucketIndex;
             afterBucketBegin -= bucketDuration;
             currentBucketTime += bucketDuration;
             eventListeners.accept(Event.SHIFT, this);
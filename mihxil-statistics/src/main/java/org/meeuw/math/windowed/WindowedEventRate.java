@@ -21,6 +21,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -46,6 +47,8 @@ import static org.meeuw.math.ArrayUtils.firstNonNull;
  * Every 'bucket' of the window is just counter, and the associated {@link #getWindowValue()} is just the sum.
  * <p>
  * Logically this class also provides {@link #getRate(TimeUnit)}.
+ * <p>
+ * If many threads register events concurrently, consider {@link Builder#striped(boolean) striped} counting. The events are then counted in {@link LongAdder}s, which are added to the buckets whenever they are needed.
  *
  * @author Michiel Meeuwissen
  * @since 0.38
@@ -79,12 +82,15 @@ public class WindowedEventRate extends Windowed<AtomicLong>
 
     private final ScheduledFuture<?> scheduledReporter;
 
+    private final boolean striped;
+
     /**
      * @param window         The total time window for which events are going to be measured (or <code>null</code> if bucketDuration specified)
      * @param bucketDuration The duration of one bucket (or <code>null</code> if window specified).
      * @param bucketCount    The number of buckets the total window time is to be divided in.
      * @param reporter       A consumer that will be called every {@code bucketDuration}
      * @param executor       The executor to use for the reporter (or <code>null</code> if the default one should be used)
+     * @param striped        Whether to count events in {@link LongAdder}s, which scales better if many threads register events concurrently
      */
 
     @lombok.Builder
@@ -97,11 +103,13 @@ public class WindowedEventRate extends Windowed<AtomicLong>
         @NonNull BiConsumer<Event, Windowed<AtomicLong>>@Nullable[] eventListenersArray,
         @Nullable Clock clock,
         @Nullable Level reporterExceptionLevel,
-        @Nullable Level eventListenersExceptionLevel
+        @Nullable Level eventListenersExceptionLevel,
+        boolean striped
         ) {
         super(AtomicLong.class, window, bucketDuration, bucketCount, eventListenersArray,
             firstNonNull(eventListenersExceptionLevel, reporterExceptionLevel, Level.WARNING),
             clock);
+        this.striped = striped;
         if (reporter != null) {
             final Level level = firstNonNull(reporterExceptionLevel, eventListenersExceptionLevel, Level.WARNING);
             scheduledReporter = (executor == null ? getBackgroundExecutor() : executor).scheduleAtFixedRate(
@@ -170,19 +178,39 @@ public class WindowedEventRate extends Windowed<AtomicLong>
 
     @Override
     protected AtomicLong initialValue() {
-        return new AtomicLong(0L);
+        return striped ? new StripedCounter() : new AtomicLong(0L);
     }
 
     @Override
     protected boolean resetValue(AtomicLong value) {
         value.set(0);
+        if (value instanceof StripedCounter striped) {
+            striped.adder.reset();
+        }
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In striped mode, this first adds the counts of the {@link LongAdder}s to the buckets, so that listeners to the shift see them too. All methods that read the buckets call this first.
+     */
+    @Override
+    protected synchronized void shiftBuckets() {
+        if (striped) {
+            for (AtomicLong bucket : buckets) {
+                if (bucket != null) {
+                    ((StripedCounter) bucket).flush();
+                }
+            }
+        }
+        super.shiftBuckets();
+    }
+
     public WindowedEventRate(int unit, TimeUnit timeUnit, int bucketCount) {
         this(Duration.ofMillis(
             TimeUnit.MILLISECONDS.convert(unit, timeUnit) * bucketCount),
-            null, bucketCount, null, null, null,  null, null, null);
+            null, bucketCount, null, null, null,  null, null, null, false);
     }
     public WindowedEventRate(int unit, TimeUnit timeUnit) {
         this(unit, timeUnit, 100);
@@ -193,7 +221,12 @@ public class WindowedEventRate extends Windowed<AtomicLong>
     }
 
     public void newEvent() {
-        currentBucket().getAndIncrement();
+        final AtomicLong bucket = currentBucket();
+        if (striped) {
+            ((StripedCounter) bucket).adder.increment();
+        } else {
+            bucket.getAndIncrement();
+        }
     }
 
     /**
@@ -201,7 +234,12 @@ public class WindowedEventRate extends Windowed<AtomicLong>
      * @param count The number of events to register
      */
     public void newEvents(int count) {
-        currentBucket().getAndAdd(count);
+        final AtomicLong bucket = currentBucket();
+        if (striped) {
+            ((StripedCounter) bucket).adder.add(count);
+        } else {
+            bucket.getAndAdd(count);
+        }
     }
 
     /**
@@ -292,6 +330,20 @@ public class WindowedEventRate extends Windowed<AtomicLong>
         }
     }
 
+    /**
+     * A bucket for striped mode. New events are counted in the {@link LongAdder}, which is {@link #flush() flushed} to the value of the {@link AtomicLong} itself when needed.
+     */
+    static class StripedCounter extends AtomicLong {
+        final LongAdder adder = new LongAdder();
+
+        void flush() {
+            final long count = adder.sumThenReset();
+            if (count != 0) {
+                addAndGet(count);
+            }
+        }
+    }
+
     @PreDestroy
     public static void shutdown() {
         backgroundExecutor.shutdown();
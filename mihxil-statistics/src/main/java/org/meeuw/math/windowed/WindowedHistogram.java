@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.windowed;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.meeuw.math.statistics.LongHistogram;
+
+/**
+ * {@link LongHistogram}s can be combined, and therefore {@link Windowed}. This makes it possible to keep track of e.g. the 99th percentile of a latency during the last 5 minutes.
+ * <p>
+ * The buckets are reused, so after the first window, entering values does not allocate anything.
+ * <p>
+ * {@link LongHistogram} itself is not thread safe, so every access to a bucket is synchronized on that bucket. This makes it safe to enter values from several threads, like in the other {@link Windowed} implementations.
+ *
+ * @see WindowedStatisticalLong
+ * @author Michiel Meeuwissen
+ * @since 0.20
+ */
+public class WindowedHistogram extends Windowed<LongHistogram> implements LongConsumer {
+
+    private final int significantBits;
+
+    /**
+     * @param significantBits The number of significant bits of the histograms. Defaults to {@link LongHistogram#DEFAULT_SIGNIFICANT_BITS}
+     */
+    @lombok.Builder
+    protected WindowedHistogram(
+        @Nullable Duration window,
+        @Nullable Duration bucketDuration,
+        @Nullable Integer bucketCount,
+        @Nullable Integer significantBits,
+        @NonNull BiConsumer<Event, Windowed<LongHistogram>>@Nullable[] eventListenersArray,
+        @Nullable Level eventListenersExceptionLevel,
+        @Nullable Clock clock
+    ) {
+        super(LongHistogram.class, window, bucketDuration, bucketCount, eventListenersArray, eventListenersExceptionLevel, clock);
+        this.significantBits = significantBits == null ? LongHistogram.DEFAULT_SIGNIFICANT_BITS : significantBits;
+    }
+
+    @Override
+    protected LongHistogram initialValue() {
+        return new LongHistogram(significantBits);
+    }
+
+    @Override
+    protected boolean resetValue(LongHistogram value) {
+        synchronized (value) {
+            value.reset();
+        }
+        return true;
+    }
+
+    @Override
+    public void accept(long value) {
+        final LongHistogram bucket = currentBucket();
+        synchronized (bucket) {
+            bucket.accept(value);
+        }
+    }
+
+    public void accept(long... values) {
+        final LongHistogram bucket = currentBucket();
+        synchronized (bucket) {
+            bucket.enter(values);
+        }
+    }
+
+    public void accept(Duration duration) {
+        accept(duration.toMillis());
+    }
+
+    /**
+     * @return a new histogram, containing all values of the relevant buckets
+     */
+    @Override
+    public LongHistogram getWindowValue() {
+        LongHistogram result = initialValue();
+        for (LongHistogram bucket : getRelevantBuckets()) {
+            synchronized (bucket) {
+                result.combine(bucket);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param quantile a number between 0 and 1
+     * @return the quantile of all values in the current window
+     * @see LongHistogram#getQuantile(double)
+     */
+    public long getQuantile(double quantile) {
+        return getWindowValue().getQuantile(quantile);
+    }
+
+    public static class Builder {
+        @SafeVarargs
+        public final Builder eventListeners(BiConsumer<Event, Windowed<LongHistogram>>... eventListeners) {
+            return eventListenersArray(eventListeners);
+        }
+    }
+}
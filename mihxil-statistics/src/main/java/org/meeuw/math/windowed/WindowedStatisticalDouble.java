@@ -27,6 +27,8 @@ import org.meeuw.math.statistics.StatisticalDoubleImpl;
 
 /**
  * {@link StatisticalDouble}s can be aggregated, and therefore {@link Windowed}.
+ * <p>
+ * If many threads enter values, consider {@link Builder#concurrent(boolean) concurrent} mode.
  * @see WindowedDoubleSummaryStatistics
  * @author Michiel Meeuwissen
  * @since 0.3
@@ -42,9 +44,10 @@ public class WindowedStatisticalDouble extends
         Integer bucketCount,
         BiConsumer<Event, Windowed<StatisticalDoubleImpl>>[] eventListenersArray,
         Level eventListenersExceptionLevel,
-        Clock clock
+        Clock clock,
+        boolean concurrent
     ) {
-        super(StatisticalDoubleImpl.class, window, bucketDuration, bucketCount, eventListenersArray, eventListenersExceptionLevel, clock);
+        super(StatisticalDoubleImpl.class, window, bucketDuration, bucketCount, eventListenersArray, eventListenersExceptionLevel, clock, concurrent);
     }
 
     @Override
@@ -54,14 +57,15 @@ public class WindowedStatisticalDouble extends
 
     @Override
     public void accept(double value) {
-        currentBucket().accept(value);
+        enter(bucket -> bucket.accept(value));
     }
 
     public void accept(double... value) {
-        StatisticalDoubleImpl currentBucket = currentBucket();
-        for(double d : value) {
-            currentBucket.accept(d);
-        }
+        enter(bucket -> {
+            for (double d : value) {
+                bucket.accept(d);
+            }
+        });
     }
 
     public static class Builder {
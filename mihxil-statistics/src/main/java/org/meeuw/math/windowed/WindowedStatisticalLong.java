@@ -32,6 +32,8 @@ import org.meeuw.time.UncertainJavaTime;
 
 /**
  * {@link StatisticalLong}s can be aggregated, and therefore {@link Windowed}.
+ * <p>
+ * If many threads enter values, consider {@link Builder#concurrent(boolean) concurrent} mode.
  *
  * @see WindowedLongSummaryStatistics
  * @author Michiel Meeuwissen
@@ -91,9 +93,10 @@ public class WindowedStatisticalLong
         UncertainJavaTime.@Nullable Mode mode,
         @NonNull BiConsumer<Event, Windowed<StatisticalLong>>@Nullable[] eventListenersArray,
         @Nullable Level eventListenersExceptionLevel,
-        @Nullable Clock clock
+        @Nullable Clock clock,
+        boolean concurrent
     ) {
-        super(StatisticalLong.class, window, bucketDuration, bucketCount, eventListenersArray, eventListenersExceptionLevel, clock);
+        super(StatisticalLong.class, window, bucketDuration, bucketCount, eventListenersArray, eventListenersExceptionLevel, clock, concurrent);
         this.mode = mode == null ? UncertainJavaTime.Mode.LONG : mode;
     }
 
@@ -104,7 +107,7 @@ public class WindowedStatisticalLong
 
     @Override
     public void accept(long value) {
-        currentBucket().accept(value);
+        enter(bucket -> bucket.accept(value));
     }
 
     @Override
@@ -122,18 +125,15 @@ public class WindowedStatisticalLong
     }
 
     public void accept(long... value) {
-        StatisticalLong currentBucket = currentBucket();
-        currentBucket.enter(value);
+        enter(bucket -> bucket.enter(value));
     }
 
     public void accept(Instant... instant) {
-        StatisticalLong currentBucket = currentBucket();
-        currentBucket.enter(instant);
+        enter(bucket -> bucket.enter(instant));
     }
 
     public void accept(Duration... duration) {
-        StatisticalLong currentBucket = currentBucket();
-        currentBucket.enter(duration);
+        enter(bucket -> bucket.enter(duration));
     }
 
     /**
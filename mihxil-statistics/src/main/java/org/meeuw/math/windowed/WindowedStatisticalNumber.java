@@ -15,9 +15,11 @@
  */
 package org.meeuw.math.windowed;
 
+import java.lang.reflect.Array;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
@@ -28,6 +30,8 @@ import org.meeuw.math.statistics.StatisticalNumber;
 
 /**
  * {@link StatisticalNumber}s can be aggregated, and therefore be {@link Windowed}.
+ * <p>
+ * If many threads enter values concurrently, consider {@code concurrent} mode. Every bucket then has a number of 'cells', and every thread enters its values in 'its own' cell, so threads hardly need to wait for each other. Whenever the buckets are needed, the cells are merged into them with {@link StatisticalNumber#combine(StatisticalNumber)}.
  *
  * @author Michiel Meeuwissen
  * @since 0.4
@@ -45,8 +49,131 @@ public abstract class WindowedStatisticalNumber<N extends Number, T extends Stat
         @Nullable Level eventListenersExceptionLevel,
         @Nullable Clock clock
 
+    ) {
+        this(bucketClass, window, bucketDuration, bucketCount, eventListeners, eventListenersExceptionLevel, clock, false);
+    }
+
+    /**
+     * @param concurrent Whether values are entered in per thread 'cells' first, which scales better if many threads enter values concurrently
+     */
+    @SuppressWarnings("unchecked")
+    protected WindowedStatisticalNumber(
+        @NonNull Class<T> bucketClass,
+        @Nullable Duration window,
+        @Nullable Duration bucketDuration,
+        @Nullable Integer bucketCount,
+        @NonNull BiConsumer<Event, Windowed<T>>@Nullable[] eventListeners,
+        @Nullable Level eventListenersExceptionLevel,
+        @Nullable Clock clock,
+        boolean concurrent
     ) {
         super(bucketClass, window, bucketDuration, bucketCount, eventListeners, eventListenersExceptionLevel, clock);
+        this.cells = concurrent ? (T[][]) Array.newInstance(bucketClass, buckets.length, CELL_COUNT) : null;
+    }
+
+    /**
+     * The number of cells per bucket in concurrent mode. A power of 2, at least the number of available processors.
+     */
+    static final int CELL_COUNT = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    /**
+     * In concurrent mode, per bucket the cells in which values are entered. Otherwise {@code null}.
+     */
+    private final T @Nullable[][] cells;
+
+    private volatile boolean cellsInited = false;
+
+    /**
+     * @return whether this instance uses per thread cells to enter new values
+     */
+    public boolean isConcurrent() {
+        return cells != null;
+    }
+
+    /**
+     * Enters a value into the current bucket, or in concurrent mode, into the current thread's cell of the current bucket.
+     * @param action the action that enters the value into the given bucket or cell
+     */
+    protected void enter(Consumer<T> action) {
+        if (cells == null) {
+            action.accept(currentBucket());
+        } else {
+            final T[] bucketCells = cells[currentIndex()];
+            final int i = (int) mix(Thread.currentThread().getId()) & (CELL_COUNT - 1);
+            while (true) {
+                final T cell = bucketCells[i];
+                synchronized (cell) {
+                    // the cell may have been replaced while merging
+                    if (bucketCells[i] == cell) {
+                        action.accept(cell);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In concurrent mode, this also merges the cells into the buckets. All methods that read the buckets call this first.
+     */
+    @Override
+    protected synchronized void shiftBuckets() {
+        if (cells != null) {
+            if (cellsInited) {
+                for (int i = 0; i < buckets.length; i++) {
+                    for (int j = 0; j < cells[i].length; j++) {
+                        final T cell = cells[i][j];
+                        synchronized (cell) {
+                            if (cell.getCount() > 0) {
+                                buckets[i].combine(cell);
+                                resetCell(i, j);
+                            }
+                        }
+                    }
+                }
+            } else {
+                for (T[] bucketCells : cells) {
+                    for (int j = 0; j < bucketCells.length; j++) {
+                        bucketCells[j] = initialValue();
+                    }
+                }
+                cellsInited = true;
+            }
+        }
+        super.shiftBuckets();
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        if (cells != null && cellsInited) {
+            for (int i = 0; i < cells.length; i++) {
+                for (int j = 0; j < cells[i].length; j++) {
+                    synchronized (cells[i][j]) {
+                        resetCell(i, j);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets a cell with {@link #resetValue(Object)}, or, if that is not possible, replaces it by a new {@link #initialValue()}. Must be called while holding the lock on the cell.
+     */
+    private void resetCell(int bucket, int cell) {
+        if (!resetValue(cells[bucket][cell])) {
+            cells[bucket][cell] = initialValue();
+        }
+    }
+
+    /**
+     * Spreads thread ids, which are often consecutive, over the cells.
+     */
+    private static long mix(long id) {
+        id *= 0x9E3779B97F4A7C15L;
+        return id ^ (id >>> 32);
     }
 
     @Override
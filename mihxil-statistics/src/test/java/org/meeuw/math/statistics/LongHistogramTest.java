@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.statistics;
+
+import lombok.extern.java.Log;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+/**
+ * @author Michiel Meeuwissen
+ */
+@Log
+class LongHistogramTest {
+
+    @Test
+    public void small() {
+        LongHistogram histogram = new LongHistogram().enter(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(histogram.getCount()).isEqualTo(10);
+        assertThat(histogram.getQuantile(0)).isEqualTo(1);
+        assertThat(histogram.getQuantile(0.5)).isEqualTo(5);
+        assertThat(histogram.getQuantile(0.51)).isEqualTo(6);
+        assertThat(histogram.getQuantile(0.99)).isEqualTo(10);
+        assertThat(histogram.getQuantile(1)).isEqualTo(10);
+        log.info(histogram::toString);
+    }
+
+    @Test
+    public void illegal() {
+        LongHistogram histogram = new LongHistogram();
+        assertThatThrownBy(() -> histogram.getQuantile(0.5)).isInstanceOf(NoValues.class);
+        assertThatThrownBy(() -> histogram.accept(-1)).isInstanceOf(IllegalArgumentException.class);
+        histogram.accept(1);
+        assertThatThrownBy(() -> histogram.getQuantile(1.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.combine(new LongHistogram(3))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LongHistogram(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void bins() {
+        for (int bits = 1; bits <= 16; bits++) {
+            LongHistogram histogram = new LongHistogram(bits);
+            for (long value : new long[] {0, 1, 2, 3, 127, 128, 129, 1000, 1L << 40, Long.MAX_VALUE - 1}) {
+                int index = histogram.index(value);
+                assertThat(histogram.lowerBound(index)).isLessThanOrEqualTo(value);
+                assertThat(histogram.lowerBound(index + 1)).isGreaterThan(value);
+            }
+            int last = histogram.index(Long.MAX_VALUE);
+            assertThat(histogram.lowerBound(last + 1)).isEqualTo(Long.MAX_VALUE);
+            for (int index = 1; index <= Math.min(1000, last); index++) {
+                assertThat(histogram.index(histogram.lowerBound(index))).isEqualTo(index);
+                assertThat(histogram.index(histogram.lowerBound(index) - 1)).isEqualTo(index - 1);
+            }
+        }
+    }
+
+    @Property
+    public void quantile(
+        @ForAll("values") long[] values,
+        @ForAll("quantiles") double quantile) {
+        LongHistogram histogram = new LongHistogram().enter(values);
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long exact = sorted[(int) Math.max(0, Math.ceil(quantile * sorted.length) - 1)];
+        long estimate = histogram.getQuantile(quantile);
+        assertThat((double) Math.abs(estimate - exact)).isLessThanOrEqualTo(exact / 64d);
+    }
+
+    @Property
+    public void combine(@ForAll("values") long[] values1, @ForAll("values") long[] values2) {
+        LongHistogram histogram1 = new LongHistogram().enter(values1);
+        LongHistogram histogram2 = new LongHistogram().enter(values2);
+        LongHistogram all = new LongHistogram().enter(values1).enter(values2);
+        histogram1.combine(histogram2);
+        assertThat(histogram1.getCount()).isEqualTo(all.getCount());
+        assertThat(histogram1.getMin()).isEqualTo(all.getMin());
+        assertThat(histogram1.getMax()).isEqualTo(all.getMax());
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertThat(histogram1.getQuantile(q)).isEqualTo(all.getQuantile(q));
+        }
+    }
+
+    @Test
+    public void latencies() {
+        Random random = new Random(1);
+        LongHistogram histogram = new LongHistogram();
+        for (int i = 0; i < 100_000; i++) {
+            // exponentially distributed, with mean 10_000 µs
+            histogram.accept((long) (-10_000 * Math.log(1 - random.nextDouble())));
+        }
+        // p99 of exponential distribution is mean * ln(100)
+        assertThat((double) histogram.getQuantile(0.99)).isCloseTo(10_000 * Math.log(100), withPercentage(3));
+        log.info(histogram::toString);
+    }
+
+    @Provide
+    Arbitrary<long[]> values() {
+        return Arbitraries.longs().between(0, 1_000_000_000_000L).array(long[].class).ofMinSize(1).ofMaxSize(200);
+    }
+
+    @Provide
+    Arbitrary<Double> quantiles() {
+        return Arbitraries.doubles().between(0, 1);
+    }
+}
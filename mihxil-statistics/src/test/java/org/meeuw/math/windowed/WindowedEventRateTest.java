@@ -329,6 +329,63 @@ public class WindowedEventRateTest implements UncertainDoubleTheory<RealNumber>
         log.info("" + rate.getTotalCount());
     }
 
+    @Test
+    public void striped() {
+        final TestClock clock = new TestClock();
+        WindowedEventRate rate = WindowedEventRate.builder()
+            .bucketCount(5)
+            .clock(clock)
+            .bucketDuration(Duration.ofSeconds(1))
+            .striped(true)
+            .build();
+        rate.newEvent();
+        clock.tick(1001);
+        rate.newEvents(2);
+
+        AtomicLong[] buckets = rate.getBuckets();
+        assertThat(buckets[buckets.length - 1].get()).isEqualTo(2);
+        assertThat(buckets[buckets.length - 2].get()).isEqualTo(1);
+        assertThat(rate.getTotalCount()).isEqualTo(3);
+        rate.newEvent();
+        assertThat(rate.getTotalCount()).isEqualTo(4);
+
+        clock.tick(5000);
+        assertThat(rate.getTotalCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        final TestClock clock = new TestClock();
+        for (boolean striped : new boolean[] {false, true}) {
+            WindowedEventRate rate = WindowedEventRate.builder()
+                .bucketCount(10)
+                .clock(clock)
+                .bucketDuration(Duration.ofSeconds(1))
+                .striped(striped)
+                .build();
+            Thread[] threads = new Thread[8];
+            long start = System.nanoTime();
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < threads.length; i++) {
+                    threads[i] = new Thread(() -> {
+                        for (int j = 0; j < 100_000; j++) {
+                            rate.newEvent();
+                        }
+                    });
+                    threads[i].start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                clock.tick(1000);
+            }
+            log.info("striped: %s %d ms".formatted(striped, (System.nanoTime() - start) / 1_000_000));
+            assertThat(rate.getTotalCount()).isEqualTo(3 * threads.length * 100_000L);
+            assertThat(rate.getBuckets()[9].get()).isEqualTo(0);
+            assertThat(rate.getBuckets()[8].get()).isEqualTo(threads.length * 100_000L);
+        }
+    }
+
     @Override
     public Arbitrary<RealNumber> elements() {
         final TestClock clock = new TestClock();
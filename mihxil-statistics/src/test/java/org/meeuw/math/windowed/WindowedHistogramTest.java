@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2022 Michiel Meeuwissen
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.meeuw.math.windowed;
+
+import lombok.extern.java.Log;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.meeuw.math.statistics.LongHistogram;
+import org.meeuw.time.TestClock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Michiel Meeuwissen
+ */
+@Log
+class WindowedHistogramTest {
+
+    @Test
+    public void test() {
+        TestClock clock = new TestClock();
+        WindowedHistogram impl = WindowedHistogram.builder()
+            .bucketCount(10)
+            .bucketDuration(Duration.ofSeconds(1))
+            .clock(clock)
+            .eventListeners((e, w) -> log.fine(() -> e + " " + w))
+            .build();
+
+        for (int i = 1; i <= 100; i++) {
+            impl.accept(i);
+        }
+        assertThat(impl.getQuantile(0.99)).isEqualTo(99);
+        clock.tick(1001);
+        for (int i = 0; i < 100; i++) {
+            impl.accept(1000 + i);
+        }
+        assertThat(impl.getWindowValue().getCount()).isEqualTo(200);
+        assertThat(impl.getQuantile(0.5)).isEqualTo(100);
+        assertThat(impl.getQuantile(0.75)).isBetween(1040L, 1060L);
+
+        LongHistogram[] buckets = impl.getBuckets();
+        assertThat(buckets[9].getCount()).isEqualTo(100);
+        assertThat(buckets[8].getCount()).isEqualTo(100);
+
+        clock.tick(9000);
+        // the first buckets are out of the window now, and the buckets were reused
+        impl.accept(Duration.ofMillis(5));
+        assertThat(impl.getBuckets()).containsExactlyInAnyOrder(buckets);
+        assertThat(impl.getWindowValue().getCount()).isEqualTo(101);
+        assertThat(impl.getQuantile(0)).isEqualTo(5);
+        log.info(impl::toString);
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        TestClock clock = new TestClock();
+        WindowedHistogram impl = WindowedHistogram.builder()
+            .bucketCount(10)
+            .bucketDuration(Duration.ofSeconds(1))
+            .clock(clock)
+            .build();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (long j = 0; j < 100_000; j++) {
+                    impl.accept(j % 100);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(impl.getWindowValue().getCount()).isEqualTo(threads.length * 100_000);
+    }
+}
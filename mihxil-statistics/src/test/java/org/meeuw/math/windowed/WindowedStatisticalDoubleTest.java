@@ -68,4 +68,36 @@ class WindowedStatisticalDoubleTest {
         assertThat(windowValue.getCount()).isEqualTo(8);
     }
 
+    @Test
+    public void concurrent() throws InterruptedException {
+        TestClock clock = new TestClock();
+        WindowedStatisticalDouble impl = WindowedStatisticalDouble
+            .builder()
+            .bucketCount(10)
+            .bucketDuration(Duration.ofSeconds(1))
+            .clock(clock)
+            .concurrent(true)
+            .build();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final double value = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    impl.accept(value);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        StatisticalDoubleImpl windowValue = impl.getWindowValue();
+        assertThat(windowValue.getCount()).isEqualTo(40_000);
+        assertThat(windowValue.doubleValue()).isEqualTo(1.5);
+        clock.tick(1001);
+        impl.accept(10, 20);
+        assertThat(impl.getWindowValue().getCount()).isEqualTo(40_002);
+        assertThat(impl.getBuckets()[9].getCount()).isEqualTo(2);
+    }
+
 }
@@ -142,4 +142,46 @@ class WindowedStatisticalLongTest {
         }
     }
 
+    @Test
+    public void concurrent() throws InterruptedException {
+        TestClock clock = new TestClock();
+        for (boolean concurrent : new boolean[] {false, true}) {
+            WindowedStatisticalLong impl = WindowedStatisticalLong
+                .builder()
+                .bucketCount(10)
+                .bucketDuration(Duration.ofSeconds(1))
+                .clock(clock)
+                .concurrent(concurrent)
+                .build();
+            assertThat(impl.isConcurrent()).isEqualTo(concurrent);
+            Thread[] threads = new Thread[8];
+            long start = System.nanoTime();
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < threads.length; i++) {
+                    final long offset = i * 1000L;
+                    threads[i] = new Thread(() -> {
+                        for (long j = 0; j < 100_000; j++) {
+                            impl.accept(offset + j % 100);
+                        }
+                    });
+                    threads[i].start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                clock.tick(1001);
+            }
+            log.info("concurrent: %s %d ms".formatted(concurrent, (System.nanoTime() - start) / 1_000_000));
+            if (concurrent) {
+                // without concurrent mode values may get lost
+                StatisticalLong windowValue = impl.getWindowValue();
+                assertThat(windowValue.getCount()).isEqualTo(2 * threads.length * 100_000);
+                assertThat(windowValue.getMin()).isEqualTo(0);
+                assertThat(windowValue.getMax()).isEqualTo(7099);
+                assertThat(windowValue.getMean()).isEqualTo(3549.5);
+                assertThat(impl.getBuckets()[8].getCount()).isEqualTo(threads.length * 100_000);
+            }
+        }
+    }
+
 }